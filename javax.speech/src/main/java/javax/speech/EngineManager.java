@@ -36,6 +36,15 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.Properties;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.speech.recognition.RecognizerMode;
+import javax.speech.synthesis.SynthesizerMode;
 import javax.speech.spi.EngineFactory;
 import javax.speech.spi.EngineListFactory;
 
@@ -172,10 +181,21 @@ public class EngineManager {
 
     private static final List<EngineListFactory> ENGINE_LIST_FACTORIES;
 
+    /** All engine modes of each factory, discovered once. */
+    private static final ConcurrentMap<EngineListFactory, CompletableFuture<EngineMode[]>> ENGINE_MODES =
+            new ConcurrentHashMap<>();
+
+    /** Discovers the engine modes of the factories in parallel. */
+    private static final ExecutorService DISCOVERY_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "EngineManager-discovery");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private static SpeechEventExecutor executor;
 
     static {
-        ENGINE_LIST_FACTORIES = new ArrayList<>();
+        ENGINE_LIST_FACTORIES = new CopyOnWriteArrayList<>();
 
         // since 2.2.0
         ServiceLoader.load(EngineListFactory.class).forEach(ENGINE_LIST_FACTORIES::add);
@@ -228,21 +248,59 @@ logger.log(Level.TRACE, "factory: total: " + ENGINE_LIST_FACTORIES.size());
      * Thus, each installed speech engine should order its descriptor objects
      * with the most useful modes first, for example, a mode that is already
      * loaded and running.
+     * <p>
+     * The engine modes of each factory are discovered once, in parallel
+     * across the factories, and filtered by the required features
+     * afterwards. {@link #invalidateEngineLists()} has to be called if the
+     * engines of a factory change, e.g. if voices are installed. A factory
+     * that narrows its modes to the required features is not cached, see
+     * {@link EngineListFactory#isCacheable()}. It is asked with the required
+     * features on the calling thread.
+     * <p>
+     * The discovery runs with the context class loader of the calling
+     * thread that triggers it.
      * @param require an EngineMode defining the required features or null for all
      * @return list of mode descriptors with the required properties
      * @throws java.lang.SecurityException if the caller does not have permission for this request
      * @see javax.speech.Engine
      */
     public static EngineList availableEngines(EngineMode require) {
-        List<EngineMode> modes = new ArrayList<>();
+        // start the discovery of all factories before waiting for any
+        List<EngineListFactory> factories = List.copyOf(ENGINE_LIST_FACTORIES);
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        List<CompletableFuture<EngineMode[]>> discoveries = new ArrayList<>();
+        for (EngineListFactory factory : factories) {
+            if (factory.isCacheable()) {
+                discoveries.add(ENGINE_MODES.computeIfAbsent(factory,
+                        key -> CompletableFuture.supplyAsync(() -> discoverEngines(key, loader),
+                                DISCOVERY_EXECUTOR)));
+            } else {
+                discoveries.add(null);
+            }
+        }
 
-        for (EngineListFactory factory : ENGINE_LIST_FACTORIES) {
-            EngineList list = factory.createEngineList(require);
+        List<EngineMode> modes = new ArrayList<>();
+        for (int i = 0; i < discoveries.size(); i++) {
+            if (discoveries.get(i) == null) {
+                EngineListFactory factory = factories.get(i);
+                EngineList list = factory.createEngineList(require);
 logger.log(Level.TRACE, "FACTORY: " + factory.getClass().getSimpleName() + (list == null ? "" : ": MODES[" + list.size() + "]: " + list));
-            if (list != null) {
-                Enumeration<EngineMode> currentModes = list.elements();
-                while (currentModes.hasMoreElements()) {
-                    EngineMode mode = currentModes.nextElement();
+                addEngines(modes, list);
+                continue;
+            }
+            EngineMode[] factoryModes;
+            try {
+                factoryModes = discoveries.get(i).join();
+            } catch (CompletionException e) {
+                // try again next time
+                ENGINE_MODES.remove(factories.get(i), discoveries.get(i));
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+            for (EngineMode mode : factoryModes) {
+                if (isRequired(mode, require)) {
                     modes.add(mode);
                 }
             }
@@ -253,6 +311,80 @@ logger.log(Level.TRACE, "FACTORY: " + factory.getClass().getSimpleName() + (list
         return new EngineList(foundModes);
     }
 
+    /**
+     * Retrieves all engine modes of the given factory.
+     * <p>
+     * Factories that do not list their engines without requirements are
+     * asked for synthesizers and recognizers.
+     * @param factory the factory
+     * @param loader the context class loader of the caller
+     * @return all engine modes of the factory
+     */
+    private static EngineMode[] discoverEngines(EngineListFactory factory, ClassLoader loader) {
+        List<EngineMode> modes = new ArrayList<>();
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            addEngines(modes, factory.createEngineList(null));
+            if (modes.isEmpty()) {
+                addEngines(modes, factory.createEngineList(SynthesizerMode.DEFAULT));
+                addEngines(modes, factory.createEngineList(RecognizerMode.DEFAULT));
+            }
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+logger.log(Level.TRACE, "FACTORY: " + factory.getClass().getSimpleName() + ": MODES[" + modes.size() + "]: " + modes);
+        return modes.toArray(EngineMode[]::new);
+    }
+
+    /**
+     * Adds the modes of the given list.
+     * @param modes the modes to add to
+     * @param list the list, may be null
+     */
+    private static void addEngines(List<EngineMode> modes, EngineList list) {
+        if (list == null) {
+            return;
+        }
+        Enumeration<EngineMode> currentModes = list.elements();
+        while (currentModes.hasMoreElements()) {
+            modes.add(currentModes.nextElement());
+        }
+    }
+
+    /**
+     * Checks if the given mode has the required features. A synthesizer
+     * or recognizer is only required by a mode of the same kind.
+     * @param mode the mode to check
+     * @param require the required features or null for all
+     * @return true if the mode is required
+     */
+    private static boolean isRequired(EngineMode mode, EngineMode require) {
+        if (require == null) {
+            return true;
+        }
+        if (require instanceof SynthesizerMode && !(mode instanceof SynthesizerMode)) {
+            return false;
+        }
+        if (require instanceof RecognizerMode && !(mode instanceof RecognizerMode)) {
+            return false;
+        }
+        return mode.match(require);
+    }
+
+    /**
+     * Discards the engine modes discovered so far. They are discovered
+     * again by the next call to {@link #availableEngines(EngineMode)}.
+     * <p>
+     * Engine implementations call this if their engines change, e.g. if
+     * voices are installed or removed.
+     * @since 2.2.2
+     */
+    public static void invalidateEngineLists() {
+        ENGINE_MODES.clear();
+    }
+
     /**
      * Creates an Engine with specified required properties.
      * <p>
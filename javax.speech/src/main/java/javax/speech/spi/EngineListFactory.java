@@ -88,4 +88,20 @@ public interface EngineListFactory {
      * @see javax.speech.synthesis.SynthesizerMode
      */
     EngineList createEngineList(EngineMode require);
+
+    /**
+     * Tells if the EngineManager may list the engines of this factory once
+     * and filter them by {@link EngineMode#match(EngineMode)} afterwards.
+     * <p>
+     * A factory that narrows the returned modes to the required features
+     * beyond matching, e.g. to the required voices, returns false. It is
+     * asked with the actual requirement on each call.
+     *
+     * @return true if the engine list does not depend on the requirement
+     * @see javax.speech.EngineManager#invalidateEngineLists()
+     * @since 2.2.2
+     */
+    default boolean isCacheable() {
+        return true;
+    }
 }
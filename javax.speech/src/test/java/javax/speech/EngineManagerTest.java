@@ -16,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 
 /**
@@ -50,6 +51,43 @@ public class EngineManagerTest {
         assertEquals(1, engines3.size());
     }
 
+    /**
+     * Test that the engines are discovered once.
+     */
+    @Test
+    void testDiscoveryCache() {
+        EngineManager.availableEngines(null);
+        int created = MockSynthesizerEngineListFactory.CREATED.get();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, EngineManager.availableEngines(new SynthesizerMode()).size());
+            assertEquals(1, EngineManager.availableEngines(new RecognizerMode()).size());
+        }
+        assertEquals(created, MockSynthesizerEngineListFactory.CREATED.get());
+
+        EngineManager.invalidateEngineLists();
+        assertEquals(2, EngineManager.availableEngines(null).size());
+        assertEquals(created + 1, MockSynthesizerEngineListFactory.CREATED.get());
+    }
+
+    /**
+     * Test that the engines are discovered with the context class loader
+     * of the caller.
+     */
+    @Test
+    void testDiscoveryContextClassLoader() {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        ClassLoader loader = new ClassLoader(previous) {};
+        thread.setContextClassLoader(loader);
+        try {
+            EngineManager.invalidateEngineLists();
+            assertEquals(2, EngineManager.availableEngines(null).size());
+            assertSame(loader, MockSynthesizerEngineListFactory.loader);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
     /**
      * Test method for
      * {@link javax.speech.EngineManager#createEngine(javax.speech.EngineMode)}.
@@ -4,6 +4,7 @@
 
 package javax.speech.mock;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.speech.EngineList;
 import javax.speech.EngineMode;
 import javax.speech.mock.synthesis.MockSynthesizerFactory;
@@ -17,9 +18,18 @@ import javax.speech.synthesis.SynthesizerMode;
  * @author Dirk Schnelle
  */
 public class MockSynthesizerEngineListFactory implements EngineListFactory {
+
+    /** Number of created engine lists. */
+    public static final AtomicInteger CREATED = new AtomicInteger();
+
+    /** Context class loader of the last creation. */
+    public static volatile ClassLoader loader;
+
     @Override
     public EngineList createEngineList(EngineMode require)
             throws SecurityException {
+        CREATED.incrementAndGet();
+        loader = Thread.currentThread().getContextClassLoader();
         if ((require == null) || (require instanceof SynthesizerMode)) {
             EngineMode[] modes = new EngineMode[] {new MockSynthesizerFactory()};
 
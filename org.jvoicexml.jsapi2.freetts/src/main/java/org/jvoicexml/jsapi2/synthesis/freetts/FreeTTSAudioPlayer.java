@@ -37,6 +37,7 @@ import javax.sound.sampled.AudioInputStream;
 
 import com.sun.speech.freetts.audio.AudioPlayer;
 import org.jvoicexml.jsapi2.BaseAudioManager;
+import org.jvoicexml.jsapi2.StreamingAudioSegment;
 
 import static java.lang.System.getLogger;
 
@@ -45,7 +46,9 @@ import static java.lang.System.getLogger;
  * Audioplayer for the JSAPI 2 base implementation.
  * <p>
  * This audio player mainly stores the synthesized audio in a byte buffer
- * which can be retrieved later on by the audio manager.
+ * which can be retrieved later on by the audio manager. If a
+ * {@link StreamingAudioSegment} is set, the audio is passed on to that
+ * segment instead as soon as it is produced.
  * </p>
  *
  * @author Renato Cassaca
@@ -65,6 +68,9 @@ public final class FreeTTSAudioPlayer implements AudioPlayer {
     /** The audio format to use. */
     private AudioFormat audioFormat;
 
+    /** The segment to stream the audio to, maybe <code>null</code>. */
+    private StreamingAudioSegment segment;
+
     /**
      * Constructs a new object.
      *
@@ -135,6 +141,9 @@ public final class FreeTTSAudioPlayer implements AudioPlayer {
     @Override
     public void setAudioFormat(AudioFormat format) {
         audioFormat = format;
+        if (segment != null) {
+            segment.setAudioFormat(format);
+        }
     }
 
     @Override
@@ -151,6 +160,9 @@ public final class FreeTTSAudioPlayer implements AudioPlayer {
 
     @Override
     public boolean write(byte[] audioData) {
+        if (segment != null) {
+            return write(audioData, 0, audioData.length);
+        }
         try {
             synchronized (buffer) {
                 buffer.write(audioData);
@@ -163,12 +175,35 @@ public final class FreeTTSAudioPlayer implements AudioPlayer {
 
     @Override
     public boolean write(byte[] audioData, int offset, int size) {
+        if (segment != null) {
+            try {
+                segment.write(audioData, offset, size);
+                return true;
+            } catch (IOException ex) {
+                logger.log(Level.DEBUG, "streaming stopped: " + ex.getMessage());
+                return false;
+            }
+        }
         synchronized (buffer) {
             buffer.write(audioData, offset, size);
         }
         return true;
     }
 
+    /**
+     * Sets the segment to stream the audio to.
+     *
+     * @param segment the segment, <code>null</code> to collect the audio
+     *                data in the buffer
+     * @since 0.6.11
+     */
+    public void setStreamingAudioSegment(StreamingAudioSegment segment) {
+        this.segment = segment;
+        if (segment != null) {
+            segment.setAudioFormat(audioFormat);
+        }
+    }
+
     /**
      * Retrieves the collected audio data.
      *
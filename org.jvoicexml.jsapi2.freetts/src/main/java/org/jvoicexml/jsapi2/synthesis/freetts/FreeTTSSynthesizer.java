@@ -22,12 +22,9 @@
 package org.jvoicexml.jsapi2.synthesis.freetts;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.lang.System.Logger;
-import java.lang.System.Logger.Level;
 import javax.sound.sampled.AudioFormat;
 import javax.speech.AudioException;
-import javax.speech.AudioManager;
 import javax.speech.AudioSegment;
 import javax.speech.EngineException;
 import javax.speech.EngineStateException;
@@ -38,8 +35,8 @@ import javax.speech.synthesis.SynthesizerProperties;
 import com.sun.speech.freetts.FreeTTSSpeakableImpl;
 import com.sun.speech.freetts.audio.AudioPlayer;
 import org.jvoicexml.jsapi2.BaseAudioManager;
-import org.jvoicexml.jsapi2.BaseAudioSegment;
 import org.jvoicexml.jsapi2.BaseEngineProperties;
+import org.jvoicexml.jsapi2.StreamingAudioSegment;
 import org.jvoicexml.jsapi2.synthesis.BaseSynthesizer;
 import org.w3c.dom.Document;
 
@@ -134,7 +131,6 @@ public class FreeTTSSynthesizer extends BaseSynthesizer {
     public void handleDeallocate() throws EngineStateException, EngineException, AudioException {
         setEngineState(CLEAR_ALL_STATE, DEALLOCATED);
         getQueueManager().cancelAllItems();
-        getQueueManager().terminate();
 
         // Close the audio. This should flush out any queued audio data
         if (audioPlayer != null) {
@@ -176,29 +172,23 @@ public class FreeTTSSynthesizer extends BaseSynthesizer {
         com.sun.speech.freetts.Voice voice = curVoice.getVoice();
         voice.setAudioPlayer(audioPlayer);
 
-        voice.speak(speakElement);
-
         if (audioPlayer instanceof FreeTTSAudioPlayer player) {
-            InputStream in;
+            // play back starts with the first chunk of audio
+            StreamingAudioSegment segment = createStreamingAudioSegment(id, speakElement.getText());
+            player.setStreamingAudioSegment(segment);
             try {
-                in = player.getAudioBytes();
-            } catch (IOException e) {
-                logger.log(Level.WARNING, e.getLocalizedMessage());
-                return null;
+                voice.speak(speakElement);
+            } catch (RuntimeException e) {
+                segment.fail(new IOException(e.getMessage(), e));
+                throw e;
             } finally {
-                player.reset();
-            }
-            AudioManager manager = getAudioManager();
-            String locator = manager.getMediaLocator();
-            String markupText = speakElement.getText();
-            AudioSegment segment;
-            if (locator == null) {
-                segment = new BaseAudioSegment(markupText, in);
-            } else {
-                segment = new BaseAudioSegment(locator, markupText, in);
+                player.setStreamingAudioSegment(null);
+                segment.close();
             }
             return segment;
         }
+
+        voice.speak(speakElement);
         return null;
     }
 
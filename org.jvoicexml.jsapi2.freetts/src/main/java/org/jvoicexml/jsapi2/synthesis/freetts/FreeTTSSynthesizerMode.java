@@ -27,14 +27,20 @@ import javax.speech.EngineException;
 import javax.speech.spi.EngineFactory;
 import javax.speech.synthesis.SynthesizerMode;
 
+import org.jvoicexml.jsapi2.synthesis.SequentialSynthesis;
+
 
 /**
  * Represents a SynthesizerMode for the FreeTTSSynthesizer. A
  * FreeTTSSynthesizerMode adds an audio player to the standard mode items.
+ * <p>
+ * FreeTTS voices render into a single shared audio player, so items are
+ * synthesized one after another.
+ * </p>
  *
  * @author Dirk Schnelle-Walka
  */
-public class FreeTTSSynthesizerMode extends SynthesizerMode implements EngineFactory {
+public class FreeTTSSynthesizerMode extends SynthesizerMode implements EngineFactory, SequentialSynthesis {
 
     /**
      * Constructs a new object.
@@ -61,6 +61,17 @@ logger.log(Level.INFO, "voices: " + allVoices.size());
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The synthesizer mode is narrowed to the required voices and copies
+     * the required features.
+     */
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
     /**
      * Retrieves all voices.
      *
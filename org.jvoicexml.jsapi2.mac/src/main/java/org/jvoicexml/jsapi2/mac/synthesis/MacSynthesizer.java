@@ -149,7 +149,6 @@ logger.log(Level.TRACE, "voice: " + voice.getName());
         //
         setEngineState(CLEAR_ALL_STATE, DEALLOCATED);
         getQueueManager().cancelAllItems();
-        getQueueManager().terminate();
     }
 
     @Override
@@ -77,6 +77,16 @@ public final class SapiEngineListFactory implements EngineListFactory {
         return null;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The synthesizer mode is narrowed to the required voices.
+     */
+    @Override
+    public boolean isCacheable() {
+        return false;
+    }
+
     /**
      * Retrieves all voices.
      *
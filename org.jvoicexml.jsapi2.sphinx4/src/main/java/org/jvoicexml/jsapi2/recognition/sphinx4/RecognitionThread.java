@@ -25,22 +25,29 @@ import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 
 import edu.cmu.sphinx.api.SpeechResult;
+import org.jvoicexml.jsapi2.EngineRuntime;
 
 
 /**
  * Recognition thread to run the recognizer in parallel.
+ * <p>
+ * The thread is provided by the {@link EngineRuntime} of the recognizer.
+ * </p>
  *
  * @author Dirk Schnelle-Walka
  * @author Stefan Radomski
  */
-final class RecognitionThread extends Thread {
+final class RecognitionThread implements Runnable {
 
     /** Logger for this class. */
     private static final Logger logger = System.getLogger(RecognitionThread.class.getName());
 
     /** The wrapper for the sphinx4 recognizer. */
     private Sphinx4Recognizer recognizer;
-    private boolean started;
+    private volatile boolean started;
+
+    /** The thread running this, <code>null</code> if not started. */
+    private Thread thread;
 
     /**
      * Creates a new object.
@@ -48,9 +55,27 @@ final class RecognitionThread extends Thread {
      * @param rec The wrapper for the sphinx4 recognizer.
      */
     public RecognitionThread(Sphinx4Recognizer rec) {
-        super("RecognitionThread");
         recognizer = rec;
-        setDaemon(true);
+    }
+
+    /**
+     * Starts this recognition thread.
+     *
+     * @param runtime the runtime providing the thread
+     * @since 0.6.11
+     */
+    public void start(EngineRuntime runtime) {
+        thread = runtime.newThread(this, "RecognitionThread");
+        thread.start();
+    }
+
+    /**
+     * Checks if this recognition thread is still running.
+     *
+     * @return <code>true</code> if running
+     */
+    public boolean isAlive() {
+        return thread != null && thread.isAlive();
     }
 
     /**
@@ -29,7 +29,6 @@ import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import javax.speech.EngineStateException;
@@ -96,6 +95,13 @@ public class SRGSGrammar extends Grammar {
     /** Logger for this class. */
     private static final Logger logger = System.getLogger(Sphinx4Recognizer.class.getName());
 
+    /**
+     * Maximal number of optional repeats of a count that are expanded into
+     * copies of the repeated part. More optional repeats are encoded as a
+     * loop.
+     */
+    private static final int MAX_UNROLLED_REPEATS = 4;
+
     /** Sphinx property that defines the location of the JSGF grammar file. */
     @S4String(defaultValue = "")
     public final static String PROP_BASE_GRAMMAR_URL = "grammarLocation";
@@ -262,7 +268,7 @@ public class SRGSGrammar extends Grammar {
 
     private Rule getExternalGrammar(String grammarReference, String ruleName) {
 
-        SrgsRuleGrammarParser srgsRuleGrammarParser = new SrgsRuleGrammarParser();
+        SrgsRuleGrammarParser srgsRuleGrammarParser = SrgsRuleGrammarParser.newInstance();
         URL url = null;
         InputStream grammarStream = null;
 
@@ -345,6 +351,15 @@ public class SRGSGrammar extends Grammar {
 
     /**
      * Parses the given RuleCount into a network of GrammarNodes.
+     * <p>
+     * The mandatory repeats are always expanded into copies of the repeated
+     * part, so that the search enforces the minimum. Up to
+     * {@link #MAX_UNROLLED_REPEATS} optional repeats are expanded as well.
+     * More optional repeats, or an unbounded count, are encoded as a single
+     * optional copy with a loop, since the search has no repeat counter. A
+     * result with too many repeats is rejected when it is parsed against the
+     * rule grammar.
+     * </p>
      *
      * @param ruleCount the RuleCount object to parse
      * @return a grammar graph
@@ -356,63 +371,31 @@ public class SRGSGrammar extends Grammar {
         GrammarGraph result = new GrammarGraph();
         int minRepeat = ruleCount.getRepeatMin();
         int maxRepeat = ruleCount.getRepeatMax();
-        GrammarGraph newNodes = parseRule(ruleCount.getRuleComponent());
-        int countNodes = 1;
-
-        GrammarGraph lastNode = newNodes;
-
-        if (minRepeat > 1) {
-            GrammarGraph tmpGraph;
-            while (countNodes < minRepeat) {
-                countNodes++;
-                tmpGraph = parseRule(ruleCount.getRuleComponent());
-                // TODO how can i copy a graph
-                lastNode = tmpGraph;
-                newNodes.getEndNode().add(tmpGraph.getStartNode(), 0.0f);
-                newNodes.endNode = tmpGraph.getEndNode();
-                // TODO review this
-            }
-        }
-
-        if (maxRepeat != RuleCount.REPEAT_INDEFINITELY) {
-            GrammarGraph tmpGraph;
-            ArrayList<GrammarNode> v = new java.util.ArrayList<>();
-            lastNode = newNodes;
-            while (countNodes < maxRepeat) {
-                ++countNodes;
-                tmpGraph = parseRule(ruleCount.getRuleComponent());
-                // TODO how can i copy a graph
-                v.add(lastNode.getEndNode());
-                newNodes.getEndNode().add(tmpGraph.getStartNode(), 0.0f);
-                newNodes.getEndNode().add(tmpGraph.getEndNode(), 0.0f);
-                newNodes.endNode = tmpGraph.getEndNode();
-                // TODO review this
-                lastNode = tmpGraph;
-            }
-
-            // set this nodes optional
-            for (GrammarNode g : v) {
-                g.add(newNodes.getEndNode(), 0.0f);
-            }
+        RuleComponent component = ruleCount.getRuleComponent();
+
+        // the mandatory repeats
+        GrammarNode last = result.getStartNode();
+        for (int i = 0; i < minRepeat; i++) {
+            GrammarGraph copy = parseRule(component);
+            last.add(copy.getStartNode(), 0.0f);
+            last = copy.getEndNode();
+        }
+
+        // the optional repeats, each of them may be bypassed
+        if (maxRepeat == RuleCount.REPEAT_INDEFINITELY || maxRepeat - minRepeat > MAX_UNROLLED_REPEATS) {
+            GrammarGraph copy = parseRule(component);
+            last.add(copy.getStartNode(), 0.0f);
+            copy.getEndNode().add(copy.getStartNode(), 0.0f);
+            copy.getEndNode().add(result.getEndNode(), 0.0f);
         } else {
-
-        }
-        result.getStartNode().add(newNodes.getStartNode(), 0.0f);
-        newNodes.getEndNode().add(result.getEndNode(), 0.0f);
-
-        // if this is optional, add a bypass arc
-
-        if (minRepeat == 0) {
-            result.getStartNode().add(result.getEndNode(), 0.0f);
-        }
-
-        // if this can possibly occur indefinitely add a loopback
-
-        if (maxRepeat == RuleCount.REPEAT_INDEFINITELY) {
-            if (lastNode != null) {
-                newNodes.getEndNode().add(lastNode.getStartNode(), 0.0f);
+            for (int i = minRepeat; i < maxRepeat; i++) {
+                GrammarGraph copy = parseRule(component);
+                last.add(result.getEndNode(), 0.0f);
+                last.add(copy.getStartNode(), 0.0f);
+                last = copy.getEndNode();
             }
         }
+        last.add(result.getEndNode(), 0.0f);
 
         return result;
     }
@@ -586,7 +569,7 @@ public class SRGSGrammar extends Grammar {
      */
     public void commitChanges() throws IOException {
         try {
-            SrgsRuleGrammarParser srgsRuleGrammarParser = new SrgsRuleGrammarParser();
+            SrgsRuleGrammarParser srgsRuleGrammarParser = SrgsRuleGrammarParser.newInstance();
 
             Rule[] rules;
 
@@ -209,7 +209,7 @@ final class Sphinx4Recognizer extends BaseRecognizer {
 
         // start the recognizer thread and wait for the recognizer to recognize
         recognitionThread = new RecognitionThread(this);
-        recognitionThread.start();
+        recognitionThread.start(getEngineRuntime());
         if (logger.isLoggable(Level.DEBUG)) {
             logger.log(Level.DEBUG, "recognition started");
         }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition.sphinx4;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import edu.cmu.sphinx.api.Configuration;
+import edu.cmu.sphinx.api.Context;
+import edu.cmu.sphinx.linguist.dictionary.Dictionary;
+import edu.cmu.sphinx.linguist.language.grammar.GrammarArc;
+import edu.cmu.sphinx.linguist.language.grammar.GrammarNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Test cases for {@link SRGSGrammar}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class SRGSGrammarTest {
+
+    /** Maximal number of words of the paths that are followed. */
+    private static final int MAX_WORDS = 12;
+
+    private Dictionary dictionary;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Configuration configuration = new Configuration();
+        configuration.setAcousticModelPath("resource:/edu/cmu/sphinx/models/en-us/en-us");
+        configuration.setDictionaryPath("resource:/edu/cmu/sphinx/models/en-us/cmudict-en-us.dict");
+        configuration.setLanguageModelPath("resource:/edu/cmu/sphinx/models/en-us/en-us.lm.bin");
+        Context context = new Context("resource:/default-EN.config.xml", configuration);
+        dictionary = context.getInstance(Dictionary.class);
+        dictionary.allocate();
+    }
+
+    /**
+     * Test that the search graph of a count accepts exactly the numbers of
+     * repeats of the count.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testRuleCount() throws Exception {
+        assertEquals(Set.of(6), repeats("6"));
+        assertEquals(Set.of(2), repeats("2-2"));
+        assertEquals(Set.of(0, 1, 2, 3), repeats("0-3"));
+        assertEquals(Set.of(2, 3, 4, 5, 6), repeats("2-6"));
+        assertEquals(range(3, MAX_WORDS), repeats("3-10"));
+        assertEquals(range(2, MAX_WORDS), repeats("2-"));
+        assertEquals(range(0, MAX_WORDS), repeats("0-"));
+    }
+
+    /**
+     * Creates the search graph of a rule with a count of the given repeat
+     * and collects the numbers of repeats it accepts.
+     *
+     * @param repeat the repeat attribute of the item
+     * @return the accepted numbers of repeats up to {@link #MAX_WORDS}
+     * @throws Exception error creating the graph
+     */
+    private Set<Integer> repeats(String repeat) throws Exception {
+        SRGSGrammar grammar = new SRGSGrammar(null, false, false, false, false, dictionary);
+        grammar.setGrammarName("count");
+        grammar.loadSRGS("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <grammar xmlns="http://www.w3.org/2001/06/grammar" version="1.0" xml:lang="en-US" root="main">
+                <rule id="main" scope="public"><item repeat="%s">yes</item></rule>
+                </grammar>
+                """.formatted(repeat));
+
+        // breadth first over the pairs of node and number of words so far
+        Set<Integer> result = new TreeSet<>();
+        Set<String> visited = new HashSet<>();
+        Deque<Object[]> pending = new ArrayDeque<>();
+        pending.add(new Object[] {grammar.getInitialNode(), 0});
+        while (!pending.isEmpty()) {
+            Object[] state = pending.poll();
+            GrammarNode node = (GrammarNode) state[0];
+            int words = (Integer) state[1];
+            if (!node.isEmpty() && "yes".equals(node.getWord().getSpelling())) {
+                words++;
+            }
+            if (words > MAX_WORDS || !visited.add(node.getID() + ":" + words)) {
+                continue;
+            }
+            if (node.isFinalNode()) {
+                result.add(words);
+            }
+            for (GrammarArc arc : node.getSuccessors()) {
+                pending.add(new Object[] {arc.getGrammarNode(), words});
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the set of the numbers from min to max.
+     *
+     * @param min the first number
+     * @param max the last number
+     * @return the numbers
+     */
+    private static Set<Integer> range(int min, int max) {
+        Set<Integer> numbers = new TreeSet<>();
+        for (int i = min; i <= max; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+}
@@ -29,7 +29,7 @@ import java.lang.System.Logger.Level;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
-import java.util.Collection;
+import java.util.concurrent.Flow;
 import javax.sound.sampled.AudioFormat;
 import javax.speech.AudioEvent;
 import javax.speech.AudioException;
@@ -58,7 +58,7 @@ public abstract class BaseAudioManager implements AudioManager {
      * List of <code>AudioListeners</code> registered for
      * <code>AudioEvents</code> on this object.
      */
-    private final Collection<AudioListener> audioListeners;
+    private final ListenerList<AudioListener> audioListeners;
 
     /** Mask to filter events. */
     private int audioMask;
@@ -98,7 +98,7 @@ public abstract class BaseAudioManager implements AudioManager {
      * @param eng the associated engine
      */
     protected BaseAudioManager(Engine eng) {
-        audioListeners = new java.util.ArrayList<>();
+        audioListeners = new ListenerList<>(new AudioListener[0]);
         audioMask = AudioEvent.DEFAULT_MASK;
         engine = eng;
     }
@@ -111,11 +111,7 @@ public abstract class BaseAudioManager implements AudioManager {
      */
     @Override
     public final void addAudioListener(AudioListener listener) {
-        synchronized (audioListeners) {
-            if (!audioListeners.contains(listener)) {
-                audioListeners.add(listener);
-            }
-        }
+        audioListeners.add(listener);
     }
 
     /**
@@ -126,9 +122,25 @@ public abstract class BaseAudioManager implements AudioManager {
      */
     @Override
     public final void removeAudioListener(AudioListener listener) {
-        synchronized (audioListeners) {
-            audioListeners.remove(listener);
-        }
+        audioListeners.remove(listener);
+    }
+
+    /**
+     * Creates a publisher of the audio events. Each subscriber gets an
+     * audio listener of its own. {@link AudioEvent#AUDIO_LEVEL} events may
+     * be coalesced.
+     *
+     * @param bufferSize number of events to buffer per subscriber
+     * @param policy     handling of events that do not fit into the buffer
+     * @return the publisher
+     * @since 0.6.11
+     */
+    public final Flow.Publisher<AudioEvent> audioEvents(int bufferSize, OverflowPolicy policy) {
+        return new EventPublisher<>(sink -> {
+            AudioListener listener = sink::accept;
+            addAudioListener(listener);
+            return () -> removeAudioListener(listener);
+        }, bufferSize, policy, e -> e.getId() == AudioEvent.AUDIO_LEVEL ? e.getId() : 0);
     }
 
     @Override
@@ -275,17 +287,19 @@ public abstract class BaseAudioManager implements AudioManager {
         if ((getAudioMask() & eventId) != eventId) {
             return;
         }
+        AudioListener[] listeners = audioListeners.get();
+        if (listeners.length == 0) {
+            return;
+        }
         Runnable runnable = () -> {
-            synchronized (audioListeners) {
-                for (AudioListener listener : audioListeners) {
-                    listener.audioUpdate(event);
-                }
+            for (AudioListener listener : listeners) {
+                listener.audioUpdate(event);
             }
         };
 
         try {
             SpeechEventExecutor executor = engine.getSpeechEventExecutor();
-            executor.execute(runnable);
+            LaneSpeechEventExecutor.dispatch(executor, EventLane.AUDIO, runnable, 0);
         } catch (RuntimeException ex) {
             // Ignore exception
             logger.log(Level.ERROR, ex.getMessage(), ex);
@@ -103,6 +103,25 @@ public class BaseAudioSegment extends AudioSegment {
         }
     }
 
+    /**
+     * Retrieves the number of bytes of audio that can be read without
+     * opening the media locator, i.e. the bytes that are held by the given
+     * input stream.
+     *
+     * @return number of bytes, <code>0</code> if there is no input stream
+     * @since 0.6.11
+     */
+    public long getBufferedSize() {
+        if (is == null) {
+            return 0;
+        }
+        try {
+            return is.available();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
     @Override
     public final boolean isGettable() {
         return super.isGettable();
@@ -43,7 +43,15 @@ package org.jvoicexml.jsapi2;
 
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.speech.AudioException;
 import javax.speech.AudioManager;
 import javax.speech.Engine;
@@ -84,15 +92,18 @@ public abstract class BaseEngine implements Engine {
     
     /**
      * A bitmask holding the current state of this <code>Engine</code>.
+     * Transitions are done by compare and set.
      */
-    private long engineState;
+    private final AtomicLong engineState;
 
     /**
-     * An {@code Object} used for synchronizing access to {@link #engineState}.
+     * Futures of the threads waiting for a state by the states they wait
+     * for. All waiters for the same states share a future, which is
+     * completed by the transition that reaches them.
      *
-     * @see #engineState
+     * @see #awaitEngineState(long)
      */
-    private final Object engineStateLock;
+    private final ConcurrentMap<Long, CompletableFuture<Long>> stateWaiters;
 
     /**
      * A counter keeping track of nested calls to <code>pause</code> and
@@ -112,7 +123,7 @@ public abstract class BaseEngine implements Engine {
      * {@link javax.speech.synthesis.SynthesizerListener}s and for a recognizer
      * only {@link javax.speech.recognition.RecognizerListener}s.
      */
-    private final Collection<EngineListener> engineListeners;
+    private final ListenerList<EngineListener> engineListeners;
 
     /**
      * The {@link AudioManager} for this {@link Engine}.
@@ -130,7 +141,19 @@ public abstract class BaseEngine implements Engine {
     private EngineMode engineMode;
 
     /** The current speech event executor. */
-    private SpeechEventExecutor speechEventExecutor;
+    private volatile SpeechEventExecutor speechEventExecutor;
+
+    /** Guards the replacement of the {@link #speechEventExecutor}. */
+    private final Object executorLock = new Object();
+
+    /**
+     * <code>true</code> if the {@link #speechEventExecutor} has been created
+     * by this engine, which terminates it on deallocation.
+     */
+    private boolean ownsSpeechEventExecutor;
+
+    /** <code>true</code> if the own speech event executor has been terminated. */
+    private boolean speechEventExecutorTerminated;
 
     /**
      * Utility state for clearing the {@link #engineState}.
@@ -147,9 +170,9 @@ public abstract class BaseEngine implements Engine {
      */
     public BaseEngine(EngineMode mode) {
         engineMode = mode;
-        engineListeners = new java.util.ArrayList<>();
-        engineState = DEALLOCATED;
-        engineStateLock = new Object();
+        engineListeners = new ListenerList<>(new EngineListener[0]);
+        engineState = new AtomicLong(DEALLOCATED);
+        stateWaiters = new ConcurrentHashMap<>();
         pauses = 0;
     }
 
@@ -171,7 +194,7 @@ public abstract class BaseEngine implements Engine {
      */
     @Override
     public final long getEngineState() {
-        return engineState;
+        return engineState.get();
     }
 
     @Override
@@ -179,6 +202,14 @@ public abstract class BaseEngine implements Engine {
         return waitEngineState(state, 0);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Waits at most for the given number of milliseconds, <code>0</code>
+     * waits forever. Returns the current state if the given states have not
+     * been reached within that time.
+     * </p>
+     */
     @Override
     public final long waitEngineState(long state, long timeout) throws InterruptedException {
         if (!isValid(state)) {
@@ -193,21 +224,85 @@ public abstract class BaseEngine implements Engine {
         }
 
         // Wait for a state change
-        if (timeout > 0) {
-            synchronized (engineStateLock) {
-                while (!testEngineState(state)) {
-                    engineStateLock.wait(timeout);
-                }
+        CompletableFuture<Long> future = registerStateWaiter(state);
+        try {
+            if (timeout > 0) {
+                return future.get(timeout, TimeUnit.MILLISECONDS);
+            } else {
+                // Will wait forever to reach that state
+                return future.get();
             }
-        } else {
-            // Will wait forever to reach that state
-            synchronized (engineStateLock) {
-                while (!testEngineState(state)) {
-                    engineStateLock.wait();
+        } catch (TimeoutException e) {
+            return getEngineState();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Waits asynchronously until this engine is in the given states.
+     * <p>
+     * The returned future is completed with the engine state once all of
+     * the given states are true. It is completed at once if they are
+     * already true. Canceling it does not affect other waiters.
+     * </p>
+     *
+     * @param state the states to wait for
+     * @return future of the engine state
+     * @throws IllegalArgumentException if the state is invalid
+     * @throws IllegalStateException    if the state is not reachable
+     * @see #waitEngineState(long, long)
+     * @since 0.6.11
+     */
+    public final CompletableFuture<Long> awaitEngineState(long state) {
+        if (!isValid(state)) {
+            throw new IllegalArgumentException("Cannot wait for impossible state: " + stateToString(state));
+        }
+        long current = getEngineState();
+        if ((current & state) == state) {
+            return CompletableFuture.completedFuture(current);
+        }
+        if (!isReachable(state)) {
+            throw new IllegalStateException("State is not reachable: " + stateToString(state));
+        }
+        return registerStateWaiter(state).copy();
+    }
+
+    /**
+     * Registers a waiter for the given states.
+     *
+     * @param state the states to wait for
+     * @return the future shared by all waiters for the states
+     */
+    private CompletableFuture<Long> registerStateWaiter(long state) {
+        CompletableFuture<Long> future = stateWaiters.computeIfAbsent(state, k -> new CompletableFuture<>());
+        // the states may have been reached before the registration
+        long current = getEngineState();
+        if ((current & state) == state) {
+            stateWaiters.remove(state, future);
+            future.complete(current);
+        }
+        return future;
+    }
+
+    /**
+     * Completes the futures of all waiters whose states are true in the
+     * given state.
+     *
+     * @param current the new engine state
+     */
+    private void notifyStateWaiters(long current) {
+        if (stateWaiters.isEmpty()) {
+            return;
+        }
+        for (Long state : stateWaiters.keySet()) {
+            if ((current & state) == state) {
+                CompletableFuture<Long> future = stateWaiters.remove(state);
+                if (future != null) {
+                    future.complete(current);
                 }
             }
         }
-        return getEngineState();
     }
 
     /**
@@ -247,15 +342,16 @@ public abstract class BaseEngine implements Engine {
      * @return a length-2 array with old and new state values.
      */
     public final long[] setEngineState(long clear, long set) {
-        long[] states = new long[2];
-        synchronized (engineStateLock) {
-            states[0] = engineState;
-            engineState = engineState & (~clear);
-            engineState = engineState | set;
-            states[1] = engineState;
-            engineStateLock.notifyAll();
+        long oldState;
+        long newState;
+        do {
+            oldState = engineState.get();
+            newState = (oldState & ~clear) | set;
+        } while (!engineState.compareAndSet(oldState, newState));
+        if (newState != oldState) {
+            notifyStateWaiters(newState);
         }
-        return states;
+        return new long[] {oldState, newState};
     }
 
     @Override
@@ -267,6 +363,14 @@ public abstract class BaseEngine implements Engine {
 
         checkEngineState(DEALLOCATING_RESOURCES);
 
+        // The own executor of a previous allocation has been terminated
+        synchronized (executorLock) {
+            if (speechEventExecutorTerminated) {
+                speechEventExecutor = null;
+                speechEventExecutorTerminated = false;
+            }
+        }
+
         // Update current state
         long[] states = setEngineState(CLEAR_ALL_STATE, ALLOCATING_RESOURCES);
         postStateTransitionEngineEvent(states[0], states[1], EngineEvent.ENGINE_ALLOCATING_RESOURCES);
@@ -337,7 +441,13 @@ public abstract class BaseEngine implements Engine {
         postStateTransitionEngineEvent(states[0], states[1], EngineEvent.ENGINE_DEALLOCATING_RESOURCES);
         baseDeallocate();
 
-        terminateSpeechEventExecutor();
+        // Release the own executor, a new one is created on allocation
+        synchronized (executorLock) {
+            if (ownsSpeechEventExecutor && !speechEventExecutorTerminated) {
+                terminateSpeechEventExecutor();
+                speechEventExecutorTerminated = true;
+            }
+        }
     }
 
     @Override
@@ -360,6 +470,60 @@ public abstract class BaseEngine implements Engine {
         }
     }
 
+    /**
+     * Allocates this engine in a thread of the {@link #getEngineRuntime()
+     * runtime}.
+     * <p>
+     * Unlike {@link #allocate(int)} the returned future tells when the
+     * allocation has finished or why it failed.
+     * </p>
+     *
+     * @return future that is completed once the engine is allocated
+     * @since 0.6.11
+     */
+    public final CompletableFuture<Void> allocateAsync() {
+        return runAsync("allocate", this::allocate);
+    }
+
+    /**
+     * Deallocates this engine in a thread of the {@link #getEngineRuntime()
+     * runtime}.
+     *
+     * @return future that is completed once the engine is deallocated
+     * @since 0.6.11
+     */
+    public final CompletableFuture<Void> deallocateAsync() {
+        return runAsync("deallocate", this::deallocate);
+    }
+
+    /** A change of the allocation. */
+    @FunctionalInterface
+    private interface Allocation {
+
+        void run() throws AudioException, EngineException;
+    }
+
+    /**
+     * Runs the given change of the allocation in a new thread.
+     *
+     * @param name       name of the change
+     * @param allocation the change
+     * @return future that is completed once the change has finished
+     */
+    private CompletableFuture<Void> runAsync(String name, Allocation allocation) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        Thread thread = getEngineRuntime().newThread(() -> {
+            try {
+                allocation.run();
+                future.complete(null);
+            } catch (AudioException | EngineException | RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        }, getClass().getSimpleName() + " " + name);
+        thread.start();
+        return future;
+    }
+
     @Override
     public final void pause() {
         // Validate current state
@@ -490,10 +654,17 @@ public abstract class BaseEngine implements Engine {
 
     @Override
     public final SpeechEventExecutor getSpeechEventExecutor() {
-        if (speechEventExecutor == null) {
-            speechEventExecutor = createSpeechEventExecutor();
+        SpeechEventExecutor executor = speechEventExecutor;
+        if (executor != null) {
+            return executor;
+        }
+        synchronized (executorLock) {
+            if (speechEventExecutor == null) {
+                speechEventExecutor = createSpeechEventExecutor();
+                ownsSpeechEventExecutor = true;
+            }
+            return speechEventExecutor;
         }
-        return speechEventExecutor;
     }
 
     /**
@@ -503,11 +674,37 @@ public abstract class BaseEngine implements Engine {
      */
     protected abstract SpeechEventExecutor createSpeechEventExecutor();
 
+    /**
+     * Retrieves the runtime that provides the threads of this engine.
+     * <p>
+     * This implementation returns the {@link EngineRuntime#getDefault()
+     * default runtime}. Implementations may override this method, it may be
+     * called while constructing this engine.
+     * </p>
+     *
+     * @return the runtime
+     * @since 0.6.11
+     */
+    public EngineRuntime getEngineRuntime() {
+        return EngineRuntime.getDefault();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The given executor is not terminated on deallocation, but if it is
+     * replaced by another one.
+     * </p>
+     */
     @Override
     public final void setSpeechEventExecutor(SpeechEventExecutor executor) {
-        // Terminate a previously running executor.
-        terminateSpeechEventExecutor();
-        speechEventExecutor = executor;
+        synchronized (executorLock) {
+            // Terminate a previously running executor.
+            terminateSpeechEventExecutor();
+            speechEventExecutor = executor;
+            ownsSpeechEventExecutor = false;
+            speechEventExecutorTerminated = false;
+        }
     }
 
     private void terminateSpeechEventExecutor() {
@@ -523,11 +720,7 @@ public abstract class BaseEngine implements Engine {
      * @param listener the listener to add.
      */
     protected final void addEngineListener(EngineListener listener) {
-        synchronized (engineListeners) {
-            if (!engineListeners.contains(listener)) {
-                engineListeners.add(listener);
-            }
-        }
+        engineListeners.add(listener);
     }
 
     /**
@@ -537,9 +730,7 @@ public abstract class BaseEngine implements Engine {
      * @param listener the listener to remove.
      */
     protected final void removeEngineListener(EngineListener listener) {
-        synchronized (engineListeners) {
-            engineListeners.remove(listener);
-        }
+        engineListeners.remove(listener);
     }
 
     @Override
@@ -554,29 +745,71 @@ public abstract class BaseEngine implements Engine {
 
     /**
      * Posts the given event using the current {@link SpeechEventExecutor}.
+     * <p>
+     * The event is delivered to the listeners that are registered at the
+     * time it is posted. Nothing is posted if the event is filtered by the
+     * engine mask or if there are no listeners.
+     * </p>
      *
      * @param event the engine event to post.
      */
     protected final void postEngineEvent(EngineEvent event) {
+        postEngineEvent(event, 0);
+    }
+
+    /**
+     * Posts the given event using the current {@link SpeechEventExecutor}.
+     * An event with a progress key only reports a state that is superseded
+     * by the next event of the same key, it may be dropped or coalesced if
+     * the {@link EventLane#ENGINE} lane of a {@link LaneSpeechEventExecutor}
+     * is full.
+     *
+     * @param event       the engine event to post.
+     * @param progressKey kind of progress event, <code>0</code> if the event
+     *                    must be delivered
+     * @since 0.6.11
+     */
+    protected final void postEngineEvent(EngineEvent event, int progressKey) {
         // Filter all events which are not observable due to the engine mask
         int id = event.getId();
-logger.log(Level.TRACE, String.format("event filtered: %s, %s, &: %08x, i: %08x, m: %08x", (engineMask & id) != id, event, engineMask & id, id, engineMask));
         if ((engineMask & id) != id) {
+            if (logger.isLoggable(Level.TRACE)) {
+logger.log(Level.TRACE, String.format("event filtered: %s, &: %08x, i: %08x, m: %08x", event, engineMask & id, id, engineMask));
+            }
+            return;
+        }
+        EngineListener[] listeners = engineListeners.get();
+        if (listeners.length == 0) {
             return;
         }
 
         // Post the event in the configured speech event executor
-        Runnable runnable = () -> {
-            Collection<EngineListener> listeners;
-            synchronized (engineListeners) {
-                listeners = new java.util.ArrayList<>(engineListeners);
-            }
-logger.log(Level.TRACE, "fire engine listeners: " + listeners.size());
-            fireEvent(listeners, event);
-        };
-
         SpeechEventExecutor executor = getSpeechEventExecutor();
-        executor.execute(runnable);
+        // engine events are never dropped unless superseded, the state must not get lost
+        LaneSpeechEventExecutor.dispatch(executor, EventLane.ENGINE, () -> fireEvent(listeners, event), progressKey);
+    }
+
+    /**
+     * Returns this engine to the state it has been allocated with, so that
+     * it can be handed to another client by an {@link EnginePool}.
+     * <p>
+     * This implementation removes all engine listeners, restores the
+     * default engine mask and resumes the engine if it is paused.
+     * Subclasses have to reset their own listeners, masks and properties.
+     * Removing the listeners also detaches the subscribers of the event
+     * publishers of this engine, they do not get any more events.
+     * </p>
+     *
+     * @throws EngineStateException if the engine is not allocated
+     * @since 0.6.11
+     */
+    protected void resetEngine() throws EngineStateException {
+        checkEngineState(DEALLOCATED | DEALLOCATING_RESOURCES | ALLOCATING_RESOURCES);
+        engineListeners.clear();
+        engineMask = EngineEvent.DEFAULT_MASK;
+        if (testEngineState(PAUSED)) {
+            resume();
+        }
     }
 
     /**
@@ -753,6 +986,23 @@ logger.log(Level.TRACE, "fire engine listeners: " + listeners.size());
      */
     protected abstract void fireEvent(Collection<EngineListener> listeners, EngineEvent event);
 
+    /**
+     * Notifies all listeners about the given event. This method is being called
+     * using the currently configured {@link SpeechEventExecutor}.
+     * <p>
+     * This implementation delegates to
+     * {@link #fireEvent(Collection, EngineEvent)}. Engines may override it to
+     * notify the listeners without wrapping them.
+     * </p>
+     *
+     * @param listeners all listeners to notify
+     * @param event     the event
+     * @since 0.6.11
+     */
+    protected void fireEvent(EngineListener[] listeners, EngineEvent event) {
+        fireEvent(Arrays.asList(listeners), event);
+    }
+
     /**
      * Notifies all registered listeners about a state transition.
      *
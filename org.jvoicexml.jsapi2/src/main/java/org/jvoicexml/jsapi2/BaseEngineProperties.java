@@ -149,6 +149,17 @@ public abstract class BaseEngineProperties implements EngineProperties {
         propertyChangeListeners.remove(listener);
     }
 
+    /**
+     * Removes all {@link EnginePropertyListener}s and returns all properties
+     * to their defaults, so that the engine can be handed to another client.
+     *
+     * @since 0.6.11
+     */
+    public void resetForReuse() {
+        propertyChangeListeners.clear();
+        reset();
+    }
+
     /**
      * Commit the property changes and sets the value.
      * <p>
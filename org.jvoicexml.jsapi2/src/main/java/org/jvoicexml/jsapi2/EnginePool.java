@@ -0,0 +1,516 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.speech.AudioException;
+import javax.speech.Engine;
+import javax.speech.EngineException;
+import javax.speech.EngineManager;
+import javax.speech.EngineMode;
+import javax.speech.EngineStateException;
+import javax.speech.recognition.Recognizer;
+import javax.speech.synthesis.Synthesizer;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * A pool of allocated engines.
+ * <p>
+ * Allocating an engine may take seconds, e.g. to load the voices of a
+ * synthesizer or the models of a recognizer. The pool keeps engines
+ * allocated between their uses, so that a {@link #lease(EngineMode) leased}
+ * engine is already {@link Engine#ALLOCATED} and {@link Engine#RESUMED}.
+ * </p>
+ * <p>
+ * Engines are pooled by the {@link EngineMode} they have been leased with.
+ * An idle engine is reused for another mode if its own mode
+ * {@link EngineMode#match(EngineMode) matches}. A
+ * {@link #release(Engine) released} engine is reset, i.e. all listeners
+ * are removed and the masks and properties are restored to their defaults.
+ * A synthesizer cancels all queued speakables and a recognizer deletes all
+ * grammars. Engines that cannot be reset are deallocated.
+ * </p>
+ * <p>
+ * Since the listeners are removed, the subscriptions to the event
+ * publishers of an engine, e.g.
+ * {@link org.jvoicexml.jsapi2.synthesis.BaseSynthesizer#speakableEvents(int, OverflowPolicy)},
+ * do not get any more events once the engine is released. A client cancels
+ * its subscriptions before releasing the engine, so that they are not
+ * left waiting.
+ * </p>
+ * <p>
+ * At most <code>maxIdle</code> engines of each mode are kept idle. The
+ * modes that have been {@link #prepare(EngineMode) prepared} are kept at
+ * <code>minIdle</code> idle engines in the background, engines idle longer
+ * than the maximum idle time beyond that are deallocated.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public final class EnginePool {
+
+    private static final Logger logger = getLogger(EnginePool.class.getName());
+
+    /**
+     * Creates the engines of a pool.
+     */
+    @FunctionalInterface
+    public interface Factory {
+
+        /**
+         * Creates a new deallocated engine.
+         *
+         * @param require the required mode
+         * @return the engine
+         * @throws EngineException if the engine could not be created
+         */
+        Engine createEngine(EngineMode require) throws EngineException;
+    }
+
+    /** An idle engine. */
+    private static final class Idle {
+
+        /** The engine. */
+        final Engine engine;
+
+        /** Time the engine became idle. */
+        final long since;
+
+        Idle(Engine engine) {
+            this.engine = engine;
+            since = System.nanoTime();
+        }
+    }
+
+    /** Creates the engines. */
+    private final Factory factory;
+
+    /** Number of idle engines to keep for the prepared modes. */
+    private final int minIdle;
+
+    /** Maximum number of idle engines of each mode. */
+    private final int maxIdle;
+
+    /** Time an engine beyond {@link #minIdle} may be idle, <code>0</code> for ever. */
+    private final long maxIdleNanos;
+
+    /** The idle engines by the mode they have been leased with. */
+    private final Map<EngineMode, Deque<Idle>> idle = new HashMap<>();
+
+    /** The leased engines and the mode they have been leased with. */
+    private final Map<Engine, EngineMode> leased = new IdentityHashMap<>();
+
+    /** Modes that are kept at {@link #minIdle} idle engines. */
+    private final Set<EngineMode> prepared = new HashSet<>();
+
+    /**
+     * Number of engines by mode that are being allocated to replenish the
+     * idle ones. Counts for {@link #minIdle} like the idle engines.
+     */
+    private final Map<EngineMode, Integer> replenishing = new HashMap<>();
+
+    /** Evicts and replenishes the idle engines. */
+    private final ScheduledExecutorService maintenance;
+
+    /** <code>true</code> if the pool has been closed. */
+    private boolean closed;
+
+    /**
+     * Constructs a new object creating the engines by
+     * {@link EngineManager#createEngine(EngineMode)}.
+     *
+     * @param minIdle     number of idle engines to keep for the prepared
+     *                    modes
+     * @param maxIdle     maximum number of idle engines of each mode
+     * @param maxIdleTime time an engine beyond <code>minIdle</code> may be
+     *                    idle, <code>0</code> for ever
+     * @param unit        unit of <code>maxIdleTime</code>
+     */
+    public EnginePool(int minIdle, int maxIdle, long maxIdleTime, TimeUnit unit) {
+        this(EngineManager::createEngine, minIdle, maxIdle, maxIdleTime, unit);
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param factory     creates the engines
+     * @param minIdle     number of idle engines to keep for the prepared
+     *                    modes
+     * @param maxIdle     maximum number of idle engines of each mode
+     * @param maxIdleTime time an engine beyond <code>minIdle</code> may be
+     *                    idle, <code>0</code> for ever
+     * @param unit        unit of <code>maxIdleTime</code>
+     */
+    public EnginePool(Factory factory, int minIdle, int maxIdle, long maxIdleTime, TimeUnit unit) {
+        if (minIdle < 0 || maxIdle < minIdle) {
+            throw new IllegalArgumentException("invalid idle bounds: " + minIdle + ", " + maxIdle);
+        }
+        if (maxIdleTime < 0) {
+            throw new IllegalArgumentException("negative idle time: " + maxIdleTime);
+        }
+        this.factory = factory;
+        this.minIdle = minIdle;
+        this.maxIdle = maxIdle;
+        maxIdleNanos = unit.toNanos(maxIdleTime);
+        maintenance = Executors.newSingleThreadScheduledExecutor(
+                task -> EngineRuntime.platform().newThread(task, "EnginePool"));
+        if (maxIdleNanos > 0) {
+            long period = Math.max(maxIdleNanos / 2, TimeUnit.MILLISECONDS.toNanos(10));
+            maintenance.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Allocates engines of the given mode until there are
+     * <code>minIdle</code> idle ones and keeps them at this number.
+     *
+     * @param require the mode
+     * @throws AudioException  if an engine could not be allocated
+     * @throws EngineException if an engine could not be created or
+     *                         allocated
+     */
+    public void prepare(EngineMode require) throws AudioException, EngineException {
+        synchronized (this) {
+            checkOpen();
+            prepared.add(require);
+        }
+        replenish(require);
+    }
+
+    /**
+     * Leases an engine of the given mode. The engine is allocated and
+     * resumed. It has to be {@link #release(Engine) released} after use.
+     *
+     * @param require the required mode
+     * @return the engine
+     * @throws AudioException  if a new engine could not be allocated
+     * @throws EngineException if a new engine could not be created or
+     *                         allocated
+     */
+    public Engine lease(EngineMode require) throws AudioException, EngineException {
+        Engine engine;
+        while ((engine = takeIdle(require)) != null) {
+            if (isUsable(engine)) {
+                break;
+            }
+logger.log(Level.DEBUG, "discarding unusable engine " + engine);
+            discard(engine);
+        }
+        if (engine == null) {
+            engine = allocate(require);
+        }
+        if (engine.testEngineState(Engine.PAUSED)) {
+            engine.resume();
+        }
+        boolean open;
+        synchronized (this) {
+            open = !closed;
+            if (open) {
+                leased.put(engine, require);
+                if (prepared.contains(require)) {
+                    maintenance.execute(() -> replenishQuietly(require));
+                }
+            }
+        }
+        if (!open) {
+            discard(engine);
+            throw new EngineStateException("pool is closed");
+        }
+        return engine;
+    }
+
+    /**
+     * Returns a leased engine to the pool. The engine is reset, or
+     * deallocated if it cannot be reset or there are <code>maxIdle</code>
+     * idle engines of its mode already.
+     *
+     * @param engine the engine
+     * @throws IllegalArgumentException if the engine has not been leased
+     *                                  from this pool
+     */
+    public void release(Engine engine) {
+        EngineMode require;
+        synchronized (this) {
+            if (!leased.containsKey(engine)) {
+                throw new IllegalArgumentException("engine not leased from this pool: " + engine);
+            }
+            require = leased.remove(engine);
+        }
+        try {
+            reset(engine);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "discarding engine that could not be reset: " + e.getMessage(), e);
+            discard(engine);
+            return;
+        }
+        boolean keep;
+        synchronized (this) {
+            Deque<Idle> engines = idle.computeIfAbsent(require, k -> new ArrayDeque<>());
+            keep = !closed && engines.size() < maxIdle;
+            if (keep) {
+                engines.addFirst(new Idle(engine));
+            }
+        }
+        if (!keep) {
+            discard(engine);
+        }
+    }
+
+    /**
+     * Deallocates the engines that have been idle longer than the maximum
+     * idle time, keeping <code>minIdle</code> engines of the prepared modes.
+     *
+     * @return number of deallocated engines
+     */
+    public int evictIdle() {
+        List<Engine> evicted = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (Map.Entry<EngineMode, Deque<Idle>> entry : idle.entrySet()) {
+                Deque<Idle> engines = entry.getValue();
+                int keep = prepared.contains(entry.getKey()) ? minIdle : 0;
+                // the least recently used engines are at the end
+                while (engines.size() > keep && maxIdleNanos > 0
+                        && now - engines.peekLast().since > maxIdleNanos) {
+                    evicted.add(engines.pollLast().engine);
+                }
+            }
+        }
+        evicted.forEach(this::discard);
+        if (!evicted.isEmpty()) {
+logger.log(Level.DEBUG, "evicted " + evicted.size() + " idle engines");
+        }
+        return evicted.size();
+    }
+
+    /**
+     * Retrieves the number of idle engines that have been leased with the
+     * given mode.
+     *
+     * @param require the mode
+     * @return number of idle engines
+     */
+    public synchronized int getIdleCount(EngineMode require) {
+        Deque<Idle> engines = idle.get(require);
+        return engines == null ? 0 : engines.size();
+    }
+
+    /**
+     * Retrieves the number of leased engines.
+     *
+     * @return number of leased engines
+     */
+    public synchronized int getLeasedCount() {
+        return leased.size();
+    }
+
+    /**
+     * Deallocates all idle engines. Engines that are leased are deallocated
+     * when they are released.
+     */
+    public void close() {
+        List<Engine> engines = new ArrayList<>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            idle.values().forEach(deque -> deque.forEach(i -> engines.add(i.engine)));
+            idle.clear();
+            prepared.clear();
+        }
+        maintenance.shutdownNow();
+        engines.forEach(this::discard);
+    }
+
+    /**
+     * Takes the most recently used idle engine that fits the given mode.
+     *
+     * @param require the mode
+     * @return the engine, <code>null</code> if there is none
+     */
+    private synchronized Engine takeIdle(EngineMode require) {
+        checkOpen();
+        Deque<Idle> engines = idle.get(require);
+        if (engines != null && !engines.isEmpty()) {
+            return engines.pollFirst().engine;
+        }
+        for (Deque<Idle> deque : idle.values()) {
+            Iterator<Idle> iterator = deque.iterator();
+            while (iterator.hasNext()) {
+                Engine engine = iterator.next().engine;
+                EngineMode mode = engine.getEngineMode();
+                if (require == null || (mode != null && mode.match(require))) {
+                    iterator.remove();
+                    return engine;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Throws an {@link EngineStateException} if the pool has been closed.
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new EngineStateException("pool is closed");
+        }
+    }
+
+    /**
+     * Allocates idle engines of the given mode until there are
+     * <code>minIdle</code> ones. Engines that are being allocated by
+     * another call already count, so that concurrent calls do not allocate
+     * more than <code>minIdle</code> engines.
+     *
+     * @param require the mode
+     * @throws AudioException  if an engine could not be allocated
+     * @throws EngineException if an engine could not be created or
+     *                         allocated
+     */
+    private void replenish(EngineMode require) throws AudioException, EngineException {
+        while (true) {
+            synchronized (this) {
+                if (closed || getIdleCount(require) + replenishing.getOrDefault(require, 0) >= minIdle) {
+                    return;
+                }
+                replenishing.merge(require, 1, Integer::sum);
+            }
+            Engine engine = null;
+            boolean keep = false;
+            try {
+                engine = allocate(require);
+            } finally {
+                synchronized (this) {
+                    // the engine counts as idle from now on
+                    replenishing.computeIfPresent(require, (k, n) -> n > 1 ? n - 1 : null);
+                    keep = engine != null && !closed;
+                    if (keep) {
+                        idle.computeIfAbsent(require, k -> new ArrayDeque<>()).addLast(new Idle(engine));
+                    }
+                }
+            }
+            if (!keep) {
+                discard(engine);
+            }
+        }
+    }
+
+    /**
+     * Replenishes the idle engines of the given mode in the background.
+     *
+     * @param require the mode
+     */
+    private void replenishQuietly(EngineMode require) {
+        try {
+            replenish(require);
+        } catch (AudioException | EngineException | RuntimeException e) {
+            logger.log(Level.WARNING, "could not allocate an engine of " + require + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates and allocates a new engine.
+     *
+     * @param require the mode
+     * @return the allocated engine
+     * @throws AudioException  if the engine could not be allocated
+     * @throws EngineException if the engine could not be created or
+     *                         allocated
+     */
+    private Engine allocate(EngineMode require) throws AudioException, EngineException {
+        Engine engine = factory.createEngine(require);
+        if (engine == null) {
+            throw new EngineException("no engine for " + require);
+        }
+        engine.allocate();
+        if (!engine.testEngineState(Engine.ALLOCATED)) {
+            discard(engine);
+            throw new EngineException("engine not allocated: " + engine);
+        }
+logger.log(Level.DEBUG, "allocated " + engine);
+        return engine;
+    }
+
+    /**
+     * Checks if the given idle engine can be leased.
+     *
+     * @param engine the engine
+     * @return <code>true</code> if the engine is allocated
+     */
+    private static boolean isUsable(Engine engine) {
+        return engine.testEngineState(Engine.ALLOCATED)
+                && !engine.testEngineState(Engine.DEALLOCATING_RESOURCES);
+    }
+
+    /**
+     * Resets the given engine for the next client.
+     *
+     * @param engine the engine
+     */
+    private static void reset(Engine engine) {
+        if (!isUsable(engine)) {
+            throw new EngineStateException("engine is not allocated: " + engine);
+        }
+        if (engine instanceof BaseEngine base) {
+            base.resetEngine();
+            return;
+        }
+        // other implementations can only be reset by the public API
+        if (engine.testEngineState(Engine.PAUSED)) {
+            engine.resume();
+        }
+        if (engine instanceof Synthesizer synthesizer) {
+            synthesizer.cancelAll();
+            synthesizer.getSynthesizerProperties().reset();
+        } else if (engine instanceof Recognizer recognizer) {
+            recognizer.getRecognizerProperties().reset();
+        }
+    }
+
+    /**
+     * Deallocates the given engine, logging failures.
+     *
+     * @param engine the engine
+     */
+    private void discard(Engine engine) {
+        try {
+            engine.deallocate();
+        } catch (AudioException | EngineException | RuntimeException e) {
+            logger.log(Level.WARNING, "could not deallocate " + engine + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        int count = 0;
+        for (Deque<Idle> engines : idle.values()) {
+            count += engines.size();
+        }
+        return getClass().getSimpleName() + "[idle: " + count + ", leased: " + leased.size()
+                + (closed ? ", closed" : "") + "]";
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * Provides the threads of engines.
+ * <p>
+ * Engines run long-living loops, e.g. the synthesis and the play queue of
+ * a synthesizer, and dispatch their events on a
+ * {@link ThreadSpeechEventExecutor}. A runtime decides which threads are
+ * used for that.
+ * </p>
+ * <ul>
+ * <li>{@link #platform()} uses platform threads of each engine. This is
+ * the default.</li>
+ * <li>{@link #shared(int)} uses platform threads for the loops but
+ * dispatches the events of all engines on a bounded pool. The events of an
+ * engine are still delivered one after the other.</li>
+ * <li>{@link #virtual()} uses virtual threads for everything. It requires
+ * Java 21 or later.</li>
+ * </ul>
+ * <p>
+ * The loops block on their queues and on the audio lines, so
+ * {@link #shared(int)} still needs a platform thread for each loop of an
+ * engine. It only saves the event thread of each engine. Only
+ * {@link #virtual()} keeps the number of platform threads independent of
+ * the number of engines.
+ * </p>
+ * <p>
+ * Events may be dispatched on {@link #withEventLanes(int, OverflowPolicy)
+ * lanes} so that the families of events do not delay each other.
+ * </p>
+ * <p>
+ * The default runtime may be set by the system property
+ * {@link #ENGINE_RUNTIME} to <code>platform</code>, <code>virtual</code>
+ * or <code>shared</code>, the size of the shared pool by
+ * {@link #ENGINE_RUNTIME_THREADS}. Event lanes are used if
+ * {@link #ENGINE_RUNTIME_LANES} is set.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see BaseEngine#getEngineRuntime()
+ * @since 0.6.11
+ */
+public final class EngineRuntime {
+
+    private static final Logger logger = getLogger(EngineRuntime.class.getName());
+
+    /** Name of the system property for the default runtime. */
+    public static final String ENGINE_RUNTIME = "org.jvoicexml.jsapi2.runtime";
+
+    /**
+     * Name of the system property for the number of threads of the shared
+     * runtime. Defaults to the number of processors.
+     */
+    public static final String ENGINE_RUNTIME_THREADS = "org.jvoicexml.jsapi2.runtime.threads";
+
+    /**
+     * Name of the system property for the capacity of the event lanes of
+     * the default runtime. Events are not dispatched on lanes if it is not
+     * set.
+     *
+     * @see #withEventLanes(int, OverflowPolicy)
+     */
+    public static final String ENGINE_RUNTIME_LANES = "org.jvoicexml.jsapi2.runtime.lanes";
+
+    /**
+     * Name of the system property for the {@link OverflowPolicy} of the
+     * event lanes of the default runtime. Defaults to
+     * {@link OverflowPolicy#BLOCK}.
+     */
+    public static final String ENGINE_RUNTIME_LANES_OVERFLOW = "org.jvoicexml.jsapi2.runtime.lanes.overflow";
+
+    /** The default runtime. */
+    private static volatile EngineRuntime defaultRuntime;
+
+    /** Name of this runtime. */
+    private final String name;
+
+    /** Creates the threads of loops. */
+    private final ThreadFactory loopThreadFactory;
+
+    /**
+     * Executor to dispatch the events of all engines, <code>null</code> if
+     * each engine has a thread of its own.
+     */
+    private final Executor eventExecutor;
+
+    /** Capacity of each event lane, <code>0</code> if there are no lanes. */
+    private final int laneCapacity;
+
+    /** Handling of events posted to a full lane. */
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param name              name of this runtime
+     * @param loopThreadFactory creates the threads of loops
+     * @param eventExecutor     dispatches events, <code>null</code> for a
+     *                          thread per engine
+     */
+    private EngineRuntime(String name, ThreadFactory loopThreadFactory, Executor eventExecutor) {
+        this(name, loopThreadFactory, eventExecutor, 0, OverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param name              name of this runtime
+     * @param loopThreadFactory creates the threads of loops
+     * @param eventExecutor     dispatches events, <code>null</code> for
+     *                          threads per engine
+     * @param laneCapacity      capacity of each event lane, <code>0</code>
+     *                          for no lanes
+     * @param overflowPolicy    handling of events posted to a full lane
+     */
+    private EngineRuntime(String name, ThreadFactory loopThreadFactory, Executor eventExecutor,
+                          int laneCapacity, OverflowPolicy overflowPolicy) {
+        this.name = name;
+        this.loopThreadFactory = loopThreadFactory;
+        this.eventExecutor = eventExecutor;
+        this.laneCapacity = laneCapacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Creates a runtime like this one that dispatches the events of each
+     * engine on a {@link LaneSpeechEventExecutor}.
+     *
+     * @param capacity maximum number of pending events of each lane
+     * @param policy   handling of events posted to a full lane
+     * @return the runtime
+     */
+    public EngineRuntime withEventLanes(int capacity, OverflowPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        return new EngineRuntime(name + "+lanes(" + capacity + ", " + policy + ")", loopThreadFactory,
+                eventExecutor, capacity, policy);
+    }
+
+    /**
+     * Creates a runtime with platform threads of each engine.
+     *
+     * @return the runtime
+     */
+    public static EngineRuntime platform() {
+        return new EngineRuntime("platform", Executors.defaultThreadFactory(), null);
+    }
+
+    /**
+     * Creates a runtime that dispatches the events of all engines on a pool
+     * of the given number of daemon threads. The loops of each engine still
+     * run on platform threads of their own.
+     *
+     * @param threads number of threads of the pool
+     * @return the runtime
+     */
+    public static EngineRuntime shared(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("at least one thread is required: " + threads);
+        }
+        ThreadFactory factory = daemonThreadFactory("jsapi2-event-");
+        return new EngineRuntime("shared(" + threads + ")", Executors.defaultThreadFactory(),
+                Executors.newFixedThreadPool(threads, factory));
+    }
+
+    /**
+     * Creates a runtime with virtual threads.
+     *
+     * @return the runtime
+     * @throws UnsupportedOperationException if virtual threads are not
+     *                                       supported by this JVM
+     */
+    public static EngineRuntime virtual() {
+        ThreadFactory factory = virtualThreadFactory();
+        return new EngineRuntime("virtual", factory, task -> factory.newThread(task).start());
+    }
+
+    /**
+     * Checks if this JVM supports virtual threads.
+     *
+     * @return <code>true</code> if {@link #virtual()} can be used
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            virtualThreadFactory();
+            return true;
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a factory of virtual threads. This is done by reflection
+     * since this library is built for Java versions without virtual threads.
+     *
+     * @return the factory
+     * @throws UnsupportedOperationException if virtual threads are not
+     *                                       supported by this JVM
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method name = builderClass.getMethod("name", String.class, long.class);
+            builder = name.invoke(builder, "jsapi2-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("virtual threads are not supported: " + e);
+        }
+    }
+
+    /**
+     * Creates a factory of daemon platform threads.
+     *
+     * @param prefix prefix of the thread names
+     * @return the factory
+     */
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Retrieves the default runtime.
+     *
+     * @return the default runtime
+     * @see #ENGINE_RUNTIME
+     */
+    public static EngineRuntime getDefault() {
+        EngineRuntime runtime = defaultRuntime;
+        if (runtime == null) {
+            synchronized (EngineRuntime.class) {
+                runtime = defaultRuntime;
+                if (runtime == null) {
+                    runtime = createDefault();
+                    defaultRuntime = runtime;
+                }
+            }
+        }
+        return runtime;
+    }
+
+    /**
+     * Sets the default runtime. This affects engines that are created
+     * afterwards.
+     *
+     * @param runtime the default runtime
+     */
+    public static void setDefault(EngineRuntime runtime) {
+        if (runtime == null) {
+            throw new IllegalArgumentException("runtime must not be null");
+        }
+        defaultRuntime = runtime;
+    }
+
+    /**
+     * Creates the default runtime as configured by the system properties.
+     *
+     * @return the default runtime
+     */
+    private static EngineRuntime createDefault() {
+        EngineRuntime runtime = createDefaultRuntime();
+        int capacity = Integer.getInteger(ENGINE_RUNTIME_LANES, 0);
+        if (capacity <= 0) {
+            return runtime;
+        }
+        String overflow = System.getProperty(ENGINE_RUNTIME_LANES_OVERFLOW, OverflowPolicy.BLOCK.name());
+        OverflowPolicy policy;
+        try {
+            policy = OverflowPolicy.valueOf(overflow.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.log(Level.WARNING, "unknown overflow policy '" + overflow + "', blocking");
+            policy = OverflowPolicy.BLOCK;
+        }
+        return runtime.withEventLanes(capacity, policy);
+    }
+
+    /**
+     * Creates the default runtime without lanes as configured by the system
+     * properties.
+     *
+     * @return the runtime
+     */
+    private static EngineRuntime createDefaultRuntime() {
+        String type = System.getProperty(ENGINE_RUNTIME, "platform");
+        switch (type) {
+        case "virtual":
+            if (isVirtualThreadSupported()) {
+                return virtual();
+            }
+            logger.log(Level.WARNING, "virtual threads are not supported, using platform threads");
+            return platform();
+        case "shared":
+            int threads = Integer.getInteger(ENGINE_RUNTIME_THREADS, Runtime.getRuntime().availableProcessors());
+            return shared(Math.max(1, threads));
+        case "platform":
+            return platform();
+        default:
+            logger.log(Level.WARNING, "unknown engine runtime '" + type + "', using platform threads");
+            return platform();
+        }
+    }
+
+    /**
+     * Creates an executor to run the given number of long-living loops.
+     * The caller has to shut it down.
+     *
+     * @param threads number of loops
+     * @return the executor
+     */
+    public ExecutorService newLoopExecutor(int threads) {
+        return Executors.newFixedThreadPool(threads, loopThreadFactory);
+    }
+
+    /**
+     * Creates a thread that runs the given task. Threads of platform
+     * runtimes are daemons, virtual threads are always.
+     *
+     * @param task the task to run
+     * @param name the name of the thread
+     * @return the unstarted thread
+     */
+    public Thread newThread(Runnable task, String name) {
+        Thread thread = loopThreadFactory.newThread(task);
+        thread.setName(name);
+        if (!thread.isDaemon()) {
+            thread.setDaemon(true);
+        }
+        return thread;
+    }
+
+    /**
+     * Creates an executor for the events of an engine.
+     *
+     * @return the executor
+     */
+    public TerminatableSpeechEventExecutor newSpeechEventExecutor() {
+        if (laneCapacity > 0) {
+            if (eventExecutor == null) {
+                return new LaneSpeechEventExecutor(laneCapacity, overflowPolicy);
+            }
+            return new LaneSpeechEventExecutor(eventExecutor, laneCapacity, overflowPolicy);
+        }
+        if (eventExecutor == null) {
+            return new ThreadSpeechEventExecutor();
+        }
+        return new ThreadSpeechEventExecutor(eventExecutor);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + name + "]";
+    }
+}
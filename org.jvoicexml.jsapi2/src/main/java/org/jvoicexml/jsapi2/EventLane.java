@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+/**
+ * Families of events that are delivered independently of each other by a
+ * {@link LaneSpeechEventExecutor}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public enum EventLane {
+    /**
+     * {@link javax.speech.EngineEvent}s, i.e. synthesizer and recognizer
+     * events, and commands of unknown origin.
+     */
+    ENGINE,
+    /** {@link javax.speech.synthesis.SpeakableEvent}s. */
+    SPEAKABLE,
+    /** {@link javax.speech.AudioEvent}s. */
+    AUDIO,
+    /**
+     * {@link javax.speech.recognition.GrammarEvent}s and
+     * {@link javax.speech.recognition.ResultEvent}s.
+     */
+    RESULT
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * A {@link Flow.Publisher} of the events that an engine posts to its
+ * listeners.
+ * <p>
+ * Each subscription registers a listener of its own and buffers up to a
+ * given number of events until the subscriber requests them. If the buffer
+ * is full, the {@link OverflowPolicy} decides: {@link OverflowPolicy#BLOCK}
+ * holds the posting event thread back until the subscriber requests more,
+ * {@link OverflowPolicy#DROP_OLDEST} drops the oldest buffered event and
+ * {@link OverflowPolicy#COALESCE} drops the oldest buffered event of the
+ * same kind, if the event may be coalesced.
+ * </p>
+ * <p>
+ * Events are delivered on the thread that posts them or on the thread that
+ * requests them. The stream never completes, it ends when the subscription
+ * is canceled.
+ * </p>
+ *
+ * @param <T> type of the events
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public final class EventPublisher<T> implements Flow.Publisher<T> {
+
+    private static final Logger logger = getLogger(EventPublisher.class.getName());
+
+    /** Registers a listener that passes events to the given sink. */
+    private final Function<Consumer<T>, Runnable> attach;
+
+    /** Number of events to buffer per subscriber. */
+    private final int bufferSize;
+
+    /** Handling of events that do not fit into the buffer. */
+    private final OverflowPolicy policy;
+
+    /** Kind of an event that may be coalesced, <code>0</code> if it may not. */
+    private final ToIntFunction<? super T> coalesceKey;
+
+    /** Notified about events that are not delivered to a subscriber. */
+    private final Consumer<? super T> onDrop;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param attach      registers a listener that passes the events to the
+     *                    given sink and returns the action that removes the
+     *                    listener again
+     * @param bufferSize  number of events to buffer per subscriber
+     * @param policy      handling of events that do not fit into the buffer
+     * @param coalesceKey kind of an event that may be coalesced with older
+     *                    ones of the same kind, <code>0</code> if it may not
+     */
+    public EventPublisher(Function<Consumer<T>, Runnable> attach, int bufferSize, OverflowPolicy policy,
+                          ToIntFunction<? super T> coalesceKey) {
+        this(attach, bufferSize, policy, coalesceKey, event -> {});
+    }
+
+    /**
+     * Constructs a new object whose events have to be released if a
+     * subscriber does not get them, e.g. pooled buffers.
+     *
+     * @param attach      registers a listener that passes the events to the
+     *                    given sink and returns the action that removes the
+     *                    listener again
+     * @param bufferSize  number of events to buffer per subscriber
+     * @param policy      handling of events that do not fit into the buffer
+     * @param coalesceKey kind of an event that may be coalesced with older
+     *                    ones of the same kind, <code>0</code> if it may not
+     * @param onDrop      notified about each event that is dropped or
+     *                    discarded on cancel instead of being delivered
+     */
+    public EventPublisher(Function<Consumer<T>, Runnable> attach, int bufferSize, OverflowPolicy policy,
+                          ToIntFunction<? super T> coalesceKey, Consumer<? super T> onDrop) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+        }
+        this.attach = Objects.requireNonNull(attach);
+        this.bufferSize = bufferSize;
+        this.policy = Objects.requireNonNull(policy);
+        this.coalesceKey = Objects.requireNonNull(coalesceKey);
+        this.onDrop = Objects.requireNonNull(onDrop);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        Subscription subscription = new Subscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.attach();
+    }
+
+    /** The buffer and the demand of one subscriber. */
+    private final class Subscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+
+        /** Guards the buffer, the demand and the state. */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** Signaled when there is room in the buffer. */
+        private final Condition notFull = lock.newCondition();
+
+        /** Buffered events. */
+        private final ArrayDeque<T> buffer = new ArrayDeque<>();
+
+        /** Requested and not yet delivered events. */
+        private long demand;
+
+        /** <code>true</code> if the subscription has been canceled. */
+        private boolean canceled;
+
+        /** Removes the listener, <code>null</code> while not attached. */
+        private Runnable detach;
+
+        /** Number of pending runs of {@link #drain()}. */
+        private final AtomicInteger work = new AtomicInteger();
+
+        /** The thread that currently delivers events. */
+        private volatile Thread deliverer;
+
+        Subscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /** Registers the listener unless canceled meanwhile. */
+        void attach() {
+            Runnable action = EventPublisher.this.attach.apply(this::offer);
+            lock.lock();
+            try {
+                if (!canceled) {
+                    detach = action;
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            action.run();
+        }
+
+        /**
+         * Buffers the given event and delivers as many events as requested.
+         *
+         * @param event the event
+         */
+        void offer(T event) {
+            lock.lock();
+            try {
+                while (!canceled && buffer.size() >= bufferSize) {
+                    if (!makeRoom(event)) {
+                        break;
+                    }
+                }
+                if (!canceled) {
+                    buffer.addLast(event);
+                    event = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (event != null) {
+                onDrop.accept(event);
+                return;
+            }
+            drain();
+        }
+
+        /**
+         * Makes room for the given event in the full buffer.
+         *
+         * @param event the event
+         * @return <code>true</code> to check the buffer again,
+         *         <code>false</code> if there is room now
+         */
+        private boolean makeRoom(T event) {
+            if (policy == OverflowPolicy.COALESCE) {
+                int key = coalesceKey.applyAsInt(event);
+                if (key != 0) {
+                    Iterator<T> iterator = buffer.iterator();
+                    while (iterator.hasNext()) {
+                        T buffered = iterator.next();
+                        if (coalesceKey.applyAsInt(buffered) == key) {
+                            iterator.remove();
+                            onDrop.accept(buffered);
+                            return false;
+                        }
+                    }
+                }
+            }
+            // the delivering thread itself must not wait for the subscriber
+            if (policy == OverflowPolicy.DROP_OLDEST || deliverer == Thread.currentThread()) {
+                drop();
+                return false;
+            }
+            try {
+                notFull.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                drop();
+                return false;
+            }
+            return true;
+        }
+
+        /** Drops the oldest buffered event. */
+        private void drop() {
+            T dropped = buffer.pollFirst();
+            if (logger.isLoggable(Level.DEBUG)) {
+logger.log(Level.DEBUG, "dropped: " + dropped);
+            }
+            onDrop.accept(dropped);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+            lock.lock();
+            try {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            } finally {
+                lock.unlock();
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Runnable action;
+            Object[] discarded;
+            lock.lock();
+            try {
+                if (canceled) {
+                    return;
+                }
+                canceled = true;
+                discarded = buffer.toArray();
+                buffer.clear();
+                notFull.signalAll();
+                action = detach;
+                detach = null;
+            } finally {
+                lock.unlock();
+            }
+            if (action != null) {
+                action.run();
+            }
+            for (Object event : discarded) {
+                @SuppressWarnings("unchecked")
+                T t = (T) event;
+                onDrop.accept(t);
+            }
+        }
+
+        /**
+         * Delivers buffered events as long as they are requested. Only one
+         * thread delivers at a time, other threads leave their work to it.
+         */
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                deliverer = Thread.currentThread();
+                T event;
+                while ((event = next()) != null) {
+                    try {
+                        subscriber.onNext(event);
+                    } catch (RuntimeException e) {
+logger.log(Level.WARNING, "subscriber failed: " + e.getMessage(), e);
+                        cancel();
+                        subscriber.onError(e);
+                    }
+                }
+                deliverer = null;
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Takes the next event if it is requested.
+         *
+         * @return the event, <code>null</code> if there is none or it is not
+         *         requested
+         */
+        private T next() {
+            lock.lock();
+            try {
+                if (canceled || demand == 0 || buffer.isEmpty()) {
+                    return null;
+                }
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+                notFull.signal();
+                return buffer.pollFirst();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
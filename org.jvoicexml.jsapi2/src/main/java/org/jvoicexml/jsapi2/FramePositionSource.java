@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+/**
+ * An audio sink that knows how many frames have actually been rendered by
+ * the output device, e.g. an {@link java.io.OutputStream} writing to a
+ * {@link javax.sound.sampled.SourceDataLine}.
+ * <p>
+ * Synthesizers use the position to post word and phoneme events in sync
+ * with what can be heard instead of what has been written.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public interface FramePositionSource {
+
+    /**
+     * Retrieves the number of frames rendered since the device has been
+     * opened.
+     *
+     * @return the frame position, <code>0</code> if the device has not been
+     * opened yet
+     * @see javax.sound.sampled.DataLine#getLongFramePosition()
+     */
+    long getFramePosition();
+}
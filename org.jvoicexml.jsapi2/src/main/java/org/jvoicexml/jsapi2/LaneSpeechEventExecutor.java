@@ -0,0 +1,529 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.speech.SpeechEventExecutor;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * A speech event executor with a lane for each {@link EventLane family} of
+ * events.
+ * <p>
+ * The commands of a lane are executed one after the other, but the lanes
+ * are independent of each other. So a slow
+ * {@link javax.speech.synthesis.SpeakableListener} does not delay engine
+ * or result events. Commands that are posted by
+ * {@link SpeechEventExecutor#execute(Runnable)} go to the
+ * {@link EventLane#ENGINE} lane.
+ * </p>
+ * <p>
+ * Each lane holds at most the given number of pending progress commands,
+ * i.e. the commands of events that only report the progress of an item like
+ * {@link javax.speech.synthesis.SpeakableEvent#WORD_STARTED},
+ * {@link javax.speech.synthesis.SpeakableEvent#PHONEME_STARTED} or
+ * {@link javax.speech.synthesis.SpeakableEvent#MARKER_REACHED}, and of
+ * {@link javax.speech.synthesis.SynthesizerEvent#QUEUE_UPDATED} events that
+ * do not change the top of the queue. What
+ * happens if a progress command is posted to a full lane is decided by the
+ * {@link OverflowPolicy} of the lane. All other commands, e.g. the ends of
+ * speakables or changes of the engine state, are never dropped and never
+ * block the posting thread, they exceed the capacity instead. The same
+ * holds for a command that is posted by a listener while it is being
+ * notified, since waiting would dead lock.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see EngineRuntime#withEventLanes(int, OverflowPolicy)
+ * @since 0.6.11
+ */
+public final class LaneSpeechEventExecutor implements TerminatableSpeechEventExecutor {
+
+    private static final Logger logger = getLogger(LaneSpeechEventExecutor.class.getName());
+
+    /** <code>true</code> while the current thread executes commands of a lane. */
+    private static final ThreadLocal<Boolean> executing = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /** The threads of this executor, <code>null</code> if shared. */
+    private final ExecutorService threads;
+
+    /** Executes the commands. */
+    private final Executor executor;
+
+    /** The lanes by {@link EventLane#ordinal()}. */
+    private final Lane[] lanes;
+
+    /** <code>false</code> if the executor is terminating. */
+    private volatile boolean shouldRun;
+
+    /**
+     * Constructs a new object with threads of its own.
+     *
+     * @param capacity maximum number of pending commands of each lane
+     * @param policy   handling of commands posted to a full lane
+     */
+    public LaneSpeechEventExecutor(int capacity, OverflowPolicy policy) {
+        this(Executors.newCachedThreadPool(), true, capacity, policy);
+    }
+
+    /**
+     * Constructs a new object that executes the commands on the given
+     * executor. The executor is not shut down on {@link #terminate()}.
+     *
+     * @param executor the executor to run the commands on
+     * @param capacity maximum number of pending commands of each lane
+     * @param policy   handling of commands posted to a full lane
+     */
+    public LaneSpeechEventExecutor(Executor executor, int capacity, OverflowPolicy policy) {
+        this(executor, false, capacity, policy);
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param executor the executor to run the commands on
+     * @param owned    <code>true</code> if the executor has to be shut down
+     *                 on termination
+     * @param capacity maximum number of pending commands of each lane
+     * @param policy   handling of commands posted to a full lane
+     */
+    private LaneSpeechEventExecutor(Executor executor, boolean owned, int capacity, OverflowPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        this.executor = executor;
+        threads = owned ? (ExecutorService) executor : null;
+        EventLane[] names = EventLane.values();
+        lanes = new Lane[names.length];
+        for (EventLane name : names) {
+            lanes[name.ordinal()] = new Lane(name, capacity, policy);
+        }
+        shouldRun = true;
+    }
+
+    /**
+     * Posts the given command to the given lane if the given executor is a
+     * {@link LaneSpeechEventExecutor}, otherwise it is simply executed.
+     *
+     * @param executor    the executor
+     * @param lane        the lane of the command
+     * @param command     the command
+     * @param progressKey kind of progress event of the command, e.g.
+     *                    {@link javax.speech.synthesis.SpeakableEvent#WORD_STARTED},
+     *                    <code>0</code> if the command must be delivered
+     */
+    public static void dispatch(SpeechEventExecutor executor, EventLane lane, Runnable command, int progressKey) {
+        if (executor instanceof LaneSpeechEventExecutor laneExecutor) {
+            laneExecutor.execute(lane, command, progressKey);
+        } else {
+            executor.execute(command);
+        }
+    }
+
+    /**
+     * Sets the handling of progress commands posted to the given lane while
+     * it is full.
+     *
+     * @param lane   the lane
+     * @param policy the overflow policy
+     */
+    public void setOverflowPolicy(EventLane lane, OverflowPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        lanes[lane.ordinal()].policy = policy;
+    }
+
+    /**
+     * Retrieves the handling of progress commands posted to the given lane
+     * while it is full.
+     *
+     * @param lane the lane
+     * @return the overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy(EventLane lane) {
+        return lanes[lane.ordinal()].policy;
+    }
+
+    /**
+     * Retrieves the time the oldest pending command of the given lane is
+     * waiting.
+     *
+     * @param lane the lane
+     * @param unit the unit of the result
+     * @return the lag, <code>0</code> if there is no pending command
+     */
+    public long getLag(EventLane lane, TimeUnit unit) {
+        return unit.convert(lanes[lane.ordinal()].getLag(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Retrieves the number of pending commands of the given lane.
+     *
+     * @param lane the lane
+     * @return number of pending commands
+     */
+    public int getPendingCount(EventLane lane) {
+        return lanes[lane.ordinal()].getSize();
+    }
+
+    /**
+     * Retrieves the number of progress commands of the given lane that have
+     * been dropped or coalesced due to an overflow.
+     *
+     * @param lane the lane
+     * @return number of dropped commands
+     */
+    public long getDroppedCount(EventLane lane) {
+        return lanes[lane.ordinal()].getDropped();
+    }
+
+    @Override
+    public void terminate() {
+        shouldRun = false;
+        for (Lane lane : lanes) {
+            lane.clear();
+        }
+        if (threads != null) {
+            threads.shutdown();
+logger.log(Level.TRACE, "shutdown services: " + threads.isShutdown());
+        }
+    }
+
+    /**
+     * Executes the given command in the {@link EventLane#ENGINE} lane.
+     *
+     * @param command the command to execute.
+     */
+    @Override
+    public void execute(Runnable command) {
+        execute(EventLane.ENGINE, command, 0);
+    }
+
+    /**
+     * Executes the given command in the given lane.
+     *
+     * @param lane        the lane of the command
+     * @param command     the command to execute
+     * @param progressKey kind of progress event of the command, e.g.
+     *                    {@link javax.speech.synthesis.SpeakableEvent#WORD_STARTED},
+     *                    <code>0</code> if the command must be delivered
+     */
+    public void execute(EventLane lane, Runnable command, int progressKey) {
+        if (command == null) {
+            throw new NullPointerException("Command must not be null!");
+        }
+        if (!shouldRun) {
+            throw new IllegalStateException("SpeechEventExecutor is terminated!");
+        }
+        Lane target = lanes[lane.ordinal()];
+        try {
+            target.offer(command, progressKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for lane " + lane, e);
+        }
+        target.schedule();
+    }
+
+    /**
+     * Pending commands of a family of events as a ring buffer.
+     */
+    private final class Lane {
+
+        /** Name of this lane. */
+        private final EventLane name;
+
+        /** Maximum number of pending commands for a progress command to be added. */
+        private final int capacity;
+
+        /** Handling of progress commands posted while this lane is full. */
+        private volatile OverflowPolicy policy;
+
+        /** Guards the ring buffer. */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** Signaled when a command has been taken. */
+        private final Condition notFull = lock.newCondition();
+
+        /** The pending commands. */
+        private Runnable[] commands;
+
+        /** Times the pending commands have been posted. */
+        private long[] times;
+
+        /** Progress keys of the pending commands. */
+        private int[] keys;
+
+        /** Index of the oldest pending command. */
+        private int head;
+
+        /** Number of pending commands. */
+        private int size;
+
+        /** Number of dropped or coalesced progress commands. */
+        private long dropped;
+
+        /** <code>true</code> while the commands are being executed. */
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Lane(EventLane name, int capacity, OverflowPolicy policy) {
+            this.name = name;
+            this.capacity = capacity;
+            this.policy = policy;
+            int length = Math.min(capacity, 64);
+            commands = new Runnable[length];
+            times = new long[length];
+            keys = new int[length];
+        }
+
+        /**
+         * Appends the given command. The overflow policy is applied to
+         * progress commands only, other commands are always appended.
+         *
+         * @param command     the command
+         * @param progressKey kind of the progress event, <code>0</code> if
+         *                    the command must be delivered
+         * @throws InterruptedException if the waiting was interrupted
+         */
+        void offer(Runnable command, int progressKey) throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (progressKey != 0 && size >= capacity && shouldRun) {
+                    OverflowPolicy current = policy;
+                    if (current == OverflowPolicy.DROP_OLDEST) {
+                        dropped++;
+                        int index = indexOfProgress();
+                        if (index < 0) {
+                            // only commands that must be delivered are pending
+                            return;
+                        }
+                        removeAt(index);
+                        break;
+                    }
+                    if (current == OverflowPolicy.COALESCE) {
+                        int index = indexOf(progressKey);
+                        if (index >= 0) {
+                            removeAt(index);
+                            dropped++;
+                            break;
+                        }
+                    }
+                    if (executing.get()) {
+                        // posted by a listener, waiting would dead lock
+logger.log(Level.DEBUG, "lane " + name + " exceeds its capacity: " + size);
+                        break;
+                    }
+                    notFull.await();
+                }
+                if (!shouldRun) {
+                    return;
+                }
+                if (size == commands.length) {
+                    grow();
+                }
+                int tail = (head + size) % commands.length;
+                commands[tail] = command;
+                times[tail] = System.nanoTime();
+                keys[tail] = progressKey;
+                size++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Takes the oldest pending command.
+         *
+         * @return the command, <code>null</code> if there is none
+         */
+        Runnable poll() {
+            lock.lock();
+            try {
+                if (size == 0) {
+                    return null;
+                }
+                Runnable command = commands[head];
+                commands[head] = null;
+                head = (head + 1) % commands.length;
+                size--;
+                notFull.signal();
+                return command;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Looks for the oldest pending command with the given progress key.
+         * Must be called with the lock held.
+         *
+         * @param progressKey the key
+         * @return the position from the head, <code>-1</code> if there is
+         * none
+         */
+        private int indexOf(int progressKey) {
+            for (int i = 0; i < size; i++) {
+                if (keys[(head + i) % keys.length] == progressKey) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Looks for the oldest pending progress command. Must be called with
+         * the lock held.
+         *
+         * @return the position from the head, <code>-1</code> if there is
+         * none
+         */
+        private int indexOfProgress() {
+            for (int i = 0; i < size; i++) {
+                if (keys[(head + i) % keys.length] != 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Removes the pending command at the given position from the head.
+         * Must be called with the lock held.
+         *
+         * @param position the position
+         */
+        private void removeAt(int position) {
+            int length = commands.length;
+            for (int i = position; i > 0; i--) {
+                int to = (head + i) % length;
+                int from = (head + i - 1) % length;
+                commands[to] = commands[from];
+                times[to] = times[from];
+                keys[to] = keys[from];
+            }
+            commands[head] = null;
+            head = (head + 1) % length;
+            size--;
+        }
+
+        /**
+         * Doubles the length of the ring buffer. Must be called with the
+         * lock held.
+         */
+        private void grow() {
+            int length = commands.length;
+            Runnable[] newCommands = new Runnable[length * 2];
+            long[] newTimes = new long[length * 2];
+            int[] newKeys = new int[length * 2];
+            for (int i = 0; i < size; i++) {
+                int from = (head + i) % length;
+                newCommands[i] = commands[from];
+                newTimes[i] = times[from];
+                newKeys[i] = keys[from];
+            }
+            commands = newCommands;
+            times = newTimes;
+            keys = newKeys;
+            head = 0;
+        }
+
+        /**
+         * Removes all pending commands and releases waiting threads.
+         */
+        void clear() {
+            lock.lock();
+            try {
+                while (size > 0) {
+                    commands[head] = null;
+                    head = (head + 1) % commands.length;
+                    size--;
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Schedules the execution of the pending commands unless they are
+         * being executed already.
+         */
+        void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Executes the pending commands.
+         */
+        private void drain() {
+            // the executor may run the drain in a thread of another lane
+            Boolean outer = executing.get();
+            executing.set(Boolean.TRUE);
+            try {
+                Runnable command;
+                while (shouldRun && (command = poll()) != null) {
+                    try {
+                        command.run();
+                    } catch (RuntimeException e) {
+                        logger.log(Level.WARNING, "error executing a command in lane " + name + ": " + e.getMessage(), e);
+                    }
+                }
+            } finally {
+                executing.set(outer);
+                draining.set(false);
+            }
+            // a command may have been added after the last poll
+            if (shouldRun && getSize() > 0) {
+                schedule();
+            }
+        }
+
+        int getSize() {
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long getLag() {
+            lock.lock();
+            try {
+                return size == 0 ? 0 : System.nanoTime() - times[head];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long getDropped() {
+            lock.lock();
+            try {
+                return dropped;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Listeners of events held as an immutable array.
+ * <p>
+ * Adding or removing a listener replaces the array, so events can be
+ * dispatched to the {@link #get() current array} without copying or
+ * locking. This pays off since listeners change rarely while events are
+ * frequent.
+ * </p>
+ *
+ * @param <T> type of the listeners
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public final class ListenerList<T> {
+
+    /** The current listeners, never modified. */
+    private volatile T[] listeners;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param empty an empty array of the type of the listeners
+     */
+    public ListenerList(T[] empty) {
+        if (empty.length != 0) {
+            throw new IllegalArgumentException("array must be empty");
+        }
+        listeners = empty;
+    }
+
+    /**
+     * Adds the given listener if it has not been added yet.
+     *
+     * @param listener the listener to add
+     * @return <code>true</code> if the listener has been added
+     */
+    public synchronized boolean add(T listener) {
+        T[] current = listeners;
+        if (indexOf(current, listener) >= 0) {
+            return false;
+        }
+        T[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+        return true;
+    }
+
+    /**
+     * Removes the given listener.
+     *
+     * @param listener the listener to remove
+     * @return <code>true</code> if the listener has been removed
+     */
+    public synchronized boolean remove(T listener) {
+        T[] current = listeners;
+        int index = indexOf(current, listener);
+        if (index < 0) {
+            return false;
+        }
+        T[] updated = Arrays.copyOf(current, current.length - 1);
+        System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        listeners = updated;
+        return true;
+    }
+
+    /**
+     * Removes all listeners.
+     */
+    public synchronized void clear() {
+        listeners = Arrays.copyOf(listeners, 0);
+    }
+
+    /**
+     * Looks for the given listener.
+     *
+     * @param array    the listeners to search
+     * @param listener the listener to look for
+     * @return index of the listener, <code>-1</code> if not found
+     */
+    private static int indexOf(Object[] array, Object listener) {
+        for (int i = 0; i < array.length; i++) {
+            if (Objects.equals(array[i], listener)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the current listeners. The array must not be modified.
+     *
+     * @return the listeners
+     */
+    public T[] get() {
+        return listeners;
+    }
+
+    /**
+     * Checks if there are no listeners.
+     *
+     * @return <code>true</code> if there are no listeners
+     */
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    /**
+     * Checks if the given listener has been added.
+     *
+     * @param listener the listener to look for
+     * @return <code>true</code> if the listener has been added
+     */
+    public boolean contains(T listener) {
+        return indexOf(listeners, listener) >= 0;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+/**
+ * What happens to an event that is posted to the full buffer of a
+ * subscriber of an {@link EventPublisher} or to a progress event, e.g.
+ * {@link javax.speech.synthesis.SpeakableEvent#WORD_STARTED}, that is
+ * posted to a full lane of a {@link LaneSpeechEventExecutor}. Other events
+ * are never dropped or blocked by a lane.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see LaneSpeechEventExecutor#setOverflowPolicy(EventLane, OverflowPolicy)
+ * @see EventPublisher
+ * @since 0.6.11
+ */
+public enum OverflowPolicy {
+    /** The posting thread waits until there is room in the lane. */
+    BLOCK,
+    /** The oldest pending event of the lane is dropped. */
+    DROP_OLDEST,
+    /**
+     * The oldest pending event of the same kind is dropped if the event
+     * may be coalesced, e.g.
+     * {@link javax.speech.synthesis.SpeakableEvent#WORD_STARTED},
+     * {@link javax.speech.AudioEvent#AUDIO_LEVEL} or
+     * {@link javax.speech.synthesis.SynthesizerEvent#QUEUE_UPDATED}, where
+     * the latest queue state supersedes the earlier ones. Otherwise
+     * the posting thread waits as with {@link #BLOCK}.
+     */
+    COALESCE
+}
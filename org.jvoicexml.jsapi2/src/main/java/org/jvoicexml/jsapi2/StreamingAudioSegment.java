@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.speech.AudioSegment;
+
+
+/**
+ * An {@link AudioSegment} whose audio data is still being produced while it
+ * is played back.
+ * <p>
+ * The engine writes chunks of audio via {@link #write(byte[], int, int)} and
+ * finishes the segment with {@link #close()}. A segment that is not wanted
+ * anymore is stopped with {@link #cancel()}. The chunks are passed to the
+ * reader of {@link #openInputStream()} through a bounded pipe, so a writer
+ * that is ahead of the play back blocks until there is room again.
+ * The segment can be opened only once.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public class StreamingAudioSegment extends AudioSegment {
+
+    /** Default number of chunks that may be buffered. */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /** Marks the end of the audio data in the pipe. */
+    private static final byte[] EOF = new byte[0];
+
+    /** The buffered chunks and the end marker. */
+    private final BlockingQueue<byte[]> chunks;
+
+    /**
+     * Free places for chunks in the pipe. The end marker does not need one,
+     * so it never waits for the reader.
+     */
+    private final Semaphore room;
+
+    /** Format of the audio data, maybe <code>null</code>. */
+    private volatile AudioFormat format;
+
+    /** Called once the first chunk has been written. */
+    private Runnable firstChunkListener;
+
+    /** <code>true</code> if the first chunk has been written. */
+    private volatile boolean started;
+
+    /** <code>true</code> if the writer closed this segment. */
+    private volatile boolean closed;
+
+    /** <code>true</code> if the reader stopped consuming or the segment has been canceled. */
+    private volatile boolean cancelled;
+
+    /** Error of the writer that is reported to the reader. */
+    private volatile IOException failure;
+
+    /** Copy of the written audio data, maybe <code>null</code>. */
+    private ByteArrayOutputStream recording;
+
+    /** <code>true</code> if the input stream has been handed out. */
+    private boolean opened;
+
+    /**
+     * Constructs a new object with a capacity of {@link #DEFAULT_CAPACITY}
+     * chunks.
+     *
+     * @param locator    a non-null media locator description.
+     * @param markupText the alternate markup text
+     * @param format     format of the audio data, maybe <code>null</code>
+     */
+    public StreamingAudioSegment(String locator, String markupText, AudioFormat format) {
+        this(locator, markupText, format, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param locator    a non-null media locator description.
+     * @param markupText the alternate markup text
+     * @param format     format of the audio data, maybe <code>null</code>
+     * @param capacity   maximum number of chunks to buffer
+     */
+    public StreamingAudioSegment(String locator, String markupText, AudioFormat format, int capacity) {
+        super(locator, markupText);
+        this.format = format;
+        chunks = new LinkedBlockingQueue<>();
+        room = new Semaphore(capacity);
+    }
+
+    /**
+     * Sets the format of the audio data. This has to be done before the
+     * first chunk is written.
+     *
+     * @param format format of the audio data
+     */
+    public void setAudioFormat(AudioFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Retrieves the format of the audio data.
+     *
+     * @return format of the audio data, maybe <code>null</code>
+     */
+    public AudioFormat getAudioFormat() {
+        return format;
+    }
+
+    /**
+     * Keeps a copy of all audio data written from now on, so that it can be
+     * retrieved via {@link #getRecordedAudio()} once the segment is closed.
+     */
+    public void startRecording() {
+        recording = new ByteArrayOutputStream();
+    }
+
+    /**
+     * Retrieves the recorded audio data.
+     *
+     * @return the audio data, <code>null</code> if it was not recorded, the
+     * segment is not closed yet or it is incomplete
+     * @see #startRecording()
+     */
+    public byte[] getRecordedAudio() {
+        if (recording == null || !closed || cancelled || failure != null) {
+            return null;
+        }
+        return recording.toByteArray();
+    }
+
+    /**
+     * Sets a listener that is called from the writing thread once the first
+     * chunk of audio is available.
+     *
+     * @param listener the listener, maybe <code>null</code>
+     */
+    public void setFirstChunkListener(Runnable listener) {
+        firstChunkListener = listener;
+    }
+
+    /**
+     * Appends the given audio data. Blocks while the pipe is full.
+     *
+     * @param data   the audio data
+     * @param offset start offset in the data
+     * @param length number of bytes to write
+     * @throws IOException if the segment is closed, the reader stopped
+     *                     consuming or the segment has been canceled
+     */
+    public void write(byte[] data, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("segment is closed");
+        }
+        if (cancelled) {
+            throw new IOException("segment is cancelled");
+        }
+        if (length <= 0) {
+            return;
+        }
+        byte[] chunk = new byte[length];
+        System.arraycopy(data, offset, chunk, 0, length);
+        if (recording != null) {
+            recording.write(chunk, 0, length);
+        }
+        try {
+            room.acquire();
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException(e.getMessage());
+        }
+        if (cancelled) {
+            throw new IOException("segment is cancelled");
+        }
+        chunks.offer(chunk);
+        if (cancelled) {
+            // drop the chunk that raced with the cancel
+            chunks.clear();
+            chunks.offer(EOF);
+            throw new IOException("segment is cancelled");
+        }
+        if (!started) {
+            started = true;
+            Runnable listener = firstChunkListener;
+            if (listener != null) {
+                listener.run();
+            }
+        }
+    }
+
+    /**
+     * Checks if audio data has been written to this segment.
+     *
+     * @return <code>true</code> if at least one chunk has been written
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Marks the end of the audio data.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (cancelled) {
+            chunks.clear();
+        }
+        chunks.offer(EOF);
+    }
+
+    /**
+     * Marks the end of the audio data because of the given error. The error
+     * is thrown to the reader once it has consumed the buffered data.
+     *
+     * @param e the error
+     */
+    public void fail(IOException e) {
+        failure = e;
+        close();
+    }
+
+    /**
+     * Cancels this segment, e.g. because its item has been canceled. The
+     * buffered audio data is dropped, a writer that is blocked or writes
+     * later gets an {@link IOException} and a reader reaches the end of the
+     * audio data.
+     */
+    public void cancel() {
+        stop();
+        chunks.offer(EOF);
+    }
+
+    /** Drops the buffered audio data and unblocks the writer. */
+    private void stop() {
+        cancelled = true;
+        chunks.clear();
+        room.release();
+    }
+
+    /**
+     * Checks if the reader stopped consuming the audio data or the segment
+     * has been canceled.
+     *
+     * @return <code>true</code> if the segment is cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Returns a stream that blocks until audio data is available. If the
+     * format is known, the stream is an {@link AudioInputStream} of
+     * unknown length. Closing the stream cancels this segment and unblocks
+     * the writer.
+     * </p>
+     */
+    @Override
+    public synchronized InputStream openInputStream() throws IOException, SecurityException {
+        if (opened) {
+            throw new IOException("streaming audio segment can be opened only once");
+        }
+        opened = true;
+        InputStream in = new PipeInputStream();
+        if (format == null) {
+            return in;
+        }
+        return new AudioInputStream(in, format, AudioSystem.NOT_SPECIFIED);
+    }
+
+    @Override
+    public boolean isGettable() {
+        return false;
+    }
+
+    /**
+     * Reader side of the pipe.
+     */
+    private class PipeInputStream extends InputStream {
+
+        /** The chunk being read. */
+        private byte[] current;
+
+        /** Read position in the current chunk. */
+        private int position;
+
+        /** <code>true</code> if the end of the data has been reached. */
+        private boolean eof;
+
+        /**
+         * Makes sure that there is a chunk to read from.
+         *
+         * @return <code>false</code> if the end of the data has been reached
+         * @throws IOException if the writer failed or the waiting was
+         *                     interrupted
+         */
+        private boolean fill() throws IOException {
+            while (!eof && (current == null || position >= current.length)) {
+                byte[] chunk;
+                try {
+                    chunk = chunks.take();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException(e.getMessage());
+                }
+                if (chunk == EOF) {
+                    eof = true;
+                    current = null;
+                } else {
+                    room.release();
+                    current = chunk;
+                    position = 0;
+                }
+            }
+            if (eof && failure != null) {
+                throw failure;
+            }
+            return !eof;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return current[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            if (current == null) {
+                return 0;
+            }
+            return current.length - position;
+        }
+
+        @Override
+        public void close() {
+            if (!eof) {
+                stop();
+            }
+            eof = true;
+            current = null;
+        }
+    }
+}
@@ -9,17 +9,24 @@ package org.jvoicexml.jsapi2;
 
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
-import java.util.concurrent.BlockingQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
  * A speech event executor that is based on a thread.
  *
  * <p>
- * There is only one single thread that is responsible to execute the
- * commands asynchronously.
+ * The commands are executed asynchronously one after the other. By
+ * default, there is a single thread of this executor that is responsible to
+ * execute the commands. Alternatively the commands may be executed on an
+ * {@link Executor} that is shared with other speech event executors, see
+ * {@link EngineRuntime}. This executor then only occupies a thread of the
+ * shared executor while there are commands to execute.
  * </p>
  *
  * @author Renato Cassaca
@@ -28,29 +35,61 @@ public final class ThreadSpeechEventExecutor implements TerminatableSpeechEventE
 
     private static final Logger logger = System.getLogger(ThreadSpeechEventExecutor.class.getName());
 
-    /** The thread that executes the commands. */
-    private final ExecutorService thread = Executors.newSingleThreadExecutor();
+    /** The thread of this executor, <code>null</code> if shared. */
+    private final ExecutorService thread;
+
+    /** Executes the commands. */
+    private final Executor executor;
 
     /** Commands to execute. */
-    private final BlockingQueue<Runnable> commands;
+    private final Queue<Runnable> commands;
+
+    /** <code>true</code> while the commands are being executed. */
+    private final AtomicBoolean draining = new AtomicBoolean();
 
     /** <code>false</code> if the executor is terminating. */
-    private boolean shouldRun;
+    private volatile boolean shouldRun;
 
     /**
-     * Constructs a new object.
+     * Constructs a new object with a thread of its own.
      */
     public ThreadSpeechEventExecutor() {
-        commands = new java.util.concurrent.LinkedBlockingQueue<>();
+        this(Executors.newSingleThreadExecutor(), true);
+    }
+
+    /**
+     * Constructs a new object that executes the commands on the given
+     * executor. The executor is not shut down on {@link #terminate()}.
+     *
+     * @param executor the executor to run the commands on
+     * @since 0.6.11
+     */
+    public ThreadSpeechEventExecutor(Executor executor) {
+        this(executor, false);
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param executor the executor to run the commands on
+     * @param owned    <code>true</code> if the executor has to be shut down
+     *                 on termination
+     */
+    private ThreadSpeechEventExecutor(Executor executor, boolean owned) {
+        this.executor = executor;
+        thread = owned ? (ExecutorService) executor : null;
+        commands = new ConcurrentLinkedQueue<>();
         shouldRun = true;
-        thread.submit(this::loop);
     }
 
     @Override
     public void terminate() {
         shouldRun = false;
-        thread.shutdown();
-        logger.log(Level.TRACE, "shutdown services: " + thread.isShutdown());
+        commands.clear();
+        if (thread != null) {
+            thread.shutdown();
+            logger.log(Level.TRACE, "shutdown services: " + thread.isShutdown());
+        }
     }
 
     /**
@@ -67,24 +106,41 @@ public final class ThreadSpeechEventExecutor implements TerminatableSpeechEventE
             throw new IllegalStateException("SpeechEventExecutor is terminated!");
         }
         commands.offer(command);
+        schedule();
+    }
+
+    /**
+     * Schedules the execution of the queued commands unless they are being
+     * executed already.
+     */
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
     }
 
-    private void loop() {
-        while (shouldRun) {
-            // Use this thread to run the command
+    /**
+     * Executes the queued commands.
+     */
+    private void drain() {
+        try {
             Runnable command;
-            try {
-                command = commands.take();
-            } catch (InterruptedException ex) {
-logger.log(Level.TRACE, "interrupted");
-                return;
-            }
-            if (!shouldRun) {
-logger.log(Level.TRACE, "stop looping 1");
-                return;
+            while (shouldRun && (command = commands.poll()) != null) {
+                try {
+                    command.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "error executing a command: " + e.getMessage(), e);
+                }
             }
-            command.run();
+        } finally {
+            draining.set(false);
+        }
+        // a command may have been added after the last poll
+        if (shouldRun && !commands.isEmpty()) {
+            schedule();
+        }
+        if (!shouldRun) {
+logger.log(Level.TRACE, "stop looping");
         }
-logger.log(Level.TRACE, "stop looping 2");
     }
 }
@@ -19,13 +19,15 @@ import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import javax.sound.sampled.SourceDataLine;
 
+import org.jvoicexml.jsapi2.FramePositionSource;
+
 
 /**
  * An {@link OutputStream} that writes to a {@link SourceDataLine}.
  *
  * @author Dirk Schnelle-Walka
  */
-public final class LineOutputStream extends OutputStream implements Closeable {
+public final class LineOutputStream extends OutputStream implements Closeable, FramePositionSource {
 
     private static final Logger logger = System.getLogger(LineOutputStream.class.getName());
 
@@ -57,6 +59,11 @@ public final class LineOutputStream extends OutputStream implements Closeable {
         write(b, 0, b.length);
     }
 
+    @Override
+    public long getFramePosition() {
+        return line.getLongFramePosition();
+    }
+
     @Override
     public void close() throws IOException {
         line.drain();
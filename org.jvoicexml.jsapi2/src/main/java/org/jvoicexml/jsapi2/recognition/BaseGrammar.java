@@ -40,6 +40,9 @@ import javax.speech.recognition.RecognizerMode;
 import javax.speech.recognition.ResultEvent;
 import javax.speech.recognition.ResultListener;
 
+import org.jvoicexml.jsapi2.EventLane;
+import org.jvoicexml.jsapi2.LaneSpeechEventExecutor;
+
 import static java.lang.System.getLogger;
 
 
@@ -222,7 +225,7 @@ public class BaseGrammar implements Grammar, ResultListener {
         SpeechEventExecutor executor = recognizer.getSpeechEventExecutor();
         Runnable runnable = () -> fireGrammarEvent(event);
         try {
-            executor.execute(runnable);
+            LaneSpeechEventExecutor.dispatch(executor, EventLane.RESULT, runnable, 0);
         } catch (RuntimeException ex) {
             logger.log(Level.ERROR, ex.getMessage(), ex);
         }
@@ -150,6 +150,13 @@ public class BaseGrammarManager implements GrammarManager {
         // Remove the grammar
         Grammar key = grammars.remove(grammar.getReference());
 
+        // Forget references into the removed grammar
+        for (Grammar other : grammars.values()) {
+            if (other instanceof BaseRuleGrammar baseRuleGrammar) {
+                baseRuleGrammar.invalidateCompiledGraphs();
+            }
+        }
+
         if (logger.isLoggable(Level.DEBUG)) {
             logger.log(Level.DEBUG, "Removed grammar :{0}", key.getReference());
 
@@ -249,7 +256,7 @@ public class BaseGrammarManager implements GrammarManager {
         URL url = new URL(grammarReference);
         InputStream grammarStream = url.openStream();
 
-        SrgsRuleGrammarParser srgsParser = new SrgsRuleGrammarParser();
+        SrgsRuleGrammarParser srgsParser = SrgsRuleGrammarParser.newInstance();
         Rule[] rules = srgsParser.load(grammarStream);
         if (rules != null) {
             // Initialize rule grammar
@@ -302,7 +309,7 @@ public class BaseGrammarManager implements GrammarManager {
         }
 
         // Process grammar
-        SrgsRuleGrammarParser parser = new SrgsRuleGrammarParser();
+        SrgsRuleGrammarParser parser = SrgsRuleGrammarParser.newInstance();
         Rule[] rules = parser.load(reader);
         if (rules == null) {
             throw new IOException("Unable to load grammar '" + grammarReference + "'");
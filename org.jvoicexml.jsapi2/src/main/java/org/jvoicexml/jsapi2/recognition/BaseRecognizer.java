@@ -47,6 +47,10 @@ import java.lang.System.Logger.Level;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
 import javax.sound.sampled.AudioFormat;
 import javax.speech.AudioException;
 import javax.speech.AudioManager;
@@ -56,6 +60,7 @@ import javax.speech.EngineListener;
 import javax.speech.EngineStateException;
 import javax.speech.SpeechEventExecutor;
 import javax.speech.VocabularyManager;
+import javax.speech.recognition.FinalResult;
 import javax.speech.recognition.Grammar;
 import javax.speech.recognition.GrammarException;
 import javax.speech.recognition.GrammarManager;
@@ -72,7 +77,13 @@ import javax.speech.recognition.SpeakerManager;
 
 import org.jvoicexml.jsapi2.BaseAudioManager;
 import org.jvoicexml.jsapi2.BaseEngine;
+import org.jvoicexml.jsapi2.BaseEngineProperties;
 import org.jvoicexml.jsapi2.BaseVocabularyManager;
+import org.jvoicexml.jsapi2.EventLane;
+import org.jvoicexml.jsapi2.EventPublisher;
+import org.jvoicexml.jsapi2.LaneSpeechEventExecutor;
+import org.jvoicexml.jsapi2.ListenerList;
+import org.jvoicexml.jsapi2.OverflowPolicy;
 import org.jvoicexml.jsapi2.ThreadSpeechEventExecutor;
 
 import static java.lang.System.getLogger;
@@ -96,7 +107,10 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
     private static final Logger logger = getLogger(BaseRecognizer.class.getName());
     
     /** Registered result listeners. */
-    private final Collection<ResultListener> resultListeners;
+    private final ListenerList<ResultListener> resultListeners;
+
+    /** Futures waiting for the next final result. */
+    private final Queue<CompletableFuture<FinalResult>> finalResultFutures = new ConcurrentLinkedQueue<>();
 
     protected boolean hasModalGrammars;
 
@@ -127,7 +141,7 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
      */
     public BaseRecognizer(RecognizerMode mode) {
         super(mode);
-        resultListeners = new java.util.ArrayList<>();
+        resultListeners = new ListenerList<>(new ResultListener[0]);
         speakerManager = new BaseSpeakerManager();
         RecognizerProperties props = new BaseRecognizerProperties(this);
         setRecognizerProperties(props);
@@ -249,6 +263,15 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
         }
     }
 
+    @Override
+    public final void fireEvent(EngineListener[] listeners, EngineEvent event) {
+        RecognizerEvent recognizerEvent = (RecognizerEvent) event;
+        for (EngineListener listener : listeners) {
+            RecognizerListener recognizerListener = (RecognizerListener) listener;
+            recognizerListener.recognizerUpdate(recognizerEvent);
+        }
+    }
+
     @Override
     public EngineEvent createStateTransitionEngineEvent(long oldState, long newState, int eventType) {
         // TODO: Can we determine the audio position?
@@ -275,7 +298,10 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
     protected void postResultEvent(ResultEvent event) {
         SpeechEventExecutor executor = getSpeechEventExecutor();
         try {
-            executor.execute(() -> fireResultEvent(event));
+            LaneSpeechEventExecutor.dispatch(executor, EventLane.RESULT, () -> {
+                fireResultEvent(event);
+                completeFinalResultFutures(event);
+            }, 0);
         } catch (RuntimeException e) {
             logger.log(Level.ERROR, e.getMessage(), e);
         }
@@ -296,9 +322,63 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
         base.postResultEvent(executor, event);
     }
 
+    /**
+     * Creates a publisher of the result events of all results. Each
+     * subscriber gets a result listener of its own.
+     * {@link ResultEvent#RESULT_UPDATED} events may be coalesced.
+     *
+     * @param bufferSize number of events to buffer per subscriber
+     * @param policy     handling of events that do not fit into the buffer
+     * @return the publisher
+     * @since 0.6.11
+     */
+    public Flow.Publisher<ResultEvent> resultEvents(int bufferSize, OverflowPolicy policy) {
+        return new EventPublisher<>(sink -> {
+            ResultListener listener = sink::accept;
+            addResultListener(listener);
+            return () -> removeResultListener(listener);
+        }, bufferSize, policy, e -> e.getId() == ResultEvent.RESULT_UPDATED ? e.getId() : 0);
+    }
+
+    /**
+     * Waits for the next result that is accepted or rejected.
+     * <p>
+     * The future is completed with the result after the result listeners
+     * have been notified about the {@link ResultEvent#RESULT_ACCEPTED} or
+     * {@link ResultEvent#RESULT_REJECTED} event. It fails if the recognizer
+     * is deallocated before. Canceling the future stops waiting.
+     * </p>
+     *
+     * @return the future of the next final result
+     * @since 0.6.11
+     */
+    public CompletableFuture<FinalResult> awaitFinalResult() {
+        CompletableFuture<FinalResult> future = new CompletableFuture<>();
+        finalResultFutures.add(future);
+        future.whenComplete((result, throwable) -> finalResultFutures.remove(future));
+        return future;
+    }
+
+    /**
+     * Completes the futures waiting for a final result if the given event
+     * finalizes a result.
+     *
+     * @param event the event
+     */
+    private void completeFinalResultFutures(ResultEvent event) {
+        int id = event.getId();
+        if (id != ResultEvent.RESULT_ACCEPTED && id != ResultEvent.RESULT_REJECTED) {
+            return;
+        }
+        FinalResult result = (FinalResult) event.getSource();
+        CompletableFuture<FinalResult> future;
+        while ((future = finalResultFutures.poll()) != null) {
+            future.complete(result);
+        }
+    }
+
     public void fireResultEvent(ResultEvent event) {
-        Collection<ResultListener> copy = new ArrayList<>(resultListeners);
-        for (ResultListener listener : copy) {
+        for (ResultListener listener : resultListeners.get()) {
             listener.resultUpdate(event);
         }
     }
@@ -321,9 +401,7 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
      */
     @Override
     public void addResultListener(ResultListener listener) {
-        if (!resultListeners.contains(listener)) {
-            resultListeners.add(listener);
-        }
+        resultListeners.add(listener);
     }
 
     /**
@@ -370,6 +448,33 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
         return resultMask;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Deletes all grammars and resets the result listeners, the masks and
+     * the recognizer properties.
+     * </p>
+     */
+    @Override
+    protected void resetEngine() throws EngineStateException {
+        super.resetEngine();
+        setEngineMask(getEngineMask() | RecognizerEvent.DEFAULT_MASK);
+        resultListeners.clear();
+        resultMask = ResultEvent.DEFAULT_MASK;
+        Grammar[] grammars = grammarManager.listGrammars();
+        if (grammars.length > 0) {
+            for (Grammar grammar : grammars) {
+                grammarManager.deleteGrammar(grammar);
+            }
+            processGrammars();
+        }
+        if (recognizerProperties instanceof BaseEngineProperties properties) {
+            properties.resetForReuse();
+        } else {
+            recognizerProperties.reset();
+        }
+    }
+
     @Override
     public void processGrammars() throws EngineStateException {
         // Flag that indicates if grammars were changed
@@ -403,6 +508,12 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
         if (!existChanges) {
             return;
         }
+        // Graphs may refer to rules of other grammars that have been changed
+        for (Grammar grammar : grammars) {
+            if (grammar instanceof BaseRuleGrammar baseRuleGrammar) {
+                baseRuleGrammar.invalidateCompiledGraphs();
+            }
+        }
         if (setGrammarsResult) {
             postStateTransitionEngineEvent(PAUSED, RESUMED, RecognizerEvent.CHANGES_COMMITTED);
             for (Grammar grammar : grammars) {
@@ -509,6 +620,11 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
             // Stop AudioManager
             AudioManager audioManager = getAudioManager();
             audioManager.audioStop();
+            // no more results to come
+            CompletableFuture<FinalResult> future;
+            while ((future = finalResultFutures.poll()) != null) {
+                future.completeExceptionally(new EngineStateException("recognizer deallocated"));
+            }
         }
 
         // Post the state transition
@@ -610,6 +726,6 @@ public abstract class BaseRecognizer extends BaseEngine implements Recognizer {
      */
     @Override
     protected SpeechEventExecutor createSpeechEventExecutor() {
-        return new ThreadSpeechEventExecutor();
+        return getEngineRuntime().newSpeechEventExecutor();
     }
 }
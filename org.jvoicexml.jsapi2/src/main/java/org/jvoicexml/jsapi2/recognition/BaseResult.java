@@ -47,6 +47,9 @@ import javax.speech.recognition.RuleSequence;
 import javax.speech.recognition.RuleTag;
 import javax.speech.recognition.RuleToken;
 
+import org.jvoicexml.jsapi2.EventLane;
+import org.jvoicexml.jsapi2.LaneSpeechEventExecutor;
+
 import static java.lang.System.getLogger;
 
 
@@ -353,12 +356,12 @@ public class BaseResult implements Result, FinalResult, FinalRuleResult, Seriali
      */
     public void postResultEvent(SpeechEventExecutor speechEventExecutor, ResultEvent event) {
         try {
-            speechEventExecutor.execute(() -> {
+            LaneSpeechEventExecutor.dispatch(speechEventExecutor, EventLane.RESULT, () -> {
                 if (logger.isLoggable(Level.DEBUG)) {
                     logger.log(Level.DEBUG, "notifying event " + event);
                 }
                 fireResultEvent(event);
-            });
+            }, 0);
         } catch (RuntimeException ex) {
             logger.log(Level.WARNING, ex.getLocalizedMessage());
         }
@@ -16,6 +16,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.speech.SpeechLocale;
 import javax.speech.recognition.GrammarException;
 import javax.speech.recognition.GrammarManager;
@@ -56,6 +57,9 @@ public class BaseRuleGrammar extends BaseGrammar implements RuleGrammar {
 
     private int ruleId;
 
+    /** Compiled forms of the committed rules, replaced on changes. */
+    private volatile CompiledRules compiled = new CompiledRules();
+
     protected List<?> imports;
     protected List<?> importedRules;
 
@@ -83,6 +87,22 @@ public class BaseRuleGrammar extends BaseGrammar implements RuleGrammar {
         ruleId = 0;
     }
 
+    /** Compiled forms of the committed rules, built on demand. */
+    private static final class CompiledRules {
+
+        /** Graphs for the backtracking parser by rule name. */
+        final Map<String, CompiledGrammarGraph> graphs = new ConcurrentHashMap<>();
+
+        /** Rules for the chart parser by rule name. */
+        final Map<String, ChartGrammar> charts = new ConcurrentHashMap<>();
+
+        /** Activatable rule names. */
+        volatile String[] activatable;
+
+        /** Index of {@link #activatable} by their first tokens, may be <code>null</code>. */
+        volatile FirstTokenIndex index;
+    }
+
     /**
      * Internal representation of a Rule that holds additionally the
      * <code>activable</code> property.
@@ -338,7 +358,7 @@ public class BaseRuleGrammar extends BaseGrammar implements RuleGrammar {
 
     @Override
     public void addRule(String ruleText) throws GrammarException {
-        SrgsRuleGrammarParser srgsParser = new SrgsRuleGrammarParser();
+        SrgsRuleGrammarParser srgsParser = SrgsRuleGrammarParser.newInstance();
         Rule[] loadedRules = srgsParser.loadRule(new StringReader(ruleText));
         addRules(loadedRules);
     }
@@ -857,6 +877,93 @@ public class BaseRuleGrammar extends BaseGrammar implements RuleGrammar {
         if (rootSetter != null) {
             rootSetter.execute();
         }
+        if (existChanges) {
+            invalidateCompiledGraphs();
+        }
         return existChanges;
     }
+
+    /**
+     * Retrieves the compiled graph of the given committed rule. The graph is
+     * built on first use and kept until the next change of this or any
+     * other grammar is committed.
+     *
+     * @param manager  the grammar manager to resolve references to other
+     *                 grammars
+     * @param ruleName name of the rule
+     * @return the compiled graph, <code>null</code> if there is no such rule
+     */
+    CompiledGrammarGraph getCompiledGraph(GrammarManager manager, String ruleName) {
+        return compiled.graphs.computeIfAbsent(ruleName, name -> RuleParser.compile(manager, this, name));
+    }
+
+    /**
+     * Retrieves the given committed rule compiled for the chart parser. It
+     * is cached like the graphs of {@link #getCompiledGraph(GrammarManager, String)}.
+     *
+     * @param manager  the grammar manager to resolve references to other
+     *                 grammars
+     * @param ruleName name of the rule
+     * @return the compiled rule, <code>null</code> if there is no such rule
+     */
+    ChartGrammar getChartGrammar(GrammarManager manager, String ruleName) {
+        return compiled.charts.computeIfAbsent(ruleName, name -> RuleParser.chart(manager, this, name));
+    }
+
+    /**
+     * Retrieves the activatable rules that may match an input starting with
+     * the given token. With many rules, the rules are looked up in an index
+     * of the tokens they may start with.
+     *
+     * @param manager the grammar manager to resolve references to other
+     *                grammars
+     * @param token   the first input token, <code>null</code> for all
+     *                activatable rules
+     * @return names of the rules in the order of {@link #listRuleNames()}
+     */
+    String[] getActivatableRules(GrammarManager manager, String token) {
+        CompiledRules current = compiled;
+        String[] names = current.activatable;
+        if (names == null) {
+            List<String> list = new ArrayList<>();
+            for (String name : listRuleNames()) {
+                if (isActivatable(name)) {
+                    list.add(name);
+                }
+            }
+            names = list.toArray(new String[0]);
+            if (names.length >= FirstTokenIndex.MIN_CANDIDATES && FirstTokenIndex.isEnabled()) {
+                FirstTokenIndex.Builder builder = new FirstTokenIndex.Builder();
+                for (int i = 0; i < names.length; i++) {
+                    ChartGrammar chart = current.charts.computeIfAbsent(names[i],
+                            name -> RuleParser.chart(manager, this, name));
+                    if (chart == null || chart.getFirstTokens() == null) {
+                        builder.addAlways(i);
+                    } else {
+                        builder.add(i, chart.getFirstTokens());
+                    }
+                }
+                current.index = builder.build();
+            }
+            current.activatable = names;
+        }
+        FirstTokenIndex index = current.index;
+        if (token == null || index == null) {
+            return names;
+        }
+        int[] candidates = index.getCandidates(token);
+        String[] found = new String[candidates.length];
+        for (int i = 0; i < found.length; i++) {
+            found[i] = names[candidates[i]];
+        }
+        return found;
+    }
+
+    /**
+     * Discards the compiled graphs, e.g. after a referenced grammar has been
+     * changed.
+     */
+    void invalidateCompiledGraphs() {
+        compiled = new CompiledRules();
+    }
 }
@@ -0,0 +1,430 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.speech.EngineStateException;
+import javax.speech.recognition.GrammarManager;
+import javax.speech.recognition.Rule;
+import javax.speech.recognition.RuleAlternatives;
+import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleCount;
+import javax.speech.recognition.RuleGrammar;
+import javax.speech.recognition.RuleReference;
+import javax.speech.recognition.RuleSequence;
+import javax.speech.recognition.RuleSpecial;
+import javax.speech.recognition.RuleTag;
+import javax.speech.recognition.RuleToken;
+
+
+/**
+ * Immutable symbol table of a rule for the {@link ChartParser}.
+ * <p>
+ * Each rule component becomes a symbol. Rule references are resolved once
+ * per referenced rule, so recursive rules are allowed, and repeats are kept
+ * as a single symbol with their bounds instead of being unrolled. Instances
+ * may be shared among threads parsing at the same time.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see BaseRuleGrammar#getChartGrammar(GrammarManager, String)
+ * @since 0.6.11
+ */
+final class ChartGrammar {
+
+    private static final Logger logger = System.getLogger(ChartGrammar.class.getName());
+
+    /** A token matching one or more words. */
+    static final int TOKEN = 0;
+    /** A tag or the special rule <code>NULL</code>, matching nothing. */
+    static final int EMPTY = 1;
+    /** A sequence of its children. */
+    static final int SEQUENCE = 2;
+    /** One of its children. */
+    static final int ALTERNATIVES = 3;
+    /** A bounded or unbounded repeat of its child. */
+    static final int COUNT = 4;
+    /** A rule reference to its child, unresolved references have none. */
+    static final int REFERENCE = 5;
+    /** The special rule <code>GARBAGE</code>, matching any single word. */
+    static final int GARBAGE = 6;
+
+    /** Index of the start symbol. */
+    private final int start;
+
+    private final int[] kinds;
+
+    private final int[][] children;
+
+    private final RuleComponent[] components;
+
+    /** Lower cased text of the tokens. */
+    private final String[] texts;
+
+    /** Words of tokens with more than one word, otherwise <code>null</code>. */
+    private final String[][] words;
+
+    /** Rule names of the references. */
+    private final String[] names;
+
+    /** Flags of the symbols that can match without input. */
+    private final boolean[] nullable;
+
+    /** Indices of the children of large alternatives, otherwise <code>null</code>. */
+    private final FirstTokenIndex[] indices;
+
+    /**
+     * Tokens the start symbol can start with, <code>null</code> if it may
+     * start with any token or match without input.
+     */
+    private final Set<String> firstTokens;
+
+    /**
+     * Compiles the given rule.
+     *
+     * @param manager  the grammar manager to resolve references to other
+     *                 grammars
+     * @param grammar  the rule grammar
+     * @param ruleName name of the start rule
+     */
+    ChartGrammar(GrammarManager manager, RuleGrammar grammar, String ruleName) {
+        Builder builder = new Builder(manager);
+        start = builder.reference(grammar, new RuleReference(ruleName));
+        int size = builder.kinds.size();
+        kinds = new int[size];
+        children = new int[size][];
+        components = builder.components.toArray(new RuleComponent[size]);
+        texts = new String[size];
+        words = new String[size][];
+        names = new String[size];
+        for (int i = 0; i < size; i++) {
+            kinds[i] = builder.kinds.get(i);
+            children[i] = builder.children.get(i);
+            if (kinds[i] == TOKEN) {
+                texts[i] = ((RuleToken) components[i]).getText().toLowerCase();
+                if (texts[i].indexOf(' ') >= 0) {
+                    words[i] = texts[i].split(" ");
+                }
+            } else if (kinds[i] == REFERENCE) {
+                names[i] = ((RuleReference) components[i]).getRuleName();
+            }
+        }
+
+        nullable = new boolean[size];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < size; i++) {
+                if (!nullable[i] && isNullable(i)) {
+                    nullable[i] = true;
+                    changed = true;
+                }
+            }
+        }
+
+        indices = new FirstTokenIndex[size];
+        int[] marks = new int[size];
+        int mark = 0;
+        if (FirstTokenIndex.isEnabled()) {
+            for (int i = 0; i < size; i++) {
+                if (kinds[i] == ALTERNATIVES && children[i].length >= FirstTokenIndex.MIN_CANDIDATES) {
+                    FirstTokenIndex.Builder index = new FirstTokenIndex.Builder();
+                    for (int child : children[i]) {
+                        Set<String> tokens = new java.util.HashSet<>();
+                        if (nullable[child] || collectFirstTokens(child, tokens, marks, ++mark)) {
+                            index.addAlways(child);
+                        } else {
+                            index.add(child, tokens);
+                        }
+                    }
+                    indices[i] = index.build();
+                }
+            }
+        }
+        Set<String> tokens = new java.util.HashSet<>();
+        if (nullable[start] || collectFirstTokens(start, tokens, marks, ++mark)) {
+            firstTokens = null;
+        } else {
+            firstTokens = tokens;
+        }
+    }
+
+    /**
+     * Checks if the given symbol can match without input, assuming the
+     * current flags of its children.
+     *
+     * @param symbol index of the symbol
+     * @return <code>true</code> if the symbol can match without input
+     */
+    private boolean isNullable(int symbol) {
+        switch (kinds[symbol]) {
+        case EMPTY:
+            return true;
+        case SEQUENCE:
+            for (int child : children[symbol]) {
+                if (!nullable[child]) {
+                    return false;
+                }
+            }
+            return true;
+        case ALTERNATIVES:
+        case REFERENCE:
+            for (int child : children[symbol]) {
+                if (nullable[child]) {
+                    return true;
+                }
+            }
+            return false;
+        case COUNT:
+            return ((RuleCount) components[symbol]).getRepeatMin() == 0 || nullable[children[symbol][0]];
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Collects the tokens the given symbol may start with.
+     *
+     * @param symbol  index of the symbol
+     * @param tokens  the collected tokens
+     * @param marks   marks of the visited symbols
+     * @param mark    the mark of this search
+     * @return <code>true</code> if the symbol may start with any token
+     */
+    private boolean collectFirstTokens(int symbol, Set<String> tokens, int[] marks, int mark) {
+        if (marks[symbol] == mark) {
+            return false;
+        }
+        marks[symbol] = mark;
+        switch (kinds[symbol]) {
+        case TOKEN:
+            tokens.add(texts[symbol]);
+            if (words[symbol] != null) {
+                tokens.add(words[symbol][0]);
+            }
+            return false;
+        case GARBAGE:
+            return true;
+        case SEQUENCE:
+            boolean any = false;
+            for (int child : children[symbol]) {
+                any |= collectFirstTokens(child, tokens, marks, mark);
+                if (!nullable[child]) {
+                    break;
+                }
+            }
+            return any;
+        default:
+            boolean anyChild = false;
+            for (int child : children[symbol]) {
+                anyChild |= collectFirstTokens(child, tokens, marks, mark);
+            }
+            return anyChild;
+        }
+    }
+
+    /** Collects the symbols. */
+    private static final class Builder {
+
+        final GrammarManager manager;
+
+        final List<Integer> kinds = new java.util.ArrayList<>();
+
+        final List<int[]> children = new java.util.ArrayList<>();
+
+        final List<RuleComponent> components = new java.util.ArrayList<>();
+
+        /** Reference symbols by grammar and rule name. */
+        final Map<RuleGrammar, Map<String, Integer>> references = new IdentityHashMap<>();
+
+        Builder(GrammarManager manager) {
+            this.manager = manager;
+        }
+
+        int add(int kind, RuleComponent component, int[] symbolChildren) {
+            kinds.add(kind);
+            components.add(component);
+            children.add(symbolChildren);
+            return kinds.size() - 1;
+        }
+
+        int symbol(RuleGrammar grammar, RuleComponent component) {
+            if (component instanceof RuleToken) {
+                return add(TOKEN, component, new int[0]);
+            } else if (component instanceof RuleTag) {
+                return add(EMPTY, component, new int[0]);
+            } else if (component instanceof RuleSequence sequence) {
+                return add(SEQUENCE, component, symbols(grammar, sequence.getRuleComponents()));
+            } else if (component instanceof RuleAlternatives alternatives) {
+                // the same rule may be referenced by several alternatives
+                int[] symbols = symbols(grammar, alternatives.getRuleComponents());
+                return add(ALTERNATIVES, component, Arrays.stream(symbols).distinct().toArray());
+            } else if (component instanceof RuleCount count) {
+                return add(COUNT, component, new int[] {symbol(grammar, count.getRuleComponent())});
+            } else if (component instanceof RuleReference reference) {
+                return reference(grammar, reference);
+            } else if (component == RuleSpecial.NULL) {
+                return add(EMPTY, component, new int[0]);
+            } else if (component == RuleSpecial.GARBAGE) {
+                return add(GARBAGE, component, new int[0]);
+            } else {
+                // VOID and unknown components never match
+                return add(ALTERNATIVES, component, new int[0]);
+            }
+        }
+
+        int[] symbols(RuleGrammar grammar, RuleComponent[] ruleComponents) {
+            int[] symbols = new int[ruleComponents.length];
+            for (int i = 0; i < symbols.length; i++) {
+                symbols[i] = symbol(grammar, ruleComponents[i]);
+            }
+            return symbols;
+        }
+
+        int reference(RuleGrammar grammar, RuleReference reference) {
+            String simpleName = reference.getRuleName();
+            RuleGrammar target = grammar;
+            Rule rule = grammar.getRule(simpleName);
+            if (rule == null) {
+                String gname = reference.getGrammarReference();
+                if ((gname != null) && (!gname.isEmpty())) {
+                    try {
+                        target = (RuleGrammar) manager.getGrammar(gname);
+                    } catch (EngineStateException ex) {
+                        logger.log(Level.ERROR, ex.getMessage(), ex);
+                        target = null;
+                    }
+                    rule = target != null ? target.getRule(simpleName) : null;
+                }
+            }
+            if (rule == null || rule.getRuleComponent() == null) {
+                logger.log(Level.ERROR, "ERROR: UNKNOWN RULE NAME " + simpleName + " " + reference);
+                return add(REFERENCE, reference, new int[0]);
+            }
+            Map<String, Integer> known = references.computeIfAbsent(target, k -> new java.util.HashMap<>());
+            Integer symbol = known.get(simpleName);
+            if (symbol != null) {
+                return symbol;
+            }
+            int[] child = new int[1];
+            int index = add(REFERENCE, reference, child);
+            known.put(simpleName, index);
+            child[0] = symbol(target, rule.getRuleComponent());
+            return index;
+        }
+    }
+
+    /**
+     * Retrieves the start symbol, a reference to the start rule.
+     *
+     * @return index of the start symbol
+     */
+    int getStart() {
+        return start;
+    }
+
+    /**
+     * Retrieves the number of symbols.
+     *
+     * @return number of symbols
+     */
+    int size() {
+        return kinds.length;
+    }
+
+    /**
+     * Retrieves the kind of the given symbol.
+     *
+     * @param symbol index of the symbol
+     * @return the kind
+     */
+    int getKind(int symbol) {
+        return kinds[symbol];
+    }
+
+    /**
+     * Retrieves the children of the given symbol. The returned array must not
+     * be modified.
+     *
+     * @param symbol index of the symbol
+     * @return indices of the children
+     */
+    int[] getChildren(int symbol) {
+        return children[symbol];
+    }
+
+    /**
+     * Retrieves the children of the given symbol that may start with the
+     * given input token. The returned array must not be modified.
+     *
+     * @param symbol index of the symbol
+     * @param token  the next input token
+     * @return indices of the children
+     */
+    int[] getChildren(int symbol, String token) {
+        FirstTokenIndex index = indices[symbol];
+        return index == null ? children[symbol] : index.getCandidates(token);
+    }
+
+    /**
+     * Retrieves the tokens the start rule may start with.
+     *
+     * @return the tokens, <code>null</code> if the rule may start with any
+     * token or match without input
+     */
+    Set<String> getFirstTokens() {
+        return firstTokens;
+    }
+
+    /**
+     * Retrieves the rule component of the given symbol.
+     *
+     * @param symbol index of the symbol
+     * @return the rule component
+     */
+    RuleComponent getRuleComponent(int symbol) {
+        return components[symbol];
+    }
+
+    /**
+     * Retrieves the lower cased text of the given token.
+     *
+     * @param symbol index of the symbol
+     * @return the text, <code>null</code> if this is not a token
+     */
+    String getText(int symbol) {
+        return texts[symbol];
+    }
+
+    /**
+     * Retrieves the words of the given token. The returned array must not be
+     * modified.
+     *
+     * @param symbol index of the symbol
+     * @return the words, <code>null</code> if the token has a single word
+     */
+    String[] getWords(int symbol) {
+        return words[symbol];
+    }
+
+    /**
+     * Retrieves the rule name of the given reference.
+     *
+     * @param symbol index of the symbol
+     * @return the rule name, <code>null</code> if this is not a reference
+     */
+    String getRuleName(int symbol) {
+        return names[symbol];
+    }
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.speech.recognition.RuleAlternatives;
+import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleCount;
+import javax.speech.recognition.RuleParse;
+import javax.speech.recognition.RuleReference;
+import javax.speech.recognition.RuleSequence;
+import javax.speech.recognition.RuleToken;
+
+
+/**
+ * Earley chart parser over a {@link ChartGrammar}.
+ * <p>
+ * The chart holds one set of items per input position. An item is a symbol
+ * with the number of children matched so far and the position it started
+ * at, together with the derivations that led to it. Each item is added
+ * once per position, so the chart grows at most cubic with the input length
+ * regardless of ambiguities, recursive rules or the bounds of repeats.
+ * The parses are read from the derivations of the completed start item
+ * afterwards.
+ * </p>
+ * <p>
+ * The results have the same structure as those of the backtracking
+ * {@link RuleParser}. A parser is used for a single input only, so that
+ * parsing is thread safe as long as the grammar is not shared mutably.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see RuleParser#mparse(String[], javax.speech.recognition.GrammarManager, String, String, int)
+ * @since 0.6.11
+ */
+final class ChartParser {
+
+    /** A symbol, the number of matched children and the start position. */
+    private static final class Item {
+
+        final int symbol;
+
+        final int dot;
+
+        final int origin;
+
+        /**
+         * Derivations of this item, <code>null</code> for predicted items,
+         * matched words and empty symbols.
+         */
+        List<Link> links;
+
+        Item(int symbol, int dot, int origin) {
+            this.symbol = symbol;
+            this.dot = dot;
+            this.origin = origin;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Item item && symbol == item.symbol && dot == item.dot && origin == item.origin;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(symbol, dot, origin);
+        }
+    }
+
+    /**
+     * An item derived from the previous state of the same symbol and a
+     * completed child.
+     */
+    private record Link(Item previous, Item child) {
+    }
+
+    /** The items ending at an input position. */
+    private static final class ItemSet {
+
+        final Map<Item, Item> items = new java.util.HashMap<>();
+
+        final ArrayDeque<Item> agenda = new ArrayDeque<>();
+
+        /** Processed items by the symbol they wait for. */
+        final Map<Integer, List<Item>> waiting = new java.util.HashMap<>();
+
+        /** Processed completed items that also start here, by symbol. */
+        final Map<Integer, List<Item>> empty = new java.util.HashMap<>();
+    }
+
+    private final ChartGrammar grammar;
+
+    private final String[] input;
+
+    /** Item sets by input position, created on demand. */
+    private final ItemSet[] sets;
+
+    /** Parse trees of completed items. */
+    private final Map<Item, List<RuleComponent>> trees = new IdentityHashMap<>();
+
+    /** Child sequences of items. */
+    private final Map<Item, List<List<RuleComponent>>> sequences = new IdentityHashMap<>();
+
+    /** Completed items whose trees are being built, to break cycles. */
+    private final Set<Item> building = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Constructs a new object.
+     *
+     * @param grammar the grammar
+     * @param input   the tokens to parse
+     */
+    private ChartParser(ChartGrammar grammar, String[] input) {
+        this.grammar = grammar;
+        this.input = input;
+        sets = new ItemSet[input.length + 1];
+    }
+
+    /**
+     * Parses the given tokens.
+     *
+     * @param grammar   the grammar
+     * @param input     the tokens to parse
+     * @param maxParses maximal number of parses to return
+     * @return the parses, an empty list if the input does not match
+     */
+    static List<RuleParse> parse(ChartGrammar grammar, String[] input, int maxParses) {
+        return new ChartParser(grammar, input).parse(maxParses);
+    }
+
+    /**
+     * Fills the chart and reads the parses.
+     *
+     * @param maxParses maximal number of parses to return
+     * @return the parses
+     */
+    private List<RuleParse> parse(int maxParses) {
+        add(0, grammar.getStart(), 0, 0);
+        for (int position = 0; position < sets.length; position++) {
+            if (sets[position] != null) {
+                process(position);
+            }
+        }
+        ItemSet last = sets[input.length];
+        Item done = last == null ? null : last.items.get(new Item(grammar.getStart(), 1, 0));
+        if (done == null) {
+            return List.of();
+        }
+        List<RuleParse> parses = new java.util.ArrayList<>();
+        for (RuleComponent tree : trees(done, maxParses)) {
+            parses.add((RuleParse) tree);
+        }
+        return parses;
+    }
+
+    /**
+     * Adds an item if it is not yet known.
+     *
+     * @param position the end position of the item
+     * @param symbol   the symbol
+     * @param dot      number of matched children
+     * @param origin   the start position of the item
+     * @return the new or the known item
+     */
+    private Item add(int position, int symbol, int dot, int origin) {
+        ItemSet set = sets[position];
+        if (set == null) {
+            set = new ItemSet();
+            sets[position] = set;
+        }
+        Item item = new Item(symbol, dot, origin);
+        Item known = set.items.putIfAbsent(item, item);
+        if (known != null) {
+            return known;
+        }
+        set.agenda.add(item);
+        return item;
+    }
+
+    /**
+     * Processes all items ending at the given position.
+     *
+     * @param position the input position
+     */
+    private void process(int position) {
+        ItemSet set = sets[position];
+        Item item;
+        while ((item = set.agenda.poll()) != null) {
+            int symbol = item.symbol;
+            if (isCompleted(item)) {
+                complete(item, position);
+            }
+            switch (grammar.getKind(symbol)) {
+            case ChartGrammar.TOKEN:
+                if (item.dot == 0) {
+                    scan(item, position);
+                }
+                break;
+            case ChartGrammar.GARBAGE:
+                if (item.dot == 0 && position < input.length) {
+                    add(position + 1, symbol, 1, position);
+                }
+                break;
+            case ChartGrammar.EMPTY:
+                if (item.dot == 0) {
+                    add(position, symbol, 1, position);
+                }
+                break;
+            case ChartGrammar.SEQUENCE:
+                int[] elements = grammar.getChildren(symbol);
+                if (item.dot < elements.length) {
+                    await(item, elements[item.dot], position);
+                }
+                break;
+            case ChartGrammar.COUNT:
+                int max = ((RuleCount) grammar.getRuleComponent(symbol)).getRepeatMax();
+                if (max == RuleCount.REPEAT_INDEFINITELY || item.dot < max) {
+                    await(item, grammar.getChildren(symbol)[0], position);
+                }
+                break;
+            default:
+                if (item.dot == 0) {
+                    int[] children = position < input.length
+                            ? grammar.getChildren(symbol, input[position]) : grammar.getChildren(symbol);
+                    for (int child : children) {
+                        await(item, child, position);
+                    }
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Matches a token against the input at the given position.
+     *
+     * @param item     the predicted token
+     * @param position the input position
+     */
+    private void scan(Item item, int position) {
+        if (position >= input.length) {
+            return;
+        }
+        String word = input[position];
+        String text = grammar.getText(item.symbol);
+        if (text.equals(word) || word.equals("%") || word.equals("*")) {
+            add(position + 1, item.symbol, 1, position);
+            return;
+        }
+        String[] words = grammar.getWords(item.symbol);
+        if (words == null || position + words.length > input.length) {
+            return;
+        }
+        for (int i = 0; i < words.length; i++) {
+            if (!words[i].equals(input[position + i])) {
+                return;
+            }
+        }
+        add(position + words.length, item.symbol, 1, position);
+    }
+
+    /**
+     * Registers the given item as waiting for a child and predicts the
+     * child.
+     *
+     * @param item     the waiting item
+     * @param child    the symbol of the child
+     * @param position the input position
+     */
+    private void await(Item item, int child, int position) {
+        ItemSet set = sets[position];
+        set.waiting.computeIfAbsent(child, k -> new java.util.ArrayList<>()).add(item);
+        add(position, child, 0, position);
+        // children that have already been completed without input
+        List<Item> completed = set.empty.get(child);
+        if (completed != null) {
+            for (Item done : completed) {
+                advance(item, done, position);
+            }
+        }
+    }
+
+    /**
+     * Advances the items waiting for the given completed item.
+     *
+     * @param item     the completed item
+     * @param position the input position
+     */
+    private void complete(Item item, int position) {
+        if (item.origin == position) {
+            sets[position].empty.computeIfAbsent(item.symbol, k -> new java.util.ArrayList<>()).add(item);
+        }
+        List<Item> waiting = sets[item.origin].waiting.get(item.symbol);
+        if (waiting != null) {
+            for (Item parent : waiting) {
+                advance(parent, item, position);
+            }
+        }
+    }
+
+    /**
+     * Advances the given item by a completed child.
+     *
+     * @param parent   the waiting item
+     * @param child    the completed child
+     * @param position the end position of the child
+     */
+    private void advance(Item parent, Item child, int position) {
+        int dot = parent.dot + 1;
+        if (grammar.getKind(parent.symbol) == ChartGrammar.COUNT) {
+            RuleCount count = (RuleCount) grammar.getRuleComponent(parent.symbol);
+            if (count.getRepeatMax() == RuleCount.REPEAT_INDEFINITELY) {
+                // all states beyond the minimum behave the same
+                dot = Math.min(dot, count.getRepeatMin());
+            }
+        }
+        Item next = add(position, parent.symbol, dot, parent.origin);
+        if (next == parent) {
+            // an empty repeat
+            return;
+        }
+        if (next.links == null) {
+            next.links = new java.util.ArrayList<>(1);
+        }
+        next.links.add(new Link(parent, child));
+    }
+
+    /**
+     * Checks if the given item matched its symbol completely.
+     *
+     * @param item the item
+     * @return <code>true</code> if the item is completed
+     */
+    private boolean isCompleted(Item item) {
+        switch (grammar.getKind(item.symbol)) {
+        case ChartGrammar.SEQUENCE:
+            return item.dot == grammar.getChildren(item.symbol).length;
+        case ChartGrammar.COUNT:
+            return item.dot >= ((RuleCount) grammar.getRuleComponent(item.symbol)).getRepeatMin();
+        default:
+            return item.dot == 1;
+        }
+    }
+
+    /**
+     * Builds the parse trees of a completed item.
+     *
+     * @param item  the completed item
+     * @param limit maximal number of trees
+     * @return the trees
+     */
+    private List<RuleComponent> trees(Item item, int limit) {
+        List<RuleComponent> known = trees.get(item);
+        if (known != null) {
+            return known;
+        }
+        if (!building.add(item)) {
+            // a derivation of the item from itself
+            return List.of();
+        }
+        List<RuleComponent> result = new java.util.ArrayList<>();
+        for (List<RuleComponent> children : sequences(item, limit)) {
+            result.add(tree(item.symbol, children));
+        }
+        building.remove(item);
+        trees.put(item, result);
+        return result;
+    }
+
+    /**
+     * Builds the sequences of children the given item has been derived from.
+     *
+     * @param item  the item
+     * @param limit maximal number of sequences
+     * @return the sequences
+     */
+    private List<List<RuleComponent>> sequences(Item item, int limit) {
+        if (item.links == null) {
+            return List.of(List.of());
+        }
+        List<List<RuleComponent>> known = sequences.get(item);
+        if (known != null) {
+            return known;
+        }
+        List<List<RuleComponent>> result = new java.util.ArrayList<>();
+        collect:
+        for (Link link : item.links) {
+            List<List<RuleComponent>> prefixes = sequences(link.previous(), limit);
+            List<RuleComponent> children = trees(link.child(), limit);
+            for (List<RuleComponent> prefix : prefixes) {
+                for (RuleComponent child : children) {
+                    List<RuleComponent> sequence = new java.util.ArrayList<>(prefix.size() + 1);
+                    sequence.addAll(prefix);
+                    sequence.add(child);
+                    result.add(sequence);
+                    if (result.size() >= limit) {
+                        break collect;
+                    }
+                }
+            }
+        }
+        sequences.put(item, result);
+        return result;
+    }
+
+    /**
+     * Creates the parse tree of a symbol.
+     *
+     * @param symbol   the symbol
+     * @param children the trees of the children
+     * @return the tree
+     */
+    private RuleComponent tree(int symbol, List<RuleComponent> children) {
+        RuleComponent[] components = children.toArray(new RuleComponent[0]);
+        switch (grammar.getKind(symbol)) {
+        case ChartGrammar.TOKEN:
+            return new RuleToken(grammar.getText(symbol));
+        case ChartGrammar.SEQUENCE:
+            return new RuleSequence(components);
+        case ChartGrammar.ALTERNATIVES:
+            return new RuleAlternatives(components);
+        case ChartGrammar.COUNT:
+            int count = components.length;
+            int repeatProb = ((RuleCount) grammar.getRuleComponent(symbol)).getRepeatProbability();
+            if (repeatProb >= 0 && repeatProb != RuleCount.MAX_PROBABILITY) {
+                return new RuleCount(new RuleSequence(components), count, count, repeatProb);
+            } else {
+                return new RuleCount(new RuleSequence(components), count, count);
+            }
+        case ChartGrammar.REFERENCE:
+            return new RuleParse(new RuleReference(grammar.getRuleName(symbol)), components[0]);
+        default:
+            return grammar.getRuleComponent(symbol);
+        }
+    }
+}
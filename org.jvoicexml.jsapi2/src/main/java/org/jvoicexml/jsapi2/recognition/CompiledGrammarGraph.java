@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleToken;
+
+
+/**
+ * Immutable, array based form of a {@link GrammarGraph}.
+ * <p>
+ * Nodes are addressed by their index, arcs are stored as arrays of target
+ * indices and the text of token nodes is lower cased and split into words in
+ * advance. Instances do not change after construction and may be shared
+ * among threads parsing at the same time.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see BaseRuleGrammar#getCompiledGraph(javax.speech.recognition.GrammarManager, String)
+ * @since 0.6.11
+ */
+final class CompiledGrammarGraph {
+
+    /** Index of the start node. */
+    private final int start;
+
+    /** Node types, see the constants of {@link GrammarNode}. */
+    private final int[] types;
+
+    /** Final flags of the nodes. */
+    private final boolean[] finals;
+
+    /** Associated rule components of the nodes. */
+    private final RuleComponent[] components;
+
+    /** Targets of the arcs of the nodes. */
+    private final int[][] arcs;
+
+    /** Lower cased text of the token nodes. */
+    private final String[] texts;
+
+    /** Words of token nodes with more than one word, otherwise <code>null</code>. */
+    private final String[][] words;
+
+    /** Indices of the arcs of large alternatives, otherwise <code>null</code>. */
+    private final FirstTokenIndex[] indices;
+
+    /**
+     * Compiles the given graph.
+     *
+     * @param graph the graph
+     */
+    CompiledGrammarGraph(GrammarGraph graph) {
+        // number the nodes in the order they are reached
+        Map<GrammarNode, Integer> numbers = new IdentityHashMap<>();
+        List<GrammarNode> nodes = new java.util.ArrayList<>();
+        Deque<GrammarNode> pending = new ArrayDeque<>();
+        pending.add(graph.getStartNode());
+        numbers.put(graph.getStartNode(), 0);
+        nodes.add(graph.getStartNode());
+        while (!pending.isEmpty()) {
+            GrammarNode node = pending.poll();
+            for (GrammarArc arc : node.getArcs()) {
+                GrammarNode target = arc.getGrammarNode();
+                if (!numbers.containsKey(target)) {
+                    numbers.put(target, nodes.size());
+                    nodes.add(target);
+                    pending.add(target);
+                }
+            }
+        }
+
+        int size = nodes.size();
+        start = 0;
+        types = new int[size];
+        finals = new boolean[size];
+        components = new RuleComponent[size];
+        arcs = new int[size][];
+        texts = new String[size];
+        words = new String[size][];
+        for (int i = 0; i < size; i++) {
+            GrammarNode node = nodes.get(i);
+            types[i] = node.getNodeType();
+            finals[i] = node.isFinalNode();
+            components[i] = node.getRuleComponent();
+            List<GrammarArc> nodeArcs = node.getArcs();
+            arcs[i] = new int[nodeArcs.size()];
+            for (int j = 0; j < arcs[i].length; j++) {
+                arcs[i][j] = numbers.get(nodeArcs.get(j).getGrammarNode());
+            }
+            if (types[i] == GrammarNode.TOKEN) {
+                texts[i] = ((RuleToken) components[i]).getText().toLowerCase();
+                if (texts[i].indexOf(' ') >= 0) {
+                    words[i] = texts[i].split(" ");
+                }
+            }
+        }
+
+        indices = new FirstTokenIndex[size];
+        if (FirstTokenIndex.isEnabled()) {
+            int[] marks = new int[size];
+            int mark = 0;
+            for (int i = 0; i < size; i++) {
+                if (types[i] == GrammarNode.START_ALTERNATIVE && arcs[i].length >= FirstTokenIndex.MIN_CANDIDATES) {
+                    FirstTokenIndex.Builder index = new FirstTokenIndex.Builder();
+                    for (int target : arcs[i]) {
+                        Set<String> tokens = new java.util.HashSet<>();
+                        collectFirstTokens(target, tokens, marks, ++mark);
+                        index.add(target, tokens);
+                    }
+                    indices[i] = index.build();
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the tokens a path from the given node may start with. The
+     * paths are followed like the parser does.
+     *
+     * @param node   index of the node
+     * @param tokens the collected tokens
+     * @param marks  marks of the visited nodes
+     * @param mark   the mark of this search
+     */
+    private void collectFirstTokens(int node, Set<String> tokens, int[] marks, int mark) {
+        if (marks[node] == mark || finals[node]) {
+            return;
+        }
+        marks[node] = mark;
+        if (types[node] == GrammarNode.TOKEN) {
+            tokens.add(texts[node]);
+            if (words[node] != null) {
+                tokens.add(words[node][0]);
+            }
+        } else if (types[node] == GrammarNode.TAG) {
+            collectFirstTokens(arcs[node][0], tokens, marks, mark);
+        } else {
+            for (int target : arcs[node]) {
+                collectFirstTokens(target, tokens, marks, mark);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the index of the start node.
+     *
+     * @return index of the start node
+     */
+    int getStartNode() {
+        return start;
+    }
+
+    /**
+     * Retrieves the number of nodes.
+     *
+     * @return number of nodes
+     */
+    int size() {
+        return types.length;
+    }
+
+    /**
+     * Retrieves the type of the given node.
+     *
+     * @param node index of the node
+     * @return the node type
+     */
+    int getNodeType(int node) {
+        return types[node];
+    }
+
+    /**
+     * Checks if the given node is a final node.
+     *
+     * @param node index of the node
+     * @return <code>true</code> if this is a final node
+     */
+    boolean isFinalNode(int node) {
+        return finals[node];
+    }
+
+    /**
+     * Retrieves the rule component associated with the given node.
+     *
+     * @param node index of the node
+     * @return the rule component, may be <code>null</code>
+     */
+    RuleComponent getRuleComponent(int node) {
+        return components[node];
+    }
+
+    /**
+     * Retrieves the targets of the arcs of the given node. The returned array
+     * must not be modified.
+     *
+     * @param node index of the node
+     * @return indices of the successor nodes
+     */
+    int[] getArcs(int node) {
+        return arcs[node];
+    }
+
+    /**
+     * Retrieves the targets of the arcs of the given node that may lead to
+     * the given input token. The returned array must not be modified.
+     *
+     * @param node  index of the node
+     * @param token the next input token
+     * @return indices of the successor nodes
+     */
+    int[] getArcs(int node, String token) {
+        FirstTokenIndex index = indices[node];
+        return index == null ? arcs[node] : index.getCandidates(token);
+    }
+
+    /**
+     * Retrieves the lower cased text of the given token node.
+     *
+     * @param node index of the node
+     * @return the text, <code>null</code> if this is not a token node
+     */
+    String getText(int node) {
+        return texts[node];
+    }
+
+    /**
+     * Retrieves the words of the given token node. The returned array must
+     * not be modified.
+     *
+     * @param node index of the node
+     * @return the words, <code>null</code> if the token has a single word
+     */
+    String[] getWords(int node) {
+        return words[node];
+    }
+}
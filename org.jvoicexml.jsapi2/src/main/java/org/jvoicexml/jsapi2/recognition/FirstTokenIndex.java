@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Maps an input token to the candidates, e.g. rules or alternatives, that
+ * can start with it.
+ * <p>
+ * Candidates are numbered by the caller. Those that can start with any
+ * token or with no token at all are returned for every token. The
+ * candidates are returned in the order they were added.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see RuleParser#FIRST_TOKEN_INDEX
+ * @since 0.6.11
+ */
+final class FirstTokenIndex {
+
+    /** Minimal number of candidates worth an index. */
+    static final int MIN_CANDIDATES = 16;
+
+    /** Candidates by the token they can start with, including {@link #always}. */
+    private final Map<String, int[]> byToken;
+
+    /** Candidates for any token. */
+    private final int[] always;
+
+    /** All candidates. */
+    private final int[] all;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param builder the collected candidates
+     */
+    private FirstTokenIndex(Builder builder) {
+        all = toArray(builder.all);
+        always = positions(builder.always);
+        byToken = new java.util.HashMap<>(builder.byToken.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : builder.byToken.entrySet()) {
+            byToken.put(entry.getKey(), merge(entry.getValue(), builder.always));
+        }
+    }
+
+    /** Collects the candidates of an index. */
+    static final class Builder {
+
+        private final List<Integer> all = new java.util.ArrayList<>();
+
+        /** Positions in {@link #all} of the candidates for any token. */
+        private final List<Integer> always = new java.util.ArrayList<>();
+
+        /** Positions in {@link #all} by token. */
+        private final Map<String, List<Integer>> byToken = new java.util.HashMap<>();
+
+        /**
+         * Adds a candidate that starts with one of the given tokens.
+         *
+         * @param candidate the candidate
+         * @param tokens    the tokens
+         * @return this builder
+         */
+        Builder add(int candidate, Collection<String> tokens) {
+            int position = all.size();
+            all.add(candidate);
+            for (String token : tokens) {
+                byToken.computeIfAbsent(token, k -> new java.util.ArrayList<>(1)).add(position);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a candidate that is tried for any token.
+         *
+         * @param candidate the candidate
+         * @return this builder
+         */
+        Builder addAlways(int candidate) {
+            always.add(all.size());
+            all.add(candidate);
+            return this;
+        }
+
+        /**
+         * Creates the index.
+         *
+         * @return the index
+         */
+        FirstTokenIndex build() {
+            return new FirstTokenIndex(this);
+        }
+    }
+
+    /**
+     * Checks if the indices are enabled by the system property
+     * {@link RuleParser#FIRST_TOKEN_INDEX}.
+     *
+     * @return <code>true</code> if indices should be used
+     */
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(RuleParser.FIRST_TOKEN_INDEX, "true"));
+    }
+
+    /**
+     * Checks if the given input token matches any token.
+     *
+     * @param token the input token
+     * @return <code>true</code> for the wildcards <code>%</code> and
+     * <code>*</code>
+     */
+    static boolean isWildcard(String token) {
+        return token.equals("%") || token.equals("*");
+    }
+
+    /**
+     * Retrieves the candidates that may start with the given input token.
+     * The returned array must not be modified.
+     *
+     * @param token the input token
+     * @return the candidates in the order they were added
+     */
+    int[] getCandidates(String token) {
+        if (isWildcard(token)) {
+            return all;
+        }
+        return byToken.getOrDefault(token, always);
+    }
+
+    /**
+     * Retrieves all candidates. The returned array must not be modified.
+     *
+     * @return the candidates in the order they were added
+     */
+    int[] getAll() {
+        return all;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Retrieves the candidates at the given positions.
+     *
+     * @param positions ascending positions in {@link #all}
+     * @return the candidates
+     */
+    private int[] positions(List<Integer> positions) {
+        int[] candidates = new int[positions.size()];
+        for (int i = 0; i < candidates.length; i++) {
+            candidates[i] = all[positions.get(i)];
+        }
+        return candidates;
+    }
+
+    /**
+     * Retrieves the candidates at the positions of both lists.
+     *
+     * @param first  ascending positions in {@link #all}
+     * @param second ascending positions in {@link #all}
+     * @return the candidates in the order they were added
+     */
+    private int[] merge(List<Integer> first, List<Integer> second) {
+        int[] merged = new int[first.size() + second.size()];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.size() || j < second.size()) {
+            if (j >= second.size() || (i < first.size() && first.get(i) < second.get(j))) {
+                merged[k++] = all[first.get(i++)];
+            } else {
+                merged[k++] = all[second.get(j++)];
+            }
+        }
+        return merged;
+    }
+}
@@ -37,6 +37,14 @@ public class GrammarNode {
     /** Represent an token node. */
     public static final int SPECIAL = 11;
 
+    /**
+     * Represent the node after the repeated part of a count, that either
+     * repeats it or leaves the count.
+     *
+     * @since 0.6.11
+     */
+    public static final int REPEAT_COUNT = 12;
+
     /** <code>true</code> if this node is a final node of the graph. */
     private final boolean isFinal;
 
@@ -157,6 +165,9 @@ public class GrammarNode {
         case TOKEN:
             str.append("TOKEN");
             break;
+        case REPEAT_COUNT:
+            str.append("REPEAT_COUNT");
+            break;
         default:
             str.append(type);
             break;
@@ -48,6 +48,17 @@ import javax.speech.recognition.RuleToken;
 /**
  * Implementation of the parse method(s) on
  * {@link javax.speech.recognition.RuleGrammar}.
+ * <p>
+ * By default the input is parsed by backtracking over the grammar graph.
+ * Setting the system property {@link #RULE_PARSER} to <code>chart</code>
+ * selects the {@link ChartParser} instead, which also parses recursive
+ * rules and stays polynomial on ambiguous grammars.
+ * </p>
+ * <p>
+ * Both parsers only try the alternatives of large lists and the rules of a
+ * grammar that may start with the next input token, see
+ * {@link #FIRST_TOKEN_INDEX}.
+ * </p>
  *
  * @version $Revision: 1370 $
  */
@@ -56,6 +67,24 @@ public class RuleParser {
     /** Logger for this class. */
     private static final Logger logger = System.getLogger(RuleParser.class.getName());
 
+    /**
+     * Name of the system property for the parser to use, either
+     * <code>backtracking</code>, the default, or <code>chart</code>.
+     *
+     * @since 0.6.11
+     */
+    public static final String RULE_PARSER = "org.jvoicexml.jsapi2.recognition.parser";
+
+    /**
+     * Name of the system property to index large alternatives and the
+     * rules of a grammar by the tokens they may start with, either
+     * <code>true</code>, the default, or <code>false</code>. The property is
+     * read when the compiled rules are built after a commit.
+     *
+     * @since 0.6.11
+     */
+    public static final String FIRST_TOKEN_INDEX = "org.jvoicexml.jsapi2.recognition.firstTokenIndex";
+
     /** the grammarManager that contains all the grammars. */
     private final GrammarManager grammarManager;
 
@@ -71,6 +100,18 @@ public class RuleParser {
      */
     private Stack<Object> grammarElements;
 
+    /** The compiled graph that is currently parsed. */
+    private CompiledGrammarGraph graph;
+
+    /** Number of completed repeats of the counts that are currently parsed. */
+    private int[] repeats = new int[8];
+
+    /** Input positions where the current repeats of the counts started. */
+    private int[] repeatStarts = new int[8];
+
+    /** Number of counts that are currently parsed. */
+    private int countDepth;
+
     /**
      * Creates a Rule Parser.
      *
@@ -146,6 +187,9 @@ public class RuleParser {
      */
     public static RuleParse[] mparse(String[] inputTokens,
                                      GrammarManager grammarManager, String grammarReference, String ruleName) {
+        if ("chart".equals(System.getProperty(RULE_PARSER))) {
+            return mparse(inputTokens, grammarManager, grammarReference, ruleName, 1);
+        }
         RuleParser parse = new RuleParser(grammarManager, 0);
         Grammar gram = grammarManager.getGrammar(grammarReference);
         RuleGrammar grammar;
@@ -154,28 +198,21 @@ public class RuleParser {
         } else {
             return null;
         }
-        String[] ruleNames;
-        if (ruleName != null) {
-            ruleNames = new String[1];
-            ruleNames[0] = ruleName;
-        } else {
-            ruleNames = grammar.listRuleNames();
-        }
+        String[] ruleNames = listRuleNames(inputTokens, grammarManager, grammar, ruleName);
         List<RuleParse> parsed = new java.util.ArrayList<>();
         for (String currentRuleName : ruleNames) {
             if ((ruleName == null) && !(grammar.isActivatable(currentRuleName))) {
                 continue;
             }
-            Rule currentRule = grammar.getRule(currentRuleName);
-            RuleComponent startRule = currentRule.getRuleComponent();
-            if (startRule == null) {
+            CompiledGrammarGraph compiled = parse.getCompiledGraph(grammar, currentRuleName);
+            if (compiled == null) {
                 logger.log(Level.ERROR, "Bad rulename '" + currentRuleName + "'");
                 continue;
             }
-            GrammarGraph grammarGraph = parse.buildGrammarGraph(grammar,
-                    currentRuleName);
-            GrammarNode node = grammarGraph.getStartNode();
-            if (parse.parse(node, inputTokens)) {
+            parse.graph = compiled;
+            parse.position = 0;
+            parse.countDepth = 0;
+            if (parse.parse(compiled.getStartNode(), inputTokens)) {
                 RuleParse element = (RuleParse) parse.grammarElements.pop();
                 parsed.add(element);
             }
@@ -187,6 +224,77 @@ public class RuleParser {
         return parsed.toArray(new RuleParse[0]);
     }
 
+    /**
+     * Parse a set of tokens against a particular rule from a particular grammar
+     * with the {@link ChartParser}, returning up to the given number of parses
+     * per rule.
+     *
+     * @param inputTokens      the tokens
+     * @param grammarManager   the grammar manager
+     * @param grammarReference the grammar reference
+     * @param ruleName         the start rule name, <code>null</code> for all
+     *                         activatable rules
+     * @param maxParses        maximal number of parses per rule
+     * @return the parses, <code>null</code> if there is none
+     * @throws IllegalArgumentException if <code>maxParses</code> is less than
+     *                                  <code>1</code>
+     * @since 0.6.11
+     */
+    public static RuleParse[] mparse(String[] inputTokens, GrammarManager grammarManager, String grammarReference,
+                                     String ruleName, int maxParses) {
+        if (maxParses < 1) {
+            throw new IllegalArgumentException("maxParses must be positive: " + maxParses);
+        }
+        Grammar gram = grammarManager.getGrammar(grammarReference);
+        if (!(gram instanceof RuleGrammar grammar)) {
+            return null;
+        }
+        String[] ruleNames = listRuleNames(inputTokens, grammarManager, grammar, ruleName);
+        List<RuleParse> parsed = new java.util.ArrayList<>();
+        for (String currentRuleName : ruleNames) {
+            if ((ruleName == null) && !(grammar.isActivatable(currentRuleName))) {
+                continue;
+            }
+            ChartGrammar chart;
+            if (grammar instanceof BaseRuleGrammar baseRuleGrammar) {
+                chart = baseRuleGrammar.getChartGrammar(grammarManager, currentRuleName);
+            } else {
+                chart = chart(grammarManager, grammar, currentRuleName);
+            }
+            if (chart == null) {
+                logger.log(Level.ERROR, "Bad rulename '" + currentRuleName + "'");
+                continue;
+            }
+            parsed.addAll(ChartParser.parse(chart, inputTokens, maxParses));
+        }
+        if (parsed.isEmpty()) {
+            return null;
+        }
+        return parsed.toArray(new RuleParse[0]);
+    }
+
+    /**
+     * Retrieves the names of the rules to parse the input with.
+     *
+     * @param inputTokens    the input tokens
+     * @param grammarManager the grammar manager
+     * @param grammar        the rule grammar
+     * @param ruleName       the start rule name, <code>null</code> for all
+     *                       activatable rules
+     * @return the rule names, may contain rules that are not activatable
+     */
+    private static String[] listRuleNames(String[] inputTokens, GrammarManager grammarManager, RuleGrammar grammar,
+                                          String ruleName) {
+        if (ruleName != null) {
+            return new String[] {ruleName};
+        }
+        if (grammar instanceof BaseRuleGrammar baseRuleGrammar) {
+            String token = inputTokens.length > 0 ? inputTokens[0] : null;
+            return baseRuleGrammar.getActivatableRules(grammarManager, token);
+        }
+        return grammar.listRuleNames();
+    }
+
     /**
      * this method starts the recursively of the parse.
      *
@@ -197,14 +305,66 @@ public class RuleParser {
     public final RuleComponent parse(GrammarNode currentNode, String input) {
         String[] in = input.split(" ");
         position = 0;
+        countDepth = 0;
         grammarElements = new Stack<>();
-        if (parse(currentNode, in) && !grammarElements.empty()) {
+        graph = new CompiledGrammarGraph(new GrammarGraph(currentNode, currentNode));
+        if (parse(graph.getStartNode(), in) && !grammarElements.empty()) {
             return (RuleComponent) grammarElements.pop();
         } else {
             return null;
         }
     }
 
+    /**
+     * Retrieves the compiled graph of the given rule. Graphs of a
+     * {@link BaseRuleGrammar} are taken from its cache.
+     *
+     * @param grammar  the rule grammar
+     * @param ruleName the start rule name
+     * @return the compiled graph, <code>null</code> if there is no such rule
+     */
+    private CompiledGrammarGraph getCompiledGraph(RuleGrammar grammar, String ruleName) {
+        if (grammar instanceof BaseRuleGrammar baseRuleGrammar) {
+            return baseRuleGrammar.getCompiledGraph(grammarManager, ruleName);
+        }
+        return compile(grammarManager, grammar, ruleName);
+    }
+
+    /**
+     * Builds the grammar graph of the given rule and compiles it.
+     *
+     * @param manager  the grammar manager to resolve references to other
+     *                 grammars
+     * @param grammar  the rule grammar
+     * @param ruleName the start rule name
+     * @return the compiled graph, <code>null</code> if there is no such rule
+     */
+    static CompiledGrammarGraph compile(GrammarManager manager, RuleGrammar grammar, String ruleName) {
+        Rule rule = grammar.getRule(ruleName);
+        if (rule == null || rule.getRuleComponent() == null) {
+            return null;
+        }
+        RuleParser parser = new RuleParser(manager, 0);
+        return new CompiledGrammarGraph(parser.buildGrammarGraph(grammar, ruleName));
+    }
+
+    /**
+     * Compiles the given rule for the {@link ChartParser}.
+     *
+     * @param manager  the grammar manager to resolve references to other
+     *                 grammars
+     * @param grammar  the rule grammar
+     * @param ruleName the start rule name
+     * @return the compiled rule, <code>null</code> if there is no such rule
+     */
+    static ChartGrammar chart(GrammarManager manager, RuleGrammar grammar, String ruleName) {
+        Rule rule = grammar.getRule(ruleName);
+        if (rule == null || rule.getRuleComponent() == null) {
+            return null;
+        }
+        return new ChartGrammar(manager, grammar, ruleName);
+    }
+
     /**
      * Creates a grammar graph, from a rule grammar and a start rule name.
      *
@@ -404,7 +564,10 @@ public class RuleParser {
     }
 
     /**
-     * Creates a sub-graph that represents a rule count.
+     * Creates a sub-graph that represents a rule count. The repeated part is
+     * built once and followed by a {@link GrammarNode#REPEAT_COUNT} node
+     * that loops back to it. The number of repeats is checked against the
+     * bounds of the count while parsing.
      *
      * @param rg the rule grammar
      * @param r  the rule count
@@ -412,66 +575,40 @@ public class RuleParser {
      */
     private GrammarGraph buildGrammarGraph(RuleGrammar rg, RuleCount r) {
         GrammarNode startNode = new GrammarNode(false, GrammarNode.START_COUNT, r);
+        GrammarNode repeatNode = new GrammarNode(false, GrammarNode.REPEAT_COUNT, r);
         GrammarNode endNode = new GrammarNode(false, GrammarNode.END_COUNT);
 
-        int minRepeat = r.getRepeatMin();
-        int maxRepeat = r.getRepeatMax();
         GrammarGraph newNodes = buildGrammarGraph(rg, r.getRuleComponent());
-        int countNodes = 1;
-
-        GrammarGraph lastNode = newNodes;
-
-        if (minRepeat > 1) {
-            GrammarGraph tmpGraph;
-            while (countNodes < minRepeat) {
-                countNodes++;
-                // TODO how can i copy a graph
-                tmpGraph = buildGrammarGraph(rg, r.getRuleComponent());
-                lastNode = tmpGraph;
-                newNodes.getEndNode().addArc(tmpGraph.getStartNode());
-                // TODO review this
-                newNodes.setEndNode(tmpGraph.getEndNode());
-            }
-        }
-
-        if (maxRepeat != RuleCount.REPEAT_INDEFINITELY) {
-            GrammarGraph tmpGraph;
-            List<GrammarNode> v = new java.util.ArrayList<>();
-            lastNode = newNodes;
-            while (countNodes < maxRepeat) {
-                ++countNodes;
-                // TODO how can i copy a graph
-                tmpGraph = buildGrammarGraph(rg, r.getRuleComponent());
-                v.add(lastNode.getEndNode());
-                newNodes.getEndNode().addArc(tmpGraph.getStartNode());
-                // TODO review this
-                newNodes.setEndNode(tmpGraph.getEndNode());
-                lastNode = tmpGraph;
-            }
+        startNode.addArc(newNodes.getStartNode());
+        newNodes.getEndNode().addArc(repeatNode);
 
-            // set this nodes optional
-            for (GrammarNode g : v) {
-                g.addArc(endNode);
-            }
+        // bounded repeats prefer to repeat, unbounded ones to leave
+        if (r.getRepeatMax() == RuleCount.REPEAT_INDEFINITELY) {
+            repeatNode.addArc(endNode);
+            repeatNode.addArc(newNodes.getStartNode());
+        } else {
+            repeatNode.addArc(newNodes.getStartNode());
+            repeatNode.addArc(endNode);
         }
 
-        startNode.addArc(newNodes.getStartNode());
-        newNodes.getEndNode().addArc(endNode);
-
         // if this is optional, add a bypass arc
-        if (minRepeat == 0) {
+        if (r.getRepeatMin() == 0) {
             startNode.addArc(endNode);
         }
-
-        // if this can possibly occur indefinitely add a loopback
-        if (maxRepeat == RuleCount.REPEAT_INDEFINITELY) {
-            if (lastNode != null) {
-                newNodes.getEndNode().addArc(lastNode.getStartNode());
-            }
-        }
         return new GrammarGraph(startNode, endNode);
     }
 
+    /**
+     * Checks if the given stack element marks the given end node type.
+     *
+     * @param element  the stack element
+     * @param nodeType the node type
+     * @return <code>true</code> if the element is a node of the given type
+     */
+    private boolean isNode(Object element, int nodeType) {
+        return element instanceof Integer && graph.getNodeType((Integer) element) == nodeType;
+    }
+
     /**
      * This method parses a tag.
      *
@@ -479,9 +616,9 @@ public class RuleParser {
      * @param input       the set of tokens
      * @return <code>true</code> if these nodes accepts the current (iPos) input
      */
-    private boolean parseTag(GrammarNode currentNode, String[] input) {
-        if (parse(currentNode.getArcs().get(0).getGrammarNode(), input)) {
-            RuleComponent tag = currentNode.getRuleComponent();
+    private boolean parseTag(int currentNode, String[] input) {
+        if (parse(graph.getArcs(currentNode)[0], input)) {
+            RuleComponent tag = graph.getRuleComponent(currentNode);
             grammarElements.push(tag);
             return true;
         }
@@ -495,48 +632,39 @@ public class RuleParser {
      * @param input       the set of tokens
      * @return <code>true</code> if these nodes accepts the current (iPos) input
      */
-    private boolean parseToken(GrammarNode currentNode, String[] input) {
+    private boolean parseToken(int currentNode, String[] input) {
         if (position >= input.length) {
             return false;
         }
-        RuleToken token = (RuleToken) currentNode.getRuleComponent();
-        String text = token.getText().toLowerCase();
+        String text = graph.getText(currentNode);
         if (text.equals(input[position]) || (input[position].equals("%")) || (input[position].equals("*"))) {
             position++;
-            if (parse(currentNode.getArcs().get(0).getGrammarNode(), input)) {
+            if (parse(graph.getArcs(currentNode)[0], input)) {
                 grammarElements.push(new RuleToken(text));
                 return true;
             } else {
                 return false;
             }
         } else {
-            if (text.indexOf(' ') < 0) {
+            String[] ta = graph.getWords(currentNode);
+            if (ta == null) {
                 return false;
             }
             if (!text.startsWith(input[position])) {
                 return false;
             }
-            String[] ta = text.split(" ");
-            int j = 0;
-            StringBuilder buffer = new StringBuilder();
-            // this while is necessary because a token
-            // can contain more than a single word
-            while (j < ta.length) {
+            // a token can contain more than a single word
+            for (String word : ta) {
                 if (position >= input.length) {
                     return false;
                 }
-                if (!ta[j].equals(input[position])) {
+                if (!word.equals(input[position])) {
                     return false;
                 }
-                if (j > 0) {
-                    buffer.append(" ");
-                }
-                buffer.append(ta[j]);
                 position++;
-                j++;
             }
-            if (parse(currentNode.getArcs().get(0).getGrammarNode(), input)) {
-                grammarElements.push(new RuleToken(buffer.toString()));
+            if (parse(graph.getArcs(currentNode)[0], input)) {
+                grammarElements.push(new RuleToken(text));
                 return true;
             } else {
                 return false;
@@ -554,8 +682,7 @@ public class RuleParser {
                 break;
             }
             Object topElement = grammarElements.pop();
-            if (topElement instanceof GrammarNode
-                    && ((GrammarNode) topElement).getNodeType() == GrammarNode.END_SEQUENCE) {
+            if (isNode(topElement, GrammarNode.END_SEQUENCE)) {
                 RuleComponent[] components = new RuleComponent[arSeq.size()];
                 arSeq.toArray(components);
                 grammarElements.push(new RuleSequence(components));
@@ -571,7 +698,7 @@ public class RuleParser {
      *
      * @param currentNode the current node
      */
-    private void posParseStartCount(GrammarNode currentNode) {
+    private void posParseStartCount(int currentNode) {
         List<RuleComponent> ruleComponents = new java.util.ArrayList<>();
         int count = 0;
         while (true) {
@@ -579,12 +706,11 @@ public class RuleParser {
                 break;
             }
             Object topElement = grammarElements.pop();
-            if (topElement instanceof GrammarNode
-                    && ((GrammarNode) topElement).getNodeType() == GrammarNode.END_COUNT) {
+            if (isNode(topElement, GrammarNode.END_COUNT)) {
                 RuleComponent[] copy = new RuleComponent[ruleComponents.size()];
                 ruleComponents.toArray(copy);
 
-                int repeatProb = ((RuleCount) currentNode.getRuleComponent()).getRepeatProbability();
+                int repeatProb = ((RuleCount) graph.getRuleComponent(currentNode)).getRepeatProbability();
                 if (repeatProb != RuleCount.MAX_PROBABILITY) {
                     grammarElements.push(new RuleCount(new RuleSequence(copy), count, count, repeatProb));
                 } else {
@@ -603,16 +729,15 @@ public class RuleParser {
      *
      * @param currentNode the current node
      */
-    private void posParseStartReference(GrammarNode currentNode) {
+    private void posParseStartReference(int currentNode) {
         RuleComponent reference = null;
         while (true) {
             if (grammarElements.empty()) {
                 break;
             }
             Object topElement = grammarElements.pop();
-            if (topElement instanceof GrammarNode
-                    && ((GrammarNode) topElement).getNodeType() == GrammarNode.END_REFERENCE) {
-                String ruleName = ((RuleReference) currentNode.getRuleComponent()).getRuleName();
+            if (isNode(topElement, GrammarNode.END_REFERENCE)) {
+                String ruleName = ((RuleReference) graph.getRuleComponent(currentNode)).getRuleName();
                 grammarElements.push(new RuleParse(new RuleReference(ruleName), reference));
                 break;
             } else if (topElement instanceof RuleComponent) {
@@ -633,8 +758,7 @@ public class RuleParser {
                 break;
             }
             Object topElement = grammarElements.pop();
-            if (topElement instanceof GrammarNode
-                    && ((GrammarNode) topElement).getNodeType() == GrammarNode.END_ALTERNATIVE) {
+            if (isNode(topElement, GrammarNode.END_ALTERNATIVE)) {
                 RuleComponent[] component = new RuleComponent[alternatives.size()];
                 alternatives.toArray(component);
                 grammarElements.add(new RuleAlternatives(component));
@@ -654,9 +778,9 @@ public class RuleParser {
      * @return <code>true</code> if starting in the current node exists a way
      * in the graph to ends in a final node.
      */
-    private boolean parse(GrammarNode currentNode, String[] input) {
+    private boolean parse(int currentNode, String[] input) {
         int currentPosition = position;
-        if (currentNode.isFinalNode()) {
+        if (graph.isFinalNode(currentNode)) {
             if (position == input.length) {
                 grammarElements.push(currentNode);
                 return true;
@@ -665,14 +789,22 @@ public class RuleParser {
             }
         }
 
-        int type = currentNode.getNodeType();
+        int type = graph.getNodeType(currentNode);
         if (type == GrammarNode.TOKEN) {
             return parseToken(currentNode, input);
         } else if (type == GrammarNode.TAG) {
             return parseTag(currentNode, input);
+        } else if (type == GrammarNode.REPEAT_COUNT) {
+            return parseRepeatCount(currentNode, input);
+        } else if (type == GrammarNode.END_COUNT) {
+            return parseEndCount(currentNode, input);
         } else {
-            for (GrammarArc arc : currentNode.getArcs()) {
-                GrammarNode nextNode = arc.getGrammarNode();
+            if (type == GrammarNode.START_COUNT) {
+                enterCount();
+            }
+            int[] nextNodes = type == GrammarNode.START_ALTERNATIVE && position < input.length
+                    ? graph.getArcs(currentNode, input[position]) : graph.getArcs(currentNode);
+            for (int nextNode : nextNodes) {
                 if (parse(nextNode, input)) {
                     switch (type) {
                     case GrammarNode.END_ALTERNATIVE:
@@ -698,9 +830,98 @@ public class RuleParser {
                     }
                     return true;
                 }
+                // a failed token does not reset the position
+                position = currentPosition;
+            }
+            if (type == GrammarNode.START_COUNT) {
+                countDepth--;
             }
             position = currentPosition;
             return false;
         }
     }
+
+    /**
+     * Starts to count the repeats of a count at the current position.
+     */
+    private void enterCount() {
+        if (countDepth == repeats.length) {
+            repeats = java.util.Arrays.copyOf(repeats, countDepth * 2);
+            repeatStarts = java.util.Arrays.copyOf(repeatStarts, countDepth * 2);
+        }
+        repeats[countDepth] = 0;
+        repeatStarts[countDepth] = position;
+        countDepth++;
+    }
+
+    /**
+     * This method parses the end of a repeat of a count. The repeated part
+     * is only entered again if the maximal number of repeats is not reached
+     * and the last repeat consumed input or the minimal number of repeats is
+     * not reached. The count is only left after the minimal number of
+     * repeats.
+     *
+     * @param currentNode the current node of this grammar
+     * @param input       the set of tokens
+     * @return <code>true</code> if these nodes accepts the current (iPos) input
+     */
+    private boolean parseRepeatCount(int currentNode, String[] input) {
+        RuleCount count = (RuleCount) graph.getRuleComponent(currentNode);
+        int top = countDepth - 1;
+        int repeat = ++repeats[top];
+        int repeatStart = repeatStarts[top];
+        int currentPosition = position;
+        for (int nextNode : graph.getArcs(currentNode)) {
+            if (graph.getNodeType(nextNode) == GrammarNode.END_COUNT) {
+                if (repeat < count.getRepeatMin()) {
+                    continue;
+                }
+            } else {
+                if (count.getRepeatMax() != RuleCount.REPEAT_INDEFINITELY && repeat >= count.getRepeatMax()) {
+                    continue;
+                }
+                if (position == repeatStart && repeat >= count.getRepeatMin()) {
+                    continue;
+                }
+                repeatStarts[top] = position;
+            }
+            if (parse(nextNode, input)) {
+                return true;
+            }
+            position = currentPosition;
+            repeats[top] = repeat;
+            repeatStarts[top] = repeatStart;
+        }
+        repeats[top]--;
+        return false;
+    }
+
+    /**
+     * This method parses the end of a count.
+     *
+     * @param currentNode the current node of this grammar
+     * @param input       the set of tokens
+     * @return <code>true</code> if these nodes accepts the current (iPos) input
+     */
+    private boolean parseEndCount(int currentNode, String[] input) {
+        int top = --countDepth;
+        int repeat = repeats[top];
+        int repeatStart = repeatStarts[top];
+        int currentPosition = position;
+        for (int nextNode : graph.getArcs(currentNode)) {
+            if (parse(nextNode, input)) {
+                grammarElements.push(currentNode);
+                return true;
+            }
+            // a following count may have reused the slot
+            position = currentPosition;
+            countDepth = top;
+            repeats[top] = repeat;
+            repeatStarts[top] = repeatStart;
+        }
+        countDepth = top + 1;
+        repeats[top] = repeat;
+        repeatStarts[top] = repeatStart;
+        return false;
+    }
 }
@@ -62,6 +62,10 @@ import static java.lang.System.getLogger;
 
 /**
  * A parser for SRGS grammars.
+ * <p>
+ * This parser builds a DOM of the grammar first. Use {@link #newInstance()}
+ * to get the parser selected by the system property {@link #SRGS_PARSER}.
+ * </p>
  *
  * @author Renato Cassaca
  * @author Dirk Schnelle-Walka
@@ -71,6 +75,15 @@ public class SrgsRuleGrammarParser {
 
     private static final Logger logger = getLogger(SrgsRuleGrammarParser.class.getName());
 
+    /**
+     * Name of the system property for the SRGS parser to use, either
+     * <code>stax</code>, the default, for the {@link StaxSrgsRuleGrammarParser}
+     * or <code>dom</code> for this parser.
+     *
+     * @since 0.6.11
+     */
+    public static final String SRGS_PARSER = "org.jvoicexml.jsapi2.recognition.srgsParser";
+
     private static final EntityResolver entityResolver = new EmptyEntityResolver();
     private final Map<String, String> attributes;
 
@@ -85,6 +98,20 @@ public class SrgsRuleGrammarParser {
         attributes = new java.util.HashMap<>();
     }
 
+    /**
+     * Creates the parser selected by the system property
+     * {@link #SRGS_PARSER}.
+     *
+     * @return a new parser
+     * @since 0.6.11
+     */
+    public static SrgsRuleGrammarParser newInstance() {
+        if ("dom".equals(System.getProperty(SRGS_PARSER))) {
+            return new SrgsRuleGrammarParser();
+        }
+        return new StaxSrgsRuleGrammarParser();
+    }
+
     public Rule[] load(Reader reader) {
         InputSource source = new InputSource(reader);
         return load(source);
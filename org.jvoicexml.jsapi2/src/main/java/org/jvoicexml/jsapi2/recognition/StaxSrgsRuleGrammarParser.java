@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.List;
+import java.util.Map;
+import javax.speech.recognition.Rule;
+import javax.speech.recognition.RuleAlternatives;
+import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleCount;
+import javax.speech.recognition.RuleReference;
+import javax.speech.recognition.RuleSequence;
+import javax.speech.recognition.RuleSpecial;
+import javax.speech.recognition.RuleTag;
+import javax.speech.recognition.RuleToken;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * A parser for SRGS grammars that reads the grammar as a stream of StAX
+ * events instead of building a DOM first.
+ * <p>
+ * The rule components are created while the elements are read, so the
+ * memory needed besides the resulting rules does not grow with the size of
+ * the grammar. The rules and attributes are the same as those of the
+ * {@link SrgsRuleGrammarParser}, except that adjacent text and CDATA
+ * sections form a single token and that the header is always taken from
+ * the root element.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see SrgsRuleGrammarParser#newInstance()
+ * @since 0.6.11
+ */
+public class StaxSrgsRuleGrammarParser extends SrgsRuleGrammarParser {
+
+    private static final Logger logger = getLogger(StaxSrgsRuleGrammarParser.class.getName());
+
+    /** Shared factory, configured once. */
+    private static final XMLInputFactory factory = XMLInputFactory.newFactory();
+
+    static {
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        // like the EmptyEntityResolver, external entities resolve to nothing
+        factory.setXMLResolver((publicId, systemId, baseURI, namespace) -> new ByteArrayInputStream(new byte[0]));
+    }
+
+    @Override
+    public Rule[] load(Reader reader) {
+        try (reader) {
+            return load(factory.createXMLStreamReader(reader));
+        } catch (XMLStreamException | IOException ex) {
+            logger.log(Level.ERROR, ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    @Override
+    public Rule[] load(InputStream stream) {
+        try (stream) {
+            return load(factory.createXMLStreamReader(stream));
+        } catch (XMLStreamException | IOException ex) {
+            logger.log(Level.ERROR, ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    @Override
+    public Rule[] loadRule(Reader reader) {
+        return loadRule(reader, () -> factory.createXMLStreamReader(reader));
+    }
+
+    @Override
+    public Rule[] loadRule(InputStream stream) {
+        return loadRule(stream, () -> factory.createXMLStreamReader(stream));
+    }
+
+    /** Creates a stream reader for a source. */
+    private interface Source {
+        XMLStreamReader open() throws XMLStreamException;
+    }
+
+    /**
+     * Reads the rules at the top level of a document.
+     *
+     * @param closeable the source to close
+     * @param source    creates the stream reader
+     * @return the rules, <code>null</code> on errors
+     */
+    private Rule[] loadRule(Closeable closeable, Source source) {
+        try (closeable) {
+            XMLStreamReader reader = source.open();
+            try {
+                List<Rule> rules = new java.util.ArrayList<>();
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        parseElementOfGrammar(reader, rules);
+                    }
+                }
+                return rules.toArray(new Rule[0]);
+            } finally {
+                reader.close();
+            }
+        } catch (Exception e) {
+            logger.log(Level.ERROR, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the rules below the root element and the attributes of the root
+     * element.
+     *
+     * @param reader the stream reader
+     * @return the rules
+     * @throws XMLStreamException error reading the grammar
+     */
+    private Rule[] load(XMLStreamReader reader) throws XMLStreamException {
+        try {
+            List<Rule> rules = new java.util.ArrayList<>();
+            Map<String, String> header = new java.util.HashMap<>();
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    String prefix = reader.getNamespacePrefix(i);
+                    String name = prefix == null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix;
+                    header.put(name, reader.getNamespaceURI(i));
+                }
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    header.put(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                            reader.getAttributeValue(i));
+                }
+                for (int event = reader.next(); event != XMLStreamConstants.END_ELEMENT; event = reader.next()) {
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        parseElementOfGrammar(reader, rules);
+                    }
+                }
+                break;
+            }
+            getAttributes().putAll(header);
+            return rules.toArray(new Rule[0]);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads an element of a grammar. Only rules are evaluated.
+     *
+     * @param reader the stream reader at the start of the element
+     * @param rules  the rules read so far
+     * @throws XMLStreamException error reading the grammar
+     */
+    private void parseElementOfGrammar(XMLStreamReader reader, List<Rule> rules) throws XMLStreamException {
+        if (!elementName(reader).equalsIgnoreCase("rule")) {
+            skipElement(reader);
+            return;
+        }
+        String ruleId = getAttribute(reader, "id");
+        int scope = Rule.PRIVATE;
+        String scopeStr = getAttribute(reader, "scope");
+        if (scopeStr != null) {
+            if (scopeStr.equalsIgnoreCase("public")) {
+                scope = Rule.PUBLIC;
+            }
+        }
+
+        List<RuleComponent> components = evalChildNodes(reader);
+        if (components.size() == 1) {
+            rules.add(new Rule(ruleId, components.get(0), scope));
+        } else if (components.size() > 1) {
+            RuleSequence rs = new RuleSequence(components.toArray(new RuleComponent[] {}));
+            rules.add(new Rule(ruleId, rs, scope));
+        }
+    }
+
+    /**
+     * Reads the content of the current element up to its end.
+     *
+     * @param reader the stream reader at the start of the element
+     * @return the rule components of the content
+     * @throws XMLStreamException error reading the grammar
+     */
+    private List<RuleComponent> evalChildNodes(XMLStreamReader reader) throws XMLStreamException {
+        List<RuleComponent> ruleComponents = new java.util.ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            switch (reader.next()) {
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            case XMLStreamConstants.START_ELEMENT:
+                addText(text, ruleComponents);
+                evalNode(reader, ruleComponents);
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                addText(text, ruleComponents);
+                return ruleComponents;
+            case XMLStreamConstants.COMMENT:
+            case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                addText(text, ruleComponents);
+                break;
+            default:
+                break;
+            }
+        }
+    }
+
+    /**
+     * Adds the collected text as a token, if it is not blank.
+     *
+     * @param text           the collected text, cleared afterwards
+     * @param ruleComponents the rule components
+     */
+    private static void addText(StringBuilder text, List<RuleComponent> ruleComponents) {
+        if (text.length() == 0) {
+            return;
+        }
+        String token = text.toString().trim();
+        if (!token.isEmpty()) {
+            ruleComponents.add(new RuleToken(token));
+        }
+        text.setLength(0);
+    }
+
+    /**
+     * Reads the current element up to its end.
+     *
+     * @param reader         the stream reader at the start of the element
+     * @param ruleComponents the rule components to add to
+     * @throws XMLStreamException error reading the grammar
+     */
+    private void evalNode(XMLStreamReader reader, List<RuleComponent> ruleComponents) throws XMLStreamException {
+        String nodeName = elementName(reader);
+        if (nodeName.equalsIgnoreCase("one-of")) {
+            List<RuleComponent> rcs = evalChildNodes(reader);
+            ruleComponents.add(new RuleAlternatives(rcs.toArray(new RuleComponent[] {})));
+        } else if (nodeName.equalsIgnoreCase("item")) {
+            int repeatMin = -1;
+            int repeatMax = -1;
+            double repeatProb = -1;
+            String repeatStr = getAttribute(reader, "repeat");
+            String repeatProbStr = getAttribute(reader, "repeat-prob");
+
+            if (repeatStr != null) {
+                int toIndex = repeatStr.indexOf('-');
+                if (toIndex < 0) {
+                    repeatMin = Integer.parseInt(repeatStr);
+                    repeatMax = repeatMin;
+                } else {
+                    String minStr = repeatStr.substring(0, toIndex);
+                    String maxStr = repeatStr.substring(toIndex + 1);
+                    if (!minStr.trim().isEmpty()) {
+                        repeatMin = Integer.parseInt(minStr);
+                    }
+                    if (!maxStr.trim().isEmpty()) {
+                        repeatMax = Integer.parseInt(maxStr);
+                    }
+                }
+            }
+
+            if (repeatProbStr != null) {
+                repeatProb = Double.parseDouble(repeatProbStr);
+            }
+
+            List<RuleComponent> components = evalChildNodes(reader);
+            RuleSequence sequence = new RuleSequence(components.toArray(new RuleComponent[] {}));
+            if ((repeatMin != -1) && (repeatMax != -1) && (repeatProb != -1)) {
+                ruleComponents.add(new RuleCount(sequence, repeatMin, repeatMax,
+                        (int) (repeatProb * RuleCount.MAX_PROBABILITY)));
+            } else if ((repeatMin != -1) && (repeatMax != -1)) {
+                ruleComponents.add(new RuleCount(sequence, repeatMin, repeatMax));
+            } else if (repeatMin != -1) {
+                if (repeatProb != -1) {
+                    ruleComponents.add(new RuleCount(sequence, repeatMin, RuleCount.REPEAT_INDEFINITELY,
+                            (int) (repeatProb * RuleCount.MAX_PROBABILITY)));
+                } else {
+                    ruleComponents.add(new RuleCount(sequence, repeatMin));
+                }
+            } else {
+                ruleComponents.add(sequence);
+            }
+        } else if (nodeName.equalsIgnoreCase("ruleref")) {
+            RuleComponent reference = evalRuleReference(reader);
+            if (reference != null) {
+                ruleComponents.add(reference);
+            }
+            skipElement(reader);
+        } else if (nodeName.equalsIgnoreCase("token")) {
+            ruleComponents.add(new RuleToken(getTextContent(reader)));
+        } else if (nodeName.equalsIgnoreCase("tag")) {
+            ruleComponents.add(new RuleTag(getTextContent(reader)));
+        } else {
+            // example and unknown elements are ignored
+            skipElement(reader);
+        }
+    }
+
+    /**
+     * Evaluates the attributes of a rule reference.
+     *
+     * @param reader the stream reader at the start of the element
+     * @return the reference or special rule, <code>null</code> if there is
+     * none
+     */
+    private static RuleComponent evalRuleReference(XMLStreamReader reader) {
+        String specialStr = getAttribute(reader, "special");
+        if (specialStr != null) {
+            if (specialStr.equalsIgnoreCase("NULL")) {
+                return RuleSpecial.NULL;
+            } else if (specialStr.equalsIgnoreCase("VOID")) {
+                return RuleSpecial.VOID;
+            } else if (specialStr.equalsIgnoreCase("GARBAGE")) {
+                return RuleSpecial.GARBAGE;
+            }
+            return null;
+        }
+        String uriStr = getAttribute(reader, "uri");
+        if (uriStr == null) {
+            return null;
+        }
+        if (!uriStr.contains("#")) {
+            return new RuleReference(uriStr);
+        }
+        String ruleName = uriStr.substring(uriStr.indexOf("#") + 1).trim();
+        String grammarName = uriStr.substring(0, uriStr.indexOf("#"));
+        String typeStr = getAttribute(reader, "type");
+        if (grammarName.isEmpty()) {
+            return new RuleReference(ruleName);
+        } else if (typeStr == null) {
+            return new RuleReference(grammarName, ruleName);
+        } else {
+            return new RuleReference(grammarName, typeStr.trim());
+        }
+    }
+
+    /**
+     * Reads the text of the current element and its descendants up to its
+     * end.
+     *
+     * @param reader the stream reader at the start of the element
+     * @return the text
+     * @throws XMLStreamException error reading the grammar
+     */
+    private static String getTextContent(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                break;
+            case XMLStreamConstants.START_ELEMENT:
+                depth++;
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                depth--;
+                break;
+            default:
+                break;
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Skips the current element and its content.
+     *
+     * @param reader the stream reader at the start of the element
+     * @throws XMLStreamException error reading the grammar
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the name of the current element as written in the grammar.
+     *
+     * @param reader the stream reader at the start of the element
+     * @return the name including the prefix
+     */
+    private static String elementName(XMLStreamReader reader) {
+        return qualifiedName(reader.getPrefix(), reader.getLocalName());
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        if (prefix == null || prefix.isEmpty()) {
+            return localName;
+        }
+        return prefix + ":" + localName;
+    }
+
+    /**
+     * Retrieves the value of an attribute without a prefix of the current
+     * element.
+     *
+     * @param reader the stream reader at the start of the element
+     * @param name   name of the attribute
+     * @return the value, <code>null</code> if there is no such attribute
+     */
+    private static String getAttribute(XMLStreamReader reader, String name) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String prefix = reader.getAttributePrefix(i);
+            if ((prefix == null || prefix.isEmpty()) && reader.getAttributeLocalName(i).equals(name)) {
+                return reader.getAttributeValue(i);
+            }
+        }
+        return null;
+    }
+}
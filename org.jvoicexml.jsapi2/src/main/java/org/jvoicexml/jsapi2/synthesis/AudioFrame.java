@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sound.sampled.AudioFormat;
+
+
+/**
+ * A piece of synthesized audio of a fixed duration that is published by an
+ * {@link AudioFrameStream}.
+ * <p>
+ * Frames are pooled. Each subscriber that receives a frame has to
+ * {@link #release()} it once the data has been sent, the frame must not be
+ * touched afterwards.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public final class AudioFrame {
+
+    /** The stream to return this frame to. */
+    private final AudioFrameStream stream;
+
+    /** The audio, written by the stream. */
+    private final ByteBuffer buffer;
+
+    /** Read only view of the audio. */
+    private final ByteBuffer data;
+
+    /** Number of subscribers that did not release this frame yet. */
+    private final AtomicInteger references = new AtomicInteger();
+
+    private int itemId;
+
+    private long sequence;
+
+    private long position;
+
+    private long timestamp;
+
+    private AudioFormat format;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param stream   the stream to return this frame to
+     * @param capacity maximum number of bytes
+     */
+    AudioFrame(AudioFrameStream stream, int capacity) {
+        this.stream = stream;
+        buffer = ByteBuffer.allocateDirect(capacity);
+        data = buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * Retrieves the number of bytes this frame can hold.
+     *
+     * @return the capacity
+     */
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Prepares this frame to be filled.
+     *
+     * @param length   number of bytes to fill
+     * @param itemId   id of the queue item
+     * @param sequence number of the frame within the item
+     * @param position start of the frame within the item in microseconds
+     * @param format   format of the audio
+     * @return the buffer to fill
+     */
+    ByteBuffer open(int length, int itemId, long sequence, long position, AudioFormat format) {
+        this.itemId = itemId;
+        this.sequence = sequence;
+        this.position = position;
+        this.format = format;
+        buffer.clear().limit(length);
+        return buffer;
+    }
+
+    /**
+     * Marks this frame as filled and to be released by the given number of
+     * subscribers.
+     *
+     * @param subscribers number of subscribers
+     */
+    void publish(int subscribers) {
+        data.limit(buffer.position()).position(0);
+        timestamp = System.nanoTime();
+        references.set(subscribers);
+    }
+
+    /**
+     * Checks if this frame holds no audio.
+     *
+     * @return <code>true</code> if nothing has been written
+     */
+    boolean isEmpty() {
+        return buffer.position() == 0;
+    }
+
+    /**
+     * Retrieves the number of bytes of audio in this frame.
+     *
+     * @return the length
+     */
+    int length() {
+        return data.limit();
+    }
+
+    /**
+     * Retrieves the audio. Each call returns a view of its own, so a
+     * subscriber may move its position, e.g. by writing it to a channel,
+     * without affecting the others. The view must not be used after the
+     * frame has been released.
+     *
+     * @return the audio, read only
+     */
+    public ByteBuffer getData() {
+        return data.duplicate();
+    }
+
+    /**
+     * Retrieves the format of the audio.
+     *
+     * @return the format
+     */
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Retrieves the id of the queue item this audio belongs to.
+     *
+     * @return the id, <code>-1</code> if the audio was not written for a
+     *         queue item
+     */
+    public int getItemId() {
+        return itemId;
+    }
+
+    /**
+     * Retrieves the number of this frame within its item, starting with
+     * <code>0</code>.
+     *
+     * @return the sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Retrieves the start of this frame within its item.
+     *
+     * @param unit the unit of the result
+     * @return the media time of the first sample
+     */
+    public long getPosition(TimeUnit unit) {
+        return unit.convert(position, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Retrieves the time this frame was published.
+     *
+     * @return the value of {@link System#nanoTime()} at publication
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gives this frame back. The last subscriber to release it returns it
+     * to the pool.
+     *
+     * @throws IllegalStateException if the frame has been released by all
+     *                               subscribers already
+     */
+    public void release() {
+        int left = references.decrementAndGet();
+        if (left < 0) {
+            references.incrementAndGet();
+            throw new IllegalStateException("frame released too often");
+        }
+        if (left == 0) {
+            stream.recycle(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[item=" + itemId + ", sequence=" + sequence
+                + ", position=" + position + "us, length=" + data.limit() + "]";
+    }
+}
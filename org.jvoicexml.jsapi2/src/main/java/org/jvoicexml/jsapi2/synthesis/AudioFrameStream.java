@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.sound.sampled.AudioFormat;
+
+import org.jvoicexml.jsapi2.EventPublisher;
+import org.jvoicexml.jsapi2.ListenerList;
+import org.jvoicexml.jsapi2.OverflowPolicy;
+
+
+/**
+ * An output of a synthesizer that cuts the synthesized audio into
+ * {@link AudioFrame}s of a fixed duration and publishes them, e.g. to send
+ * them over the network.
+ * <p>
+ * Set it with
+ * {@link BaseSynthesizerAudioManager#setAudioFrameStream(AudioFrameStream)}
+ * and subscribe to {@link #frames(int, OverflowPolicy)}. Each frame tells
+ * the queue item it belongs to and its position within the item. The last
+ * frame of an item may be shorter. Frames are taken from a pool and return
+ * to it once all subscribers have released them.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public final class AudioFrameStream extends OutputStream {
+
+    /** Default number of idle frames to keep. */
+    private static final int DEFAULT_POOL_SIZE = 32;
+
+    /** Format of the audio to publish. */
+    private final AudioFormat format;
+
+    /** Duration of a frame in microseconds. */
+    private final long frameDuration;
+
+    /** Maximum number of idle frames to keep. */
+    private final int poolSize;
+
+    /** Idle frames. */
+    private final Queue<AudioFrame> pool = new ConcurrentLinkedQueue<>();
+
+    /** Number of idle frames. */
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /** Number of frames that have been created. */
+    private final AtomicInteger created = new AtomicInteger();
+
+    /** The sinks of the subscribers. */
+    private final ListenerList<Consumer<AudioFrame>> sinks;
+
+    /** Id of the current item, <code>-1</code> if there is none. */
+    private int itemId = -1;
+
+    /** Format of the current item. */
+    private AudioFormat itemFormat;
+
+    /** Number of bytes per frame of the current item. */
+    private int frameLength;
+
+    /** Number of frames of the current item that have been published. */
+    private long sequence;
+
+    /** Number of bytes of the current item that have been published. */
+    private long published;
+
+    /** The frame being filled, maybe <code>null</code>. */
+    private AudioFrame current;
+
+    /** The buffer of the frame being filled. */
+    private ByteBuffer buffer;
+
+    /** Buffer to write a single byte. */
+    private final byte[] single = new byte[1];
+
+    /**
+     * Constructs a new object.
+     *
+     * @param format        format of the audio to publish
+     * @param frameDuration duration of a frame
+     * @param unit          unit of the duration
+     */
+    public AudioFrameStream(AudioFormat format, long frameDuration, TimeUnit unit) {
+        this(format, frameDuration, unit, DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param format        format of the audio to publish
+     * @param frameDuration duration of a frame
+     * @param unit          unit of the duration
+     * @param poolSize      maximum number of idle frames to keep
+     */
+    public AudioFrameStream(AudioFormat format, long frameDuration, TimeUnit unit, int poolSize) {
+        if (frameDuration <= 0) {
+            throw new IllegalArgumentException("frame duration must be positive: " + frameDuration);
+        }
+        this.format = format;
+        this.frameDuration = unit.toMicros(frameDuration);
+        this.poolSize = poolSize;
+        sinks = new ListenerList<>(noSinks());
+        startItem(-1, format);
+    }
+
+    /**
+     * Creates the empty array of the sinks.
+     *
+     * @return an empty array
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Consumer<AudioFrame>[] noSinks() {
+        return new Consumer[0];
+    }
+
+    /**
+     * Retrieves the format of the audio to publish.
+     *
+     * @return the format
+     */
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Creates a publisher of the frames. Frames that a subscriber does not
+     * get because of the policy are released for it.
+     * {@link OverflowPolicy#COALESCE} behaves like {@link OverflowPolicy#BLOCK}
+     * since frames are never coalesced.
+     *
+     * @param bufferSize number of frames to buffer per subscriber
+     * @param policy     handling of frames that do not fit into the buffer
+     * @return the publisher
+     */
+    public Flow.Publisher<AudioFrame> frames(int bufferSize, OverflowPolicy policy) {
+        return new EventPublisher<>(sink -> {
+            sinks.add(sink);
+            return () -> sinks.remove(sink);
+        }, bufferSize, policy, frame -> 0, AudioFrame::release);
+    }
+
+    /**
+     * Retrieves the number of frames that have been created. It stays the
+     * same as long as the subscribers release the frames in time.
+     *
+     * @return number of frames
+     */
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    /**
+     * Starts the audio of the given item. The audio that is left from the
+     * previous item is published.
+     *
+     * @param id     id of the item
+     * @param format format of the audio of the item
+     */
+    synchronized void startItem(int id, AudioFormat format) {
+        publish();
+        itemId = id;
+        itemFormat = format;
+        int frameSize = Math.max(1, format.getFrameSize());
+        long frames = Math.max(1, Math.round(format.getFrameRate() * frameDuration / 1_000_000.0));
+        frameLength = (int) Math.min(Integer.MAX_VALUE - frameSize, frames * frameSize);
+        sequence = 0;
+        published = 0;
+    }
+
+    /**
+     * Ends the audio of the current item. The audio that is left is
+     * published.
+     */
+    synchronized void endItem() {
+        startItem(-1, format);
+    }
+
+    @Override
+    public synchronized void write(int b) {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (current == null) {
+                current = take();
+                buffer = current.open(frameLength, itemId, sequence, getPosition(), itemFormat);
+            }
+            int length = Math.min(len, buffer.remaining());
+            buffer.put(b, off, length);
+            off += length;
+            len -= length;
+            if (!buffer.hasRemaining()) {
+                publish();
+            }
+        }
+    }
+
+    /**
+     * Publishes what is left of the current item. The stream may be
+     * written again afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        publish();
+    }
+
+    /**
+     * Retrieves the position of the next frame within the current item.
+     *
+     * @return the position in microseconds
+     */
+    private long getPosition() {
+        int frameSize = Math.max(1, itemFormat.getFrameSize());
+        float frameRate = itemFormat.getFrameRate();
+        if (frameRate <= 0) {
+            return 0;
+        }
+        return Math.round((double) published / frameSize / frameRate * 1_000_000.0);
+    }
+
+    /** Publishes the current frame to all subscribers. */
+    private void publish() {
+        AudioFrame frame = current;
+        if (frame == null) {
+            return;
+        }
+        current = null;
+        buffer = null;
+        if (frame.isEmpty()) {
+            recycle(frame);
+            return;
+        }
+        Consumer<AudioFrame>[] subscribers = sinks.get();
+        frame.publish(subscribers.length);
+        sequence++;
+        published += frame.length();
+        if (subscribers.length == 0) {
+            recycle(frame);
+            return;
+        }
+        for (Consumer<AudioFrame> sink : subscribers) {
+            sink.accept(frame);
+        }
+    }
+
+    /**
+     * Takes an idle frame from the pool or creates a new one.
+     *
+     * @return the frame
+     */
+    private AudioFrame take() {
+        AudioFrame frame;
+        while ((frame = pool.poll()) != null) {
+            pooled.decrementAndGet();
+            if (frame.capacity() >= frameLength) {
+                return frame;
+            }
+        }
+        created.incrementAndGet();
+        return new AudioFrame(this, frameLength);
+    }
+
+    /**
+     * Returns the given frame to the pool.
+     *
+     * @param frame the released frame
+     */
+    void recycle(AudioFrame frame) {
+        if (pooled.incrementAndGet() <= poolSize) {
+            pool.offer(frame);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+}
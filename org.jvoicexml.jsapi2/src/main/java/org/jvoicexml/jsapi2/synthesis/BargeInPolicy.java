@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+/**
+ * What happens to the item that is being played back when an item of a
+ * higher priority is handed over to the play queue.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see BaseSynthesizer#setBargeInPolicy(BargeInPolicy)
+ * @see javax.speech.EngineProperties#getPriority()
+ * @since 0.6.11
+ */
+public enum BargeInPolicy {
+    /**
+     * The current item is canceled with a
+     * {@link javax.speech.synthesis.SpeakableEvent#SPEAKABLE_CANCELLED}.
+     */
+    INTERRUPT,
+    /** The current item is played back completely. */
+    FINISH_CURRENT,
+    /** The rest of the current item is played back at a lower volume. */
+    DUCK
+}
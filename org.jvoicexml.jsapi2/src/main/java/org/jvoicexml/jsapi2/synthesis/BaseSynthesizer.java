@@ -21,9 +21,17 @@
 
 package org.jvoicexml.jsapi2.synthesis;
 
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
 import javax.sound.sampled.AudioFormat;
 import javax.speech.AudioException;
 import javax.speech.AudioManager;
@@ -47,8 +55,14 @@ import javax.speech.synthesis.SynthesizerProperties;
 
 import org.jvoicexml.jsapi2.BaseAudioManager;
 import org.jvoicexml.jsapi2.BaseEngine;
+import org.jvoicexml.jsapi2.BaseEngineProperties;
 import org.jvoicexml.jsapi2.BaseVocabularyManager;
-import org.jvoicexml.jsapi2.ThreadSpeechEventExecutor;
+import org.jvoicexml.jsapi2.EventLane;
+import org.jvoicexml.jsapi2.EventPublisher;
+import org.jvoicexml.jsapi2.LaneSpeechEventExecutor;
+import org.jvoicexml.jsapi2.ListenerList;
+import org.jvoicexml.jsapi2.OverflowPolicy;
+import org.jvoicexml.jsapi2.StreamingAudioSegment;
 
 import static java.lang.System.getLogger;
 
@@ -62,15 +76,78 @@ import static java.lang.System.getLogger;
 public abstract class BaseSynthesizer extends BaseEngine implements Synthesizer {
 
     private static final Logger logger = getLogger(BaseSynthesizer.class.getName());
-    
+
+    /**
+     * Name of the system property for the number of items to be
+     * synthesized in parallel.
+     *
+     * @since 0.6.11
+     */
+    public static final String SYNTHESIS_CONCURRENCY = "org.jvoicexml.jsapi2.synthesis.concurrency";
+
+    /**
+     * Name of the system property for the number of items that may be
+     * synthesized ahead of play back. There is no limit if it is not set.
+     *
+     * @see #getSynthesisLookahead()
+     * @since 0.6.11
+     */
+    public static final String SYNTHESIS_LOOKAHEAD = "org.jvoicexml.jsapi2.synthesis.lookahead";
+
+    /**
+     * Name of the system property for the number of bytes of synthesized
+     * audio that may wait for play back. There is no limit if it is not set.
+     *
+     * @see #getSynthesisLookaheadBytes()
+     * @since 0.6.11
+     */
+    public static final String SYNTHESIS_LOOKAHEAD_BYTES = "org.jvoicexml.jsapi2.synthesis.lookahead.bytes";
+
+    /**
+     * Name of the system property for the number of bytes of synthesized
+     * audio to keep in memory. The cache is disabled if it is not set.
+     * <p>
+     * The cache is shared by all synthesizers of the JVM with the same
+     * {@link #SYNTHESIS_CACHE_DIR}. The budget of the first synthesizer that
+     * creates it wins for the whole JVM, a different value that is set later
+     * is ignored with a warning.
+     * </p>
+     *
+     * @see #createSynthesisCache()
+     * @since 0.6.11
+     */
+    public static final String SYNTHESIS_CACHE_SIZE = "org.jvoicexml.jsapi2.synthesis.cache.size";
+
+    /**
+     * Name of the system property for the directory of the persistent
+     * cache of synthesized audio. The persistent cache is disabled if it is
+     * not set.
+     *
+     * @see #createSynthesisCache()
+     * @see DiskSynthesisCache
+     * @since 0.6.11
+     */
+    public static final String SYNTHESIS_CACHE_DIR = "org.jvoicexml.jsapi2.synthesis.cache.dir";
+
     /** Registered listeners for this synthesizer. */
-    private final Collection<SpeakableListener> speakableListeners;
+    private final ListenerList<SpeakableListener> speakableListeners;
     /** Current synthesizer properties. */
     private final SynthesizerProperties synthesizerProperties;
     /** Mask for events. */
     private int speakableMask;
-    /** Employed queued manager. */
-    private final QueueManager queueManager;
+    /**
+     * Employed queued manager, <code>null</code> while the synthesizer is not
+     * allocated.
+     */
+    private volatile QueueManager queueManager;
+    /** Cache of synthesized audio, maybe <code>null</code>. */
+    private final SynthesisCache synthesisCache;
+    /** Handling of the current item when an item of higher priority arrives. */
+    private volatile BargeInPolicy bargeInPolicy = BargeInPolicy.FINISH_CURRENT;
+    /** Futures of queued speakables that are not completed yet. */
+    private final Set<SpeakableFuture> pendingFutures = ConcurrentHashMap.newKeySet();
+    /** Latency of the played back items. */
+    private final SynthesisLatency synthesisLatency = new SynthesisLatency(getClass().getSimpleName());
 
     /**
      * Constructs a new object.
@@ -86,12 +163,12 @@ public abstract class BaseSynthesizer extends BaseEngine implements Synthesizer
      */
     public BaseSynthesizer(SynthesizerMode engineMode) {
         super(engineMode);
-        speakableListeners = new java.util.ArrayList<>();
+        speakableListeners = new ListenerList<>(new SpeakableListener[0]);
         synthesizerProperties = createSynthesizerProperties();
         speakableMask = SpeakableEvent.DEFAULT_MASK;
 logger.log(Level.TRACE, String.format("m: %08x, d: %08x, |: %08x", getEngineMask(), SynthesizerEvent.DEFAULT_MASK, getEngineMask() | SynthesizerEvent.DEFAULT_MASK));
         setEngineMask(getEngineMask() | SynthesizerEvent.DEFAULT_MASK);
-        queueManager = new QueueManager(this);
+        synthesisCache = createSynthesisCache();
     }
 
     @Override
@@ -103,6 +180,36 @@ logger.log(Level.TRACE, String.format("m: %08x, d: %08x, |: %08x", getEngineMask
         }
     }
 
+    @Override
+    public final void fireEvent(EngineListener[] listeners, EngineEvent event) {
+        SynthesizerEvent synthesizerEvent = (SynthesizerEvent) event;
+        for (EngineListener listener : listeners) {
+            SynthesizerListener synthesizerListener = (SynthesizerListener) listener;
+            synthesizerListener.synthesizerUpdate(synthesizerEvent);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Cancels all queued speakables and resets the speakable listeners,
+     * the masks and the synthesizer properties.
+     * </p>
+     */
+    @Override
+    protected void resetEngine() throws EngineStateException {
+        super.resetEngine();
+        cancelAll();
+        setEngineMask(getEngineMask() | SynthesizerEvent.DEFAULT_MASK);
+        speakableListeners.clear();
+        speakableMask = SpeakableEvent.DEFAULT_MASK;
+        if (synthesizerProperties instanceof BaseEngineProperties properties) {
+            properties.resetForReuse();
+        } else {
+            synthesizerProperties.reset();
+        }
+    }
+
     @Override
     public final EngineEvent createStateTransitionEngineEvent(long oldState, long newState, int eventType) {
         return new SynthesizerEvent(this, eventType, oldState, newState, null, false);
@@ -132,7 +239,9 @@ logger.log(Level.TRACE, String.format("m: %08x, d: %08x, |: %08x", getEngineMask
         SynthesizerEvent event = new SynthesizerEvent(this,
                 eventType, oldState, newState, null, topChanged);
 
-        postEngineEvent(event);
+        // the latest queue state supersedes the earlier ones unless the top changed
+        boolean progress = eventType == SynthesizerEvent.QUEUE_UPDATED && !topChanged;
+        postEngineEvent(event, progress ? eventType : 0);
     }
 
     /**
@@ -146,23 +255,143 @@ logger.log(Level.TRACE, String.format("m: %08x, d: %08x, |: %08x", getEngineMask
     protected final void postSpeakableEvent(SpeakableEvent event, SpeakableListener extraSpeakableListener) {
         // First, check if the event is filtered by the mask
         int id = event.getId();
-logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + event.toString() + " ," + extraSpeakableListener);
         if ((speakableMask & id) != id) {
+            if (logger.isLoggable(Level.TRACE)) {
+logger.log(Level.TRACE, "filtered: " + event + ", " + extraSpeakableListener);
+            }
+            // a future has to learn about the end of its item anyway
+            if (extraSpeakableListener instanceof SpeakableFuture future && SpeakableFuture.isTerminal(id)) {
+                LaneSpeechEventExecutor.dispatch(getSpeechEventExecutor(), EventLane.SPEAKABLE,
+                        () -> future.settle(event), 0);
+            }
+            return;
+        }
+        SpeakableListener[] listeners = speakableListeners.get();
+        if (extraSpeakableListener == null && listeners.length == 0) {
             return;
         }
         // Fire the event
+        SpeechEventExecutor executor = getSpeechEventExecutor();
+        LaneSpeechEventExecutor.dispatch(executor, EventLane.SPEAKABLE,
+                () -> fireSpeakableEvent(event, extraSpeakableListener, listeners),
+                isProgressEvent(id) ? id : 0);
+    }
+
+    /**
+     * Notifies the given listeners about the given event.
+     *
+     * @param event                  the event
+     * @param extraSpeakableListener the listener of the speakable, maybe
+     *                               <code>null</code>
+     * @param listeners              the registered listeners
+     */
+    private static void fireSpeakableEvent(SpeakableEvent event, SpeakableListener extraSpeakableListener,
+                                           SpeakableListener[] listeners) {
+        // timeline listeners got the marks at once
+        boolean mark = isMarkEvent(event.getId());
+        if (extraSpeakableListener != null
+                && !(mark && extraSpeakableListener instanceof SpeakableTimelineListener)) {
+            extraSpeakableListener.speakableUpdate(event);
+        }
+        for (SpeakableListener listener : listeners) {
+            if (!(mark && listener instanceof SpeakableTimelineListener)) {
+                listener.speakableUpdate(event);
+            }
+        }
+    }
+
+    /**
+     * Checks if the given event type only reports the progress of an item.
+     * Only these events may be dropped by a {@link LaneSpeechEventExecutor}.
+     *
+     * @param id the event type
+     * @return <code>true</code> for word, phoneme and marker events
+     */
+    private static boolean isProgressEvent(int id) {
+        return isMarkEvent(id) || id == SpeakableEvent.MARKER_REACHED;
+    }
+
+    /**
+     * Checks if the given event type reports the start of a word or a
+     * phoneme.
+     *
+     * @param id the event type
+     * @return <code>true</code> for word and phoneme events
+     */
+    private static boolean isMarkEvent(int id) {
+        return id == SpeakableEvent.WORD_STARTED || id == SpeakableEvent.PHONEME_STARTED;
+    }
+
+    /**
+     * Checks if there is any listener for word or phoneme events of the
+     * given type. Listeners of type {@link SpeakableTimelineListener} do not
+     * count since they receive the timing at once.
+     *
+     * @param id                     {@link SpeakableEvent#WORD_STARTED} or
+     *                               {@link SpeakableEvent#PHONEME_STARTED}
+     * @param extraSpeakableListener the listener of the speakable, maybe
+     *                               <code>null</code>
+     * @return <code>true</code> if the events have to be posted
+     * @since 0.6.11
+     */
+    protected final boolean isMarkEventWanted(int id, SpeakableListener extraSpeakableListener) {
+        if ((speakableMask & id) != id) {
+            return false;
+        }
+        if (extraSpeakableListener != null && !(extraSpeakableListener instanceof SpeakableTimelineListener)) {
+            return true;
+        }
+        for (SpeakableListener listener : speakableListeners.get()) {
+            if (!(listener instanceof SpeakableTimelineListener)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if there is any {@link SpeakableTimelineListener} for the
+     * speakable with the given listener.
+     *
+     * @param extraSpeakableListener the listener of the speakable, maybe
+     *                               <code>null</code>
+     * @return <code>true</code> if the timeline has to be posted
+     * @since 0.6.11
+     */
+    protected final boolean isTimelineWanted(SpeakableListener extraSpeakableListener) {
+        if (extraSpeakableListener instanceof SpeakableTimelineListener) {
+            return true;
+        }
+        for (SpeakableListener listener : speakableListeners.get()) {
+            if (listener instanceof SpeakableTimelineListener) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Posts the given timing to the {@link SpeakableTimelineListener}s
+     * using the current {@link SpeechEventExecutor}.
+     *
+     * @param timeline               the timing of a speakable
+     * @param extraSpeakableListener the listener of the speakable, maybe
+     *                               <code>null</code>
+     * @since 0.6.11
+     */
+    protected final void postSpeakableTimeline(SpeakableTimeline timeline, SpeakableListener extraSpeakableListener) {
+        SpeakableListener[] listeners = speakableListeners.get();
         Runnable runnable = () -> {
-            if (extraSpeakableListener != null) {
-                extraSpeakableListener.speakableUpdate(event);
+            if (extraSpeakableListener instanceof SpeakableTimelineListener listener) {
+                listener.timelineUpdate(timeline);
             }
-            if (speakableListeners != null) {
-                for (SpeakableListener listener : speakableListeners) {
-                    listener.speakableUpdate(event);
+            for (SpeakableListener listener : listeners) {
+                if (listener instanceof SpeakableTimelineListener timelineListener) {
+                    timelineListener.timelineUpdate(timeline);
                 }
             }
         };
-        SpeechEventExecutor executor = getSpeechEventExecutor();
-        executor.execute(runnable);
+        LaneSpeechEventExecutor.dispatch(getSpeechEventExecutor(), EventLane.SPEAKABLE, runnable, 0);
     }
 
     @Override
@@ -172,9 +401,7 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
 
     @Override
     public final void addSpeakableListener(SpeakableListener listener) {
-        if (!speakableListeners.contains(listener)) {
-            speakableListeners.add(listener);
-        }
+        speakableListeners.add(listener);
     }
 
     @Override
@@ -182,6 +409,24 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
         speakableListeners.remove(listener);
     }
 
+    /**
+     * Creates a publisher of the speakable events of all items. Each
+     * subscriber gets a speakable listener of its own.
+     * {@link SpeakableEvent#WORD_STARTED} events may be coalesced.
+     *
+     * @param bufferSize number of events to buffer per subscriber
+     * @param policy     handling of events that do not fit into the buffer
+     * @return the publisher
+     * @since 0.6.11
+     */
+    public Flow.Publisher<SpeakableEvent> speakableEvents(int bufferSize, OverflowPolicy policy) {
+        return new EventPublisher<>(sink -> {
+            SpeakableListener listener = sink::accept;
+            addSpeakableListener(listener);
+            return () -> removeSpeakableListener(listener);
+        }, bufferSize, policy, e -> e.getId() == SpeakableEvent.WORD_STARTED ? e.getId() : 0);
+    }
+
     @Override
     public final void addSynthesizerListener(SynthesizerListener listener) {
         addEngineListener(listener);
@@ -204,7 +449,7 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
                 return false;
             }
         }
-        return queueManager.cancelItem();
+        return getAllocatedQueueManager().cancelItem();
     }
 
     @Override
@@ -219,7 +464,7 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
                 return false;
             }
         }
-        return queueManager.cancelItem(id);
+        return getAllocatedQueueManager().cancelItem(id);
     }
 
     @Override
@@ -234,7 +479,7 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
                 return false;
             }
         }
-        return queueManager.cancelAllItems();
+        return getAllocatedQueueManager().cancelAllItems();
     }
 
     @Override
@@ -271,12 +516,24 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
     @Override
     public int speak(AudioSegment audio, SpeakableListener listener)
             throws EngineStateException, IllegalArgumentException {
-        return queueManager.appendItem(audio, listener);
+        checkEngineState(DEALLOCATED | DEALLOCATING_RESOURCES);
+
+        // Wait to finalize allocation
+        while (testEngineState(ALLOCATING_RESOURCES)) {
+            try {
+                waitEngineState(ALLOCATED);
+            } catch (InterruptedException ex) {
+                return -1;
+            }
+        }
+
+        return getAllocatedQueueManager().appendItem(audio, listener);
     }
 
     @Override
     public int speak(Speakable speakable, SpeakableListener listener)
             throws EngineStateException, SpeakableException, IllegalArgumentException {
+        checkEngineState(DEALLOCATED | DEALLOCATING_RESOURCES);
 
         // Wait to finalize allocation
         while (testEngineState(ALLOCATING_RESOURCES)) {
@@ -287,7 +544,7 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
             }
         }
 
-        return queueManager.appendItem(speakable, listener);
+        return getAllocatedQueueManager().appendItem(speakable, listener);
     }
 
     @Override
@@ -305,12 +562,13 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
         }
 
         Speakable speakable = new BaseSpeakable(text);
-        return queueManager.appendItem(speakable, listener, text);
+        return getAllocatedQueueManager().appendItem(speakable, listener, text);
     }
 
     @Override
     public int speakMarkup(String synthesisMarkup, SpeakableListener listener) throws EngineStateException,
             SpeakableException, IllegalArgumentException {
+        checkEngineState(DEALLOCATED | DEALLOCATING_RESOURCES);
 
         // Wait to finalize allocation
         while (testEngineState(ALLOCATING_RESOURCES)) {
@@ -322,7 +580,96 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
         }
 
         Speakable speakable = new BaseSpeakable(synthesisMarkup);
-        return queueManager.appendItem(speakable, listener);
+        return getAllocatedQueueManager().appendItem(speakable, listener);
+    }
+
+    /**
+     * Speaks the given audio segment.
+     *
+     * @param audio    the audio to play
+     * @param listener the listener of the item, maybe <code>null</code>
+     * @return a future that is completed with the
+     *         {@link SpeakableEvent#SPEAKABLE_ENDED} event of the item
+     * @see #speak(AudioSegment, SpeakableListener)
+     * @since 0.6.11
+     */
+    public CompletableFuture<SpeakableEvent> speakAsync(AudioSegment audio, SpeakableListener listener) {
+        return queueAsync(listener, future -> speak(audio, future));
+    }
+
+    /**
+     * Speaks the given speakable.
+     *
+     * @param speakable the speakable to speak
+     * @param listener  the listener of the item, maybe <code>null</code>
+     * @return a future that is completed with the
+     *         {@link SpeakableEvent#SPEAKABLE_ENDED} event of the item
+     * @see #speak(Speakable, SpeakableListener)
+     * @since 0.6.11
+     */
+    public CompletableFuture<SpeakableEvent> speakAsync(Speakable speakable, SpeakableListener listener) {
+        return queueAsync(listener, future -> speak(speakable, future));
+    }
+
+    /**
+     * Speaks the given text.
+     *
+     * @param text     the text to speak
+     * @param listener the listener of the item, maybe <code>null</code>
+     * @return a future that is completed with the
+     *         {@link SpeakableEvent#SPEAKABLE_ENDED} event of the item
+     * @see #speak(String, SpeakableListener)
+     * @since 0.6.11
+     */
+    public CompletableFuture<SpeakableEvent> speakAsync(String text, SpeakableListener listener) {
+        return queueAsync(listener, future -> speak(text, future));
+    }
+
+    /**
+     * Speaks the given markup.
+     *
+     * @param synthesisMarkup the markup to speak
+     * @param listener        the listener of the item, maybe
+     *                        <code>null</code>
+     * @return a future that is completed with the
+     *         {@link SpeakableEvent#SPEAKABLE_ENDED} event of the item
+     * @see #speakMarkup(String, SpeakableListener)
+     * @since 0.6.11
+     */
+    public CompletableFuture<SpeakableEvent> speakMarkupAsync(String synthesisMarkup, SpeakableListener listener) {
+        return queueAsync(listener, future -> speakMarkup(synthesisMarkup, future));
+    }
+
+    /** Queues an item with the given listener. */
+    @FunctionalInterface
+    private interface Queueing {
+        int queue(SpeakableListener listener) throws SpeakableException, EngineStateException;
+    }
+
+    /**
+     * Queues an item with a future as its listener. The future fails if the
+     * item cannot be queued.
+     *
+     * @param listener the listener of the application, maybe
+     *                 <code>null</code>
+     * @param queueing queues the item
+     * @return the future of the item
+     */
+    private CompletableFuture<SpeakableEvent> queueAsync(SpeakableListener listener, Queueing queueing) {
+        SpeakableFuture future = SpeakableFuture.create(this, listener);
+        pendingFutures.add(future);
+        future.whenComplete((event, throwable) -> pendingFutures.remove(future));
+        try {
+            int id = queueing.queue(future);
+            if (id < 0) {
+                future.completeExceptionally(new EngineStateException("speakable was not queued"));
+            } else {
+                future.setId(id);
+            }
+        } catch (SpeakableException | EngineStateException | IllegalArgumentException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
     }
 
     @Override
@@ -332,8 +679,17 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
         AudioManager audioManager = getAudioManager();
         audioManager.audioStart();
 
+        // The threads of the queues live as long as the allocation
+        queueManager = new QueueManager(this);
+
         // Proceed to real engine allocation
-        handleAllocate();
+        try {
+            handleAllocate();
+        } catch (EngineException | AudioException | RuntimeException e) {
+            queueManager.terminate();
+            queueManager = null;
+            throw e;
+        }
         long[] states = setEngineState(CLEAR_ALL_STATE, ALLOCATED | DEFOCUSED | QUEUE_EMPTY | RESUMED);
 
         postStateTransitionEngineEvent(states[0], states[1], EngineEvent.ENGINE_ALLOCATED);
@@ -361,7 +717,19 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
         }
 
         // Proceed to real engine deallocation
-        handleDeallocate();
+        try {
+            handleDeallocate();
+        } finally {
+            QueueManager manager = queueManager;
+            if (manager != null) {
+                manager.terminate();
+                queueManager = null;
+            }
+            // the items of the terminated queue will never end
+            for (SpeakableFuture future : pendingFutures) {
+                future.completeExceptionally(new EngineStateException("synthesizer deallocated"));
+            }
+        }
 
         // Adapt the state
         long[] states = setEngineState(CLEAR_ALL_STATE, DEALLOCATED);
@@ -487,7 +855,7 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
      * @param words  the words to set
      */
     protected void setWords(int itemId, String[] words) {
-        queueManager.setWords(itemId, words);
+        getAllocatedQueueManager().setWords(itemId, words);
     }
 
     /**
@@ -497,25 +865,234 @@ logger.log(Level.TRACE, "filtered: " + ((speakableMask & id) != id) + ", " + eve
      * @param starttimes the start times
      */
     protected void setWordsStartTimes(int itemId, float[] starttimes) {
-        queueManager.setWordsStartTimes(itemId, starttimes);
+        getAllocatedQueueManager().setWordsStartTimes(itemId, starttimes);
     }
 
     protected void setPhonesInfo(int itemId, PhoneInfo[] phonesinfo) {
-        queueManager.setPhonesInfo(itemId, phonesinfo);
+        getAllocatedQueueManager().setPhonesInfo(itemId, phonesinfo);
     }
 
     /**
-     * Retrieves the queue manager.
+     * Creates an audio segment for the queued item with the given id that
+     * is played back while it is being synthesized.
+     * <p>
+     * Implementations return the created segment from
+     * {@link #handleSpeak(int, String)} or {@link #handleSpeak(int, Speakable)}
+     * after having written all audio data and closed it. As soon as the
+     * first chunk has been written, the item is handed over to the play
+     * back, provided all items queued before have been handed over already.
+     * Until then the writing thread is blocked.
+     * </p>
      *
-     * @return the queue manager
+     * @param id         the id of the item to speak
+     * @param markupText the text or markup to be spoken
+     * @return created audio segment
+     * @since 0.6.11
+     */
+    protected final StreamingAudioSegment createStreamingAudioSegment(int id, String markupText) {
+        BaseAudioManager manager = (BaseAudioManager) getAudioManager();
+        String locator = manager.getMediaLocator();
+        if (locator == null) {
+            locator = "http://localhost/dummy";
+        }
+        AudioFormat format = manager.getEngineAudioFormat();
+        StreamingAudioSegment segment = new StreamingAudioSegment(locator, markupText, format);
+        if (synthesisCache != null) {
+            segment.startRecording();
+        }
+        segment.setFirstChunkListener(() -> {
+            try {
+                getAllocatedQueueManager().handOverStreaming(id, segment);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                IOException ioe = new InterruptedIOException("waiting for play back interrupted: " + id);
+                throw new UncheckedIOException(ioe);
+            }
+        });
+        return segment;
+    }
+
+    /**
+     * Retrieves the number of queued items that may be synthesized in
+     * parallel, i.e. the number of concurrent calls to
+     * {@link #handleSpeak(int, String)} and
+     * {@link #handleSpeak(int, Speakable)}.
+     * <p>
+     * This implementation returns <code>1</code> if the engine mode is a
+     * {@link SequentialSynthesis}, otherwise the value of the system property
+     * {@link #SYNTHESIS_CONCURRENCY}, defaulting to <code>1</code>.
+     * Implementations may override this method, it is called on each
+     * {@link #allocate()}, so the value may change between allocations.
+     * </p>
+     *
+     * @return number of synthesis workers, at least <code>1</code>
+     * @since 0.6.11
+     */
+    protected int getSynthesisConcurrency() {
+        if (getEngineMode() instanceof SequentialSynthesis) {
+            return 1;
+        }
+        return Math.max(1, Integer.getInteger(SYNTHESIS_CONCURRENCY, 1));
+    }
+
+    /**
+     * Retrieves the number of items that may be synthesized ahead of play
+     * back, including the items that are being synthesized. A synthesis
+     * worker waits before it synthesizes the next item until this is
+     * satisfied.
+     * <p>
+     * This implementation returns the value of the system property
+     * {@link #SYNTHESIS_LOOKAHEAD}, defaulting to <code>0</code>.
+     * Implementations may override this method, it is called on each
+     * {@link #allocate()}, so the value may change between allocations.
+     * </p>
+     *
+     * @return maximum number of items, <code>0</code> for no limit
+     * @since 0.6.11
+     */
+    protected int getSynthesisLookahead() {
+        return Math.max(0, Integer.getInteger(SYNTHESIS_LOOKAHEAD, 0));
+    }
+
+    /**
+     * Retrieves the number of bytes of synthesized audio that may wait for
+     * play back. A synthesis worker waits before it synthesizes the next
+     * item until the backlog is below this. The item that is synthesized
+     * then may exceed it.
+     * <p>
+     * This implementation returns the value of the system property
+     * {@link #SYNTHESIS_LOOKAHEAD_BYTES}, defaulting to <code>0</code>.
+     * Implementations may override this method, it is called on each
+     * {@link #allocate()}, so the value may change between allocations.
+     * </p>
+     *
+     * @return maximum number of bytes, <code>0</code> for no limit
+     * @see #getAudioBacklog()
+     * @since 0.6.11
+     */
+    protected long getSynthesisLookaheadBytes() {
+        return Math.max(0, Long.getLong(SYNTHESIS_LOOKAHEAD_BYTES, 0));
+    }
+
+    /**
+     * Retrieves the number of bytes of synthesized audio that have not been
+     * played back yet. Audio that is streamed while it is being
+     * synthesized is not included.
+     *
+     * @return the backlog in bytes
+     * @since 0.6.11
+     */
+    public long getAudioBacklog() {
+        QueueManager manager = queueManager;
+        if (manager == null) {
+            return 0;
+        }
+        return manager.getLookaheadBudget().getBacklogBytes();
+    }
+
+    /**
+     * Creates the cache for synthesized audio.
+     * <p>
+     * This implementation retrieves the cache with the byte budget of the
+     * system property {@link #SYNTHESIS_CACHE_SIZE}. If the system property
+     * {@link #SYNTHESIS_CACHE_DIR} is set, the cache is backed by a
+     * {@link DiskSynthesisCache} in that directory. The cache is shared by
+     * all synthesizers of the JVM with the same directory, see
+     * {@link SynthesisCache#getShared(long, Path)}, so the budget of the
+     * first synthesizer applies to all of them. Implementations may
+     * override this method, it is called once while constructing this
+     * synthesizer.
+     * </p>
+     *
+     * @return the cache, <code>null</code> to disable caching
+     * @since 0.6.11
+     */
+    protected SynthesisCache createSynthesisCache() {
+        long size = Math.max(0, Long.getLong(SYNTHESIS_CACHE_SIZE, 0));
+        String dir = System.getProperty(SYNTHESIS_CACHE_DIR);
+        if (size == 0 && dir == null) {
+            return null;
+        }
+        return SynthesisCache.getShared(size, dir == null ? null : Path.of(dir));
+    }
+
+    /**
+     * Retrieves the cache for synthesized audio.
+     *
+     * @return the cache, <code>null</code> if caching is disabled
+     * @since 0.6.11
+     */
+    public SynthesisCache getSynthesisCache() {
+        return synthesisCache;
+    }
+
+    /**
+     * Retrieves the latency statistics of the items that have been played
+     * back.
+     *
+     * @return the statistics
+     * @since 0.6.11
+     */
+    public SynthesisLatency getSynthesisLatency() {
+        return synthesisLatency;
+    }
+
+    /**
+     * Retrieves the handling of the item that is being played back when an
+     * item of a higher priority is queued.
+     *
+     * @return the barge-in policy
+     * @since 0.6.11
+     */
+    public BargeInPolicy getBargeInPolicy() {
+        return bargeInPolicy;
+    }
+
+    /**
+     * Sets the handling of the item that is being played back when an item
+     * of a higher priority is queued. Items are queued with the priority of
+     * the {@link SynthesizerProperties} at the time they are spoken.
+     *
+     * @param policy the barge-in policy
+     * @since 0.6.11
+     */
+    public void setBargeInPolicy(BargeInPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("policy must not be null");
+        }
+        bargeInPolicy = policy;
+    }
+
+    /**
+     * Retrieves the queue manager. It is created when the synthesizer is
+     * allocated and terminated when the synthesizer is deallocated.
+     *
+     * @return the queue manager, <code>null</code> if the synthesizer is not
+     *         allocated
      */
     protected QueueManager getQueueManager() {
         return queueManager;
     }
 
+    /**
+     * Retrieves the queue manager of the allocated synthesizer. The
+     * synthesizer may be deallocated by another thread after its state has
+     * been checked, so the manager is read once and checked again.
+     *
+     * @return the queue manager
+     * @throws EngineStateException if the synthesizer is not allocated
+     */
+    private QueueManager getAllocatedQueueManager() throws EngineStateException {
+        QueueManager manager = queueManager;
+        if (manager == null) {
+            throw new EngineStateException("synthesizer not allocated");
+        }
+        return manager;
+    }
+
     @Override
     protected SpeechEventExecutor createSpeechEventExecutor() {
-        return new ThreadSpeechEventExecutor();
+        return getEngineRuntime().newSpeechEventExecutor();
     }
 
     /**
@@ -40,6 +40,9 @@ public class BaseSynthesizerAudioManager extends BaseAudioManager {
     /** @since 0.6.1 */
     private SynthesizerProperties synthesizerProperties;
 
+    /** Publishes the audio instead of the media locator, maybe <code>null</code>. */
+    private AudioFrameStream audioFrameStream;
+
     /**
      * Constructs a new object.
      *
@@ -54,7 +57,11 @@ public class BaseSynthesizerAudioManager extends BaseAudioManager {
     @Override
     public void handleAudioStart() throws AudioException {
         String locator = getMediaLocator();
-        if (locator == null) {
+        if (audioFrameStream != null) {
+            setTargetAudioFormat(audioFrameStream.getFormat());
+            outputStream = audioFrameStream;
+            logger.log(Level.TRACE, "open: " + outputStream);
+        } else if (locator == null) {
             outputStream = new SpeakerOutputStream(this);
             logger.log(Level.TRACE, "open: " + outputStream);
         } else {
@@ -83,6 +90,33 @@ public class BaseSynthesizerAudioManager extends BaseAudioManager {
         }
     }
 
+    /**
+     * Publishes the synthesized audio in frames instead of writing it to
+     * the media locator. The audio is converted to the format of the
+     * stream.
+     *
+     * @param stream the stream, <code>null</code> to use the media locator
+     *               again
+     * @throws IllegalStateException if the audio has not been stopped
+     * @since 0.6.11
+     */
+    public final void setAudioFrameStream(AudioFrameStream stream) {
+        if (isAudioStarted()) {
+            throw new IllegalStateException("Audio has not been stopped!");
+        }
+        audioFrameStream = stream;
+    }
+
+    /**
+     * Retrieves the stream that publishes the synthesized audio.
+     *
+     * @return the stream, <code>null</code> if the media locator is used
+     * @since 0.6.11
+     */
+    public final AudioFrameStream getAudioFrameStream() {
+        return audioFrameStream;
+    }
+
     /** @since 0.6.1 */
     public float getVolume() {
         return synthesizerProperties.getVolume() / (float) SynthesizerProperties.MAX_VOLUME;
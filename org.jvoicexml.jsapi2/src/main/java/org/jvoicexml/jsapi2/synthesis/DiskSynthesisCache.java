@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.sound.sampled.AudioFormat;
+import javax.speech.synthesis.PhoneInfo;
+import javax.speech.synthesis.Voice;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * Persistent cache of synthesized audio in a directory.
+ * <p>
+ * The audio is kept in an append-only data file. An append-only index file
+ * maps the digest of each {@link SynthesisCache.Key} to the location of its
+ * record in the data file. Records are read through memory mappings of the
+ * data file, so the audio is served without copying it to the heap.
+ * </p>
+ * <p>
+ * Several processes may use the same directory at once. Appending is
+ * serialized by a lock on the index file, and a record is only indexed
+ * once it has been written entirely. Within a process, the caches of a
+ * directory take turns before locking the index file, because a file lock
+ * is held by the whole process. Records added by other processes are
+ * picked up on a miss. If the directory is not writable, the cache is
+ * read-only.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see BaseSynthesizer#SYNTHESIS_CACHE_DIR
+ * @see PromptCacheWarmer
+ * @since 0.6.11
+ */
+public class DiskSynthesisCache implements Closeable {
+
+    private static final Logger logger = getLogger(DiskSynthesisCache.class.getName());
+
+    /** Name of the data file. */
+    public static final String DATA_FILE = "prompts.dat";
+
+    /** Name of the index file. */
+    public static final String INDEX_FILE = "prompts.idx";
+
+    /** Size of a digest. */
+    private static final int DIGEST_LENGTH = 32;
+
+    /** Size of an index record: digest, offset and length. */
+    private static final int INDEX_RECORD_LENGTH = DIGEST_LENGTH + Long.BYTES + Integer.BYTES;
+
+    /** Serializes the writers of this process by their index file. */
+    private static final ConcurrentMap<Path, Object> WRITE_LOCKS = new ConcurrentHashMap<>();
+
+    /** Location of a record in the data file. */
+    private record Location(long offset, int length) {
+    }
+
+    /** The data file. */
+    private final FileChannel data;
+
+    /** The index file. */
+    private final FileChannel index;
+
+    /** <code>true</code> if records may be added. */
+    private final boolean writable;
+
+    /** Serializes the writers of this process on the same index file. */
+    private final Object writeLock;
+
+    /** Locations of the records by the hex digest of their key. */
+    private final Map<String, Location> locations = new HashMap<>();
+
+    /** Records that have been mapped already. */
+    private final Map<String, SynthesisCache.Entry> mapped = new ConcurrentHashMap<>();
+
+    /** Number of bytes of the index file that have been read. */
+    private long indexed;
+
+    /**
+     * Opens the cache in the given directory. The directory is created if
+     * it does not exist.
+     *
+     * @param directory the cache directory
+     * @throws IOException error opening the cache
+     */
+    public DiskSynthesisCache(Path directory) throws IOException {
+        Path dataFile = directory.resolve(DATA_FILE);
+        Path indexFile = directory.resolve(INDEX_FILE);
+        boolean canWrite;
+        try {
+            Files.createDirectories(directory);
+            canWrite = Files.isWritable(directory);
+        } catch (IOException e) {
+            canWrite = false;
+        }
+        if (canWrite) {
+            data = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } else {
+            data = FileChannel.open(dataFile, StandardOpenOption.READ);
+            index = FileChannel.open(indexFile, StandardOpenOption.READ);
+        }
+        writable = canWrite;
+        writeLock = WRITE_LOCKS.computeIfAbsent(indexFile.toAbsolutePath().normalize(), k -> new Object());
+        synchronized (this) {
+            refresh();
+        }
+logger.log(Level.DEBUG, "opened " + directory + ", entries: " + getEntryCount() + ", writable: " + writable);
+    }
+
+    /**
+     * Reads the index records that have been added since the last call.
+     *
+     * @throws IOException error reading the index
+     */
+    private void refresh() throws IOException {
+        long size = index.size();
+        long complete = size - size % INDEX_RECORD_LENGTH;
+        if (complete <= indexed) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (complete - indexed));
+        while (buffer.hasRemaining()) {
+            if (index.read(buffer, indexed + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        byte[] digest = new byte[DIGEST_LENGTH];
+        while (buffer.remaining() >= INDEX_RECORD_LENGTH) {
+            buffer.get(digest);
+            long offset = buffer.getLong();
+            int length = buffer.getInt();
+            locations.putIfAbsent(HexFormat.of().formatHex(digest), new Location(offset, length));
+        }
+        indexed = complete;
+    }
+
+    /**
+     * Retrieves the entry for the given key.
+     *
+     * @param key the key
+     * @return the cached entry, <code>null</code> if there is none
+     */
+    public SynthesisCache.Entry get(SynthesisCache.Key key) {
+        String digest = digest(key);
+        SynthesisCache.Entry entry = mapped.get(digest);
+        if (entry != null) {
+            return entry;
+        }
+        Location location;
+        try {
+            synchronized (this) {
+                location = locations.get(digest);
+                if (location == null) {
+                    refresh();
+                    location = locations.get(digest);
+                }
+            }
+            if (location == null) {
+                return null;
+            }
+            MappedByteBuffer buffer = data.map(FileChannel.MapMode.READ_ONLY, location.offset(), location.length());
+            entry = read(buffer);
+        } catch (IOException | RuntimeException e) {
+logger.log(Level.WARNING, "error reading cached audio: " + e.getMessage(), e);
+            return null;
+        }
+        mapped.put(digest, entry);
+        return entry;
+    }
+
+    /**
+     * Adds the given entry unless there is one for the key already.
+     *
+     * @param key   the key
+     * @param entry the entry
+     */
+    public void put(SynthesisCache.Key key, SynthesisCache.Entry entry) {
+        if (!writable) {
+            return;
+        }
+        String digest = digest(key);
+        try {
+            byte[] record = write(entry);
+            // the file lock is held by the whole process
+            synchronized (writeLock) {
+                synchronized (this) {
+                    FileLock lock = index.lock();
+                    try {
+                        refresh();
+                        if (locations.containsKey(digest)) {
+                            return;
+                        }
+                        long offset = data.size();
+                        ByteBuffer buffer = ByteBuffer.wrap(record);
+                        while (buffer.hasRemaining()) {
+                            data.write(buffer, offset + buffer.position());
+                        }
+                        data.force(false);
+
+                        ByteBuffer indexRecord = ByteBuffer.allocate(INDEX_RECORD_LENGTH);
+                        indexRecord.put(HexFormat.of().parseHex(digest));
+                        indexRecord.putLong(offset);
+                        indexRecord.putInt(record.length);
+                        indexRecord.flip();
+                        // overwrite what an interrupted writer may have left
+                        long indexOffset = index.size() - index.size() % INDEX_RECORD_LENGTH;
+                        while (indexRecord.hasRemaining()) {
+                            index.write(indexRecord, indexOffset + indexRecord.position());
+                        }
+                        index.force(false);
+                        refresh();
+                    } finally {
+                        lock.release();
+                    }
+                }
+            }
+        } catch (IOException e) {
+logger.log(Level.WARNING, "error writing cached audio: " + e.getMessage(), e);
+        } catch (OverlappingFileLockException e) {
+            // the index is locked by this process, but not by a cache
+logger.log(Level.WARNING, "index locked, entry not added: " + digest);
+        }
+    }
+
+    /**
+     * Retrieves the number of entries.
+     *
+     * @return number of entries
+     */
+    public synchronized int getEntryCount() {
+        return locations.size();
+    }
+
+    /**
+     * Checks if entries may be added.
+     *
+     * @return <code>true</code> if the cache is writable
+     */
+    public boolean isWritable() {
+        return writable;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            index.close();
+        } finally {
+            data.close();
+        }
+    }
+
+    /**
+     * Serializes the given entry.
+     *
+     * @param entry the entry
+     * @return the record
+     * @throws IOException error writing the record
+     */
+    private static byte[] write(SynthesisCache.Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.getAudioLength() + 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        AudioFormat format = entry.getAudioFormat();
+        out.writeBoolean(format != null);
+        if (format != null) {
+            writeString(out, format.getEncoding().toString());
+            out.writeFloat(format.getSampleRate());
+            out.writeInt(format.getSampleSizeInBits());
+            out.writeInt(format.getChannels());
+            out.writeInt(format.getFrameSize());
+            out.writeFloat(format.getFrameRate());
+            out.writeBoolean(format.isBigEndian());
+        }
+        String[] words = entry.getWords();
+        out.writeInt(words == null ? -1 : words.length);
+        if (words != null) {
+            for (String word : words) {
+                writeString(out, word);
+            }
+        }
+        float[] times = entry.getWordsStartTimes();
+        out.writeInt(times == null ? -1 : times.length);
+        if (times != null) {
+            for (float time : times) {
+                out.writeFloat(time);
+            }
+        }
+        PhoneInfo[] phones = entry.getPhonesInfo();
+        out.writeInt(phones == null ? -1 : phones.length);
+        if (phones != null) {
+            for (PhoneInfo phone : phones) {
+                writeString(out, phone.getPhoneme());
+                out.writeInt(phone.getDuration());
+            }
+        }
+        ByteBuffer audio = entry.getAudio();
+        out.writeInt(audio.remaining());
+        if (audio.hasArray()) {
+            out.write(audio.array(), audio.arrayOffset() + audio.position(), audio.remaining());
+        } else {
+            byte[] chunk = new byte[8192];
+            while (audio.hasRemaining()) {
+                int count = Math.min(chunk.length, audio.remaining());
+                audio.get(chunk, 0, count);
+                out.write(chunk, 0, count);
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes an entry. The audio data remains in the given buffer.
+     *
+     * @param buffer the record
+     * @return the entry
+     */
+    private static SynthesisCache.Entry read(ByteBuffer buffer) {
+        AudioFormat format = null;
+        if (buffer.get() != 0) {
+            AudioFormat.Encoding encoding = new AudioFormat.Encoding(readString(buffer));
+            float sampleRate = buffer.getFloat();
+            int sampleSize = buffer.getInt();
+            int channels = buffer.getInt();
+            int frameSize = buffer.getInt();
+            float frameRate = buffer.getFloat();
+            boolean bigEndian = buffer.get() != 0;
+            format = new AudioFormat(encoding, sampleRate, sampleSize, channels, frameSize, frameRate, bigEndian);
+        }
+        String[] words = null;
+        int count = buffer.getInt();
+        if (count >= 0) {
+            words = new String[count];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = readString(buffer);
+            }
+        }
+        float[] times = null;
+        count = buffer.getInt();
+        if (count >= 0) {
+            times = new float[count];
+            for (int i = 0; i < times.length; i++) {
+                times[i] = buffer.getFloat();
+            }
+        }
+        PhoneInfo[] phones = null;
+        count = buffer.getInt();
+        if (count >= 0) {
+            phones = new PhoneInfo[count];
+            for (int i = 0; i < phones.length; i++) {
+                String phoneme = readString(buffer);
+                phones[i] = new PhoneInfo(phoneme, buffer.getInt());
+            }
+        }
+        int length = buffer.getInt();
+        ByteBuffer audio = buffer.slice(buffer.position(), length);
+        return new SynthesisCache.Entry(audio, format, words, times, phones);
+    }
+
+    /**
+     * Writes the given string as UTF-8 with a preceding length. The length
+     * of <code>null</code> is <code>-1</code>.
+     *
+     * @param out    the stream to write to
+     * @param string the string, may be <code>null</code>
+     * @throws IOException error writing the string
+     */
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the string, may be <code>null</code>
+     */
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Computes the digest of the given key.
+     *
+     * @param key the key
+     * @return hex representation of the digest
+     */
+    static String digest(SynthesisCache.Key key) {
+        StringBuilder str = new StringBuilder();
+        str.append(key.engine()).append('\0');
+        str.append(key.format()).append('\0');
+        str.append(key.markup() ? "markup" : "text").append('\0');
+        str.append(key.text()).append('\0');
+        Voice voice = key.voice();
+        if (voice != null) {
+            str.append(voice.getName()).append('|')
+                    .append(voice.getSpeechLocale()).append('|')
+                    .append(voice.getGender()).append('|')
+                    .append(voice.getAge()).append('|')
+                    .append(voice.getVariant());
+        }
+        str.append('\0');
+        str.append(key.pitch()).append('|')
+                .append(key.pitchRange()).append('|')
+                .append(key.speakingRate()).append('|')
+                .append(key.volume());
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(str.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import javax.speech.synthesis.PhoneInfo;
+
+
+/**
+ * Word and phoneme timing of a queue item as frame offsets from the start
+ * of its audio.
+ * <p>
+ * The offsets are computed once when the item starts playing. While the
+ * audio is played back, {@link #advance(long, Listener)} is called with the
+ * number of frames of the item that have been rendered so far and reports
+ * all words and phonemes that are due. The difference between the frame a
+ * mark is due and the position it has been reported at is the timing error,
+ * which is kept for diagnostics.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+final class EventTimeline {
+
+    /** Receives the marks that are due. */
+    interface Listener {
+
+        /**
+         * A word is due.
+         *
+         * @param word  the word
+         * @param start offset of the first character of the word
+         */
+        void wordStarted(String word, int start);
+
+        /**
+         * A phoneme is due.
+         *
+         * @param phones all phonemes
+         * @param index  index of the phoneme
+         * @param word   the word that has been started last
+         */
+        void phonemeStarted(PhoneInfo[] phones, int index, String word);
+    }
+
+    /** The words. */
+    private final String[] words;
+
+    /** Start times of the words in seconds. */
+    private final float[] startTimes;
+
+    /** The phonemes. */
+    private final PhoneInfo[] phones;
+
+    /** Start frames of the words. */
+    private final long[] wordFrames;
+
+    /** Offsets of the first characters of the words. */
+    private final int[] wordStarts;
+
+    /** Start frames of the phonemes. */
+    private final long[] phoneFrames;
+
+    /** Number of frames per second. */
+    private final float frameRate;
+
+    /** Index of the next word. */
+    private int wordIndex;
+
+    /** Index of the next phoneme. */
+    private int phoneIndex;
+
+    /** Number of marks reported. */
+    private int reported;
+
+    /** Sum of the timing errors in frames. */
+    private long errorSum;
+
+    /** Largest timing error in frames. */
+    private long maxError;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param words      the words, maybe <code>null</code>
+     * @param startTimes start times of the words in seconds, maybe
+     *                   <code>null</code>
+     * @param phones     the phonemes, maybe <code>null</code>
+     * @param frameRate  number of frames per second of the audio
+     */
+    EventTimeline(String[] words, float[] startTimes, PhoneInfo[] phones, float frameRate) {
+        this.words = words;
+        this.startTimes = startTimes;
+        this.phones = phones;
+        this.frameRate = frameRate;
+        int wordCount = words == null || startTimes == null ? 0 : Math.min(words.length, startTimes.length);
+        wordFrames = new long[wordCount];
+        wordStarts = new int[wordCount];
+        int start = 0;
+        for (int i = 0; i < wordCount; i++) {
+            wordFrames[i] = toFrames(startTimes[i]);
+            wordStarts[i] = start;
+            start += words[i].length() + 1;
+        }
+        // phonemes are only reported within words
+        int phoneCount = wordCount == 0 || phones == null ? 0 : phones.length;
+        phoneFrames = new long[phoneCount];
+        long time = 0;
+        for (int i = 0; i < phoneCount; i++) {
+            phoneFrames[i] = toFrames(time / 1000f);
+            time += phones[i].getDuration();
+        }
+    }
+
+    /**
+     * Converts the given time to frames.
+     *
+     * @param seconds the time in seconds
+     * @return number of frames
+     */
+    private long toFrames(float seconds) {
+        return (long) Math.ceil(seconds * frameRate);
+    }
+
+    /**
+     * Reports all marks that are due at the given position.
+     *
+     * @param position number of frames of the item that have been rendered
+     * @param listener the listener to report to
+     */
+    void advance(long position, Listener listener) {
+        while (true) {
+            boolean word = wordIndex < wordFrames.length && wordFrames[wordIndex] <= position;
+            boolean phone = wordIndex > 0 && phoneIndex < phoneFrames.length && phoneFrames[phoneIndex] <= position;
+            if (word && (!phone || wordFrames[wordIndex] <= phoneFrames[phoneIndex])) {
+                measure(position - wordFrames[wordIndex]);
+                listener.wordStarted(words[wordIndex], wordStarts[wordIndex]);
+                wordIndex++;
+            } else if (phone) {
+                measure(position - phoneFrames[phoneIndex]);
+                listener.phonemeStarted(phones, phoneIndex, words[wordIndex - 1]);
+                phoneIndex++;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records the timing error of a reported mark.
+     *
+     * @param error the error in frames
+     */
+    private void measure(long error) {
+        reported++;
+        errorSum += error;
+        maxError = Math.max(maxError, error);
+    }
+
+    /**
+     * Checks if this timeline has been created from the given timing.
+     *
+     * @param words      the words
+     * @param startTimes start times of the words
+     * @param phones     the phonemes
+     * @return <code>true</code> if the timing is the same
+     */
+    boolean isFor(String[] words, float[] startTimes, PhoneInfo[] phones) {
+        return this.words == words && this.startTimes == startTimes && this.phones == phones;
+    }
+
+    /**
+     * Checks if there are marks that have not been reported yet.
+     *
+     * @return <code>true</code> if there are pending marks
+     */
+    boolean hasPending() {
+        return wordIndex < wordFrames.length || (wordIndex > 0 && phoneIndex < phoneFrames.length);
+    }
+
+    /**
+     * Retrieves the frame of the next mark.
+     *
+     * @return the frame of the next mark, {@link Long#MAX_VALUE} if there is
+     * none
+     */
+    long getNextFrame() {
+        long next = Long.MAX_VALUE;
+        if (wordIndex < wordFrames.length) {
+            next = wordFrames[wordIndex];
+        }
+        if (wordIndex > 0 && phoneIndex < phoneFrames.length) {
+            next = Math.min(next, phoneFrames[phoneIndex]);
+        }
+        return next;
+    }
+
+    /**
+     * Retrieves the number of marks reported so far.
+     *
+     * @return number of reported marks
+     */
+    int getReportedCount() {
+        return reported;
+    }
+
+    /**
+     * Retrieves the largest timing error so far.
+     *
+     * @return the largest error in milliseconds
+     */
+    float getMaxError() {
+        return maxError * 1000f / frameRate;
+    }
+
+    /**
+     * Retrieves the mean timing error so far.
+     *
+     * @return the mean error in milliseconds
+     */
+    float getMeanError() {
+        return reported == 0 ? 0 : errorSum * 1000f / frameRate / reported;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("marks: %d, timing error: mean %.1f ms, max %.1f ms",
+                reported, getMeanError(), getMaxError());
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.speech.EngineProperties;
+
+
+/**
+ * Queue of {@link QueueItem}s that are also indexed by their id.
+ * <p>
+ * There is a FIFO lane per priority. Items are taken from the lane of the
+ * highest priority that is not empty. Each lane is a doubly linked list,
+ * so that items can be removed from any position in constant time.
+ * Structural changes are guarded by a lock, lookups by id go to a
+ * concurrent map and never block.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+final class ItemQueue {
+
+    /** A list node. */
+    private static final class Node {
+        final QueueItem item;
+        final int lane;
+        Node prev;
+        Node next;
+
+        Node(QueueItem item) {
+            this.item = item;
+            lane = Math.max(EngineProperties.MIN_PRIORITY,
+                    Math.min(EngineProperties.MAX_PRIORITY, item.getPriority()));
+        }
+    }
+
+    /** Guards the list. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signaled when an item has been added. */
+    private final Condition notEmpty = lock.newCondition();
+
+    /** The nodes by the ids of their items. */
+    private final Map<Integer, Node> index = new ConcurrentHashMap<>();
+
+    /** First nodes of the lanes by priority, <code>null</code> if empty. */
+    private final Node[] heads = new Node[EngineProperties.MAX_PRIORITY + 1];
+
+    /** Last nodes of the lanes by priority, <code>null</code> if empty. */
+    private final Node[] tails = new Node[EngineProperties.MAX_PRIORITY + 1];
+
+    /** Number of items. */
+    private volatile int count;
+
+    /**
+     * Appends the given item.
+     *
+     * @param item the item
+     * @return <code>false</code> if there is an item with the same id
+     */
+    boolean offer(QueueItem item) {
+        Node node = new Node(item);
+        lock.lock();
+        try {
+            if (index.putIfAbsent(item.getId(), node) != null) {
+                return false;
+            }
+            linkLast(node);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the first item of the highest priority, waiting until there
+     * is one.
+     *
+     * @return the first item
+     * @throws InterruptedException if the waiting was interrupted
+     */
+    QueueItem take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            Node node;
+            while ((node = first()) == null) {
+                notEmpty.await();
+            }
+            unlink(node);
+            return node.item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the item that would be taken next.
+     *
+     * @return the first item, <code>null</code> if empty
+     */
+    QueueItem peek() {
+        lock.lock();
+        try {
+            Node node = first();
+            return node == null ? null : node.item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the item with the given id.
+     *
+     * @param id the id
+     * @return the item, <code>null</code> if there is no such item
+     */
+    QueueItem get(int id) {
+        Node node = index.get(id);
+        return node == null ? null : node.item;
+    }
+
+    /**
+     * Removes the item with the given id.
+     *
+     * @param id the id
+     * @return the removed item, <code>null</code> if there is no such item
+     */
+    QueueItem remove(int id) {
+        if (!index.containsKey(id)) {
+            return null;
+        }
+        lock.lock();
+        try {
+            Node node = index.get(id);
+            if (node == null) {
+                return null;
+            }
+            unlink(node);
+            return node.item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the given item.
+     *
+     * @param item the item
+     * @return <code>true</code> if the item was in this queue
+     */
+    boolean remove(QueueItem item) {
+        Node node = index.get(item.getId());
+        if (node == null || node.item != item) {
+            return false;
+        }
+        lock.lock();
+        try {
+            if (index.get(item.getId()) != node) {
+                return false;
+            }
+            unlink(node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all items.
+     *
+     * @return the removed items in the order they would have been taken
+     */
+    List<QueueItem> drain() {
+        lock.lock();
+        try {
+            List<QueueItem> items = toList();
+            clear();
+            return items;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Removes all items. */
+    void clear() {
+        lock.lock();
+        try {
+            index.clear();
+            Arrays.fill(heads, null);
+            Arrays.fill(tails, null);
+            count = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * Retrieves a snapshot of the items in the order they would be taken.
+     *
+     * @return the items
+     */
+    List<QueueItem> toList() {
+        lock.lock();
+        try {
+            List<QueueItem> items = new ArrayList<>(count);
+            for (int lane = heads.length - 1; lane >= 0; lane--) {
+                for (Node node = heads[lane]; node != null; node = node.next) {
+                    items.add(node.item);
+                }
+            }
+            return items;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Must be called with the lock held. */
+    private Node first() {
+        for (int lane = heads.length - 1; lane >= 0; lane--) {
+            if (heads[lane] != null) {
+                return heads[lane];
+            }
+        }
+        return null;
+    }
+
+    /** Must be called with the lock held. */
+    private void linkLast(Node node) {
+        int lane = node.lane;
+        node.prev = tails[lane];
+        if (tails[lane] == null) {
+            heads[lane] = node;
+        } else {
+            tails[lane].next = node;
+        }
+        tails[lane] = node;
+        count++;
+    }
+
+    /** Must be called with the lock held. */
+    private void unlink(Node node) {
+        int lane = node.lane;
+        if (node.prev == null) {
+            heads[lane] = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tails[lane] = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        index.remove(node.item.getId());
+        count--;
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
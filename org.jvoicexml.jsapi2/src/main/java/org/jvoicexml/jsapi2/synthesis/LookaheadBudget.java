@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.sound.sampled.AudioInputStream;
+
+
+/**
+ * Limits how far synthesis may run ahead of play back.
+ * <p>
+ * An item is ahead of the play head from the moment a synthesis worker
+ * starts synthesizing it until it starts playing. Its audio is in the
+ * backlog from the moment it is handed over to the {@link PlayQueue} until
+ * it has been read by the play back. A synthesis worker has to
+ * {@link #acquire(QueueItem)} the budget before it synthesizes an item,
+ * which blocks as long as the maximum number of items are ahead or the
+ * backlog has reached the maximum number of bytes. So there is always at
+ * least one item ahead, even if its audio exceeds the byte budget.
+ * </p>
+ * <p>
+ * The audio of a {@link org.jvoicexml.jsapi2.StreamingAudioSegment} is
+ * not counted when it is handed over since it is bounded by the capacity
+ * of the segment.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+final class LookaheadBudget {
+
+    /** Maximum number of items ahead of the play head. */
+    private final int maxItems;
+
+    /** Maximum number of bytes in the backlog. */
+    private final long maxBytes;
+
+    /** Items that are being synthesized or wait for play back. */
+    private final Set<QueueItem> ahead = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** Bytes of the items in the backlog that have not been read yet. */
+    private final Map<QueueItem, Long> backlog = new IdentityHashMap<>();
+
+    /** Sum of {@link #backlog}. */
+    private long bytes;
+
+    /** <code>true</code> if waiting workers are to be released. */
+    private boolean closed;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param maxItems maximum number of items ahead of the play head,
+     *                 <code>0</code> for no limit
+     * @param maxBytes maximum number of bytes in the backlog,
+     *                 <code>0</code> for no limit
+     */
+    LookaheadBudget(int maxItems, long maxBytes) {
+        if (maxItems < 0 || maxBytes < 0) {
+            throw new IllegalArgumentException("negative budget: " + maxItems + ", " + maxBytes);
+        }
+        this.maxItems = maxItems == 0 ? Integer.MAX_VALUE : maxItems;
+        this.maxBytes = maxBytes == 0 ? Long.MAX_VALUE : maxBytes;
+    }
+
+    /**
+     * Waits until the given item may be synthesized.
+     *
+     * @param item the item to synthesize
+     * @throws InterruptedException if the waiting was interrupted
+     */
+    synchronized void acquire(QueueItem item) throws InterruptedException {
+        while (!closed && (ahead.size() >= maxItems || bytes >= maxBytes)) {
+            wait();
+        }
+        ahead.add(item);
+    }
+
+    /**
+     * Notifies that the given item has been handed over to the play queue.
+     *
+     * @param item the item
+     * @param size number of bytes of its audio
+     */
+    synchronized void handedOver(QueueItem item, long size) {
+        backlog.put(item, size);
+        bytes += size;
+    }
+
+    /**
+     * Notifies that the given item will not be handed over, since it has
+     * been canceled or could not be synthesized. Nothing is done if it has
+     * already been handed over.
+     *
+     * @param item the item
+     */
+    synchronized void cancel(QueueItem item) {
+        if (!backlog.containsKey(item) && ahead.remove(item)) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Notifies that the play back of the given item has started.
+     *
+     * @param item the item
+     */
+    synchronized void started(QueueItem item) {
+        if (ahead.remove(item)) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Notifies that the given number of bytes of the given item have been
+     * read by the play back.
+     *
+     * @param item  the item
+     * @param count number of bytes
+     */
+    synchronized void played(QueueItem item, long count) {
+        Long remaining = backlog.get(item);
+        if (remaining == null || remaining == 0) {
+            return;
+        }
+        long played = Math.min(remaining, count);
+        backlog.put(item, remaining - played);
+        boolean full = bytes >= maxBytes;
+        bytes -= played;
+        if (full && bytes < maxBytes) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Notifies that the given item has left the play queue, either played
+     * or canceled.
+     *
+     * @param item the item
+     */
+    synchronized void release(QueueItem item) {
+        Long remaining = backlog.remove(item);
+        if (remaining != null) {
+            bytes -= remaining;
+        }
+        ahead.remove(item);
+        notifyAll();
+    }
+
+    /**
+     * Releases all waiting workers.
+     */
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    /**
+     * Wraps the given stream of the audio of the given item to count the
+     * bytes that are read. An {@link AudioInputStream} stays one with the
+     * same format and length, so that it is not converted as raw data of
+     * the engine format.
+     *
+     * @param item   the item
+     * @param stream the audio of the item
+     * @return the counting stream
+     */
+    InputStream track(QueueItem item, InputStream stream) {
+        InputStream tracked = count(item, stream);
+        if (stream instanceof AudioInputStream ais) {
+            return new AudioInputStream(tracked, ais.getFormat(), ais.getFrameLength());
+        }
+        return tracked;
+    }
+
+    /**
+     * Wraps the given stream to count the bytes that are read.
+     *
+     * @param item   the item
+     * @param stream the audio of the item
+     * @return the counting stream
+     */
+    private InputStream count(QueueItem item, InputStream stream) {
+        return new FilterInputStream(stream) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    played(item, 1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int count = super.read(b, off, len);
+                if (count > 0) {
+                    played(item, count);
+                }
+                return count;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long count = super.skip(n);
+                if (count > 0) {
+                    played(item, count);
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the number of bytes of audio that have been synthesized but
+     * not played back yet.
+     *
+     * @return number of bytes
+     */
+    synchronized long getBacklogBytes() {
+        return bytes;
+    }
+
+    /**
+     * Retrieves the number of items that are being synthesized or wait for
+     * play back.
+     *
+     * @return number of items
+     */
+    synchronized int getAheadCount() {
+        return ahead.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getClass().getSimpleName() + "[items: " + ahead.size() + "/" + maxItems
+                + ", bytes: " + bytes + "/" + maxBytes + "]";
+    }
+}
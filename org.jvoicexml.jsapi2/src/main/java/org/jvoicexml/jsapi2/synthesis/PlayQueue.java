@@ -31,7 +31,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
-import java.util.concurrent.BlockingQueue;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
@@ -46,6 +46,8 @@ import javax.speech.synthesis.Synthesizer;
 import javax.speech.synthesis.SynthesizerEvent;
 
 import org.jvoicexml.jsapi2.BaseAudioManager;
+import org.jvoicexml.jsapi2.BaseAudioSegment;
+import org.jvoicexml.jsapi2.FramePositionSource;
 
 import static java.lang.System.getLogger;
 
@@ -65,8 +67,17 @@ class PlayQueue {
     /** Buffer size when reading from the audio segment input stream. */
     private static final int BUFFER_LENGTH = 256;
 
+    /** Right shift of the samples of a ducked item, about -12dB. */
+    private static final int DUCKING_SHIFT = 2;
+
+    /** Milliseconds between polls of the output position at the end of an item. */
+    private static final long POLL_INTERVAL = 5;
+
+    /** Number of polls without progress until the remaining marks are posted. */
+    private static final int MAX_STALLED_POLLS = 20;
+
     /** The items to be played back. */
-    private final BlockingQueue<QueueItem> queue;
+    private final ItemQueue queue;
 
     private final AtomicReference<QueueItem> currentItem = new AtomicReference<>();
 
@@ -77,7 +88,7 @@ class PlayQueue {
      */
     public PlayQueue(QueueManager manager) {
         queueManager = manager;
-        queue = new java.util.concurrent.LinkedBlockingQueue<>();
+        queue = new ItemQueue();
     }
 
     /**
@@ -114,11 +125,6 @@ class PlayQueue {
 
     /** threading task */
     void loop() {
-        int playIndex;
-        int wordIndex;
-        int wordStart;
-        int phonemeIndex;
-        double timeNextPhone;
         byte[] buffer = new byte[BUFFER_LENGTH];
 
         while (!queueManager.isDone()) {
@@ -128,82 +134,94 @@ logger.log(Level.TRACE, "P:: queue item null???");
                 continue;
             }
 logger.log(Level.TRACE, "P:: queue item taken: " + currentItem.get());
+            QueueItem taken = currentItem.get();
+            LookaheadBudget budget = queueManager.getLookaheadBudget();
+            budget.started(taken);
             try {
                 Object source = getCurrent().getSource();
                 int id = getCurrent().getId();
                 SpeakableListener listener = getCurrent().getListener();
+                BaseSynthesizer synthesizer = queueManager.getSynthesizer();
                 postTopOfQueue(getCurrent());
+                boolean timelinePosted = postTimeline(synthesizer, getCurrent());
                 try {
                     delayUntilResumed(getCurrent());
                 } catch (InterruptedException e1) {
 logger.log(Level.TRACE, "at delayUntilResumed 1: " + e1.getMessage());
                 }
 
-                BaseSynthesizer synthesizer = queueManager.getSynthesizer();
                 SpeakableEvent startedEvent = new SpeakableEvent(source, SpeakableEvent.SPEAKABLE_STARTED, id);
                 synthesizer.postSpeakableEvent(startedEvent, listener);
 
-                playIndex = 0;
-                wordIndex = 0;
-                wordStart = 0;
-                phonemeIndex = 0;
-                timeNextPhone = 0;
                 int bytesRead;
                 BaseAudioManager manager = (BaseAudioManager) synthesizer.getAudioManager();
-                AudioFormat format = manager.getEngineAudioFormat();
-                float sampleRate = format.getSampleRate();
+                EventTimeline timeline = null;
+                MarkPoster poster = new MarkPoster(synthesizer, getCurrent());
+                long audioDuration = 0;
+                boolean failed = false;
                 try {
                     AudioSegment segment = getCurrent().getAudioSegment();
                     InputStream stream = segment.openInputStream();
                     if (stream == null) {
                         throw new IOException("no audio stream");
                     }
-                    InputStream inputStream = getConvertedStream(manager, stream);
-                    while ((bytesRead = inputStream.read(buffer)) >= 0) {
+                    stream = budget.track(taken, stream);
+                    // closing also cancels a segment that is still being streamed
+                    try (AudioInputStream inputStream = getConvertedStream(manager, stream)) {
+                        AudioFormat format = inputStream.getFormat();
+                        int frameSize = Math.max(1, format.getFrameSize());
+                        OutputStream out = manager.getOutputStream();
+                        FramePositionSource position = out instanceof FramePositionSource
+                                ? (FramePositionSource) out : null;
+                        long startFrame = position == null ? 0 : position.getFramePosition();
+                        AudioFrameStream frames = out instanceof AudioFrameStream ? (AudioFrameStream) out : null;
+                        if (frames != null) {
+                            frames.startItem(id, format);
+                        }
+                        long bytesWritten = 0;
                         try {
-                            delayUntilResumed(getCurrent());
-                        } catch (InterruptedException e) {
+                            while ((bytesRead = inputStream.read(buffer)) >= 0) {
+                                try {
+                                    delayUntilResumed(getCurrent());
+                                } catch (InterruptedException e) {
 logger.log(Level.TRACE, "delayUntilResumed 2: " + e.getMessage());
-                            break;
-                        }
-
-                        synchronized (queueManager.cancelLock) {
-                            if (queueManager.cancelFirstItem) {
-                                synthesizer.postSpeakableEvent(new SpeakableEvent(
-                                        source, SpeakableEvent.SPEAKABLE_CANCELLED, id), listener);
-                                break;
+                                    break;
+                                }
+                                if (getCurrent().isDucked()) {
+                                    attenuate(buffer, bytesRead, format);
+                                }
+
+                                if (isCancelled(taken)) {
+                                    // the cancellation has been reported already
+                                    break;
+                                }
+
+                                out = manager.getOutputStream();
+                                out.write(buffer, 0, bytesRead);
+                                if (bytesWritten == 0) {
+                                    taken.markFirstByte();
+                                }
+                                bytesWritten += bytesRead;
+
+                                long framesWritten = bytesWritten / frameSize;
+                                timeline = getTimeline(getCurrent(), timeline, format.getFrameRate());
+                                if (!timelinePosted) {
+                                    timelinePosted = postTimeline(synthesizer, getCurrent());
+                                }
+                                timeline.advance(getPlayedFrames(position, startFrame, framesWritten), poster);
+                            }
+                        } finally {
+                            // the rest of the item is published as a shorter frame
+                            if (frames != null) {
+                                frames.endItem();
                             }
                         }
-
-                        String[] words = getCurrent().getWords();
-                        while (wordIndex < words.length
-                                && (getCurrent().getWordsStartTime()[wordIndex] * sampleRate <= playIndex * bytesRead)) {
-                            synthesizer.postSpeakableEvent(new SpeakableEvent(
-                                            source, SpeakableEvent.WORD_STARTED, id,
-                                            words[wordIndex], wordStart,
-                                            wordStart + words[wordIndex].length()),
-                                    listener);
-                            wordStart += words[wordIndex].length() + 1;
-                            wordIndex++;
+                        if (timeline != null) {
+                            awaitMarks(timeline, poster, position, startFrame, bytesWritten / frameSize);
                         }
-
-                        if (words.length > 0 && wordIndex > 0) {
-                            PhoneInfo[] phones = getCurrent().getPhonesInfo();
-                            while (phonemeIndex < phones.length
-                                    && timeNextPhone * sampleRate < playIndex * bytesRead) {
-                                synthesizer.postSpeakableEvent(new SpeakableEvent(
-                                                source, SpeakableEvent.PHONEME_STARTED,
-                                                id, words[wordIndex - 1],
-                                                phones, phonemeIndex),
-                                        listener);
-                                timeNextPhone += (double) phones[phonemeIndex].getDuration() / (double) 1000;
-                                phonemeIndex++;
-                            }
+                        if (format.getFrameRate() > 0) {
+                            audioDuration = (long) (bytesWritten / frameSize / (double) format.getFrameRate() * 1e9);
                         }
-                        playIndex++;
-
-                        OutputStream out = manager.getOutputStream();
-                        out.write(buffer, 0, bytesRead);
                     }
 
                     // Flush audio in the stream
@@ -211,44 +229,210 @@ logger.log(Level.TRACE, "delayUntilResumed 2: " + e.getMessage());
                     if (out != null) {
                         out.flush();
                     }
+                    taken.markFlushed(audioDuration);
                 } catch (IOException ex) {
 logger.log(Level.TRACE, ex.getMessage(), ex);
-                    synthesizer.postSpeakableEvent(
-                            new SpeakableEvent(source, SpeakableEvent.SPEAKABLE_FAILED, id), listener);
-                    continue;
+                    failed = true;
                 }
-
-                if (!queueManager.cancelFirstItem) {
-                    synthesizer.postSpeakableEvent(
-                            new SpeakableEvent(source, SpeakableEvent.SPEAKABLE_ENDED, id), listener);
+                if (timeline != null) {
+logger.log(Level.DEBUG, "P:: " + source + ": " + timeline);
                 }
 
-                synchronized (queueManager.cancelLock) {
-                    queueManager.cancelFirstItem = false;
+                // the current item may have been canceled meanwhile, e.g. by a barge-in
+                if (finish(taken)) {
+                    if (failed) {
+                        synthesizer.postSpeakableEvent(
+                                new SpeakableEvent(source, SpeakableEvent.SPEAKABLE_FAILED, id), listener);
+                    } else {
+                        synthesizer.getSynthesisLatency().record(taken);
+                        synthesizer.postSpeakableEvent(
+                                new SpeakableEvent(source, SpeakableEvent.SPEAKABLE_ENDED, id), listener);
+                    }
                 }
             } catch (CancelledException e) {
 logger.log(Level.TRACE, "cancelled by outer loop: " + e.getStackTrace()[2], e);
-                queueManager.cancelFirstItem = false;
-                continue;
+            } finally {
+                finish(taken);
+                budget.release(taken);
             }
 
-            currentItem.set(null);
             postEventsAfterPlay();
         }
 logger.log(Level.DEBUG, "play queue loop terminated");
     }
 
     /**
-     * Removes the given item from the play queue.
+     * Checks if the play back of the given item has been canceled.
+     *
+     * @param item the item being played back
+     * @return <code>true</code> if the item has been canceled
+     */
+    private boolean isCancelled(QueueItem item) {
+        synchronized (queueManager.cancelLock) {
+            return queueManager.cancelledItem == item;
+        }
+    }
+
+    /**
+     * Ends the play back of the given item. A cancel of the item after this
+     * has no effect.
+     *
+     * @param item the item being played back
+     * @return <code>true</code> if the item has not been canceled
+     */
+    private boolean finish(QueueItem item) {
+        synchronized (queueManager.cancelLock) {
+            if (queueManager.cancelledItem == item) {
+                queueManager.cancelledItem = null;
+            }
+            return currentItem.compareAndSet(item, null);
+        }
+    }
+
+    /**
+     * Posts the timing of the given item to the
+     * {@link SpeakableTimelineListener}s if it is known.
+     *
+     * @param synthesizer the synthesizer
+     * @param item        the item being played back
+     * @return <code>false</code> if the timing is not known yet
+     */
+    private static boolean postTimeline(BaseSynthesizer synthesizer, QueueItem item) {
+        SpeakableListener listener = item.getListener();
+        if (!synthesizer.isTimelineWanted(listener)) {
+            return true;
+        }
+        String[] words = item.getWords();
+        float[] startTimes = item.getWordsStartTime();
+        if (words == null || startTimes == null || words.length == 0) {
+            return false;
+        }
+        synthesizer.postSpeakableTimeline(new SpeakableTimeline(item.getId(), item.getSource(),
+                words, startTimes, item.getPhonesInfo()), listener);
+        return true;
+    }
+
+    /**
+     * Retrieves the timeline for the given item. The timing of an item that
+     * is still being synthesized may arrive after its playback has started,
+     * so the timeline is created anew as long as no marks have been
+     * reported.
      *
-     * @param item the item to remove
+     * @param item      the item being played back
+     * @param timeline  the current timeline, maybe <code>null</code>
+     * @param frameRate frame rate of the played back audio
+     * @return the timeline
      */
-    private void removeQueueItem(QueueItem item) {
-        synchronized (queue) {
-            boolean r = queue.remove(item);
-            if (!r) {
-logger.log(Level.TRACE, "P:: remove failed: " + item);
+    private static EventTimeline getTimeline(QueueItem item, EventTimeline timeline, float frameRate) {
+        String[] words = item.getWords();
+        float[] startTimes = item.getWordsStartTime();
+        PhoneInfo[] phones = item.getPhonesInfo();
+        if (timeline != null
+                && (timeline.getReportedCount() > 0 || timeline.isFor(words, startTimes, phones))) {
+            return timeline;
+        }
+        return new EventTimeline(words, startTimes, phones, frameRate);
+    }
+
+    /**
+     * Retrieves the number of frames of the current item that have been
+     * rendered by the output device. If the device does not tell, the
+     * frames accepted by the output stream are taken.
+     *
+     * @param position      the output device, maybe <code>null</code>
+     * @param startFrame    position of the device when the item started
+     * @param framesWritten number of frames of the item that have been
+     *                      written
+     * @return number of rendered frames
+     */
+    private static long getPlayedFrames(FramePositionSource position, long startFrame, long framesWritten) {
+        if (position == null) {
+            return framesWritten;
+        }
+        long played = position.getFramePosition() - startFrame;
+        return Math.max(0, Math.min(played, framesWritten));
+    }
+
+    /**
+     * Waits until the output device has rendered the marks that are left
+     * after all audio of the current item has been written.
+     *
+     * @param timeline      the timeline of the current item
+     * @param poster        posts the marks of the current item
+     * @param position      the output device, maybe <code>null</code>
+     * @param startFrame    position of the device when the item started
+     * @param framesWritten number of frames of the item that have been
+     *                      written
+     * @throws CancelledException if the item has been canceled meanwhile
+     */
+    private void awaitMarks(EventTimeline timeline, MarkPoster poster, FramePositionSource position,
+                            long startFrame, long framesWritten) throws CancelledException {
+        QueueItem item = getCurrent();
+        long last = -1;
+        int stalled = 0;
+        while (timeline.hasPending() && timeline.getNextFrame() <= framesWritten) {
+            long played = getPlayedFrames(position, startFrame, framesWritten);
+            timeline.advance(played, poster);
+            if (played == last && ++stalled > MAX_STALLED_POLLS) {
+                // the device does not move, e.g. no line
+                timeline.advance(framesWritten, poster);
+                break;
+            }
+            if (played != last) {
+                stalled = 0;
+                last = played;
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (getCurrent() != item) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Posts the marks of a timeline as speakable events. Marks nobody
+     * listens to are dropped without creating an event.
+     */
+    private static final class MarkPoster implements EventTimeline.Listener {
+
+        private final BaseSynthesizer synthesizer;
+
+        private final QueueItem item;
+
+        private final boolean wordsWanted;
+
+        private final boolean phonemesWanted;
+
+        MarkPoster(BaseSynthesizer synthesizer, QueueItem item) {
+            this.synthesizer = synthesizer;
+            this.item = item;
+            wordsWanted = synthesizer.isMarkEventWanted(SpeakableEvent.WORD_STARTED, item.getListener());
+            phonemesWanted = synthesizer.isMarkEventWanted(SpeakableEvent.PHONEME_STARTED, item.getListener());
+        }
+
+        @Override
+        public void wordStarted(String word, int start) {
+            if (!wordsWanted) {
+                return;
             }
+            synthesizer.postSpeakableEvent(new SpeakableEvent(item.getSource(),
+                    SpeakableEvent.WORD_STARTED, item.getId(), word, start, start + word.length()),
+                    item.getListener());
+        }
+
+        @Override
+        public void phonemeStarted(PhoneInfo[] phones, int index, String word) {
+            if (!phonemesWanted) {
+                return;
+            }
+            synthesizer.postSpeakableEvent(new SpeakableEvent(item.getSource(),
+                    SpeakableEvent.PHONEME_STARTED, item.getId(), word, phones, index),
+                    item.getListener());
         }
     }
 
@@ -325,16 +509,90 @@ logger.log(Level.TRACE, "P:: itemChanged: " + item);
     }
 
     /**
-     * Adds the given item to the play queue.
+     * Adds the given item to the play queue. If the item has a higher
+     * priority than the item that is being played back, the current item is
+     * handled according to the {@link BargeInPolicy} of the synthesizer.
      *
      * @param item the item to add
      */
     public void addQueueItem(QueueItem item) {
+        queueManager.getLookaheadBudget().handedOver(item, getAudioSize(item));
         boolean r = queue.offer(item);
         if (!r) {
 logger.log(Level.TRACE, "P:: add failed: " + item);
         }
 logger.log(Level.TRACE, "P:: queue is added then size " + queue.size());
+        bargeIn(item);
+    }
+
+    /**
+     * Retrieves the number of bytes of the audio of the given item that are
+     * held in memory.
+     *
+     * @param item the item
+     * @return number of bytes, <code>0</code> if not known
+     */
+    private static long getAudioSize(QueueItem item) {
+        if (item.getAudioSegment() instanceof BaseAudioSegment segment) {
+            return segment.getBufferedSize();
+        }
+        return 0;
+    }
+
+    /**
+     * Applies the barge-in policy to the current item if the given item
+     * has a higher priority.
+     *
+     * @param item the item that has been added
+     */
+    private void bargeIn(QueueItem item) {
+        QueueItem current = currentItem.get();
+        if (current == null || item.getPriority() <= current.getPriority()) {
+            return;
+        }
+        BaseSynthesizer synthesizer = queueManager.getSynthesizer();
+        BargeInPolicy policy = synthesizer.getBargeInPolicy();
+logger.log(Level.TRACE, "P:: barge-in " + policy + ": " + item + " over " + current);
+        switch (policy) {
+        case INTERRUPT:
+            // the play loop stops with the next buffer
+            cancelCurrent(current);
+            break;
+        case DUCK:
+            current.setDucked(true);
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Reduces the volume of the given signed PCM audio. Other encodings are
+     * left untouched.
+     *
+     * @param buffer the audio
+     * @param length number of valid bytes in the buffer
+     * @param format format of the audio
+     */
+    static void attenuate(byte[] buffer, int length, AudioFormat format) {
+        if (!AudioFormat.Encoding.PCM_SIGNED.equals(format.getEncoding())) {
+            return;
+        }
+        int bits = format.getSampleSizeInBits();
+        if (bits == 8) {
+            for (int i = 0; i < length; i++) {
+                buffer[i] = (byte) (buffer[i] >> DUCKING_SHIFT);
+            }
+        } else if (bits == 16) {
+            boolean bigEndian = format.isBigEndian();
+            for (int i = 0; i + 1 < length; i += 2) {
+                int hi = bigEndian ? i : i + 1;
+                int lo = bigEndian ? i + 1 : i;
+                int sample = (short) ((buffer[hi] << 8) | (buffer[lo] & 0xff)) >> DUCKING_SHIFT;
+                buffer[hi] = (byte) (sample >> 8);
+                buffer[lo] = (byte) sample;
+            }
+        }
     }
 
     /**
@@ -345,16 +603,11 @@ logger.log(Level.TRACE, "P:: queue is added then size " + queue.size());
      * queue item with the given id
      */
     public QueueItem getQueueItem(int id) {
-        synchronized (queue) {
-            for (QueueItem item : queue) {
-                if (item.getId() == id) {
-logger.log(Level.TRACE, "P:: item found id: " + id);
-                    return item;
-                }
-            }
-        }
+        QueueItem item = queue.get(id);
+        if (item == null) {
 logger.log(Level.TRACE, "P:: item not found id: " + id);
-        return null;
+        }
+        return item;
     }
 
     /**
@@ -384,13 +637,8 @@ logger.log(Level.TRACE, "P:: queue is taken then size is " + queue.size());
      * synthesized
      */
     private boolean isSynthesized(int index) {
-        int i = 0;
-        for (QueueItem item : queue) {
-            if (i++ == index) {
-                return item.isSynthesized();
-            }
-        }
-        return false;
+        List<QueueItem> items = queue.toList();
+        return index < items.size() && items.get(index).isSynthesized();
     }
 
     /**
@@ -416,13 +664,28 @@ logger.log(Level.TRACE, "P:: cancel: queue empty");
             return false;
         }
 logger.log(Level.TRACE, "P:: cancel: " + item);
+        return cancelCurrent(item);
+    }
 
-        currentItem.set(null);
+    /**
+     * Cancels the given item if it is still being played back. The play
+     * loop stops with the next buffer and posts the queue events.
+     *
+     * @param item the item being played back
+     * @return <code>true</code> if the item was canceled
+     * @throws EngineStateException if the engine is in an invalid state
+     */
+    private boolean cancelCurrent(QueueItem item) throws EngineStateException {
+        synchronized (queueManager.cancelLock) {
+            if (!currentItem.compareAndSet(item, null)) {
+                return false;
+            }
+            queueManager.cancelledItem = item;
+        }
 
         BaseSynthesizer synthesizer = queueManager.getSynthesizer();
-//        BaseAudioManager manager = (BaseAudioManager) synthesizer.getAudioManager();
-//        OutputStream out = manager.getOutputStream();
-        // TODO should cancel the output stream
+        // unblocks the engine and the play loop if the audio is still being streamed
+        item.cancelStreaming();
 
         synthesizer.handleCancel();
         Object source = item.getSource();
@@ -430,76 +693,137 @@ logger.log(Level.TRACE, "P:: cancel: " + item);
         SpeakableListener listener = item.getListener();
         synthesizer.postSpeakableEvent(
                 new SpeakableEvent(source, SpeakableEvent.SPEAKABLE_CANCELLED, id), listener);
+        return true;
+    }
 
-        synchronized (this.queueManager.cancelLock) {
-            queueManager.cancelFirstItem = true;
+    /**
+     * Cancels all items that wait for their play back. The item that is
+     * being played back is not affected.
+     *
+     * @return <code>true</code> if an item was canceled
+     */
+    boolean cancelQueuedItems() {
+        List<QueueItem> items = queue.drain();
+        if (items.isEmpty()) {
+            return false;
+        }
+        BaseSynthesizer synthesizer = queueManager.getSynthesizer();
+        for (QueueItem item : items) {
+            queueManager.getLookaheadBudget().release(item);
+            item.cancelStreaming();
+            int id = item.getId();
+            if (!item.isSynthesized()) {
+                synthesizer.handleCancel(id);
+            }
+            synthesizer.postSpeakableEvent(new SpeakableEvent(
+                            item.getSource(), SpeakableEvent.SPEAKABLE_CANCELLED, id),
+                    item.getListener());
         }
+        synthesizer.postSynthesizerEvent(
+                synthesizer.getEngineState(),
+                synthesizer.getEngineState(),
+                SynthesizerEvent.QUEUE_UPDATED, false);
         return true;
     }
 
     /**
-     * Cancels the playback of the speakable with the given id.
+     * Checks if an item is being played back.
+     *
+     * @return <code>true</code> if an item is being played back
+     */
+    boolean isPlaying() {
+        return currentItem.get() != null;
+    }
+
+    /**
+     * Checks if the item with the given id is being played back.
+     *
+     * @param id the id of the item
+     * @return <code>true</code> if the item is being played back
+     */
+    boolean isPlaying(int id) {
+        QueueItem item = currentItem.get();
+        return item != null && item.getId() == id;
+    }
+
+    /**
+     * Cancels the playback of the speakable with the given id. This may be
+     * the item that is being played back.
      *
      * @param id the speakable to cancel
      * @return <code>true</code> if the speakable was canceled
      */
     protected boolean cancelItem(int id) {
         // search item in playqueue
-        synchronized (queue) {
-            QueueItem item = getQueueItem(id);
-            if (item != null) {
-                BaseSynthesizer synthesizer = queueManager.getSynthesizer();
-                if (!item.isSynthesized()) {
-                    synthesizer.handleCancel(id);
-                }
-                synthesizer.postSpeakableEvent(new SpeakableEvent(
-                                item.getSource(), SpeakableEvent.SPEAKABLE_CANCELLED, id),
-                        item.getListener());
-                synthesizer.postSynthesizerEvent(
-                        synthesizer.getEngineState(),
-                        synthesizer.getEngineState(),
-                        SynthesizerEvent.QUEUE_UPDATED, false);
-                removeQueueItem(item);
-                return true;
-            } else {
-                return false;
+        QueueItem item = queue.remove(id);
+        if (item == null) {
+            QueueItem current = currentItem.get();
+            if (current != null && current.getId() == id) {
+logger.log(Level.TRACE, "P:: cancel current: " + current);
+                return cancelCurrent(current);
             }
+            return false;
+        }
+        queueManager.getLookaheadBudget().release(item);
+        item.cancelStreaming();
+        BaseSynthesizer synthesizer = queueManager.getSynthesizer();
+        if (!item.isSynthesized()) {
+            synthesizer.handleCancel(id);
         }
+        synthesizer.postSpeakableEvent(new SpeakableEvent(
+                        item.getSource(), SpeakableEvent.SPEAKABLE_CANCELLED, id),
+                item.getListener());
+        synthesizer.postSynthesizerEvent(
+                synthesizer.getEngineState(),
+                synthesizer.getEngineState(),
+                SynthesizerEvent.QUEUE_UPDATED, false);
+        return true;
+    }
+
+    /**
+     * Retrieves the item with the given id to set its timing. The timing of
+     * a streamed item may arrive after the item has been taken from the
+     * queue for playback.
+     *
+     * @param id the id of the item
+     * @return the item, <code>null</code> if it is neither queued nor
+     *         being played back
+     */
+    private QueueItem getTimedItem(int id) {
+        QueueItem item = currentItem.get();
+        if (item != null && item.getId() == id) {
+            return item;
+        }
+        return queue.get(id);
     }
 
     /** */
     public void setWords(int id, String[] words) {
-        synchronized (queue) {
-            QueueItem item = getQueueItem(id);
-            if (item == null) {
-                return;
-            }
-            item.setWords(words);
-            itemChanged(item);
+        QueueItem item = getTimedItem(id);
+        if (item == null) {
+            return;
         }
+        item.setWords(words);
+        itemChanged(item);
     }
 
     /** */
     public void setWordsStartTimes(int id, float[] starttimes) {
-        synchronized (queue) {
-            QueueItem item = getQueueItem(id);
-            if (item == null) {
-                return;
-            }
-            item.setWordsStartTimes(starttimes);
-            itemChanged(item);
+        QueueItem item = getTimedItem(id);
+        if (item == null) {
+            return;
         }
+        item.setWordsStartTimes(starttimes);
+        itemChanged(item);
     }
 
     /** */
     public void setPhonesInfo(int itemId, PhoneInfo[] phonesinfo) {
-        synchronized (queue) {
-            QueueItem item = getQueueItem(itemId);
-            if (item == null) {
-                return;
-            }
-            item.setPhonesInfo(phonesinfo);
-            itemChanged(item);
+        QueueItem item = getTimedItem(itemId);
+        if (item == null) {
+            return;
         }
+        item.setPhonesInfo(phonesinfo);
+        itemChanged(item);
     }
 }
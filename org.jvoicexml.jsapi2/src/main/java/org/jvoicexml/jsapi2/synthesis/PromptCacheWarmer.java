@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.io.OutputStream;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.sound.sampled.AudioFormat;
+import javax.speech.Engine;
+import javax.speech.EngineManager;
+import javax.speech.synthesis.SpeakableEvent;
+import javax.speech.synthesis.Synthesizer;
+import javax.speech.synthesis.SynthesizerMode;
+
+import org.jvoicexml.jsapi2.BaseAudioManager;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * Renders a list of prompts into a persistent synthesis cache.
+ * <p>
+ * Usage: <code>PromptCacheWarmer &lt;cache directory&gt; &lt;prompt file&gt;
+ * [engine name]</code>
+ * </p>
+ * <p>
+ * The prompt file contains one prompt per line. Lines starting with
+ * <code>&lt;</code> are spoken as markup, empty lines and lines starting
+ * with <code>#</code> are ignored. The prompts are synthesized with the
+ * default voice and prosody of the engine, the audio is discarded instead
+ * of being played back.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see DiskSynthesisCache
+ * @since 0.6.11
+ */
+public final class PromptCacheWarmer {
+
+    private static final Logger logger = getLogger(PromptCacheWarmer.class.getName());
+
+    /**
+     * Do not create from outside.
+     */
+    private PromptCacheWarmer() {
+    }
+
+    /**
+     * Renders the prompts.
+     *
+     * @param args command line arguments
+     * @throws Exception error rendering the prompts
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: PromptCacheWarmer <cache directory> <prompt file> [engine name]");
+            System.exit(1);
+        }
+        System.setProperty(BaseSynthesizer.SYNTHESIS_CACHE_DIR, args[0]);
+        List<String> prompts = Files.readAllLines(Path.of(args[1]), StandardCharsets.UTF_8);
+        SynthesizerMode mode = args.length > 2
+                ? new SynthesizerMode(args[2], null, null, null, null, null)
+                : SynthesizerMode.DEFAULT;
+
+        Synthesizer synthesizer = (Synthesizer) EngineManager.createEngine(mode);
+        if (synthesizer == null) {
+            System.err.println("no synthesizer available for " + mode);
+            System.exit(1);
+        }
+        BaseAudioManager manager = (BaseAudioManager) synthesizer.getAudioManager();
+        manager.setMediaLocator(toLocator(manager.getEngineAudioFormat()), OutputStream.nullOutputStream());
+
+        synthesizer.allocate();
+        synthesizer.waitEngineState(Engine.ALLOCATED);
+        synthesizer.resume();
+        synthesizer.waitEngineState(Synthesizer.RESUMED);
+
+        BaseSynthesizer base = (BaseSynthesizer) synthesizer;
+        List<CompletableFuture<SpeakableEvent>> renderings = new ArrayList<>();
+        for (String prompt : prompts) {
+            String text = prompt.strip();
+            if (text.isEmpty() || text.startsWith("#")) {
+                continue;
+            }
+            if (text.startsWith("<")) {
+                renderings.add(base.speakMarkupAsync(text, null));
+            } else {
+                renderings.add(base.speakAsync(text, null));
+            }
+        }
+        // the queue may run empty between the items, so wait for each of them
+        CompletableFuture.allOf(renderings.toArray(CompletableFuture[]::new))
+                .exceptionally(t -> null)
+                .join();
+        int count = renderings.size();
+        long failed = renderings.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+
+        SynthesisCache cache = base.getSynthesisCache();
+logger.log(Level.DEBUG, "cache: " + cache);
+        System.out.println("rendered " + (count - failed) + " of " + count + " prompts"
+                + (cache != null && cache.getDiskCache() != null
+                        ? ", " + cache.getDiskCache().getEntryCount() + " entries in " + args[0]
+                        : ", but the cache is not available"));
+        synthesizer.deallocate();
+        synthesizer.waitEngineState(Engine.DEALLOCATED);
+    }
+
+    /**
+     * Creates a media locator for the given format.
+     *
+     * @param format the audio format
+     * @return the media locator
+     */
+    private static String toLocator(AudioFormat format) {
+        String encoding;
+        if (AudioFormat.Encoding.ULAW.equals(format.getEncoding())) {
+            encoding = "ulaw";
+        } else if (AudioFormat.Encoding.ALAW.equals(format.getEncoding())) {
+            encoding = "alaw";
+        } else {
+            encoding = "pcm";
+        }
+        return "playback://audio?encoding=" + encoding
+                + "&rate=" + (int) format.getSampleRate()
+                + "&bits=" + format.getSampleSizeInBits()
+                + "&channels=" + format.getChannels()
+                + "&endian=" + (format.isBigEndian() ? "big" : "little")
+                + "&signed=" + !AudioFormat.Encoding.PCM_UNSIGNED.equals(format.getEncoding());
+    }
+}
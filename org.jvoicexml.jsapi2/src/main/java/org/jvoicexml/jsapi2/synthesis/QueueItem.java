@@ -27,10 +27,13 @@
 package org.jvoicexml.jsapi2.synthesis;
 
 import javax.speech.AudioSegment;
+import javax.speech.EngineProperties;
 import javax.speech.synthesis.PhoneInfo;
 import javax.speech.synthesis.Speakable;
 import javax.speech.synthesis.SpeakableListener;
 
+import org.jvoicexml.jsapi2.StreamingAudioSegment;
+
 
 /**
  * An item of the {@link QueueManager}. The data is initialized with the
@@ -56,19 +59,49 @@ public class QueueItem {
     private final SpeakableListener listener;
 
     /** The associated audio segment. */
-    private AudioSegment segment;
+    private volatile AudioSegment segment;
 
     /** the words in the text or markup to be synthesized. */
-    private String[] words;
+    private volatile String[] words;
 
-    private float[] wordsStartTimes;
-    private PhoneInfo[] phonesInfo;
+    private volatile float[] wordsStartTimes;
+    private volatile PhoneInfo[] phonesInfo;
 
     /**
      * <code>true</code> if this queue item has already been passed to the
      * synthesizer.
      */
-    private boolean synthesized;
+    private volatile boolean synthesized;
+
+    /**
+     * Priority of this item between {@link javax.speech.EngineProperties#MIN_PRIORITY}
+     * and {@link javax.speech.EngineProperties#MAX_PRIORITY}.
+     */
+    private int priority = EngineProperties.NORM_TRUSTED_PRIORITY;
+
+    /** <code>true</code> if this item is played back with reduced volume. */
+    private volatile boolean ducked;
+
+    /** {@link System#nanoTime()} when this item was queued. */
+    private final long enqueueTime = System.nanoTime();
+
+    /** {@link System#nanoTime()} when the synthesis started, <code>0</code> before. */
+    private volatile long synthesisStartTime;
+
+    /** {@link System#nanoTime()} when the synthesis ended, <code>0</code> before. */
+    private volatile long synthesisEndTime;
+
+    /** {@link System#nanoTime()} when handed over to the play queue, <code>0</code> before. */
+    private volatile long handOverTime;
+
+    /** {@link System#nanoTime()} when the first audio was written, <code>0</code> before. */
+    private volatile long firstByteTime;
+
+    /** {@link System#nanoTime()} when the audio was flushed, <code>0</code> before. */
+    private volatile long flushTime;
+
+    /** Duration of the played back audio in nanoseconds. */
+    private volatile long audioDuration;
 
     /**
      * Constructs a new object.
@@ -194,6 +227,18 @@ public class QueueItem {
         segment = audiosegment;
     }
 
+    /**
+     * Cancels the audio segment if it is being streamed, so that the engine
+     * does not block writing audio that is never played back.
+     *
+     * @since 0.6.11
+     */
+    void cancelStreaming() {
+        if (segment instanceof StreamingAudioSegment streaming) {
+            streaming.cancel();
+        }
+    }
+
     /**
      * Retrieves the words in the text or markup to be synthesized.
      *
@@ -228,6 +273,155 @@ public class QueueItem {
         phonesInfo = info;
     }
 
+    /**
+     * Retrieves the priority of this item.
+     *
+     * @return the priority
+     * @since 0.6.11
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets the priority of this item. This has to be done before the item
+     * is queued.
+     *
+     * @param priority the priority
+     * @since 0.6.11
+     */
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Checks if this item is played back with reduced volume because an
+     * item of higher priority is waiting.
+     *
+     * @return <code>true</code> if ducked
+     * @since 0.6.11
+     */
+    public boolean isDucked() {
+        return ducked;
+    }
+
+    /**
+     * Reduces the volume of the remaining play back of this item.
+     *
+     * @param ducked <code>true</code> to reduce the volume
+     * @since 0.6.11
+     */
+    public void setDucked(boolean ducked) {
+        this.ducked = ducked;
+    }
+
+    /**
+     * Retrieves the time this item was queued.
+     *
+     * @return the value of {@link System#nanoTime()}
+     * @since 0.6.11
+     */
+    public long getEnqueueTime() {
+        return enqueueTime;
+    }
+
+    /**
+     * Retrieves the time the synthesis of this item started.
+     *
+     * @return the value of {@link System#nanoTime()}, <code>0</code> if it
+     *         did not start yet
+     * @since 0.6.11
+     */
+    public long getSynthesisStartTime() {
+        return synthesisStartTime;
+    }
+
+    /**
+     * Retrieves the time the synthesis of this item ended.
+     *
+     * @return the value of {@link System#nanoTime()}, <code>0</code> if it
+     *         did not end yet
+     * @since 0.6.11
+     */
+    public long getSynthesisEndTime() {
+        return synthesisEndTime;
+    }
+
+    /**
+     * Retrieves the time this item was handed over to the play back.
+     *
+     * @return the value of {@link System#nanoTime()}, <code>0</code> if it
+     *         was not handed over yet
+     * @since 0.6.11
+     */
+    public long getHandOverTime() {
+        return handOverTime;
+    }
+
+    /**
+     * Retrieves the time the first audio of this item was written.
+     *
+     * @return the value of {@link System#nanoTime()}, <code>0</code> if no
+     *         audio was written yet
+     * @since 0.6.11
+     */
+    public long getFirstByteTime() {
+        return firstByteTime;
+    }
+
+    /**
+     * Retrieves the time the audio of this item was flushed.
+     *
+     * @return the value of {@link System#nanoTime()}, <code>0</code> if it
+     *         was not flushed yet
+     * @since 0.6.11
+     */
+    public long getFlushTime() {
+        return flushTime;
+    }
+
+    /**
+     * Retrieves the duration of the audio that has been played back.
+     *
+     * @return the duration in nanoseconds
+     * @since 0.6.11
+     */
+    public long getAudioDuration() {
+        return audioDuration;
+    }
+
+    /** Notes that the synthesis starts. */
+    void markSynthesisStarted() {
+        synthesisStartTime = System.nanoTime();
+    }
+
+    /** Notes that the synthesis has ended. */
+    void markSynthesisEnded() {
+        synthesisEndTime = System.nanoTime();
+    }
+
+    /** Notes that the item has been handed over to the play back. */
+    void markHandedOver() {
+        handOverTime = System.nanoTime();
+    }
+
+    /** Notes that audio has been written, only the first call counts. */
+    void markFirstByte() {
+        if (firstByteTime == 0) {
+            firstByteTime = System.nanoTime();
+        }
+    }
+
+    /**
+     * Notes that the audio has been flushed.
+     *
+     * @param duration duration of the played back audio in nanoseconds
+     */
+    void markFlushed(long duration) {
+        audioDuration = duration;
+        flushTime = System.nanoTime();
+    }
+
     @Override
     public String toString() {
         return getSource().toString();
@@ -26,7 +26,6 @@ import java.io.OutputStream;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import javax.speech.AudioSegment;
 import javax.speech.EngineStateException;
 import javax.speech.synthesis.PhoneInfo;
@@ -34,6 +33,7 @@ import javax.speech.synthesis.Speakable;
 import javax.speech.synthesis.SpeakableListener;
 
 import org.jvoicexml.jsapi2.BaseAudioManager;
+import org.jvoicexml.jsapi2.EngineRuntime;
 
 
 /**
@@ -41,6 +41,10 @@ import org.jvoicexml.jsapi2.BaseAudioManager;
  * synthesized, appends them to a corresponding queue and hands them to the
  * synthesizer to convert those pieces into audio chunks. These chunks are added
  * to the play queue to be delivered via the configured media locator.
+ * <p>
+ * Synthesis is done by {@link BaseSynthesizer#getSynthesisConcurrency()}
+ * workers in parallel, while play back is done by a single thread.
+ * </p>
  *
  * @author Renato Cassaca
  * @author Dirk Schnelle-Walka
@@ -58,12 +62,21 @@ public class QueueManager {
     /** <code>true</code> if the queue manager is terminated. */
     private boolean done;
 
-    boolean cancelFirstItem;
+    /** <code>true</code> if {@link #terminate()} has been called. */
+    private volatile boolean terminated;
+
+    /** The item whose play back has been canceled, guarded by {@link #cancelLock}. */
+    QueueItem cancelledItem;
     final Object cancelLock;
 
-    private final ExecutorService synthThread = Executors.newSingleThreadExecutor();
+    /** The synthesis workers. */
+    private final ExecutorService synthThread;
+
+    /** The play back thread. */
+    private final ExecutorService playThread;
 
-    private final ExecutorService playThread = Executors.newSingleThreadExecutor();
+    /** Limits how far synthesis runs ahead of play back. */
+    private final LookaheadBudget budget;
 
     /**
      * Constructs a new object.
@@ -71,15 +84,36 @@ public class QueueManager {
      * @param synth the synthesizer whose queue is managed here.
      */
     public QueueManager(BaseSynthesizer synth) {
+        this(synth, synth.getSynthesisConcurrency());
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param synth   the synthesizer whose queue is managed here.
+     * @param workers the number of items to be synthesized in parallel
+     * @since 0.6.11
+     */
+    public QueueManager(BaseSynthesizer synth, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("at least one synthesis worker is required: " + workers);
+        }
         synthesizer = synth;
-        cancelFirstItem = false;
+        cancelledItem = null;
         cancelLock = new Object();
+        budget = new LookaheadBudget(synth.getSynthesisLookahead(), synth.getSynthesisLookaheadBytes());
 
         playQueue = new PlayQueue(this);
         synthQueue = new SynthesisQueue(this, playQueue);
 
-        synthThread.submit(synthQueue::loop);
+        EngineRuntime runtime = synth.getEngineRuntime();
+        synthThread = runtime.newLoopExecutor(workers);
+        playThread = runtime.newLoopExecutor(1);
+        for (int i = 0; i < workers; i++) {
+            synthThread.submit(synthQueue::loop);
+        }
         playThread.submit(playQueue::loop);
+logger.log(Level.TRACE, "synthesis workers: " + workers);
     }
 
     /**
@@ -100,6 +134,15 @@ public class QueueManager {
         return playQueue;
     }
 
+    /**
+     * Retrieves the budget of the synthesis lookahead.
+     *
+     * @return the budget
+     */
+    final LookaheadBudget getLookaheadBudget() {
+        return budget;
+    }
+
     /**
      * Retrieves the synthesizer.
      *
@@ -113,7 +156,9 @@ public class QueueManager {
      * Terminates the queue manager.
      */
     public final void terminate() {
+        terminated = true;
         synthQueue.terminate();
+        budget.close();
         // No need to terminate the play queue since this will terminate once
         // the synthQueue terminates
         playThread.shutdownNow();
@@ -121,6 +166,17 @@ public class QueueManager {
         logger.log(Level.TRACE, "shutdown services: " + playThread.isShutdown() + ", " + synthThread.isShutdown());
     }
 
+    /**
+     * Checks if {@link #terminate()} has been called. The threads of a
+     * terminated queue manager are gone, it cannot be used any more.
+     *
+     * @return <code>true</code> if the queue manager has been terminated
+     * @since 0.6.11
+     */
+    public final boolean isTerminated() {
+        return terminated;
+    }
+
     /**
      * Notifies the queue manager that the synthesis queue has stopped.
      */
@@ -147,7 +203,7 @@ public class QueueManager {
      * @return queue id.
      */
     public final int appendItem(Speakable speakable, SpeakableListener listener) {
-        return synthQueue.appendItem(speakable, listener, null);
+        return synthQueue.appendItem(speakable, listener, null, getPriority());
     }
 
     /**
@@ -160,7 +216,7 @@ public class QueueManager {
      * @return queue id.
      */
     public final int appendItem(Speakable speakable, SpeakableListener listener, String text) {
-        return synthQueue.appendItem(speakable, listener, text);
+        return synthQueue.appendItem(speakable, listener, text, getPriority());
     }
 
     /**
@@ -172,18 +228,60 @@ public class QueueManager {
      * @return id of the audio segment
      */
     public int appendItem(AudioSegment audioSegment, SpeakableListener listener) {
-        return synthQueue.appendItem(audioSegment, listener);
+        return synthQueue.appendItem(audioSegment, listener, getPriority());
+    }
+
+    /**
+     * Retrieves the priority of items that are appended now. This is the
+     * current priority of the synthesizer properties.
+     *
+     * @return the priority
+     */
+    private int getPriority() {
+        return synthesizer.getSynthesizerProperties().getPriority();
+    }
+
+    /**
+     * Hands over the item with the given id to the play queue while its
+     * audio is still being produced.
+     *
+     * @param itemId  the id of the item
+     * @param segment the audio segment that is being produced
+     * @throws InterruptedException if the waiting for the preceding items
+     *                              was interrupted
+     * @since 0.6.11
+     */
+    void handOverStreaming(int itemId, AudioSegment segment) throws InterruptedException {
+        synthQueue.handOverStreaming(itemId, segment);
     }
 
     public void setWords(int itemId, String[] words) {
+        QueueItem item = synthQueue.getSynthesizingItem(itemId);
+        if (item != null) {
+            item.setWords(words);
+            playQueue.itemChanged(item);
+            return;
+        }
         playQueue.setWords(itemId, words);
     }
 
     public void setWordsStartTimes(int itemId, float[] starttimes) {
+        QueueItem item = synthQueue.getSynthesizingItem(itemId);
+        if (item != null) {
+            item.setWordsStartTimes(starttimes);
+            playQueue.itemChanged(item);
+            return;
+        }
         playQueue.setWordsStartTimes(itemId, starttimes);
     }
 
     public void setPhonesInfo(int itemId, PhoneInfo[] phonesinfo) {
+        QueueItem item = synthQueue.getSynthesizingItem(itemId);
+        if (item != null) {
+            item.setPhonesInfo(phonesinfo);
+            playQueue.itemChanged(item);
+            return;
+        }
         playQueue.setPhonesInfo(itemId, phonesinfo);
     }
 
@@ -205,14 +303,49 @@ public class QueueManager {
         if (playQueue.isQueueEmpty()) {
             return synthQueue.cancelFirstItem();
         } else {
-            BaseAudioManager manager = (BaseAudioManager) synthesizer.getAudioManager();
-            OutputStream out = manager.getOutputStream();
-            try {
-                out.close();
-            } catch (IOException e) {
-                throw new EngineStateException(e.getMessage());
-            }
-            return playQueue.cancelItemAtTopOfQueue();
+            return cancelPlayback();
+        }
+    }
+
+    /**
+     * Stops the output and cancels the item that is being played back.
+     *
+     * @return <code>true</code> if an item was canceled
+     * @throws EngineStateException if the output could not be stopped
+     */
+    private boolean cancelPlayback() throws EngineStateException {
+        stopOutput();
+        return playQueue.cancelItemAtTopOfQueue();
+    }
+
+    /**
+     * Stops the output and cancels the item with the given id if it is
+     * being played back.
+     *
+     * @param id the id of the speakable to cancel
+     * @return <code>true</code> if the item was canceled
+     * @throws EngineStateException if the output could not be stopped
+     */
+    private boolean cancelPlayback(int id) throws EngineStateException {
+        if (!playQueue.isPlaying(id)) {
+            return false;
+        }
+        stopOutput();
+        return playQueue.cancelItem(id);
+    }
+
+    /**
+     * Stops the output of the audio that has been written already.
+     *
+     * @throws EngineStateException if the output could not be stopped
+     */
+    private void stopOutput() throws EngineStateException {
+        BaseAudioManager manager = (BaseAudioManager) synthesizer.getAudioManager();
+        OutputStream out = manager.getOutputStream();
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new EngineStateException(e.getMessage());
         }
     }
 
@@ -223,21 +356,16 @@ public class QueueManager {
      */
     public boolean cancelAllItems() {
         synthesizer.handleCancelAll();
-        boolean found = false;
 
         // First remove all pending requests...
-        while (!synthQueue.isQueueEmpty()) {
-            synthQueue.cancelFirstItem();
-            found = true;
-        }
+        boolean found = synthQueue.cancelAllItems();
+
+        // ...then remove all the stuff waiting for the play back...
+        found |= playQueue.cancelQueuedItems();
 
-        // ...then remove all the stuff being played back
-        if (!playQueue.isQueueEmpty()) {
-            cancelItem(); // cancel and remove first item
-            while (!playQueue.isQueueEmpty()) {
-                playQueue.cancelItemAtTopOfQueue();
-                found = true;
-            }
+        // ...and stop the item being played back
+        if (playQueue.isPlaying()) {
+            found |= cancelPlayback();
         }
 
         return found;
@@ -267,21 +395,24 @@ public class QueueManager {
 
     /**
      * Cancels the playback of the speakable with the given id. This is
-     * done by trying to remove it from the play queue and from
-     * the synthesis queue.
+     * done by stopping it if it is being played back or by trying to
+     * remove it from the play queue and from the synthesis queue.
      *
      * @param id the id of the speakable to cancel
      * @return <code>true</code> if the speakable could be canceled.
      */
     protected boolean cancelItem(int id) {
+        if (cancelPlayback(id)) {
+            return true;
+        }
         boolean found = playQueue.cancelItem(id);
         return found || synthQueue.cancelItem(id);
     }
 
     /**
-     * Returns, and remove, the first item on the queue.
+     * Returns the oldest item that is currently being synthesized.
      *
-     * @return the first queue item
+     * @return the oldest queue item in synthesis
      */
     protected QueueItem getQueueItem() {
         return synthQueue.getCurrentQueueItem();
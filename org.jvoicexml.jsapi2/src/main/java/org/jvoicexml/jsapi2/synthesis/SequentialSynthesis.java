@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+
+/**
+ * Marks a {@link javax.speech.synthesis.SynthesizerMode} whose engine is
+ * not thread-safe.
+ * <p>
+ * The {@link QueueManager} of a synthesizer created from such a mode
+ * never calls {@link BaseSynthesizer#handleSpeak(int, String)} or
+ * {@link BaseSynthesizer#handleSpeak(int, javax.speech.synthesis.Speakable)}
+ * for more than one item at a time, regardless of the configured number
+ * of synthesis workers.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see BaseSynthesizer#getSynthesisConcurrency()
+ * @since 0.6.11
+ */
+public interface SequentialSynthesis {
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.util.concurrent.CompletableFuture;
+import javax.speech.EngineStateException;
+import javax.speech.synthesis.SpeakableEvent;
+import javax.speech.synthesis.SpeakableException;
+import javax.speech.synthesis.SpeakableListener;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * The outcome of a queued speakable. It is the listener of the queue item
+ * and forwards all events to the listener given by the application.
+ * <p>
+ * The future is completed with the {@link SpeakableEvent#SPEAKABLE_ENDED}
+ * event, it fails with a {@link SpeakableException} on
+ * {@link SpeakableEvent#SPEAKABLE_FAILED} and is canceled on
+ * {@link SpeakableEvent#SPEAKABLE_CANCELLED}. Canceling the future cancels
+ * the queue item.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+class SpeakableFuture extends CompletableFuture<SpeakableEvent> implements SpeakableListener {
+
+    private static final Logger logger = getLogger(SpeakableFuture.class.getName());
+
+    /** The synthesizer to cancel the item. */
+    private final BaseSynthesizer synthesizer;
+
+    /** The listener of the application, maybe <code>null</code>. */
+    private final SpeakableListener listener;
+
+    /** Id of the queue item, <code>-1</code> while it is not known. */
+    private volatile int id = -1;
+
+    /**
+     * Creates a future for a queue item of the given synthesizer.
+     *
+     * @param synthesizer the synthesizer
+     * @param listener    the listener of the application, maybe
+     *                    <code>null</code>
+     * @return the future
+     */
+    static SpeakableFuture create(BaseSynthesizer synthesizer, SpeakableListener listener) {
+        if (listener instanceof SpeakableTimelineListener) {
+            return new Timeline(synthesizer, listener);
+        }
+        return new SpeakableFuture(synthesizer, listener);
+    }
+
+    /**
+     * Constructs a new object.
+     *
+     * @param synthesizer the synthesizer
+     * @param listener    the listener of the application, maybe
+     *                    <code>null</code>
+     */
+    private SpeakableFuture(BaseSynthesizer synthesizer, SpeakableListener listener) {
+        this.synthesizer = synthesizer;
+        this.listener = listener;
+    }
+
+    /**
+     * Sets the id of the queue item once it has been queued. If the future
+     * has been canceled meanwhile, the item is canceled now.
+     *
+     * @param id the id of the queue item
+     */
+    void setId(int id) {
+        this.id = id;
+        if (isCancelled()) {
+            cancelItem(id);
+        }
+    }
+
+    /**
+     * Checks if the given event ends a queue item.
+     *
+     * @param id id of the event
+     * @return <code>true</code> if the event completes a future
+     */
+    static boolean isTerminal(int id) {
+        return id == SpeakableEvent.SPEAKABLE_ENDED || id == SpeakableEvent.SPEAKABLE_FAILED
+                || id == SpeakableEvent.SPEAKABLE_CANCELLED;
+    }
+
+    @Override
+    public void speakableUpdate(SpeakableEvent event) {
+        if (listener != null) {
+            listener.speakableUpdate(event);
+        }
+        settle(event);
+    }
+
+    /**
+     * Completes this future if the given event ends the queue item.
+     *
+     * @param event the event
+     */
+    void settle(SpeakableEvent event) {
+        switch (event.getId()) {
+        case SpeakableEvent.SPEAKABLE_ENDED:
+            complete(event);
+            break;
+        case SpeakableEvent.SPEAKABLE_FAILED:
+            completeExceptionally(new SpeakableException("speakable failed: " + event.paramString()));
+            break;
+        case SpeakableEvent.SPEAKABLE_CANCELLED:
+            super.cancel(false);
+            break;
+        default:
+            break;
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean canceled = super.cancel(mayInterruptIfRunning);
+        int current = id;
+        if (canceled && current >= 0) {
+            cancelItem(current);
+        }
+        return canceled;
+    }
+
+    /**
+     * Cancels the queue item.
+     *
+     * @param id the id of the queue item
+     */
+    private void cancelItem(int id) {
+        try {
+            synthesizer.cancel(id);
+        } catch (EngineStateException | IllegalArgumentException e) {
+            // the item is gone already
+logger.log(Level.DEBUG, "canceling item " + id + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A future of a queue item whose listener also receives the timing of
+     * the speakable.
+     */
+    private static final class Timeline extends SpeakableFuture implements SpeakableTimelineListener {
+
+        Timeline(BaseSynthesizer synthesizer, SpeakableListener listener) {
+            super(synthesizer, listener);
+        }
+
+        @Override
+        public void timelineUpdate(SpeakableTimeline timeline) {
+            ((SpeakableTimelineListener) super.listener).timelineUpdate(timeline);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+
+/**
+ * Flight recorder event with the timing of a speakable that has been played
+ * back completely.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+@Name("org.jvoicexml.jsapi2.SpeakableLatency")
+@Label("Speakable Latency")
+@Category({"JSAPI2", "Synthesis"})
+@Description("Timing of a speakable from queueing to the end of its play back")
+@StackTrace(false)
+class SpeakableLatencyEvent extends Event {
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Item Id")
+    int itemId;
+
+    @Label("Queue Wait")
+    @Description("From queueing to the start of the synthesis")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueWait;
+
+    @Label("Synthesis")
+    @Description("From the start to the end of the synthesis")
+    @Timespan(Timespan.NANOSECONDS)
+    long synthesis;
+
+    @Label("Hand Over")
+    @Description("From the start of the synthesis to the hand over to the play back")
+    @Timespan(Timespan.NANOSECONDS)
+    long handOver;
+
+    @Label("Time To First Audio")
+    @Description("From queueing to the first audio written")
+    @Timespan(Timespan.NANOSECONDS)
+    long timeToFirstAudio;
+
+    @Label("Total")
+    @Description("From queueing to the audio being flushed")
+    @Timespan(Timespan.NANOSECONDS)
+    long total;
+
+    @Label("Audio Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long audioDuration;
+
+    @Label("Real Time Factor")
+    @Description("Synthesis time divided by audio duration")
+    double realTimeFactor;
+}
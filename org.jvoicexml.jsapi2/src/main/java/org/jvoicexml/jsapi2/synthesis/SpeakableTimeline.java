@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.util.Arrays;
+import javax.speech.synthesis.PhoneInfo;
+
+
+/**
+ * Word and phoneme timing of a queued speakable at once.
+ * <p>
+ * Times are milliseconds from the start of the audio of the speakable,
+ * i.e. from the {@link javax.speech.synthesis.SpeakableEvent#SPEAKABLE_STARTED}
+ * event. The arrays are shared and must not be modified.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see SpeakableTimelineListener
+ * @since 0.6.11
+ */
+public final class SpeakableTimeline {
+
+    /** Id of the speakable. */
+    private final int requestId;
+
+    /** The source of the speakable. */
+    private final Object source;
+
+    /** The words. */
+    private final String[] words;
+
+    /** Offsets of the first characters of the words. */
+    private final int[] wordOffsets;
+
+    /** Start times of the words. */
+    private final int[] wordStartTimes;
+
+    /** The phonemes. */
+    private final String[] phonemes;
+
+    /** Start times of the phonemes. */
+    private final int[] phonemeStartTimes;
+
+    /** Durations of the phonemes. */
+    private final int[] phonemeDurations;
+
+    /**
+     * Constructs a new object.
+     *
+     * @param requestId  id of the speakable
+     * @param source     the source of the speakable
+     * @param words      the words
+     * @param startTimes start times of the words in seconds
+     * @param phones     the phonemes, maybe <code>null</code>
+     */
+    SpeakableTimeline(int requestId, Object source, String[] words, float[] startTimes, PhoneInfo[] phones) {
+        this.requestId = requestId;
+        this.source = source;
+        int wordCount = Math.min(words.length, startTimes.length);
+        this.words = wordCount == words.length ? words : Arrays.copyOf(words, wordCount);
+        wordOffsets = new int[wordCount];
+        wordStartTimes = new int[wordCount];
+        int offset = 0;
+        for (int i = 0; i < wordCount; i++) {
+            wordOffsets[i] = offset;
+            wordStartTimes[i] = Math.round(startTimes[i] * 1000);
+            offset += words[i].length() + 1;
+        }
+        int phoneCount = phones == null ? 0 : phones.length;
+        phonemes = new String[phoneCount];
+        phonemeStartTimes = new int[phoneCount];
+        phonemeDurations = new int[phoneCount];
+        int time = 0;
+        for (int i = 0; i < phoneCount; i++) {
+            phonemes[i] = phones[i].getPhoneme();
+            phonemeStartTimes[i] = time;
+            phonemeDurations[i] = phones[i].getDuration();
+            time += phonemeDurations[i];
+        }
+    }
+
+    /**
+     * Retrieves the id of the speakable.
+     *
+     * @return the request id
+     * @see javax.speech.synthesis.SpeakableEvent#getRequestId()
+     */
+    public int getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Retrieves the source of the speakable.
+     *
+     * @return the source
+     */
+    public Object getSource() {
+        return source;
+    }
+
+    /**
+     * Retrieves the words.
+     *
+     * @return the words
+     */
+    public String[] getWords() {
+        return words;
+    }
+
+    /**
+     * Retrieves the offsets of the first characters of the words in the
+     * text made of the words separated by a blank.
+     *
+     * @return the offsets
+     */
+    public int[] getWordOffsets() {
+        return wordOffsets;
+    }
+
+    /**
+     * Retrieves the start times of the words.
+     *
+     * @return the start times in milliseconds
+     */
+    public int[] getWordStartTimes() {
+        return wordStartTimes;
+    }
+
+    /**
+     * Retrieves the phonemes.
+     *
+     * @return the phonemes
+     */
+    public String[] getPhonemes() {
+        return phonemes;
+    }
+
+    /**
+     * Retrieves the start times of the phonemes.
+     *
+     * @return the start times in milliseconds
+     */
+    public int[] getPhonemeStartTimes() {
+        return phonemeStartTimes;
+    }
+
+    /**
+     * Retrieves the durations of the phonemes.
+     *
+     * @return the durations in milliseconds
+     */
+    public int[] getPhonemeDurations() {
+        return phonemeDurations;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + requestId + ", words: " + words.length
+                + ", phonemes: " + phonemes.length + "]";
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import javax.speech.synthesis.SpeakableListener;
+
+
+/**
+ * A {@link SpeakableListener} that receives the word and phoneme timing
+ * of a speakable at once instead of an event per word and phoneme.
+ * <p>
+ * The timing is delivered when the speakable reaches the top of the queue,
+ * or as soon as it is known for speakables that are still being
+ * synthesized. Listeners of this type do not receive
+ * {@link javax.speech.synthesis.SpeakableEvent#WORD_STARTED} and
+ * {@link javax.speech.synthesis.SpeakableEvent#PHONEME_STARTED} events. If
+ * all listeners of a speakable are of this type, these events are not
+ * created at all.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @since 0.6.11
+ */
+public interface SpeakableTimelineListener extends SpeakableListener {
+
+    /**
+     * The timing of a speakable is available.
+     *
+     * @param timeline the timing
+     */
+    void timelineUpdate(SpeakableTimeline timeline);
+}
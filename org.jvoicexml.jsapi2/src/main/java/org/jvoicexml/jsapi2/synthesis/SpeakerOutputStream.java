@@ -40,6 +40,7 @@ import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.SourceDataLine;
 
 import org.jvoicexml.jsapi2.BaseAudioManager;
+import org.jvoicexml.jsapi2.FramePositionSource;
 
 
 /**
@@ -47,7 +48,7 @@ import org.jvoicexml.jsapi2.BaseAudioManager;
  *
  * @author Dirk Schnelle-Walka
  */
-public final class SpeakerOutputStream extends OutputStream implements LineListener {
+public final class SpeakerOutputStream extends OutputStream implements LineListener, FramePositionSource {
 
     private static final Logger logger = System.getLogger(SpeakerOutputStream.class.getName());
 
@@ -119,6 +120,12 @@ public final class SpeakerOutputStream extends OutputStream implements LineListe
         line.drain();
     }
 
+    @Override
+    public long getFramePosition() {
+        SourceDataLine current = line;
+        return current == null ? 0 : current.getLongFramePosition();
+    }
+
     @Override
     public void close() throws IOException {
         if (line != null) {
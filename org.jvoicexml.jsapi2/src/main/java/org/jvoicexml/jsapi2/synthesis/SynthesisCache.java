@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.System.Logger;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.speech.EngineMode;
+import javax.speech.synthesis.PhoneInfo;
+import javax.speech.synthesis.Speakable;
+import javax.speech.synthesis.SynthesizerProperties;
+import javax.speech.synthesis.Voice;
+
+import org.jvoicexml.jsapi2.BaseAudioManager;
+
+import static java.lang.System.getLogger;
+
+
+/**
+ * In-memory cache of synthesized audio.
+ * <p>
+ * Entries are looked up by the text or markup to be spoken together with
+ * the engine, its audio format and the voice and prosody settings of the
+ * synthesizer. If the accumulated
+ * size of the cached audio exceeds the byte budget, the least recently
+ * used entries are evicted.
+ * </p>
+ * <p>
+ * Optionally, a {@link DiskSynthesisCache} serves as a second level that
+ * is consulted on a miss and receives all added entries.
+ * </p>
+ * <p>
+ * The synthesizers of a JVM share one cache per directory, see
+ * {@link #getShared(long, Path)}.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see BaseSynthesizer#SYNTHESIS_CACHE_SIZE
+ * @since 0.6.11
+ */
+public class SynthesisCache {
+
+    private static final Logger logger = getLogger(SynthesisCache.class.getName());
+
+    /**
+     * Key of a cache entry.
+     *
+     * @param engine       the engine and its mode, maybe <code>null</code>
+     * @param format       the audio format of the engine, maybe <code>null</code>
+     * @param text         the text or markup to be spoken
+     * @param markup       <code>true</code> if the text is markup
+     * @param voice        the voice, maybe <code>null</code>
+     * @param pitch        the pitch
+     * @param pitchRange   the pitch range
+     * @param speakingRate the speaking rate
+     * @param volume       the volume
+     */
+    public record Key(String engine, String format, String text, boolean markup, Voice voice,
+                      int pitch, int pitchRange, int speakingRate, int volume) {
+    }
+
+    /**
+     * Cached audio data of an utterance along with its timing.
+     */
+    public static final class Entry {
+
+        /** The audio data. */
+        private final ByteBuffer audio;
+
+        /** Format of the audio data, maybe <code>null</code>. */
+        private final AudioFormat format;
+
+        /** The spoken words. */
+        private final String[] words;
+
+        /** Start times of the words in seconds. */
+        private final float[] wordsStartTimes;
+
+        /** The spoken phones. */
+        private final PhoneInfo[] phonesInfo;
+
+        /**
+         * Constructs a new object.
+         *
+         * @param audio           the audio data
+         * @param format          format of the audio data, maybe <code>null</code>
+         * @param words           the spoken words
+         * @param wordsStartTimes start times of the words in seconds
+         * @param phonesInfo      the spoken phones
+         */
+        public Entry(byte[] audio, AudioFormat format, String[] words,
+                     float[] wordsStartTimes, PhoneInfo[] phonesInfo) {
+            this(ByteBuffer.wrap(audio), format, words, wordsStartTimes, phonesInfo);
+        }
+
+        /**
+         * Constructs a new object. The audio data is not copied.
+         *
+         * @param audio           the audio data between position and limit
+         * @param format          format of the audio data, maybe <code>null</code>
+         * @param words           the spoken words
+         * @param wordsStartTimes start times of the words in seconds
+         * @param phonesInfo      the spoken phones
+         */
+        public Entry(ByteBuffer audio, AudioFormat format, String[] words,
+                     float[] wordsStartTimes, PhoneInfo[] phonesInfo) {
+            this.audio = audio.slice().asReadOnlyBuffer();
+            this.format = format;
+            this.words = words;
+            this.wordsStartTimes = wordsStartTimes;
+            this.phonesInfo = phonesInfo;
+        }
+
+        /**
+         * Retrieves the audio data.
+         *
+         * @return read-only view of the audio data
+         */
+        public ByteBuffer getAudio() {
+            return audio.duplicate();
+        }
+
+        /**
+         * Retrieves the number of bytes of audio data.
+         *
+         * @return number of bytes
+         */
+        public int getAudioLength() {
+            return audio.capacity();
+        }
+
+        /**
+         * Retrieves the format of the audio data.
+         *
+         * @return format of the audio data, maybe <code>null</code>
+         */
+        public AudioFormat getAudioFormat() {
+            return format;
+        }
+
+        public String[] getWords() {
+            return words;
+        }
+
+        public float[] getWordsStartTimes() {
+            return wordsStartTimes;
+        }
+
+        public PhoneInfo[] getPhonesInfo() {
+            return phonesInfo;
+        }
+
+        /**
+         * Opens a new stream to read the audio data.
+         *
+         * @return an {@link AudioInputStream} if the format is known
+         */
+        public InputStream openInputStream() {
+            InputStream in = new ByteBufferInputStream(audio.duplicate());
+            if (format == null) {
+                return in;
+            }
+            int frameSize = format.getFrameSize();
+            long frames = frameSize > 0 ? getAudioLength() / frameSize : AudioSystem.NOT_SPECIFIED;
+            return new AudioInputStream(in, format, frames);
+        }
+    }
+
+    /**
+     * Reads from a byte buffer without copying it.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        /** The buffer to read from. */
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /** Key of the shared cache without a second level. */
+    private static final Path MEMORY_ONLY = Path.of("");
+
+    /** Shared caches by their directory. Guarded by itself. */
+    private static final Map<Path, SynthesisCache> SHARED = new HashMap<>();
+
+    /** Maximum number of bytes of cached audio. */
+    private final long capacity;
+
+    /** The entries in access order. */
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Number of bytes of cached audio. */
+    private long size;
+
+    /** The second level, maybe <code>null</code>. */
+    private volatile DiskSynthesisCache diskCache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new object.
+     *
+     * @param capacity maximum number of bytes of cached audio, <code>0</code>
+     *                 to keep nothing in memory
+     */
+    public SynthesisCache(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Retrieves the cache shared by all synthesizers of this JVM that use
+     * the given directory. The first call creates the cache with the given
+     * byte budget, later calls get the same cache. A different budget of a
+     * later call is logged and ignored. The second level is closed when the
+     * JVM shuts down.
+     * <p>
+     * If the directory can not be opened, the cache keeps its entries in
+     * memory only.
+     * </p>
+     *
+     * @param capacity  maximum number of bytes of cached audio
+     * @param directory the directory of the second level, <code>null</code>
+     *                  for none
+     * @return the shared cache
+     */
+    public static SynthesisCache getShared(long capacity, Path directory) {
+        Path key = directory == null ? MEMORY_ONLY : directory.toAbsolutePath().normalize();
+        synchronized (SHARED) {
+            SynthesisCache cache = SHARED.get(key);
+            if (cache != null) {
+                if (cache.capacity != capacity) {
+                    logger.log(Level.WARNING, "shared synthesis cache keeps its budget of " + cache.capacity
+                            + " bytes, ignoring " + capacity + " bytes");
+                }
+                return cache;
+            }
+            cache = new SynthesisCache(capacity);
+            if (directory != null) {
+                try {
+                    DiskSynthesisCache diskCache = new DiskSynthesisCache(key);
+                    cache.setDiskCache(diskCache);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        try {
+                            diskCache.close();
+                        } catch (IOException e) {
+logger.log(Level.DEBUG, "error closing " + key + ": " + e.getMessage());
+                        }
+                    }));
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "persistent synthesis cache not available: " + e.getMessage());
+                }
+            }
+            SHARED.put(key, cache);
+            return cache;
+        }
+    }
+
+    /**
+     * Sets the second level cache.
+     *
+     * @param diskCache the second level, <code>null</code> to disable it
+     */
+    public void setDiskCache(DiskSynthesisCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    /**
+     * Retrieves the second level cache.
+     *
+     * @return the second level, maybe <code>null</code>
+     */
+    public DiskSynthesisCache getDiskCache() {
+        return diskCache;
+    }
+
+    /**
+     * Creates the key for the given item source with the current settings
+     * of the synthesizer.
+     *
+     * @param source      the text or the speakable to be spoken
+     * @param synthesizer the synthesizer
+     * @return created key, <code>null</code> if the source can not be cached
+     */
+    public static Key createKey(Object source, BaseSynthesizer synthesizer) {
+        String text;
+        boolean markup;
+        if (source instanceof String string) {
+            text = string;
+            markup = false;
+        } else if (source instanceof Speakable speakable) {
+            text = speakable.getMarkupText();
+            markup = true;
+        } else {
+            return null;
+        }
+        if (text == null) {
+            return null;
+        }
+        String engine = synthesizer.getClass().getName();
+        EngineMode mode = synthesizer.getEngineMode();
+        if (mode != null) {
+            engine += "|" + mode.getEngineName() + "|" + mode.getModeName();
+        }
+        String format = null;
+        if (synthesizer.getAudioManager() instanceof BaseAudioManager manager
+                && manager.getEngineAudioFormat() != null) {
+            format = manager.getEngineAudioFormat().toString();
+        }
+        SynthesizerProperties properties = synthesizer.getSynthesizerProperties();
+        return new Key(engine, format, text, markup, properties.getVoice(), properties.getPitch(),
+                properties.getPitchRange(), properties.getSpeakingRate(), properties.getVolume());
+    }
+
+    /**
+     * Retrieves the entry for the given key. Entries of the second level
+     * are not copied into memory.
+     *
+     * @param key the key
+     * @return the cached entry, <code>null</code> if there is none
+     */
+    public Entry get(Key key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        DiskSynthesisCache disk = diskCache;
+        if (entry == null && disk != null) {
+            entry = disk.get(key);
+        }
+        if (entry == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return entry;
+    }
+
+    /**
+     * Adds the given entry. Least recently used entries are evicted to stay
+     * within the byte budget. Entries exceeding the budget on their own are
+     * not kept in memory.
+     *
+     * @param key   the key
+     * @param entry the entry
+     */
+    public void put(Key key, Entry entry) {
+        DiskSynthesisCache disk = diskCache;
+        if (disk != null) {
+            disk.put(key, entry);
+        }
+        long length = entry.getAudioLength();
+        if (length > capacity) {
+logger.log(Level.TRACE, "too large to keep in memory: " + length + " bytes");
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                size -= previous.getAudioLength();
+            }
+            size += length;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (size > capacity) {
+                Entry eldest = iterator.next();
+                iterator.remove();
+                size -= eldest.getAudioLength();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * Retrieves the maximum number of bytes of cached audio.
+     *
+     * @return the byte budget
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retrieves the number of bytes of cached audio.
+     *
+     * @return number of bytes
+     */
+    public long getSize() {
+        synchronized (entries) {
+            return size;
+        }
+    }
+
+    /**
+     * Retrieves the number of cached entries.
+     *
+     * @return number of entries
+     */
+    public int getEntryCount() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[size=" + getSize() + "/" + capacity
+                + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + "]";
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Latency statistics of the items that a synthesizer has played back.
+ * <p>
+ * Each item that has been played back completely is added to the
+ * histograms and, if enabled, reported as a flight recorder event
+ * <code>org.jvoicexml.jsapi2.SpeakableLatency</code>.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ * @see BaseSynthesizer#getSynthesisLatency()
+ * @since 0.6.11
+ */
+public final class SynthesisLatency {
+
+    /** Name of the engine in the events. */
+    private final String engine;
+
+    /** Queue wait in microseconds. */
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    /** Time to first audio in microseconds. */
+    private final LatencyHistogram timeToFirstAudio = new LatencyHistogram();
+
+    /** Real time factor in thousandths. */
+    private final LatencyHistogram realTimeFactor = new LatencyHistogram();
+
+    /**
+     * Constructs a new object.
+     *
+     * @param engine name of the engine in the events
+     */
+    SynthesisLatency(String engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Retrieves the time from queueing an item to the start of its
+     * synthesis.
+     *
+     * @return the histogram in microseconds
+     */
+    public LatencyHistogram getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * Retrieves the time from queueing an item to the first audio written.
+     *
+     * @return the histogram in microseconds
+     */
+    public LatencyHistogram getTimeToFirstAudio() {
+        return timeToFirstAudio;
+    }
+
+    /**
+     * Retrieves the synthesis time divided by the duration of the audio.
+     *
+     * @return the histogram in thousandths
+     */
+    public LatencyHistogram getRealTimeFactor() {
+        return realTimeFactor;
+    }
+
+    /** Removes all recorded values. */
+    public void reset() {
+        queueWait.reset();
+        timeToFirstAudio.reset();
+        realTimeFactor.reset();
+    }
+
+    /**
+     * Records the timing of the given item that has been played back.
+     *
+     * @param item the item
+     */
+    void record(QueueItem item) {
+        long enqueued = item.getEnqueueTime();
+        long synthesisStart = item.getSynthesisStartTime();
+        long synthesisEnd = item.getSynthesisEndTime();
+        long firstByte = item.getFirstByteTime();
+        long synthesis = synthesisStart == 0 || synthesisEnd == 0 ? 0 : synthesisEnd - synthesisStart;
+        long duration = item.getAudioDuration();
+        double factor = duration == 0 ? 0 : (double) synthesis / duration;
+
+        // queued audio segments are not synthesized
+        if (synthesisStart != 0) {
+            queueWait.record(TimeUnit.NANOSECONDS.toMicros(synthesisStart - enqueued));
+        }
+        if (firstByte != 0) {
+            timeToFirstAudio.record(TimeUnit.NANOSECONDS.toMicros(firstByte - enqueued));
+        }
+        if (synthesis != 0 && duration != 0) {
+            realTimeFactor.record(Math.round(factor * 1000));
+        }
+
+        SpeakableLatencyEvent event = new SpeakableLatencyEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.engine = engine;
+        event.itemId = item.getId();
+        event.queueWait = synthesisStart == 0 ? 0 : synthesisStart - enqueued;
+        event.synthesis = synthesis;
+        event.handOver = synthesisStart == 0 || item.getHandOverTime() == 0
+                ? 0 : item.getHandOverTime() - synthesisStart;
+        event.timeToFirstAudio = firstByte == 0 ? 0 : firstByte - enqueued;
+        event.total = item.getFlushTime() - enqueued;
+        event.audioDuration = duration;
+        event.realTimeFactor = factor;
+        event.commit();
+    }
+
+    @Override
+    public String toString() {
+        return engine + ": queue wait [us] " + queueWait + "; time to first audio [us] " + timeToFirstAudio
+                + "; real time factor [1/1000] " + realTimeFactor;
+    }
+}
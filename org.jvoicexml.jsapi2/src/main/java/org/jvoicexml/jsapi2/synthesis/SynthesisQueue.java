@@ -26,11 +26,20 @@
 
 package org.jvoicexml.jsapi2.synthesis;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.System.Logger;
 import java.lang.System.Logger.Level;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
 import javax.speech.AudioSegment;
+import javax.speech.EngineProperties;
 import javax.speech.synthesis.Speakable;
 import javax.speech.synthesis.SpeakableEvent;
 import javax.speech.synthesis.SpeakableException;
@@ -38,12 +47,30 @@ import javax.speech.synthesis.SpeakableListener;
 import javax.speech.synthesis.Synthesizer;
 import javax.speech.synthesis.SynthesizerEvent;
 
+import org.jvoicexml.jsapi2.BaseAudioManager;
+import org.jvoicexml.jsapi2.BaseAudioSegment;
+import org.jvoicexml.jsapi2.StreamingAudioSegment;
+
 import static java.lang.System.getLogger;
 
 
 /**
  * Synthesis thread. Queues all speakable and calls the synthesizer to
  * synthesize them without actually playing back the audio.
+ * <p>
+ * {@link #loop()} may be run by several workers at once. Each worker takes
+ * the next item together with a ticket, synthesizes it without holding any
+ * lock and waits until all items with an earlier ticket and at least the
+ * same priority have been handed over to the {@link PlayQueue}. So the play
+ * queue receives the items of a priority in the order they were queued,
+ * while an item of higher priority may overtake the items queued before.
+ * The events of the hand over are posted without holding a lock.
+ * </p>
+ * <p>
+ * Before an item is synthesized, the worker waits for the
+ * {@link LookaheadBudget} so that synthesis does not run arbitrarily far
+ * ahead of play back.
+ * </p>
  *
  * @author Dirk Schnelle-Walka
  */
@@ -58,15 +85,51 @@ final class SynthesisQueue {
     private final PlayQueue playQueue;
 
     /** Queued speakables. */
-    private final BlockingQueue<QueueItem> queue;
+    private final ItemQueue queue;
+
+    /** Serializes issuing ids and appending items. */
+    private final Object appendLock = new Object();
 
     /** Id of the last queued item. */
     private int queueId;
 
-    private final AtomicReference<QueueItem> currentItem = new AtomicReference<>();
+    /** Serializes taking items from the queue and issuing tickets. */
+    private final Lock takeLock = new ReentrantLock();
+
+    /**
+     * Guards {@link #inProgress}, {@link #nextTicket}, {@link #handingOver}
+     * and {@link #focused}.
+     */
+    private final Object handoffLock = new Object();
+
+    /** Items that are being synthesized by their ticket. */
+    private final Map<Long, QueueItem> inProgress = new TreeMap<>();
+
+    /** Ticket of the next item taken from the queue. */
+    private long nextTicket;
 
+    /**
+     * The item that is being transferred to the play queue, <code>null</code>
+     * if there is none. Events are posted without holding
+     * {@link #handoffLock}, so later items wait until this one is done.
+     */
+    private QueueItem handingOver;
+
+    /** <code>true</code> if the synthesizer has been focused. */
+    private boolean focused;
+
+    /**
+     * Retrieves the oldest item that is currently being synthesized.
+     *
+     * @return the oldest item in synthesis, <code>null</code> if there is none
+     */
     public QueueItem getCurrentQueueItem() {
-        return currentItem.get();
+        synchronized (handoffLock) {
+            if (inProgress.isEmpty()) {
+                return null;
+            }
+            return inProgress.values().iterator().next();
+        }
     }
 
     /**
@@ -78,7 +141,7 @@ final class SynthesisQueue {
     public SynthesisQueue(QueueManager manager, PlayQueue pqueue) {
         queueManager = manager;
         playQueue = pqueue;
-        queue = new java.util.concurrent.LinkedBlockingQueue<>();
+        queue = new ItemQueue();
         queueId = 0;
     }
 
@@ -86,9 +149,10 @@ final class SynthesisQueue {
      * Terminates the synthesis queue and clears all pending speak requests.
      */
     public void terminate() {
-        synchronized (queue) {
-            queue.clear();
-            queueManager.done();
+        queue.clear();
+        queueManager.done();
+        synchronized (handoffLock) {
+            handoffLock.notifyAll();
         }
 logger.log(Level.TRACE, "synth queue terminated");
     }
@@ -104,9 +168,25 @@ logger.log(Level.TRACE, "synth queue terminated");
      * @return queue id.
      */
     public int appendItem(Speakable speakable, SpeakableListener listener, String text) {
+        return appendItem(speakable, listener, text, EngineProperties.NORM_TRUSTED_PRIORITY);
+    }
+
+    /**
+     * Add a speakable item with the given priority to be spoken to the
+     * output queue. Fires the appropriate queue events.
+     *
+     * @param speakable the speakable item to add
+     * @param listener  a listener to notify about events of this item
+     * @param text      the text to be spoken, maybe <code>null</code> if the
+     *                  speakable contains markup text
+     * @param priority  the priority of the item
+     * @return queue id.
+     * @since 0.6.11
+     */
+    public int appendItem(Speakable speakable, SpeakableListener listener, String text, int priority) {
         boolean topOfQueueChanged;
         int addedId;
-        synchronized (queue) {
+        synchronized (appendLock) {
             addedId = ++queueId;
             QueueItem item;
             if (text == null) {
@@ -114,6 +194,7 @@ logger.log(Level.TRACE, "synth queue terminated");
             } else {
                 item = new QueueItem(addedId, speakable, listener, text);
             }
+            item.setPriority(priority);
             topOfQueueChanged = append(item);
         }
         adaptSynthesizerState(topOfQueueChanged);
@@ -129,28 +210,45 @@ logger.log(Level.TRACE, "synth queue terminated");
      * @return queue id.
      */
     public int appendItem(AudioSegment audioSegment, SpeakableListener listener) {
+        return appendItem(audioSegment, listener, EngineProperties.NORM_TRUSTED_PRIORITY);
+    }
+
+    /**
+     * Add an audio segment with the given priority to be spoken to the
+     * output queue. Fires the appropriate queue events.
+     *
+     * @param audioSegment the audio segment to add
+     * @param listener     listeners of this audio segment
+     * @param priority     the priority of the item
+     * @return queue id.
+     * @since 0.6.11
+     */
+    public int appendItem(AudioSegment audioSegment, SpeakableListener listener, int priority) {
         boolean topOfQueueChanged;
-        ++queueId;
-        QueueItem item = new QueueItem(queueId, audioSegment, listener);
-        topOfQueueChanged = append(item);
+        int addedId;
+        synchronized (appendLock) {
+            addedId = ++queueId;
+            QueueItem item = new QueueItem(addedId, audioSegment, listener);
+            item.setPriority(priority);
+            topOfQueueChanged = append(item);
+        }
         adaptSynthesizerState(topOfQueueChanged);
-        return queueId;
+        return addedId;
     }
 
     /**
-     * Appends the given queue item to the end of the list.
+     * Appends the given queue item to the end of the lane of its priority.
      *
      * @param item the item to append
-     * @return <code>true</code> if the appended item is the only one
-     * in the queue
+     * @return <code>true</code> if the appended item is the next one to be
+     * taken from the queue
      */
     private boolean append(QueueItem item) {
-        boolean topOfQueueChanged = isQueueEmpty();
         boolean r = queue.offer(item);
         if (!r) {
 logger.log(Level.TRACE, "S:: add failed: " + item);
         }
-        return topOfQueueChanged;
+        return queue.peek() == item;
     }
 
     /**
@@ -185,17 +283,50 @@ logger.log(Level.TRACE, "S:: add failed: " + item);
      * @return <code>true</code> if an item was removed from the queue
      */
     boolean cancelFirstItem() {
-        QueueItem item = currentItem.get();
-        if (item == null) {
+        QueueItem item;
+        synchronized (handoffLock) {
+            if (inProgress.isEmpty()) {
 logger.log(Level.TRACE, "S:: no processing item");
-            return false;
+                return false;
+            }
+            // Get the data of the first item for the notification
+            Long ticket = inProgress.keySet().iterator().next();
+            item = inProgress.remove(ticket);
         }
-        // Get the data of the first item for the notification
-        currentItem.set(null);
-        cancelItem(item, false);
+        cancelItem(item);
         return true;
     }
 
+    /**
+     * Cancels all queued items and the items that are being synthesized.
+     * The queue is drained at once, so items that have not been taken by
+     * a worker yet are canceled as well. An item that is being transferred
+     * to the play queue is left to the play queue.
+     *
+     * @return <code>true</code> if an item was canceled
+     */
+    boolean cancelAllItems() {
+        List<QueueItem> items = queue.drain();
+        List<QueueItem> synthesizing;
+        synchronized (handoffLock) {
+            while (handingOver != null) {
+                try {
+                    handoffLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            synthesizing = new ArrayList<>(inProgress.values());
+            inProgress.clear();
+            handoffLock.notifyAll();
+        }
+        // the items in synthesis have been taken before the queued ones
+        synthesizing.forEach(this::cancelItem);
+        items.forEach(this::cancelItem);
+        return !synthesizing.isEmpty() || !items.isEmpty();
+    }
+
     /**
      * Cancels the item with the given id.
      *
@@ -204,35 +335,68 @@ logger.log(Level.TRACE, "S:: no processing item");
      */
     boolean cancelItem(int id) {
         // search item in queue
-        synchronized (queue) {
-            QueueItem item = getQueueItem(id);
-            if (item == null) {
+        QueueItem item = queue.remove(id);
+        if (item != null) {
+            cancelItem(item);
+            return true;
+        }
+        // search item in synthesis
+        boolean handedOver;
+        synchronized (handoffLock) {
+            handedOver = awaitHandOver(id);
+            for (Map.Entry<Long, QueueItem> entry : inProgress.entrySet()) {
+                if (entry.getValue().getId() == id) {
+                    item = inProgress.remove(entry.getKey());
+                    break;
+                }
+            }
+        }
+        if (handedOver) {
+            // the item has just been handed over
+            return playQueue.cancelItem(id);
+        }
+        if (item == null) {
 logger.log(Level.TRACE, "S:: cancel but no such id: " + id);
+            return false;
+        }
+        cancelItem(item);
+        return true;
+    }
+
+    /**
+     * Waits until the transfer of the given item to the play queue is done.
+     * Must be called with {@link #handoffLock} held.
+     *
+     * @param id the id of the item to wait for
+     * @return <code>true</code> if the item has been handed over
+     */
+    private boolean awaitHandOver(int id) {
+        boolean waited = false;
+        while (handingOver != null && handingOver.getId() == id) {
+            waited = true;
+            try {
+                handoffLock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
                 return false;
             }
-            cancelItem(item, true);
-            return true;
         }
+        return waited;
     }
 
     /**
-     * Removes the given item from the queue and sends the corresponding event.
+     * Sends the event for the given item that has been removed.
      *
-     * @param item the item to remove.
+     * @param item the removed item.
      */
-    private void cancelItem(QueueItem item, boolean inQueue) {
+    private void cancelItem(QueueItem item) {
+        item.cancelStreaming();
         int id = item.getId();
         Object source = item.getSource();
         SpeakableListener listener = item.getListener();
         SpeakableEvent event = new SpeakableEvent(source, SpeakableEvent.SPEAKABLE_CANCELLED, id);
         BaseSynthesizer synthesizer = queueManager.getSynthesizer();
         synthesizer.postSpeakableEvent(event, listener);
-        if (inQueue) {
-            boolean r = queue.remove(item);
-            if (!r) {
-logger.log(Level.TRACE, "S:: remove failed: " + item);
-            }
-        }
 logger.log(Level.TRACE, "S:: canceled: " + item);
     }
 
@@ -244,16 +408,11 @@ logger.log(Level.TRACE, "S:: canceled: " + item);
      * queue item with the given id
      */
     public QueueItem getQueueItem(int id) {
-logger.log(Level.TRACE, "S:: queue: " + queue + ", " + id);
-        synchronized (queue) {
-            for (QueueItem item : queue) {
-                if (item.getId() == id) {
-                    return item;
-                }
-            }
-        }
+        QueueItem item = queue.get(id);
+        if (item == null) {
 logger.log(Level.TRACE, "S:: no such id: " + id);
-        return null;
+        }
+        return item;
     }
 
     /**
@@ -285,75 +444,310 @@ logger.log(Level.TRACE, "S:: queue taken: " + queue.size());
      * @param item the item to remove
      */
     void removeQueueItem(QueueItem item) {
-        synchronized (queue) {
-            boolean found = queue.remove(item);
-            if (found) {
-                queueManager.queueDrained();
-            }
+        if (queue.remove(item)) {
+            queueManager.queueDrained();
         }
     }
 
     /**
      * Gets the next item from the queue and outputs it.
+     * <p>
+     * Runs once per synthesis worker.
+     * </p>
      */
     void loop() {
-        long lastFocusEvent = Synthesizer.DEFOCUSED;
-
         while (!queueManager.isDone()) {
-            currentItem.set(getNextQueueItem());
-logger.log(Level.TRACE, "S:: item taken: " + currentItem.get());
-            if (currentItem.get() != null) {
-                BaseSynthesizer synthesizer = queueManager.getSynthesizer();
-                if (lastFocusEvent == Synthesizer.DEFOCUSED) {
-                    long[] states = synthesizer.setEngineState(Synthesizer.DEFOCUSED, Synthesizer.FOCUSED);
-                    synthesizer.postSynthesizerEvent(states[0], states[1], SynthesizerEvent.ENGINE_FOCUSED, true);
-                    lastFocusEvent = Synthesizer.FOCUSED;
+            QueueItem item;
+            long ticket;
+            try {
+                takeLock.lockInterruptibly();
+            } catch (InterruptedException e) {
+logger.log(Level.TRACE, "S:: interrupted");
+                break;
+            }
+            try {
+                item = getNextQueueItem();
+                if (item == null) {
+                    continue;
+                }
+                synchronized (handoffLock) {
+                    ticket = nextTicket++;
+                    inProgress.put(ticket, item);
                 }
+                try {
+                    // the item stays cancelable while waiting for the play back
+                    queueManager.getLookaheadBudget().acquire(item);
+                } catch (InterruptedException e) {
+                    abandon(ticket, item);
+                    throw e;
+                }
+            } catch (InterruptedException e) {
+logger.log(Level.TRACE, "S:: interrupted while waiting for the lookahead budget");
+                break;
+            } finally {
+                takeLock.unlock();
+            }
+logger.log(Level.TRACE, "S:: item taken: " + item + ", ticket: " + ticket);
+            focus();
 
-logger.log(Level.TRACE, "S:: play item: " + currentItem.get());
+logger.log(Level.TRACE, "S:: play item: " + item);
+            boolean released = false;
+            try {
+                SpeakableException failure = null;
                 try {
                     // Synthesize it
-                    if (currentItem.get() != null) {
-                        synthesize(currentItem.get());
-                    } else {
-logger.log(Level.TRACE, "S:: item canceled 1");
-                        continue;
-                    }
-                    // transfer item from the queue to the play queue
-                    if (currentItem.get() != null) {
-                        playQueue.addQueueItem(currentItem.get());
-                    } else {
-logger.log(Level.TRACE, "S:: item canceled 2");
-                        continue;
-                    }
+                    synthesize(item);
                 } catch (SpeakableException e) {
-                    logger.log(Level.ERROR, e.getMessage(), e);
-                    int id = currentItem.get().getId();
-                    Speakable speakable = currentItem.get().getSpeakable();
-                    String textInfo = speakable.getMarkupText();
-                    SpeakableEvent event = new SpeakableEvent(this,
-                            SpeakableEvent.SPEAKABLE_FAILED, id, textInfo,
-                            SpeakableEvent.SPEAKABLE_FAILURE_UNRECOVERABLE, e);
-                    synthesizer.postSpeakableEvent(event, null);
+                    failure = e;
+                } catch (RuntimeException e) {
+                    failure = new SpeakableException("error synthesizing " + item.getId() + ": " + e.getMessage());
+                    failure.initCause(e);
+                }
+                handOver(ticket, item, failure);
+                released = true;
+            } catch (InterruptedException e) {
+logger.log(Level.TRACE, "S:: interrupted while waiting for ticket " + ticket);
+                break;
+            } finally {
+                if (!released) {
+                    // the ticket must not block the items taken after this one
+                    abandon(ticket, item);
                 }
-                currentItem.set(null);
             }
         }
 logger.log(Level.DEBUG, "synth queue loop terminated");
     }
 
     /**
-     * Synthesizes the given queue item.
+     * Posts the focus event once the first item is being synthesized.
+     */
+    private void focus() {
+        synchronized (handoffLock) {
+            if (focused) {
+                return;
+            }
+            focused = true;
+        }
+        BaseSynthesizer synthesizer = queueManager.getSynthesizer();
+        long[] states = synthesizer.setEngineState(Synthesizer.DEFOCUSED, Synthesizer.FOCUSED);
+        synthesizer.postSynthesizerEvent(states[0], states[1], SynthesizerEvent.ENGINE_FOCUSED, true);
+    }
+
+    /**
+     * Waits until all items with an earlier ticket and at least the same
+     * priority have been handed over and transfers the item from the queue
+     * to the play queue. Items that have been canceled meanwhile are
+     * dropped.
+     *
+     * @param ticket  the ticket issued when the item was taken
+     * @param item    the synthesized item
+     * @param failure error synthesizing the item, <code>null</code> on success
+     * @return <code>true</code> if the item has been added to the play queue
+     * @throws InterruptedException if the waiting was interrupted
+     */
+    private boolean handOver(long ticket, QueueItem item, SpeakableException failure) throws InterruptedException {
+        boolean inQueue;
+        synchronized (handoffLock) {
+            while (handingOver != null || isPreceded(ticket, item)) {
+                if (queueManager.isDone()) {
+                    inProgress.remove(ticket);
+                    handoffLock.notifyAll();
+                    return false;
+                }
+                handoffLock.wait();
+            }
+            inQueue = inProgress.remove(ticket) != null;
+            if (inQueue) {
+                handingOver = item;
+            }
+            handoffLock.notifyAll();
+        }
+        if (!inQueue) {
+            // canceled or already handed over while streaming
+logger.log(Level.TRACE, "S:: item canceled or handed over: " + item);
+            queueManager.getLookaheadBudget().cancel(item);
+            return false;
+        }
+        try {
+            if (failure != null) {
+                fail(item, failure);
+                return false;
+            }
+            // transfer item from the queue to the play queue
+            item.markHandedOver();
+            playQueue.addQueueItem(item);
+            return true;
+        } finally {
+            synchronized (handoffLock) {
+                handingOver = null;
+                handoffLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Releases the ticket of an item that could not be handed over and
+     * posts its failure unless it has been canceled meanwhile.
+     *
+     * @param ticket the ticket issued when the item was taken
+     * @param item   the item
+     */
+    private void abandon(long ticket, QueueItem item) {
+        boolean inQueue;
+        synchronized (handoffLock) {
+            inQueue = inProgress.remove(ticket) != null;
+            handoffLock.notifyAll();
+        }
+        if (inQueue) {
+            fail(item, new SpeakableException("synthesis of " + item.getId() + " aborted"));
+        }
+    }
+
+    /**
+     * Posts the failure of the given item.
+     *
+     * @param item    the item that failed
+     * @param failure the cause
+     */
+    private void fail(QueueItem item, SpeakableException failure) {
+        queueManager.getLookaheadBudget().cancel(item);
+        logger.log(Level.ERROR, failure.getMessage(), failure);
+        int id = item.getId();
+        Speakable speakable = item.getSpeakable();
+        String textInfo = speakable == null ? null : speakable.getMarkupText();
+        SpeakableEvent event = new SpeakableEvent(item.getSource(),
+                SpeakableEvent.SPEAKABLE_FAILED, id, textInfo,
+                SpeakableEvent.SPEAKABLE_FAILURE_UNRECOVERABLE, failure);
+        queueManager.getSynthesizer().postSpeakableEvent(event, item.getListener());
+    }
+
+    /**
+     * Checks if an item with an earlier ticket and at least the same priority
+     * as the given item is still being synthesized. Must be called with
+     * {@link #handoffLock} held.
+     *
+     * @param ticket the ticket of the item
+     * @param item   the item
+     * @return <code>true</code> if the item has to wait
+     */
+    private boolean isPreceded(long ticket, QueueItem item) {
+        for (Map.Entry<Long, QueueItem> entry : inProgress.entrySet()) {
+            if (entry.getKey() >= ticket) {
+                return false;
+            }
+            if (entry.getValue().getPriority() >= item.getPriority()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the item with the given id if it is currently being
+     * synthesized.
+     *
+     * @param id the id of the item
+     * @return the item, <code>null</code> if there is no such item
+     */
+    QueueItem getSynthesizingItem(int id) {
+        synchronized (handoffLock) {
+            for (QueueItem item : inProgress.values()) {
+                if (item.getId() == id) {
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hands over the item with the given id to the play queue while it is
+     * still being synthesized. Waits until all items queued before with at
+     * least the same priority have been handed over.
+     *
+     * @param id      the id of the item
+     * @param segment the audio segment that is being produced
+     * @throws InterruptedException if the waiting was interrupted
+     */
+    void handOverStreaming(int id, AudioSegment segment) throws InterruptedException {
+        long ticket = -1;
+        QueueItem item = null;
+        synchronized (handoffLock) {
+            for (Map.Entry<Long, QueueItem> entry : inProgress.entrySet()) {
+                if (entry.getValue().getId() == id) {
+                    ticket = entry.getKey();
+                    item = entry.getValue();
+                    break;
+                }
+            }
+        }
+        if (item == null) {
+logger.log(Level.TRACE, "S:: streaming item canceled: " + id);
+            cancelStreaming(segment);
+            return;
+        }
+        item.setAudioSegment(segment);
+logger.log(Level.TRACE, "S:: hand over streaming item: " + item + ", ticket: " + ticket);
+        if (!handOver(ticket, item, null)) {
+            // canceled while waiting, nobody is going to read the segment
+            cancelStreaming(segment);
+        }
+    }
+
+    /**
+     * Cancels the given segment if it is being streamed.
+     *
+     * @param segment the audio segment
+     */
+    private static void cancelStreaming(AudioSegment segment) {
+        if (segment instanceof StreamingAudioSegment streaming) {
+            streaming.cancel();
+        }
+    }
+
+    /**
+     * Synthesizes the given queue item. If there is a cache, the audio is
+     * taken from the cache or added to it.
      *
      * @param item the queue item to synthesize
      * @throws SpeakableException error processing the item
      */
     private void synthesize(QueueItem item) throws SpeakableException {
+        item.markSynthesisStarted();
+        try {
+            synthesizeItem(item);
+        } finally {
+            item.markSynthesisEnded();
+        }
+    }
+
+    /**
+     * Synthesizes the given queue item or takes it from the cache.
+     *
+     * @param item the queue item to synthesize
+     * @throws SpeakableException error processing the item
+     */
+    private void synthesizeItem(QueueItem item) throws SpeakableException {
         Object itemSource = item.getSource();
         int id = item.getId();
         AudioSegment segment;
         // TODO this won't work for queued audio segments
         BaseSynthesizer synthesizer = queueManager.getSynthesizer();
+        SynthesisCache cache = synthesizer.getSynthesisCache();
+        SynthesisCache.Key key = null;
+        if (cache != null) {
+            key = SynthesisCache.createKey(itemSource, synthesizer);
+            SynthesisCache.Entry entry = key == null ? null : cache.get(key);
+            if (entry != null) {
+logger.log(Level.TRACE, "S:: cache hit: " + item);
+                item.setAudioSegment(createAudioSegment(key.text(), entry));
+                item.setWords(entry.getWords());
+                item.setWordsStartTimes(entry.getWordsStartTimes());
+                item.setPhonesInfo(entry.getPhonesInfo());
+                item.setSynthesized(true);
+                return;
+            }
+        }
         if (itemSource instanceof String text) {
             segment = synthesizer.handleSpeak(id, text);
         } else if (itemSource instanceof Speakable speakable) {
@@ -363,7 +757,78 @@ logger.log(Level.DEBUG, "synth queue loop terminated");
                             + (itemSource == null ? "null" : item.getClass().getName()));
         }
 
+        if (key != null && segment != null) {
+            segment = addToCache(cache, key, item, segment);
+        }
         item.setAudioSegment(segment);
         item.setSynthesized(true);
     }
+
+    /**
+     * Creates an audio segment for the cached entry.
+     *
+     * @param markupText the text or markup to be spoken
+     * @param entry      the cached entry
+     * @return created audio segment
+     */
+    private AudioSegment createAudioSegment(String markupText, SynthesisCache.Entry entry) {
+        String locator = queueManager.getSynthesizer().getAudioManager().getMediaLocator();
+        InputStream in = entry.openInputStream();
+        if (locator == null) {
+            return new BaseAudioSegment(markupText, in);
+        } else {
+            return new BaseAudioSegment(locator, markupText, in);
+        }
+    }
+
+    /**
+     * Adds the audio that has been produced for the given item to the cache.
+     * The audio of a {@link BaseAudioSegment} is read entirely and replaced
+     * by a segment reading from the cached data.
+     *
+     * @param cache   the cache
+     * @param key     the key of the item
+     * @param item    the synthesized item
+     * @param segment the audio segment that has been produced
+     * @return audio segment to play back
+     * @throws SpeakableException error reading the audio
+     */
+    private AudioSegment addToCache(SynthesisCache cache, SynthesisCache.Key key,
+                                    QueueItem item, AudioSegment segment) throws SpeakableException {
+        byte[] audio;
+        AudioFormat format;
+        if (segment instanceof StreamingAudioSegment streaming) {
+            // already being played back
+            audio = streaming.getRecordedAudio();
+            format = streaming.getAudioFormat();
+        } else if (segment instanceof BaseAudioSegment) {
+            try (InputStream in = segment.openInputStream()) {
+                if (in == null) {
+                    return segment;
+                }
+                if (in instanceof AudioInputStream ais) {
+                    format = ais.getFormat();
+                } else {
+                    BaseAudioManager manager = (BaseAudioManager) queueManager.getSynthesizer().getAudioManager();
+                    format = manager.getEngineAudioFormat();
+                }
+                audio = in.readAllBytes();
+            } catch (IOException e) {
+logger.log(Level.DEBUG, e.getMessage(), e);
+                throw new SpeakableException("error reading the audio of " + item.getId() + ": " + e.getMessage());
+            }
+        } else {
+            return segment;
+        }
+        if (audio == null) {
+            return segment;
+        }
+        SynthesisCache.Entry entry = new SynthesisCache.Entry(audio, format,
+                item.getWords(), item.getWordsStartTime(), item.getPhonesInfo());
+        cache.put(key, entry);
+        if (segment instanceof StreamingAudioSegment) {
+            return segment;
+        }
+        return createAudioSegment(key.text(), entry);
+    }
 }
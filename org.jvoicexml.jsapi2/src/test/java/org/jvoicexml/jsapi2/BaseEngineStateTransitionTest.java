@@ -4,9 +4,12 @@
 
 package org.jvoicexml.jsapi2;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import javax.speech.Engine;
 import javax.speech.EngineEvent;
 import javax.speech.SpeechEventExecutor;
+import javax.speech.synthesis.Synthesizer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +17,8 @@ import org.jvoicexml.jsapi2.mock.EngineEventAccumulator;
 import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 /**
@@ -81,4 +86,59 @@ class BaseEngineStateTransitionTest {
                 events[2].getId());
         assertEquals(EngineEvent.ENGINE_DEALLOCATED, events[3].getId());
     }
+
+    /**
+     * Test method for {@link org.jvoicexml.jsapi2.BaseEngine#awaitEngineState(long)}.
+     * @throws Exception test failed
+     */
+    @Test
+    void testAwaitEngineState() throws Exception {
+        BaseEngine base = (BaseEngine) engine;
+        CompletableFuture<Long> allocated = base.awaitEngineState(Engine.ALLOCATED);
+        assertFalse(allocated.isDone());
+
+        // other waiters are not affected by canceling
+        CompletableFuture<Long> canceled = base.awaitEngineState(Engine.ALLOCATED);
+        canceled.cancel(false);
+
+        engine.allocate();
+        long state = allocated.get(1, TimeUnit.SECONDS);
+        assertTrue((state & Engine.ALLOCATED) == Engine.ALLOCATED);
+        CompletableFuture<Long> paused = base.awaitEngineState(Engine.PAUSED);
+        assertFalse(paused.isDone());
+
+        // already reached
+        assertTrue(base.awaitEngineState(Engine.ALLOCATED).isDone());
+
+        engine.pause();
+        assertTrue((paused.get(1, TimeUnit.SECONDS) & Engine.PAUSED) == Engine.PAUSED);
+    }
+
+    /**
+     * Test method for {@link org.jvoicexml.jsapi2.BaseEngine#waitEngineState(long, long)}.
+     * @throws Exception test failed
+     */
+    @Test
+    void testWaitEngineStateTimeout() throws Exception {
+        BaseEngine base = (BaseEngine) engine;
+        long start = System.nanoTime();
+        // flips of other states do not extend the deadline
+        Thread flipper = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                base.setEngineState(Synthesizer.QUEUE_EMPTY, Synthesizer.QUEUE_NOT_EMPTY);
+                base.setEngineState(Synthesizer.QUEUE_NOT_EMPTY, Synthesizer.QUEUE_EMPTY);
+                Thread.onSpinWait();
+            }
+        });
+        flipper.start();
+        try {
+            long state = engine.waitEngineState(Engine.ALLOCATED, 200);
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertFalse((state & Engine.ALLOCATED) == Engine.ALLOCATED);
+            assertTrue(elapsed >= 200 && elapsed < 2000, "elapsed: " + elapsed);
+        } finally {
+            flipper.interrupt();
+            flipper.join();
+        }
+    }
 }
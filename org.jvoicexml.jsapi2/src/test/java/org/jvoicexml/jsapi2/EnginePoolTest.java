@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.speech.Engine;
+import javax.speech.EngineException;
+import javax.speech.EngineMode;
+import javax.speech.synthesis.SpeakableEvent;
+import javax.speech.synthesis.Synthesizer;
+import javax.speech.synthesis.SynthesizerMode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link EnginePool}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class EnginePoolTest {
+
+    /** The mode to lease. */
+    private static final EngineMode MODE = SynthesizerMode.DEFAULT;
+
+    /** The created engines. */
+    private final List<Engine> created = new CopyOnWriteArrayList<>();
+
+    /** The test object. */
+    private EnginePool pool;
+
+    private EnginePool createPool(int minIdle, int maxIdle, long maxIdleTime) {
+        return new EnginePool(require -> {
+            Engine engine = new MockSynthesizer();
+            created.add(engine);
+            return engine;
+        }, minIdle, maxIdle, maxIdleTime, TimeUnit.MILLISECONDS);
+    }
+
+    private long countDeallocated() {
+        return created.stream().filter(e -> e.testEngineState(Engine.DEALLOCATED)).count();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Test that a released engine is reset and leased again.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testReuse() throws Exception {
+        pool = createPool(0, 2, 0);
+        Synthesizer synthesizer = (Synthesizer) pool.lease(MODE);
+        assertTrue(synthesizer.testEngineState(Engine.ALLOCATED | Engine.RESUMED));
+        synthesizer.setSpeechEventExecutor(new SynchronousSpeechEventExecutor());
+        assertEquals(1, pool.getLeasedCount());
+        int[] received = new int[1];
+        synthesizer.addSynthesizerListener(e -> received[0]++);
+        synthesizer.addSpeakableListener(e -> received[0]++);
+        synthesizer.setSpeakableMask(0);
+        synthesizer.getSynthesizerProperties().setPriority(1);
+        synthesizer.pause();
+
+        pool.release(synthesizer);
+        assertEquals(1, pool.getIdleCount(MODE));
+        assertEquals(0, pool.getLeasedCount());
+        Synthesizer reused = (Synthesizer) pool.lease(MODE);
+        assertSame(synthesizer, reused);
+        assertEquals(1, created.size());
+        assertTrue(reused.testEngineState(Engine.ALLOCATED | Engine.RESUMED));
+        assertEquals(SpeakableEvent.DEFAULT_MASK, reused.getSpeakableMask());
+        assertEquals(javax.speech.EngineProperties.NORM_TRUSTED_PRIORITY,
+                reused.getSynthesizerProperties().getPriority());
+        // the listeners of the previous client are gone
+        received[0] = 0;
+        reused.pause();
+        reused.resume();
+        assertEquals(0, received[0]);
+    }
+
+    /**
+     * Test that engines beyond the maximum idle count and engines that
+     * cannot be reset are deallocated.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testMaxIdle() throws Exception {
+        pool = createPool(0, 1, 0);
+        Engine engine1 = pool.lease(MODE);
+        Engine engine2 = pool.lease(MODE);
+        assertNotSame(engine1, engine2);
+        pool.release(engine1);
+        pool.release(engine2);
+        assertEquals(1, pool.getIdleCount(MODE));
+        assertTrue(engine2.testEngineState(Engine.DEALLOCATED));
+
+        Engine engine3 = pool.lease(MODE);
+        assertSame(engine1, engine3);
+        engine3.deallocate();
+        pool.release(engine3);
+        assertEquals(0, pool.getIdleCount(MODE));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(engine3));
+    }
+
+    /**
+     * Test that prepared engines are allocated up front and kept.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testPrepareAndEvict() throws Exception {
+        pool = createPool(1, 3, 50);
+        pool.prepare(MODE);
+        assertEquals(1, pool.getIdleCount(MODE));
+        assertTrue(created.get(0).testEngineState(Engine.ALLOCATED));
+
+        Engine engine1 = pool.lease(MODE);
+        Engine engine2 = pool.lease(MODE);
+        pool.release(engine1);
+        pool.release(engine2);
+        // replenished in the background while leased
+        long deadline = System.currentTimeMillis() + 2000;
+        while ((pool.getIdleCount(MODE) > 1 || countDeallocated() < created.size() - 1)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, pool.getIdleCount(MODE));
+        assertEquals(created.size() - 1, countDeallocated());
+
+        pool.close();
+        assertTrue(created.stream().allMatch(e -> e.testEngineState(Engine.DEALLOCATED)));
+        assertThrows(IllegalStateException.class, () -> pool.lease(MODE));
+    }
+
+    /**
+     * Test that releasing a synthesizer cancels the speakables that have
+     * not been taken for synthesis yet.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testReleaseQueued() throws Exception {
+        pool = createPool(0, 1, 0);
+        MockSynthesizer synthesizer = (MockSynthesizer) pool.lease(MODE);
+        CountDownLatch synthesizing = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        synthesizer.setSpeakHandler(id -> {
+            synthesizing.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CountDownLatch canceled = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            synthesizer.speak("item " + i, e -> {
+                if (e.getId() == SpeakableEvent.SPEAKABLE_CANCELLED) {
+                    canceled.countDown();
+                }
+            });
+        }
+        assertTrue(synthesizing.await(5, TimeUnit.SECONDS));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> pool.release(synthesizer));
+        proceed.countDown();
+        assertTrue(canceled.await(5, TimeUnit.SECONDS));
+        assertEquals(1, pool.getIdleCount(MODE));
+    }
+
+    /**
+     * Test that replenishing in the background while a prepared engine is
+     * still being allocated does not allocate more than the minimum.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testReplenishWhilePreparing() throws Exception {
+        CountDownLatch allocating = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        pool = new EnginePool(require -> {
+            Engine engine = new MockSynthesizer();
+            created.add(engine);
+            if (created.size() == 1) {
+                allocating.countDown();
+                try {
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    throw new EngineException("interrupted");
+                }
+            }
+            return engine;
+        }, 1, 3, 0, TimeUnit.MILLISECONDS);
+        Thread preparing = new Thread(() -> {
+            try {
+                pool.prepare(MODE);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        preparing.start();
+        assertTrue(allocating.await(5, TimeUnit.SECONDS));
+
+        // schedules replenishing while the prepared engine is not idle yet
+        Engine engine = pool.lease(MODE);
+        Thread.sleep(100);
+        proceed.countDown();
+        preparing.join(5000);
+        assertEquals(1, pool.getIdleCount(MODE));
+        assertEquals(2, created.size());
+        pool.release(engine);
+        assertEquals(2, pool.getIdleCount(MODE));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link EngineRuntime}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class EngineRuntimeTest {
+
+    /**
+     * Test that executors sharing a pool keep their own order.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testSharedOrder() throws Exception {
+        EngineRuntime runtime = EngineRuntime.shared(2);
+        int executors = 8;
+        int commands = 1000;
+        List<List<Integer>> results = new ArrayList<>();
+        List<TerminatableSpeechEventExecutor> list = new ArrayList<>();
+        CountDownLatch cdl = new CountDownLatch(executors);
+        for (int i = 0; i < executors; i++) {
+            List<Integer> result = new ArrayList<>();
+            results.add(result);
+            list.add(runtime.newSpeechEventExecutor());
+        }
+        for (int j = 0; j < commands; j++) {
+            for (int i = 0; i < executors; i++) {
+                List<Integer> result = results.get(i);
+                int value = j;
+                list.get(i).execute(() -> {
+                    result.add(value);
+                    if (value == commands - 1) {
+                        cdl.countDown();
+                    }
+                });
+            }
+        }
+        assertTrue(cdl.await(10, TimeUnit.SECONDS));
+        for (List<Integer> result : results) {
+            assertEquals(commands, result.size());
+            for (int j = 0; j < commands; j++) {
+                assertEquals(j, result.get(j));
+            }
+        }
+        list.forEach(TerminatableSpeechEventExecutor::terminate);
+        assertThrows(IllegalStateException.class, () -> list.get(0).execute(() -> {}));
+    }
+
+    /**
+     * Test the threads of a runtime.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testThreads() throws Exception {
+        EngineRuntime runtime = EngineRuntime.platform();
+        Thread thread = runtime.newThread(() -> {}, "test");
+        assertTrue(thread.isDaemon());
+        assertEquals("test", thread.getName());
+        if (!EngineRuntime.isVirtualThreadSupported()) {
+            assertThrows(UnsupportedOperationException.class, EngineRuntime::virtual);
+        }
+    }
+}
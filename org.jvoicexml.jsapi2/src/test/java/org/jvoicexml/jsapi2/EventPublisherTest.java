@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.speech.synthesis.SpeakableEvent;
+
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link EventPublisher}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class EventPublisherTest {
+
+    /** The registered sinks. */
+    private final List<Consumer<Integer>> sinks = new CopyOnWriteArrayList<>();
+
+    /** A subscriber that requests events on demand only. */
+    private static final class Collector implements Flow.Subscriber<Integer> {
+
+        final List<Integer> received = new CopyOnWriteArrayList<>();
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    private EventPublisher<Integer> createPublisher(int bufferSize, OverflowPolicy policy) {
+        return new EventPublisher<>(sink -> {
+            sinks.add(sink);
+            return () -> sinks.remove(sink);
+        }, bufferSize, policy, i -> i < 0 ? -1 : 0);
+    }
+
+    private void post(int... events) {
+        for (int event : events) {
+            sinks.forEach(sink -> sink.accept(event));
+        }
+    }
+
+    /**
+     * Test that events are delivered as requested only.
+     */
+    @Test
+    void testDemand() {
+        Collector collector = new Collector();
+        createPublisher(10, OverflowPolicy.BLOCK).subscribe(collector);
+        post(1, 2, 3);
+        assertEquals(List.of(), collector.received);
+        collector.subscription.request(2);
+        assertEquals(List.of(1, 2), collector.received);
+        collector.subscription.request(5);
+        post(4);
+        assertEquals(List.of(1, 2, 3, 4), collector.received);
+    }
+
+    /**
+     * Test that the oldest events are dropped from a full buffer.
+     */
+    @Test
+    void testDropOldest() {
+        Collector collector = new Collector();
+        createPublisher(2, OverflowPolicy.DROP_OLDEST).subscribe(collector);
+        post(1, 2, 3, 4, 5);
+        collector.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of(4, 5), collector.received);
+    }
+
+    /**
+     * Test that events of the same kind are coalesced in a full buffer.
+     */
+    @Test
+    void testCoalesce() {
+        Collector collector = new Collector();
+        createPublisher(3, OverflowPolicy.COALESCE).subscribe(collector);
+        post(1, -2, -3, -4);
+        collector.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of(1, -3, -4), collector.received);
+    }
+
+    /**
+     * Test that the posting thread waits for the subscriber.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testBlock() throws Exception {
+        Collector collector = new Collector();
+        createPublisher(1, OverflowPolicy.BLOCK).subscribe(collector);
+        CountDownLatch posted = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            post(1, 2);
+            posted.countDown();
+        });
+        thread.setDaemon(true);
+        thread.start();
+        assertFalse(posted.await(100, TimeUnit.MILLISECONDS));
+        collector.subscription.request(1);
+        assertTrue(posted.await(1, TimeUnit.SECONDS));
+        collector.subscription.request(1);
+        assertEquals(List.of(1, 2), collector.received);
+    }
+
+    /**
+     * Test that canceling removes the listener and a wrong request fails.
+     */
+    @Test
+    void testCancel() {
+        Collector collector = new Collector();
+        createPublisher(1, OverflowPolicy.BLOCK).subscribe(collector);
+        assertEquals(1, sinks.size());
+        collector.subscription.cancel();
+        assertEquals(0, sinks.size());
+
+        Collector other = new Collector();
+        createPublisher(1, OverflowPolicy.BLOCK).subscribe(other);
+        other.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, other.error);
+        assertEquals(0, sinks.size());
+    }
+
+    /**
+     * Test the speakable events of a synthesizer.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testSpeakableEvents() throws Exception {
+        MockSynthesizer synthesizer = new MockSynthesizer();
+        // deliver the events in the order they are posted
+        synthesizer.setSpeechEventExecutorFactory(SynchronousSpeechEventExecutor::new);
+        synthesizer.allocate();
+        List<Integer> ids = new CopyOnWriteArrayList<>();
+        CountDownLatch ended = new CountDownLatch(1);
+        synthesizer.speakableEvents(4, OverflowPolicy.COALESCE).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(SpeakableEvent item) {
+                ids.add(item.getId());
+                if (item.getId() == SpeakableEvent.SPEAKABLE_ENDED || item.getId() == SpeakableEvent.SPEAKABLE_FAILED) {
+                    ended.countDown();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        synthesizer.speak("hello", null);
+        assertTrue(ended.await(5, TimeUnit.SECONDS));
+        assertEquals(SpeakableEvent.SPEAKABLE_STARTED, ids.get(0));
+        synthesizer.deallocate();
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link LaneSpeechEventExecutor}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class LaneSpeechEventExecutorTest {
+
+    /** Progress key of the commands that may be dropped. */
+    private static final int WORD = 1;
+
+    /** Progress key of other commands that may be dropped. */
+    private static final int PHONEME = 2;
+
+    /** The test object. */
+    private LaneSpeechEventExecutor executor;
+
+    /** Released to let a blocked lane go on. */
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.terminate();
+        }
+    }
+
+    /**
+     * Blocks the given lane until {@link #release} is counted down.
+     *
+     * @param lane the lane to block
+     * @throws Exception test failed
+     */
+    private void block(EventLane lane) throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(lane, () -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 0);
+        assertTrue(blocked.await(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that a blocked lane does not delay the others.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testIndependentLanes() throws Exception {
+        executor = new LaneSpeechEventExecutor(8, OverflowPolicy.BLOCK);
+        block(EventLane.SPEAKABLE);
+        CountDownLatch engine = new CountDownLatch(1);
+        executor.execute(engine::countDown);
+        assertTrue(engine.await(1, TimeUnit.SECONDS));
+
+        CountDownLatch speakable = new CountDownLatch(1);
+        executor.execute(EventLane.SPEAKABLE, speakable::countDown, 0);
+        assertFalse(speakable.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, executor.getPendingCount(EventLane.SPEAKABLE));
+        assertTrue(executor.getLag(EventLane.SPEAKABLE, TimeUnit.MILLISECONDS) >= 100);
+        assertEquals(0, executor.getLag(EventLane.ENGINE, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(speakable.await(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that the commands of a lane are executed in order.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testOrder() throws Exception {
+        executor = new LaneSpeechEventExecutor(1000, OverflowPolicy.BLOCK);
+        List<Integer> list = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 0; i < 500; i++) {
+            int value = i;
+            executor.execute(EventLane.RESULT, () -> list.add(value), 0);
+        }
+        executor.execute(EventLane.RESULT, done::countDown, 0);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, list.get(i));
+        }
+    }
+
+    /**
+     * Test that the oldest commands are dropped from a full lane.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testDropOldest() throws Exception {
+        executor = new LaneSpeechEventExecutor(2, OverflowPolicy.DROP_OLDEST);
+        List<Integer> list = new CopyOnWriteArrayList<>();
+        block(EventLane.AUDIO);
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            executor.execute(EventLane.AUDIO, () -> list.add(value), WORD);
+        }
+        assertEquals(2, executor.getPendingCount(EventLane.AUDIO));
+        assertEquals(3, executor.getDroppedCount(EventLane.AUDIO));
+        CountDownLatch done = new CountDownLatch(1);
+        executor.setOverflowPolicy(EventLane.AUDIO, OverflowPolicy.BLOCK);
+        release.countDown();
+        executor.execute(EventLane.AUDIO, done::countDown, 0);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of(3, 4), list);
+    }
+
+    /**
+     * Test that commands of the same kind are coalesced in a full lane.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testCoalesce() throws Exception {
+        executor = new LaneSpeechEventExecutor(3, OverflowPolicy.COALESCE);
+        List<String> list = new CopyOnWriteArrayList<>();
+        block(EventLane.SPEAKABLE);
+        executor.execute(EventLane.SPEAKABLE, () -> list.add("started"), 0);
+        executor.execute(EventLane.SPEAKABLE, () -> list.add("word1"), WORD);
+        executor.execute(EventLane.SPEAKABLE, () -> list.add("word2"), WORD);
+        executor.execute(EventLane.SPEAKABLE, () -> list.add("word3"), WORD);
+        assertEquals(3, executor.getPendingCount(EventLane.SPEAKABLE));
+        assertEquals(1, executor.getDroppedCount(EventLane.SPEAKABLE));
+
+        // nothing to coalesce with, so the command waits
+        CountDownLatch posted = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            executor.execute(EventLane.SPEAKABLE, () -> list.add("phoneme"), PHONEME);
+            posted.countDown();
+        });
+        thread.setDaemon(true);
+        thread.start();
+        assertFalse(posted.await(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(posted.await(1, TimeUnit.SECONDS));
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(EventLane.SPEAKABLE, done::countDown, 0);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(List.of("started", "word2", "word3", "phoneme"), list);
+    }
+
+    /**
+     * Test that a listener posting to its own full lane does not dead lock.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testReentrant() throws Exception {
+        executor = new LaneSpeechEventExecutor(1, OverflowPolicy.BLOCK);
+        CountDownLatch done = new CountDownLatch(3);
+        executor.execute(EventLane.ENGINE, () -> {
+            for (int i = 0; i < 3; i++) {
+                executor.execute(EventLane.ENGINE, done::countDown, WORD);
+            }
+        }, 0);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that terminating releases blocked posters.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testTerminate() throws Exception {
+        executor = new LaneSpeechEventExecutor(1, OverflowPolicy.BLOCK);
+        block(EventLane.RESULT);
+        executor.execute(EventLane.RESULT, () -> {}, WORD);
+        CountDownLatch returned = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                executor.execute(EventLane.RESULT, () -> {}, WORD);
+            } catch (IllegalStateException e) {
+                // terminated meanwhile
+            }
+            returned.countDown();
+        });
+        thread.setDaemon(true);
+        thread.start();
+        assertFalse(returned.await(100, TimeUnit.MILLISECONDS));
+        executor.terminate();
+        assertTrue(returned.await(1, TimeUnit.SECONDS));
+        assertEquals(0, executor.getPendingCount(EventLane.RESULT));
+    }
+
+    /**
+     * Test that commands that are not progress commands are neither dropped
+     * nor blocked by a full lane.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testDeliverTerminal() throws Exception {
+        for (OverflowPolicy policy : OverflowPolicy.values()) {
+            executor = new LaneSpeechEventExecutor(2, policy);
+            List<String> list = new CopyOnWriteArrayList<>();
+            CountDownLatch proceed = new CountDownLatch(1);
+            CountDownLatch blocked = new CountDownLatch(1);
+            executor.execute(EventLane.SPEAKABLE, () -> {
+                blocked.countDown();
+                try {
+                    proceed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, 0);
+            assertTrue(blocked.await(1, TimeUnit.SECONDS));
+            executor.execute(EventLane.SPEAKABLE, () -> list.add("started"), 0);
+            executor.execute(EventLane.SPEAKABLE, () -> list.add("ended"), 0);
+            executor.execute(EventLane.SPEAKABLE, () -> list.add("cancelled"), 0);
+            assertEquals(3, executor.getPendingCount(EventLane.SPEAKABLE), policy.name());
+            if (policy == OverflowPolicy.DROP_OLDEST) {
+                // the progress command is dropped instead of the pending ones
+                executor.execute(EventLane.SPEAKABLE, () -> list.add("word"), WORD);
+                assertEquals(1, executor.getDroppedCount(EventLane.SPEAKABLE));
+            }
+            proceed.countDown();
+            CountDownLatch done = new CountDownLatch(1);
+            executor.execute(EventLane.SPEAKABLE, done::countDown, 0);
+            assertTrue(done.await(1, TimeUnit.SECONDS), policy.name());
+            assertEquals(List.of("started", "ended", "cancelled"), list, policy.name());
+            executor.terminate();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link StreamingAudioSegment}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class StreamingAudioSegmentTest {
+
+    /**
+     * Test that the data can be read while it is still being written.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testReadWhileWriting() throws Exception {
+        StreamingAudioSegment segment = new StreamingAudioSegment("http://localhost", "test", null, 2);
+        CountDownLatch first = new CountDownLatch(1);
+        segment.setFirstChunkListener(first::countDown);
+        CountDownLatch proceed = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            try {
+                segment.write("abc".getBytes(), 0, 3);
+                proceed.await();
+                segment.write("xdefx".getBytes(), 1, 3);
+                segment.close();
+            } catch (Exception e) {
+                segment.fail(new IOException(e));
+            }
+        });
+        writer.start();
+
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+        assertTrue(segment.isStarted());
+        InputStream in = segment.openInputStream();
+        byte[] buffer = new byte[3];
+        assertEquals(3, in.read(buffer));
+        assertArrayEquals("abc".getBytes(), buffer);
+
+        proceed.countDown();
+        ByteArrayOutputStream rest = new ByteArrayOutputStream();
+        in.transferTo(rest);
+        assertEquals("def", rest.toString());
+        assertEquals(-1, in.read());
+        writer.join();
+    }
+
+    /**
+     * Test that closing the stream unblocks the writer.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testCancel() throws Exception {
+        StreamingAudioSegment segment = new StreamingAudioSegment("http://localhost", "test", null, 1);
+        AtomicReference<IOException> error = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 10; i++) {
+                    segment.write(new byte[16], 0, 16);
+                }
+            } catch (IOException e) {
+                error.set(e);
+            }
+        });
+        writer.start();
+
+        InputStream in = segment.openInputStream();
+        assertEquals(0, in.read());
+        in.close();
+        writer.join(5000);
+        assertFalse(writer.isAlive());
+        assertTrue(segment.isCancelled());
+        assertTrue(error.get() != null);
+    }
+
+    /**
+     * Test that canceling the segment unblocks the writer and the reader.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testCancelByEngine() throws Exception {
+        StreamingAudioSegment segment = new StreamingAudioSegment("http://localhost", "test", null, 1);
+        segment.write(new byte[16], 0, 16);
+        AtomicReference<IOException> error = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                segment.write(new byte[16], 0, 16);
+            } catch (IOException e) {
+                error.set(e);
+            }
+        });
+        writer.start();
+        while (writer.getState() != Thread.State.WAITING) Thread.yield();
+
+        segment.cancel();
+        writer.join(5000);
+        assertFalse(writer.isAlive());
+        assertTrue(error.get() != null);
+        assertTrue(segment.isCancelled());
+        assertEquals(-1, segment.openInputStream().read());
+        assertThrows(IOException.class, () -> segment.write(new byte[16], 0, 16));
+    }
+
+    /**
+     * Test that a failure of the writer is reported to the reader.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testFail() throws Exception {
+        StreamingAudioSegment segment = new StreamingAudioSegment("http://localhost", "test", null);
+        segment.write(new byte[4], 0, 4);
+        segment.fail(new IOException("engine failed"));
+
+        InputStream in = segment.openInputStream();
+        assertEquals(4, in.read(new byte[8]));
+        IOException e = assertThrows(IOException.class, in::read);
+        assertEquals("engine failed", e.getMessage());
+        assertThrows(IOException.class, segment::openInputStream);
+    }
+}
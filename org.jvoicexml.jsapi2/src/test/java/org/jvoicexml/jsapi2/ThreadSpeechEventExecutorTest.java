@@ -59,20 +59,26 @@ class ThreadSpeechEventExecutorTest {
     @Test
     void testExecute() throws Exception {
         List<Integer> list = new java.util.ArrayList<>();
-        Runnable runnable1 = () -> list.add(1);
+        Runnable runnable1 = () -> {
+            synchronized (list) {
+                list.add(1);
+            }
+        };
         Runnable runnable2 = () -> {
-            list.add(2);
             synchronized (list) {
+                list.add(2);
                 list.notifyAll();
             }
         };
         executor.execute(runnable1);
         executor.execute(runnable2);
         synchronized (list) {
-            list.wait();
+            // the events may have been delivered before waiting
+            while (list.size() < 2) {
+                list.wait();
+            }
+            assertEquals(1, list.get(0));
+            assertEquals(2, list.get(1));
         }
-        assertEquals(2, list.size());
-        assertEquals(1, list.get(0));
-        assertEquals(2, list.get(1));
     }
 }
@@ -14,6 +14,10 @@ import org.jvoicexml.jsapi2.BaseAudioManager;
  * @author Dirk Schnelle-Walka
  */
 public class MockAudioManager extends BaseAudioManager {
+
+    /** The output set via {@link #setMediaLocator(String, OutputStream)}. */
+    private OutputStream output;
+
     /**
      * Creates a new object.
      */
@@ -29,7 +33,7 @@ public class MockAudioManager extends BaseAudioManager {
 
     @Override
     public OutputStream getOutputStream() {
-        return null;
+        return output;
     }
 
     @Override
@@ -50,5 +54,6 @@ public class MockAudioManager extends BaseAudioManager {
     public void setMediaLocator(String locator, OutputStream stream)
             throws AudioException, IllegalStateException,
             IllegalArgumentException, SecurityException {
+        output = stream;
     }
 }
@@ -21,8 +21,10 @@
 
 package org.jvoicexml.jsapi2.mock.synthesis;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import javax.sound.sampled.AudioFormat;
 import javax.speech.AudioException;
 import javax.speech.AudioManager;
@@ -71,6 +73,20 @@ public final class MockSynthesizer extends BaseSynthesizer {
         this.audioSegmentMaker = audioSegmentMaker;
     }
 
+    /** number of cancellations of the current item */
+    private final AtomicInteger cancelCount = new AtomicInteger();
+
+    public int getCancelCount() {
+        return cancelCount.get();
+    }
+
+    /** creates the speech event executor */
+    private Supplier<SpeechEventExecutor> speechEventExecutorFactory = MockSpeechEventExecutor::new;
+
+    public void setSpeechEventExecutorFactory(Supplier<SpeechEventExecutor> speechEventExecutorFactory) {
+        this.speechEventExecutorFactory = speechEventExecutorFactory;
+    }
+
     @Override
     protected void handleAllocate() throws EngineStateException,
             EngineException, AudioException, SecurityException {
@@ -78,6 +94,7 @@ public final class MockSynthesizer extends BaseSynthesizer {
 
     @Override
     protected boolean handleCancel() {
+        cancelCount.incrementAndGet();
         return true;
     }
 
@@ -130,7 +147,7 @@ public final class MockSynthesizer extends BaseSynthesizer {
 
     @Override
     protected SpeechEventExecutor createSpeechEventExecutor() {
-        return new MockSpeechEventExecutor();
+        return speechEventExecutorFactory.get();
     }
 
     @Override
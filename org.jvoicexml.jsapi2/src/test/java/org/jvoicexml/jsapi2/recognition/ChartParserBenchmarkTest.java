@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.speech.recognition.GrammarManager;
+import javax.speech.recognition.Rule;
+import javax.speech.recognition.RuleAlternatives;
+import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleCount;
+import javax.speech.recognition.RuleGrammar;
+import javax.speech.recognition.RuleParse;
+import javax.speech.recognition.RuleSequence;
+import javax.speech.recognition.RuleToken;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.mock.recognition.MockRecognizer;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+
+/**
+ * Compares the backtracking {@link RuleParser} with the {@link ChartParser}
+ * on grammars with many ways to match a prefix of the input.
+ * <p>
+ * The backtracking parser is only run on inputs it is known to finish
+ * within seconds. A parse that takes longer than {@link #GIVE_UP} anyway
+ * is abandoned, and the backtracking parser is skipped for longer inputs.
+ * </p>
+ * <p>
+ * Excluded from the default build, run with
+ * <code>mvn test -Dgroups=benchmark -DexcludedGroups=</code>.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@Tag("benchmark")
+class ChartParserBenchmarkTest {
+
+    /** Time in milliseconds after which a backtracking parse is abandoned. */
+    private static final long GIVE_UP = 1_000L;
+
+    private static RuleComponent sequence(RuleComponent... components) {
+        return new RuleSequence(components);
+    }
+
+    /**
+     * Benchmark of <code>(a | a a)+ b</code>, whose prefixes of
+     * <code>a</code>s can be split in exponentially many ways.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testAmbiguousRepeat() throws Exception {
+        RuleComponent step = new RuleAlternatives(new RuleComponent[] {
+                sequence(new RuleToken("a")),
+                sequence(new RuleToken("a"), new RuleToken("a"))
+        });
+        run("(a | a a)+ b", sequence(new RuleCount(step, 1, RuleCount.REPEAT_INDEFINITELY), new RuleToken("b")),
+                new int[] {8, 12, 16, 20, 24, 28, 32, 64, 128}, 32);
+    }
+
+    /**
+     * Benchmark of nested bounded repeats <code>((a){0-6}){0-6} b</code>.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testNestedRepeat() throws Exception {
+        RuleComponent inner = new RuleCount(sequence(new RuleToken("a")), 0, 6);
+        run("((a){0-6}){0-6} b", sequence(new RuleCount(sequence(inner), 0, 6), new RuleToken("b")),
+                new int[] {4, 8, 12, 16, 20, 24, 30}, 30);
+    }
+
+    /**
+     * Parses inputs of <code>a</code>s that do not end with the
+     * <code>b</code> with both parsers.
+     *
+     * @param name  name of the grammar
+     * @param rule  the rule to parse
+     * @param sizes the numbers of <code>a</code>s
+     * @param backtrackingLimit the largest number of <code>a</code>s the
+     *            backtracking parser is run on
+     * @throws Exception test failed
+     */
+    private static void run(String name, RuleComponent rule, int[] sizes, int backtrackingLimit) throws Exception {
+        BaseRecognizer recognizer = new MockRecognizer();
+        GrammarManager manager = recognizer.getGrammarManager();
+        RuleGrammar grammar = manager.createRuleGrammar("grammar:benchmark", "main");
+        grammar.addRule(new Rule("main", rule, Rule.PUBLIC));
+        recognizer.processGrammars();
+
+        // the backtracking parser does not react to interrupts, an abandoned parse must not keep the fork alive
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "backtracking");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            boolean backtracking = true;
+            for (int size : sizes) {
+                String[] input = new String[size + 1];
+                Arrays.fill(input, "a");
+                input[size] = "c";
+
+                String backtrackingTime = "skipped";
+                if (backtracking && size <= backtrackingLimit) {
+                    long start = System.nanoTime();
+                    Future<RuleParse[]> parse =
+                            executor.submit(() -> RuleParser.mparse(input, manager, "grammar:benchmark", "main"));
+                    try {
+                        assertNull(parse.get(GIVE_UP, TimeUnit.MILLISECONDS));
+                        backtrackingTime = (System.nanoTime() - start) / 1000 + " us";
+                    } catch (TimeoutException e) {
+                        parse.cancel(true);
+                        backtracking = false;
+                        backtrackingTime = "gave up";
+                    }
+                }
+
+                long start = System.nanoTime();
+                assertNull(RuleParser.mparse(input, manager, "grammar:benchmark", "main", 1));
+                long chart = System.nanoTime() - start;
+
+Debug.printf("%s, %d tokens: backtracking: %s, chart: %d us", name, size + 1, backtrackingTime, chart / 1000);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import javax.speech.recognition.GrammarManager;
+import javax.speech.recognition.Rule;
+import javax.speech.recognition.RuleAlternatives;
+import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleCount;
+import javax.speech.recognition.RuleGrammar;
+import javax.speech.recognition.RuleParse;
+import javax.speech.recognition.RuleReference;
+import javax.speech.recognition.RuleSequence;
+import javax.speech.recognition.RuleTag;
+import javax.speech.recognition.RuleToken;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.mock.recognition.MockRecognizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+
+/**
+ * Test cases for {@link ChartParser}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class ChartParserTest {
+
+    private BaseRecognizer recognizer;
+
+    private GrammarManager manager;
+
+    private RuleGrammar grammar;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recognizer = new MockRecognizer();
+        manager = recognizer.getGrammarManager();
+        grammar = manager.createRuleGrammar("grammar:chart", "main");
+    }
+
+    /**
+     * Splits the given text into tokens.
+     *
+     * @param text the text
+     * @return the tokens
+     */
+    static String[] tokens(String text) {
+        return text.split(" ");
+    }
+
+    /**
+     * Test that unambiguous grammars result in the same parse as with the
+     * backtracking parser.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testSameAsBacktracking() throws Exception {
+        RuleComponent size = new RuleAlternatives(new RuleComponent[] {
+                new RuleSequence(new RuleComponent[] {new RuleToken("small"), new RuleTag("S")}),
+                new RuleSequence(new RuleComponent[] {new RuleToken("large"), new RuleTag("L")})
+        });
+        grammar.addRule(new Rule("size", size, Rule.PRIVATE));
+        grammar.addRule(new Rule("main", new RuleSequence(new RuleComponent[] {
+                new RuleCount(new RuleSequence(new RuleComponent[] {new RuleToken("I would like")}), 0, 1),
+                new RuleToken("a"),
+                new RuleReference("size"),
+                new RuleCount(new RuleSequence(new RuleComponent[] {new RuleToken("very")}), 0,
+                        RuleCount.REPEAT_INDEFINITELY),
+                new RuleToken("hot"),
+                new RuleToken("pizza")
+        }), Rule.PUBLIC));
+        recognizer.processGrammars();
+
+        for (String text : new String[] {"a small hot pizza", "i would like a large very very hot pizza"}) {
+            RuleParse expected = RuleParser.parse(tokens(text), manager, "grammar:chart", "main");
+            RuleParse[] actual = RuleParser.mparse(tokens(text), manager, "grammar:chart", "main", 10);
+            assertNotNull(expected, text);
+            assertNotNull(actual, text);
+            assertEquals(1, actual.length, text);
+            assertEquals(expected.toString(), actual[0].toString(), text);
+            assertArrayEquals(expected.getTags(), actual[0].getTags(), text);
+        }
+        assertNull(RuleParser.mparse(tokens("a medium hot pizza"), manager, "grammar:chart", "main", 10));
+        assertNull(RuleParser.mparse(tokens("a small hot"), manager, "grammar:chart", "main", 10));
+    }
+
+    /**
+     * Test that all parses of an ambiguous grammar are found.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testAmbiguous() throws Exception {
+        // (a | a a)+
+        RuleComponent step = new RuleAlternatives(new RuleComponent[] {
+                new RuleSequence(new RuleComponent[] {new RuleToken("a")}),
+                new RuleSequence(new RuleComponent[] {new RuleToken("a"), new RuleToken("a")})
+        });
+        grammar.addRule(new Rule("main", new RuleCount(step, 1, RuleCount.REPEAT_INDEFINITELY), Rule.PUBLIC));
+        recognizer.processGrammars();
+
+        // 1+1+1+1, 1+1+2, 1+2+1, 2+1+1, 2+2
+        RuleParse[] parses = RuleParser.mparse(tokens("a a a a"), manager, "grammar:chart", "main", 100);
+        assertNotNull(parses);
+        assertEquals(5, parses.length);
+        Set<String> distinct = new HashSet<>();
+        Arrays.stream(parses).forEach(parse -> distinct.add(parse.toString()));
+        assertEquals(5, distinct.size());
+
+        parses = RuleParser.mparse(tokens("a a a a"), manager, "grammar:chart", "main", 2);
+        assertEquals(2, parses.length);
+        assertThrows(IllegalArgumentException.class,
+                () -> RuleParser.mparse(tokens("a"), manager, "grammar:chart", "main", 0));
+    }
+
+    /**
+     * Test a left and a right recursive rule.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testRecursion() throws Exception {
+        // left ::= left "a" | "b"
+        grammar.addRule(new Rule("left", new RuleAlternatives(new RuleComponent[] {
+                new RuleSequence(new RuleComponent[] {new RuleReference("left"), new RuleToken("a")}),
+                new RuleToken("b")
+        }), Rule.PUBLIC));
+        // right ::= "a" right | "a" "b"
+        grammar.addRule(new Rule("right", new RuleAlternatives(new RuleComponent[] {
+                new RuleSequence(new RuleComponent[] {new RuleToken("a"), new RuleReference("right")}),
+                new RuleSequence(new RuleComponent[] {new RuleToken("a"), new RuleToken("b")})
+        }), Rule.PUBLIC));
+        recognizer.processGrammars();
+
+        RuleParse[] parses = RuleParser.mparse(tokens("b a a a"), manager, "grammar:chart", "left", 10);
+        assertNotNull(parses);
+        assertEquals(1, parses.length);
+        // ((b) a) a) a
+        RuleComponent inner = parses[0];
+        for (int i = 0; i < 3; i++) {
+            RuleAlternatives alternatives = (RuleAlternatives) ((RuleParse) inner).getParse();
+            RuleComponent[] sequence = ((RuleSequence) alternatives.getRuleComponents()[0]).getRuleComponents();
+            assertEquals("a", ((RuleToken) sequence[1]).getText());
+            inner = sequence[0];
+        }
+        RuleAlternatives last = (RuleAlternatives) ((RuleParse) inner).getParse();
+        assertEquals("b", ((RuleToken) last.getRuleComponents()[0]).getText());
+        parses = RuleParser.mparse(tokens("a a a b"), manager, "grammar:chart", "right", 10);
+        assertNotNull(parses);
+        assertEquals(1, parses.length);
+        assertNull(RuleParser.mparse(tokens("a a a"), manager, "grammar:chart", "right", 10));
+    }
+
+    /**
+     * Test bounded repeats and the selection of the parser by the system
+     * property.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testBoundedRepeat() throws Exception {
+        RuleComponent digit = new RuleAlternatives(new String[] {"one", "two", "three"});
+        grammar.addRule(new Rule("main", new RuleCount(digit, 2, 4), Rule.PUBLIC));
+        recognizer.processGrammars();
+
+        String old = System.setProperty(RuleParser.RULE_PARSER, "chart");
+        try {
+            assertNull(grammar.parse("one", "main"));
+            RuleParse parse = grammar.parse("one two three", "main");
+            assertNotNull(parse);
+            RuleCount count = (RuleCount) parse.getParse();
+            assertEquals(3, count.getRepeatMin());
+            assertNotNull(grammar.parse("one two three one", "main"));
+            assertNull(grammar.parse("one two three one two", "main"));
+        } finally {
+            if (old == null) {
+                System.clearProperty(RuleParser.RULE_PARSER);
+            } else {
+                System.setProperty(RuleParser.RULE_PARSER, old);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Line;
+import javax.sound.sampled.TargetDataLine;
+import javax.speech.EngineStateException;
+import javax.speech.recognition.FinalResult;
+import javax.speech.recognition.ResultEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.mock.recognition.MockRecognizer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+
+/**
+ * Test cases for {@link BaseRecognizer#awaitFinalResult()}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class FinalResultFutureTest {
+
+    /** The test object. */
+    private BaseRecognizer recognizer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recognizer = new MockRecognizer();
+    }
+
+    /**
+     * Test that the future is completed by an accepted result only.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testAccepted() throws Exception {
+        CompletableFuture<FinalResult> future = recognizer.awaitFinalResult();
+        BaseResult result = new BaseResult();
+        recognizer.postResultEvent(new ResultEvent(result, ResultEvent.RESULT_CREATED));
+        recognizer.postResultEvent(new ResultEvent(result, ResultEvent.RESULT_UPDATED));
+        Thread.sleep(100);
+        assertFalse(future.isDone());
+        recognizer.postResultEvent(new ResultEvent(result, ResultEvent.RESULT_ACCEPTED));
+        assertSame(result, future.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Test that waiting futures fail on deallocation. Allocation needs a
+     * microphone, the test is skipped if there is no capture line.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testDeallocate() throws Exception {
+        assumeTrue(AudioSystem.isLineSupported(new Line.Info(TargetDataLine.class)), "no capture line");
+        recognizer.allocateAsync().get(5, TimeUnit.SECONDS);
+        CompletableFuture<FinalResult> future = recognizer.awaitFinalResult();
+        recognizer.deallocateAsync().get(5, TimeUnit.SECONDS);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EngineStateException.class, e.getCause());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import javax.speech.recognition.GrammarManager;
+import javax.speech.recognition.Rule;
+import javax.speech.recognition.RuleAlternatives;
+import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleGrammar;
+import javax.speech.recognition.RuleSequence;
+import javax.speech.recognition.RuleToken;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
+import org.jvoicexml.jsapi2.mock.recognition.MockRecognizer;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+
+/**
+ * Compares parsing with and without {@link FirstTokenIndex} on a large
+ * list of alternatives and on a grammar with many public rules.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@Tag("benchmark")
+@DisabledIfEnvironmentVariable(named = "GITHUB_WORKFLOW", matches = ".*")
+class FirstTokenIndexBenchmarkTest {
+
+    /** Number of parses per measurement. */
+    private static final int PARSES = 200;
+
+    /**
+     * Benchmark of <code>to ($city) please</code> with 50000 cities.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testLargeAlternatives() throws Exception {
+        RuleComponent[] cities = new RuleComponent[50_000];
+        for (int i = 0; i < cities.length; i++) {
+            cities[i] = new RuleToken("city" + i);
+        }
+        Rule rule = new Rule("main", new RuleSequence(new RuleComponent[] {
+                new RuleToken("to"),
+                new RuleAlternatives(cities),
+                new RuleToken("please")
+        }), Rule.PUBLIC);
+        run("50000 alternatives", new Rule[] {rule}, "main", "to city49999 please".split(" "));
+    }
+
+    /**
+     * Benchmark of a grammar with 5000 public rules.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testManyRules() throws Exception {
+        Rule[] rules = new Rule[5_000];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = new Rule("command" + i, new RuleSequence(new RuleComponent[] {
+                    new RuleToken("do" + i),
+                    new RuleToken("now")
+            }), Rule.PUBLIC);
+        }
+        run("5000 rules", rules, null, "do4999 now".split(" "));
+    }
+
+    /**
+     * Parses the input with both parsers, with and without the index.
+     *
+     * @param name     name of the grammar
+     * @param rules    the rules of the grammar
+     * @param ruleName the rule to parse, <code>null</code> for all
+     * @param input    the input tokens
+     * @throws Exception test failed
+     */
+    private static void run(String name, Rule[] rules, String ruleName, String[] input) throws Exception {
+        for (String enabled : new String[] {"false", "true"}) {
+            String old = System.setProperty(RuleParser.FIRST_TOKEN_INDEX, enabled);
+            try {
+                BaseRecognizer recognizer = new MockRecognizer();
+                GrammarManager manager = recognizer.getGrammarManager();
+                RuleGrammar grammar = manager.createRuleGrammar("grammar:benchmark", "main");
+                grammar.addRules(rules);
+                recognizer.processGrammars();
+
+                // the first parse builds the compiled rules
+                long start = System.nanoTime();
+                assertNotNull(RuleParser.mparse(input, manager, "grammar:benchmark", ruleName));
+                assertNotNull(RuleParser.mparse(input, manager, "grammar:benchmark", ruleName, 1));
+                long first = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < PARSES; i++) {
+                    RuleParser.mparse(input, manager, "grammar:benchmark", ruleName);
+                }
+                long backtracking = (System.nanoTime() - start) / PARSES;
+
+                start = System.nanoTime();
+                for (int i = 0; i < PARSES; i++) {
+                    RuleParser.mparse(input, manager, "grammar:benchmark", ruleName, 1);
+                }
+                long chart = (System.nanoTime() - start) / PARSES;
+
+Debug.printf("%s, index %s: first: %d ms, backtracking: %d us, chart: %d us", name, enabled, first / 1_000_000, backtracking / 1000, chart / 1000);
+            } finally {
+                if (old == null) {
+                    System.clearProperty(RuleParser.FIRST_TOKEN_INDEX);
+                } else {
+                    System.setProperty(RuleParser.FIRST_TOKEN_INDEX, old);
+                }
+            }
+        }
+    }
+}
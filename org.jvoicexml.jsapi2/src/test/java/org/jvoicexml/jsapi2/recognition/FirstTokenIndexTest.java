@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.util.List;
+import javax.speech.recognition.GrammarManager;
+import javax.speech.recognition.Rule;
+import javax.speech.recognition.RuleAlternatives;
+import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleCount;
+import javax.speech.recognition.RuleGrammar;
+import javax.speech.recognition.RuleParse;
+import javax.speech.recognition.RuleSequence;
+import javax.speech.recognition.RuleToken;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.mock.recognition.MockRecognizer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+
+/**
+ * Test cases for {@link FirstTokenIndex}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class FirstTokenIndexTest {
+
+    private BaseRecognizer recognizer;
+
+    private GrammarManager manager;
+
+    private RuleGrammar grammar;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        recognizer = new MockRecognizer();
+        manager = recognizer.getGrammarManager();
+        grammar = manager.createRuleGrammar("grammar:index", "main");
+    }
+
+    /**
+     * Test the lookup of candidates.
+     */
+    @Test
+    void testCandidates() {
+        FirstTokenIndex index = new FirstTokenIndex.Builder()
+                .add(10, List.of("a", "b"))
+                .addAlways(11)
+                .add(12, List.of("b"))
+                .addAlways(13)
+                .build();
+        assertArrayEquals(new int[] {10, 11, 13}, index.getCandidates("a"));
+        assertArrayEquals(new int[] {10, 11, 12, 13}, index.getCandidates("b"));
+        assertArrayEquals(new int[] {11, 13}, index.getCandidates("c"));
+        assertArrayEquals(new int[] {10, 11, 12, 13}, index.getCandidates("%"));
+        assertArrayEquals(new int[] {10, 11, 12, 13}, index.getAll());
+    }
+
+    /**
+     * Test that a large list of alternatives results in the same parses
+     * with and without the index.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testLargeAlternatives() throws Exception {
+        RuleComponent[] cities = new RuleComponent[40];
+        for (int i = 0; i < cities.length; i++) {
+            cities[i] = new RuleToken("city" + i + " center");
+        }
+        cities[7] = new RuleCount(new RuleSequence(new RuleComponent[] {new RuleToken("old")}), 0, 1);
+        grammar.addRule(new Rule("main", new RuleSequence(new RuleComponent[] {
+                new RuleToken("to"),
+                new RuleAlternatives(cities),
+                new RuleToken("please")
+        }), Rule.PUBLIC));
+
+        String[] texts = {"to city23 center please", "to old please", "to please",
+                "to city5 center city5 please", "to city40 center please",
+                "to city23 please"};
+        RuleParse[][] expected = new RuleParse[texts.length][];
+        String old = System.setProperty(RuleParser.FIRST_TOKEN_INDEX, "false");
+        try {
+            recognizer.processGrammars();
+            for (int i = 0; i < texts.length; i++) {
+                expected[i] = RuleParser.mparse(texts[i], manager, "grammar:index", "main");
+            }
+        } finally {
+            restore(old);
+        }
+        ((BaseRuleGrammar) grammar).invalidateCompiledGraphs();
+        for (int i = 0; i < texts.length; i++) {
+            RuleParse[] actual = RuleParser.mparse(texts[i], manager, "grammar:index", "main");
+            if (expected[i] == null) {
+                assertNull(actual, texts[i]);
+            } else {
+                assertNotNull(actual, texts[i]);
+                assertEquals(expected[i][0].toString(), actual[0].toString(), texts[i]);
+            }
+            RuleParse[] chart = RuleParser.mparse(ChartParserTest.tokens(texts[i]), manager, "grammar:index",
+                    "main", 1);
+            assertEquals(expected[i] == null, chart == null, texts[i]);
+        }
+        assertNotNull(RuleParser.mparse("to city23 center please", manager, "grammar:index", "main"));
+    }
+
+    /**
+     * Test that only the rules starting with the first token are parsed if
+     * there are many public rules.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testActivatableRules() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            grammar.addRule(new Rule("command" + i, new RuleSequence(new RuleComponent[] {
+                    new RuleToken("do" + i),
+                    new RuleToken("now")
+            }), Rule.PUBLIC));
+        }
+        grammar.addRule(new Rule("optional", new RuleCount(new RuleSequence(new RuleComponent[] {
+                new RuleToken("now")
+        }), 0, 1), Rule.PUBLIC));
+        grammar.addRule(new Rule("short", new RuleToken("do3"), Rule.PRIVATE));
+        recognizer.processGrammars();
+
+        BaseRuleGrammar base = (BaseRuleGrammar) grammar;
+        assertArrayEquals(new String[] {"command3", "optional", "short"},
+                sorted(base.getActivatableRules(manager, "do3")));
+        assertArrayEquals(new String[] {"optional"}, base.getActivatableRules(manager, "now"));
+        assertEquals(32, base.getActivatableRules(manager, null).length);
+
+        RuleParse[] parses = RuleParser.mparse("do3 now", manager, "grammar:index", null);
+        assertNotNull(parses);
+        assertEquals(1, parses.length);
+        assertEquals("command3", parses[0].getRuleReference().getRuleName());
+        parses = RuleParser.mparse(ChartParserTest.tokens("do3 now"), manager, "grammar:index", null, 1);
+        assertNotNull(parses);
+        assertEquals(1, parses.length);
+    }
+
+    private static String[] sorted(String[] names) {
+        String[] copy = names.clone();
+        java.util.Arrays.sort(copy);
+        return copy;
+    }
+
+    private static void restore(String old) {
+        if (old == null) {
+            System.clearProperty(RuleParser.FIRST_TOKEN_INDEX);
+        } else {
+            System.setProperty(RuleParser.FIRST_TOKEN_INDEX, old);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import java.io.Reader;
 import javax.speech.recognition.Grammar;
 import javax.speech.recognition.GrammarManager;
 import javax.speech.recognition.Rule;
+import javax.speech.recognition.RuleAlternatives;
 import javax.speech.recognition.RuleComponent;
+import javax.speech.recognition.RuleCount;
 import javax.speech.recognition.RuleGrammar;
 import javax.speech.recognition.RuleParse;
 import javax.speech.recognition.RuleSequence;
@@ -18,6 +20,9 @@ import org.jvoicexml.jsapi2.mock.recognition.MockRecognizer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 
 public class RuleParserTest {
@@ -62,4 +67,83 @@ public class RuleParserTest {
         assertEquals(1, tags.length);
         assertEquals("T", tags[0]);
     }
+
+    /**
+     * Test that the compiled graph is kept until a change is committed.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testCompiledGraphCache() throws Exception {
+        BaseRecognizer recognizer = new MockRecognizer();
+        GrammarManager manager = recognizer.getGrammarManager();
+        BaseRuleGrammar grammar =
+                (BaseRuleGrammar) manager.createRuleGrammar("grammar:cache", "greeting");
+        grammar.addRule(new Rule("greeting", new RuleToken("Good Morning"), Rule.PUBLIC));
+        recognizer.processGrammars();
+
+        CompiledGrammarGraph graph = grammar.getCompiledGraph(manager, "greeting");
+        assertNotNull(graph);
+        assertSame(graph, grammar.getCompiledGraph(manager, "greeting"));
+        assertNull(grammar.getCompiledGraph(manager, "nothing"));
+        RuleParse parse = RuleParser.parse("good morning", manager, "grammar:cache", "greeting");
+        assertNotNull(parse);
+        assertEquals("good morning", ((RuleToken) parse.getParse()).getText());
+        assertSame(graph, grammar.getCompiledGraph(manager, "greeting"));
+
+        grammar.addRule(new Rule("greeting", new RuleToken("hello"), Rule.PUBLIC));
+        recognizer.processGrammars();
+        assertNotSame(graph, grammar.getCompiledGraph(manager, "greeting"));
+        assertNull(RuleParser.parse("good morning", manager, "grammar:cache", "greeting"));
+        assertNotNull(RuleParser.parse("hello", manager, "grammar:cache", "greeting"));
+    }
+
+    /**
+     * Test that bounded repeats are counted while parsing instead of being
+     * unrolled into the graph.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testRuleCount() throws Exception {
+        BaseRecognizer recognizer = new MockRecognizer();
+        GrammarManager manager = recognizer.getGrammarManager();
+        BaseRuleGrammar grammar =
+                (BaseRuleGrammar) manager.createRuleGrammar("grammar:count", "digits");
+        RuleComponent digit = new RuleAlternatives(new String[] {"one", "two"});
+        grammar.addRule(new Rule("digits", new RuleSequence(new RuleComponent[] {
+                new RuleCount(new RuleSequence(new RuleComponent[] {digit}), 2, 4),
+                new RuleToken("end")
+        }), Rule.PUBLIC));
+        grammar.addRule(new Rule("many", new RuleCount(new RuleSequence(new RuleComponent[] {digit}), 0, 50),
+                Rule.PUBLIC));
+        grammar.addRule(new Rule("few", new RuleCount(new RuleSequence(new RuleComponent[] {digit}), 0, 2),
+                Rule.PUBLIC));
+        // ((one)<0-1>)* can repeat an empty match
+        grammar.addRule(new Rule("empty", new RuleSequence(new RuleComponent[] {
+                new RuleCount(new RuleSequence(new RuleComponent[] {
+                        new RuleCount(new RuleSequence(new RuleComponent[] {new RuleToken("one")}), 0, 1)
+                }), 0, RuleCount.REPEAT_INDEFINITELY),
+                new RuleToken("end")
+        }), Rule.PUBLIC));
+        recognizer.processGrammars();
+
+        assertNull(RuleParser.parse("one end", manager, "grammar:count", "digits"));
+        RuleParse parse = RuleParser.parse("one two one end", manager, "grammar:count", "digits");
+        assertNotNull(parse);
+        RuleCount count = (RuleCount) ((RuleSequence) parse.getParse()).getRuleComponents()[0];
+        assertEquals(3, count.getRepeatMin());
+        assertNotNull(RuleParser.parse("one two one two end", manager, "grammar:count", "digits"));
+        assertNull(RuleParser.parse("one two one two one end", manager, "grammar:count", "digits"));
+
+        assertNotNull(RuleParser.parse(String.join(" ", java.util.Collections.nCopies(50, "two")),
+                manager, "grammar:count", "many"));
+        assertNull(RuleParser.parse(String.join(" ", java.util.Collections.nCopies(51, "two")),
+                manager, "grammar:count", "many"));
+        assertEquals(grammar.getCompiledGraph(manager, "few").size(),
+                grammar.getCompiledGraph(manager, "many").size());
+
+        assertNotNull(RuleParser.parse("end", manager, "grammar:count", "empty"));
+        assertNotNull(RuleParser.parse("one one end", manager, "grammar:count", "empty"));
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.recognition;
+
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import javax.speech.recognition.Rule;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Compares load time, allocation and peak heap of the DOM based
+ * {@link SrgsRuleGrammarParser} and the {@link StaxSrgsRuleGrammarParser}
+ * on a generated grammar with many items.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@Tag("benchmark")
+@DisabledIfEnvironmentVariable(named = "GITHUB_WORKFLOW", matches = ".*")
+class SrgsRuleGrammarParserBenchmarkTest {
+
+    /** Number of items of the generated grammar. */
+    private static final int ITEMS = 100_000;
+
+    /**
+     * Generates a grammar with a list of cities with tags.
+     *
+     * @return the grammar
+     */
+    private static String grammar() {
+        StringBuilder grammar = new StringBuilder();
+        grammar.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        grammar.append("<grammar xmlns=\"http://www.w3.org/2001/06/grammar\" version=\"1.0\" root=\"main\">\n");
+        grammar.append("<rule id=\"main\" scope=\"public\">to <ruleref uri=\"#city\"/> please</rule>\n");
+        grammar.append("<rule id=\"city\"><one-of>\n");
+        for (int i = 0; i < ITEMS; i++) {
+            grammar.append("<item>city").append(i).append(" center<tag>out.city=\"c").append(i)
+                    .append("\";</tag></item>\n");
+        }
+        grammar.append("</one-of></rule>\n</grammar>\n");
+        return grammar.toString();
+    }
+
+    @Test
+    void testLoad() throws Exception {
+        String grammar = grammar();
+Debug.printf("grammar: %d items, %d kB", ITEMS, grammar.length() / 1024);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int round = 0; round < 3; round++) {
+            for (SrgsRuleGrammarParser parser : new SrgsRuleGrammarParser[] {
+                    new SrgsRuleGrammarParser(), new StaxSrgsRuleGrammarParser()}) {
+                System.gc();
+                long baseline = resetPeakHeap();
+                long allocated = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                Rule[] rules = parser.load(new StringReader(grammar));
+                long elapsed = System.nanoTime() - start;
+                allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+                long peak = peakHeap() - baseline;
+                assertEquals(2, rules.length);
+
+Debug.printf("%s: %d ms, allocated: %d MB, peak heap: +%d MB", parser.getClass().getSimpleName(), elapsed / 1_000_000, allocated >> 20, peak >> 20);
+            }
+        }
+    }
+
+    /**
+     * Resets the peak usage of the heap pools.
+     *
+     * @return the current heap usage
+     */
+    private static long resetPeakHeap() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * Retrieves the sum of the peak usages of the heap pools.
+     *
+     * @return the peak heap usage
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -27,11 +27,16 @@
 package org.jvoicexml.jsapi2.recognition;
 
 import java.io.InputStream;
+import java.io.StringReader;
+import java.util.Arrays;
 import javax.speech.recognition.Rule;
 
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 
 public class SrgsRuleGrammarParserTest {
@@ -44,4 +49,86 @@ public class SrgsRuleGrammarParserTest {
         Rule[] rules = parser.load(in);
         assertEquals(5, rules.length);
     }
+
+    @Test
+    void testLoadInputStreamStax() {
+        InputStream in = SrgsRuleGrammarParserTest.class
+                .getResourceAsStream("pizza-de.xml");
+        SrgsRuleGrammarParser parser = new StaxSrgsRuleGrammarParser();
+        Rule[] rules = parser.load(in);
+        assertEquals(5, rules.length);
+        assertEquals("order", parser.getAttributes().get("root"));
+        assertEquals("de", parser.getAttributes().get("xml:lang"));
+    }
+
+    /**
+     * Test that the StAX parser results in the same rules and attributes as
+     * the DOM parser.
+     */
+    @Test
+    void testSameAsDom() {
+        String grammar = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <grammar xmlns="http://www.w3.org/2001/06/grammar" version="1.0" root="main" mode="voice">
+                  <meta name="author" content="nobody"/>
+                  <rule id="main" scope="public">
+                    I would like
+                    <item repeat="0-1">a <ruleref uri="#size"/></item>
+                    <item repeat="2-">very</item>
+                    <item repeat="1-3" repeat-prob="0.5">hot <!-- split --> spicy</item>
+                    <item repeat="3">one</item>
+                    <item repeat="0-" repeat-prob="0.25">extra</item>
+                    <token>New   York</token>
+                    <ruleref uri="other#city"/>
+                    <ruleref uri="other#city" type="town"/>
+                    <ruleref uri="plain"/>
+                    <ruleref special="NULL"/>
+                    <ruleref special="GARBAGE"/>
+                    <example>an example</example>
+                    <tag>out.main = "x &amp; y";</tag>
+                    <tag><![CDATA[out.cdata = a < b;]]></tag>
+                  </rule>
+                  <rule id="size">
+                    <one-of>
+                      <item>small<tag>S</tag></item>
+                      <item weight="2">large<tag>L</tag></item>
+                      medium
+                    </one-of>
+                  </rule>
+                  <rule id="void"><ruleref special="VOID"/></rule>
+                  <rule id="empty"><!-- nothing --></rule>
+                  <unknown><rule id="nested">ignored</rule></unknown>
+                </grammar>
+                """;
+        SrgsRuleGrammarParser dom = new SrgsRuleGrammarParser();
+        Rule[] expected = dom.load(new StringReader(grammar.strip()));
+        SrgsRuleGrammarParser stax = new StaxSrgsRuleGrammarParser();
+        Rule[] actual = stax.load(new StringReader(grammar.strip()));
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(3, actual.length);
+        assertEquals(Arrays.toString(expected), Arrays.toString(actual));
+        assertEquals(dom.getAttributes(), stax.getAttributes());
+
+        String rule = "<rule id=\"r\" scope=\"public\"><one-of><item>a</item><item>b</item></one-of></rule>";
+        assertEquals(Arrays.toString(new SrgsRuleGrammarParser().loadRule(new StringReader(rule))),
+                Arrays.toString(new StaxSrgsRuleGrammarParser().loadRule(new StringReader(rule))));
+
+        assertNull(stax.load(new StringReader("<grammar><rule id=\"broken\">")));
+    }
+
+    @Test
+    void testNewInstance() {
+        assertInstanceOf(StaxSrgsRuleGrammarParser.class, SrgsRuleGrammarParser.newInstance());
+        String old = System.setProperty(SrgsRuleGrammarParser.SRGS_PARSER, "dom");
+        try {
+            assertEquals(SrgsRuleGrammarParser.class, SrgsRuleGrammarParser.newInstance().getClass());
+        } finally {
+            if (old == null) {
+                System.clearProperty(SrgsRuleGrammarParser.SRGS_PARSER);
+            } else {
+                System.setProperty(SrgsRuleGrammarParser.SRGS_PARSER, old);
+            }
+        }
+    }
 }
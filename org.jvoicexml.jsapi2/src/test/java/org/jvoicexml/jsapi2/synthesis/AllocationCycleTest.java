@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.speech.Engine;
+import javax.speech.synthesis.SpeakableEvent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
+import org.jvoicexml.jsapi2.EngineRuntime;
+import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Allocates, speaks with and deallocates one synthesizer over and over
+ * again and checks that no threads are leaked. Logging of the library is
+ * turned down meanwhile.
+ * <p>
+ * Run with <code>-Dcycles=n</code> to change the number of cycles.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@Tag("benchmark")
+@DisabledIfEnvironmentVariable(named = "GITHUB_WORKFLOW", matches = ".*")
+class AllocationCycleTest {
+
+    /** Number of cycles. */
+    private static final int CYCLES = Integer.getInteger("cycles", 10_000);
+
+    /** Threads that may be started or ended by others meanwhile. */
+    private static final int SLACK = 8;
+
+    /** The logger of the library, strongly referenced while turned down. */
+    private final Logger logger = Logger.getLogger("org.jvoicexml.jsapi2");
+
+    private Level level;
+
+    @BeforeEach
+    void setUp() {
+        level = logger.getLevel();
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.setLevel(level);
+    }
+
+    /**
+     * Waits until the number of live threads is at most the given one.
+     *
+     * @param bean  the thread bean
+     * @param limit the maximum number of threads
+     * @return the number of live threads
+     * @throws InterruptedException if the waiting was interrupted
+     */
+    private static int awaitThreads(ThreadMXBean bean, int limit) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        int count;
+        while ((count = bean.getThreadCount()) > limit && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return count;
+    }
+
+    /**
+     * Waits until the non daemon threads that are not in the given ones,
+     * i.e. the threads of the queues and the events, have ended. Daemon
+     * threads that the jdk starts on the first use of audio stay.
+     *
+     * @param before the threads before the allocation
+     * @return <code>true</code> if the threads have ended
+     * @throws InterruptedException if the waiting was interrupted
+     */
+    private static boolean awaitEngineThreads(Set<Thread> before) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(t -> !before.contains(t) && !t.isDaemon() && t.isAlive())) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * Test that repeated allocation cycles do not leak threads.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testCycles() throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        MockSynthesizer synthesizer = new MockSynthesizer();
+        EngineRuntime runtime = EngineRuntime.platform();
+        synthesizer.setSpeechEventExecutorFactory(runtime::newSpeechEventExecutor);
+
+        // the first cycle starts the threads of the jdk as well
+        int baseline = 0;
+        Set<Thread> before = Thread.getAllStackTraces().keySet();
+        for (int i = 0; i < CYCLES; i++) {
+            synthesizer.allocate();
+            assertTrue(synthesizer.testEngineState(Engine.ALLOCATED));
+            CountDownLatch spoken = new CountDownLatch(1);
+            synthesizer.speak("cycle " + i, e -> {
+                if (e.getId() == SpeakableEvent.SPEAKABLE_ENDED || e.getId() == SpeakableEvent.SPEAKABLE_FAILED) {
+                    spoken.countDown();
+                }
+            });
+            assertTrue(spoken.await(5, TimeUnit.SECONDS), "cycle " + i);
+            synthesizer.deallocate();
+            assertTrue(synthesizer.testEngineState(Engine.DEALLOCATED));
+
+            if (i == 0) {
+                assertTrue(awaitEngineThreads(before), "threads of the first cycle");
+                baseline = bean.getThreadCount();
+            } else if (i % 1000 == 0 || i == CYCLES - 1) {
+                int count = awaitThreads(bean, baseline + SLACK);
+                assertTrue(count <= baseline + SLACK, "threads: " + count + ", baseline: " + baseline);
+            }
+        }
+    }
+}
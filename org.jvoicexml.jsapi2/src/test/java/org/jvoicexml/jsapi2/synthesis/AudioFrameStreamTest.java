@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import javax.sound.sampled.AudioFormat;
+
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.OverflowPolicy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link AudioFrameStream}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class AudioFrameStreamTest {
+
+    /** 8kHz, 16 bit mono: 20ms are 320 bytes. */
+    private static final AudioFormat FORMAT = new AudioFormat(8000f, 16, 1, true, false);
+
+    /** A subscriber that takes everything and may keep the frames. */
+    private static final class Collector implements Flow.Subscriber<AudioFrame> {
+
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final List<AudioFrame> kept = new CopyOnWriteArrayList<>();
+        final boolean release;
+
+        Collector(boolean release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(AudioFrame frame) {
+            received.add(frame.getItemId() + ":" + frame.getSequence() + ":"
+                    + frame.getPosition(TimeUnit.MILLISECONDS) + ":" + frame.getData().remaining());
+            if (release) {
+                frame.release();
+            } else {
+                kept.add(frame);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    /**
+     * Test that the audio is cut into frames of the item.
+     */
+    @Test
+    void testFrames() {
+        AudioFrameStream stream = new AudioFrameStream(FORMAT, 20, TimeUnit.MILLISECONDS);
+        Collector collector = new Collector(true);
+        stream.frames(4, OverflowPolicy.BLOCK).subscribe(collector);
+        stream.startItem(7, FORMAT);
+        stream.write(new byte[256], 0, 256);
+        stream.write(new byte[256], 0, 256);
+        stream.write(new byte[256], 0, 256);
+        stream.endItem();
+        assertEquals(List.of("7:0:0:320", "7:1:20:320", "7:2:40:128"), collector.received);
+    }
+
+    /**
+     * Test that released frames are reused.
+     */
+    @Test
+    void testRecycle() {
+        AudioFrameStream stream = new AudioFrameStream(FORMAT, 20, TimeUnit.MILLISECONDS);
+        Collector first = new Collector(true);
+        Collector second = new Collector(false);
+        stream.frames(100, OverflowPolicy.BLOCK).subscribe(first);
+        stream.frames(100, OverflowPolicy.BLOCK).subscribe(second);
+        stream.startItem(1, FORMAT);
+        byte[] audio = new byte[320];
+        for (int i = 0; i < 10; i++) {
+            stream.write(audio, 0, audio.length);
+        }
+        // the second subscriber still holds all of them
+        assertEquals(10, stream.getCreatedCount());
+        second.kept.forEach(AudioFrame::release);
+        assertThrows(IllegalStateException.class, () -> second.kept.get(0).release());
+        second.kept.clear();
+        for (int i = 0; i < 10; i++) {
+            stream.write(audio, 0, audio.length);
+        }
+        assertEquals(20, first.received.size());
+        assertEquals(10, stream.getCreatedCount());
+    }
+
+    /**
+     * Test that a subscriber consuming the audio does not take it from the
+     * others.
+     */
+    @Test
+    void testData() {
+        AudioFrameStream stream = new AudioFrameStream(FORMAT, 20, TimeUnit.MILLISECONDS);
+        Collector collector = new Collector(false);
+        stream.frames(4, OverflowPolicy.BLOCK).subscribe(collector);
+        stream.startItem(1, FORMAT);
+        stream.write(new byte[320], 0, 320);
+        AudioFrame frame = collector.kept.get(0);
+        ByteBuffer data = frame.getData();
+        data.get(new byte[data.remaining()]);
+        assertEquals(0, data.remaining());
+        assertEquals(320, frame.getData().remaining());
+        assertTrue(frame.getData().isReadOnly());
+        frame.release();
+    }
+
+    /**
+     * Test that frames dropped for a slow subscriber are recycled.
+     */
+    @Test
+    void testDropOldest() {
+        AudioFrameStream stream = new AudioFrameStream(FORMAT, 20, TimeUnit.MILLISECONDS);
+        List<AudioFrame> received = new CopyOnWriteArrayList<>();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        stream.frames(2, OverflowPolicy.DROP_OLDEST).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(AudioFrame frame) {
+                received.add(frame);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        stream.startItem(1, FORMAT);
+        byte[] audio = new byte[320];
+        for (int i = 0; i < 100; i++) {
+            stream.write(audio, 0, audio.length);
+        }
+        // two buffered, the dropped ones are reused
+        assertEquals(3, stream.getCreatedCount());
+        subscription[0].request(2);
+        assertEquals(98, received.get(0).getSequence());
+        assertEquals(99, received.get(1).getSequence());
+        subscription[0].cancel();
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import javax.sound.sampled.AudioFormat;
+import javax.speech.synthesis.PhoneInfo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link DiskSynthesisCache}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class DiskSynthesisCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private static SynthesisCache.Key key(String text) {
+        return new SynthesisCache.Key("mock", null, text, false, null, 50, 10, 150, 100);
+    }
+
+    private static SynthesisCache.Entry entry(byte[] audio) {
+        return new SynthesisCache.Entry(audio, new AudioFormat(8000f, 16, 1, true, true),
+                new String[] {"hello", "world"}, new float[] {0.1f, 0.5f},
+                new PhoneInfo[] {new PhoneInfo("h", 20), new PhoneInfo("\u00e9", 30)});
+    }
+
+    /**
+     * Test that entries survive reopening the cache.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testReopen() throws Exception {
+        byte[] audio = {1, 2, 3, 4, 5, 6, 7, 8};
+        try (DiskSynthesisCache cache = new DiskSynthesisCache(dir)) {
+            assertTrue(cache.isWritable());
+            assertNull(cache.get(key("hello world")));
+            cache.put(key("hello world"), entry(audio));
+            // a second one is ignored
+            cache.put(key("hello world"), entry(new byte[2]));
+            assertEquals(1, cache.getEntryCount());
+        }
+
+        try (DiskSynthesisCache cache = new DiskSynthesisCache(dir)) {
+            assertEquals(1, cache.getEntryCount());
+            SynthesisCache.Entry entry = cache.get(key("hello world"));
+            assertNotNull(entry);
+            assertArrayEquals(audio, entry.openInputStream().readAllBytes());
+            assertEquals(new AudioFormat(8000f, 16, 1, true, true).toString(), entry.getAudioFormat().toString());
+            assertArrayEquals(new String[] {"hello", "world"}, entry.getWords());
+            assertArrayEquals(new float[] {0.1f, 0.5f}, entry.getWordsStartTimes());
+            assertEquals(2, entry.getPhonesInfo().length);
+            assertEquals("\u00e9", entry.getPhonesInfo()[1].getPhoneme());
+            assertEquals(30, entry.getPhonesInfo()[1].getDuration());
+            assertNull(cache.get(key("hello")));
+        }
+    }
+
+    /**
+     * Test that entries added by another instance are found.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testShared() throws Exception {
+        try (DiskSynthesisCache writer = new DiskSynthesisCache(dir);
+             DiskSynthesisCache reader = new DiskSynthesisCache(dir)) {
+            assertNull(reader.get(key("a")));
+            writer.put(key("a"), entry(new byte[] {1, 2}));
+            reader.put(key("b"), entry(new byte[] {3, 4}));
+            assertArrayEquals(new byte[] {1, 2}, reader.get(key("a")).openInputStream().readAllBytes());
+            assertArrayEquals(new byte[] {3, 4}, writer.get(key("b")).openInputStream().readAllBytes());
+        }
+        assertEquals(2 * (32 + 8 + 4), Files.size(dir.resolve(DiskSynthesisCache.INDEX_FILE)));
+    }
+
+    /**
+     * Test that caches of this process on the same directory do not drop
+     * entries while writing at once.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testConcurrentWriters() throws Exception {
+        int count = 50;
+        try (DiskSynthesisCache cache1 = new DiskSynthesisCache(dir);
+             DiskSynthesisCache cache2 = new DiskSynthesisCache(dir)) {
+            CountDownLatch start = new CountDownLatch(1);
+            Thread writer = new Thread(() -> {
+                try { start.await(); } catch (InterruptedException ignore) {}
+                for (int i = 0; i < count; i++) {
+                    cache2.put(key("b" + i), entry(new byte[] {2}));
+                }
+            });
+            writer.start();
+            start.countDown();
+            for (int i = 0; i < count; i++) {
+                cache1.put(key("a" + i), entry(new byte[] {1}));
+            }
+            writer.join();
+        }
+        try (DiskSynthesisCache cache = new DiskSynthesisCache(dir)) {
+            assertEquals(2 * count, cache.getEntryCount());
+        }
+    }
+
+    /**
+     * Test the disk cache as second level of the memory cache.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testSecondLevel() throws Exception {
+        try (DiskSynthesisCache disk = new DiskSynthesisCache(dir)) {
+            SynthesisCache cache = new SynthesisCache(0);
+            cache.setDiskCache(disk);
+            cache.put(key("a"), entry(new byte[] {1, 2}));
+            assertEquals(0, cache.getEntryCount());
+            assertNotNull(cache.get(key("a")));
+            assertNull(cache.get(key("b")));
+            assertEquals(1, cache.getHitCount());
+            assertEquals(1, cache.getMissCount());
+        }
+    }
+
+    /**
+     * Test that missing words, times and phones are kept.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testNoMetadata() throws Exception {
+        try (DiskSynthesisCache cache = new DiskSynthesisCache(dir)) {
+            cache.put(key("a"), new SynthesisCache.Entry(new byte[] {1, 2}, null,
+                    new String[] {"a", null}, null, null));
+        }
+        try (DiskSynthesisCache cache = new DiskSynthesisCache(dir)) {
+            SynthesisCache.Entry entry = cache.get(key("a"));
+            assertNotNull(entry);
+            assertNull(entry.getAudioFormat());
+            assertArrayEquals(new String[] {"a", null}, entry.getWords());
+            assertNull(entry.getWordsStartTimes());
+            assertNull(entry.getPhonesInfo());
+            assertArrayEquals(new byte[] {1, 2}, entry.openInputStream().readAllBytes());
+        }
+    }
+
+    /**
+     * Test that an entry is skipped while the index is locked within this
+     * process.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testLockedIndex() throws Exception {
+        try (DiskSynthesisCache cache = new DiskSynthesisCache(dir);
+             FileChannel index = FileChannel.open(dir.resolve(DiskSynthesisCache.INDEX_FILE), StandardOpenOption.WRITE);
+             FileLock lock = index.lock()) {
+            cache.put(key("a"), entry(new byte[] {1, 2}));
+            assertEquals(0, cache.getEntryCount());
+            assertTrue(lock.isValid());
+        }
+        try (DiskSynthesisCache cache = new DiskSynthesisCache(dir)) {
+            cache.put(key("a"), entry(new byte[] {1, 2}));
+            assertEquals(1, cache.getEntryCount());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfEnvironmentVariable;
+import org.jvoicexml.jsapi2.EngineRuntime;
+import org.jvoicexml.jsapi2.TerminatableSpeechEventExecutor;
+import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Load test of synthesizers on the different {@link EngineRuntime}s.
+ * <p>
+ * Checks the number of platform threads that are added for the engines.
+ * The loops of the shared runtime still have threads of each engine, only
+ * virtual threads avoid them. This requires Java 21.
+ * </p>
+ * <p>
+ * Run with <code>-Dengines=n</code> to change the number of synthesizers.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@Tag("benchmark")
+@DisabledIfEnvironmentVariable(named = "GITHUB_WORKFLOW", matches = ".*")
+class EngineRuntimeLoadTest {
+
+    /**
+     * Load test creating many synthesizers with their queues and event
+     * executors for each kind of runtime. Reports the number of threads,
+     * the heap and the CPU time spent on dispatching events.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testLoad() throws Exception {
+        int engines = Integer.getInteger("engines", 1000);
+        int events = 100;
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<EngineRuntime> runtimes = new ArrayList<>();
+        runtimes.add(EngineRuntime.platform());
+        runtimes.add(EngineRuntime.shared(processors));
+        if (EngineRuntime.isVirtualThreadSupported()) {
+            runtimes.add(EngineRuntime.virtual());
+        }
+        EngineRuntime original = EngineRuntime.getDefault();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        try {
+            for (EngineRuntime runtime : runtimes) {
+                EngineRuntime.setDefault(runtime);
+                System.gc();
+                int threadsBefore = threads.getThreadCount();
+                long heapBefore = usedHeap();
+
+                List<QueueManager> managers = new ArrayList<>();
+                List<TerminatableSpeechEventExecutor> executors = new ArrayList<>();
+                for (int i = 0; i < engines; i++) {
+                    MockSynthesizer synthesizer = new MockSynthesizer();
+                    managers.add(new QueueManager(synthesizer));
+                    executors.add(runtime.newSpeechEventExecutor());
+                }
+
+                Duration cpuBefore = cpuTime();
+                long start = System.nanoTime();
+                CountDownLatch cdl = new CountDownLatch(engines * events);
+                for (int j = 0; j < events; j++) {
+                    for (TerminatableSpeechEventExecutor executor : executors) {
+                        executor.execute(cdl::countDown);
+                    }
+                }
+                assertTrue(cdl.await(60, TimeUnit.SECONDS));
+                long elapsed = System.nanoTime() - start;
+                Duration cpu = cpuTime().minus(cpuBefore);
+                int threadsAfter = threads.getThreadCount();
+                long heapAfter = usedHeap();
+
+Debug.printf("%s: %d engines, threads: +%d, heap: +%d KiB, %d events: %d ms, cpu: %d ms",
+        runtime, engines, threadsAfter - threadsBefore, (heapAfter - heapBefore) / 1024,
+        engines * events, elapsed / 1_000_000, cpu.toMillis());
+
+                // the loops of an engine, the event thread of an engine, the shared pool
+                int loops = 2 * engines;
+                int added = threadsAfter - threadsBefore;
+                if (runtime.toString().contains("platform")) {
+                    assertTrue(added >= loops + engines, "threads of each engine: " + added);
+                } else if (runtime.toString().contains("shared")) {
+                    assertTrue(added <= loops + processors, "no event thread of each engine: " + added);
+                } else {
+                    assertTrue(added <= processors * 2, "no platform thread of each engine: " + added);
+                }
+
+                managers.forEach(QueueManager::terminate);
+                executors.forEach(TerminatableSpeechEventExecutor::terminate);
+            }
+        } finally {
+            EngineRuntime.setDefault(original);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static Duration cpuTime() {
+        return ProcessHandle.current().info().totalCpuDuration().orElse(Duration.ZERO);
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.speech.synthesis.SpeakableEvent;
+import javax.speech.synthesis.SynthesizerEvent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.SynchronousSpeechEventExecutor;
+import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
+import vavi.util.Debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Measures the bytes allocated by dispatching events. Logging of the
+ * library is turned down meanwhile, since tracing allocates.
+ * <p>
+ * Run with <code>-Devents=n</code> to change the number of events per
+ * measurement.
+ * </p>
+ * <p>
+ * The figures depend on the JIT, the garbage collector and whatever else
+ * runs in the same JVM, so they are reported rather than asserted. The
+ * bounds below only catch gross regressions, e.g. a listener array copied
+ * per event. Excluded from the default build, run with
+ * <code>mvn test -Dgroups=benchmark -DexcludedGroups=</code>.
+ * </p>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+@Tag("benchmark")
+class EventDispatchAllocationTest {
+
+    /** Number of events per measurement. */
+    private static final int EVENTS = Integer.getInteger("events", 200_000);
+
+    private MockSynthesizer synthesizer;
+
+    private int received;
+
+    /** The logger of the library, strongly referenced while turned down. */
+    private final Logger logger = Logger.getLogger("org.jvoicexml.jsapi2");
+
+    private Level level;
+
+    @BeforeEach
+    void setUp() {
+        level = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        synthesizer = new MockSynthesizer();
+        synthesizer.setSpeechEventExecutor(new SynchronousSpeechEventExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.setLevel(level);
+    }
+
+    /**
+     * Retrieves the bytes allocated by the current thread so far.
+     *
+     * @return allocated bytes
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Measures the bytes allocated by the given task per event.
+     *
+     * @param name name of the measurement
+     * @param task posts one event
+     * @return bytes per event
+     */
+    private static double measure(String name, Runnable task) {
+        // warm up the JIT
+        for (int i = 0; i < EVENTS; i++) {
+            task.run();
+        }
+        long before = allocatedBytes();
+        for (int i = 0; i < EVENTS; i++) {
+            task.run();
+        }
+        double perEvent = (allocatedBytes() - before) / (double) EVENTS;
+Debug.printf("%-24s %8.1f bytes/event", name, perEvent);
+        return perEvent;
+    }
+
+    /**
+     * Posts a synthesizer event, which is created by
+     * {@link BaseSynthesizer#postSynthesizerEvent(long, long, int, boolean)}.
+     */
+    private void postSynthesizerEvent() {
+        synthesizer.postSynthesizerEvent(0, 0, SynthesizerEvent.QUEUE_EMPTIED, false);
+    }
+
+    /**
+     * Measures the bytes of a synthesizer event.
+     *
+     * @return bytes per event
+     */
+    private double measureEvent() {
+        return measure("synthesizer event only", () -> {
+            SynthesizerEvent event = new SynthesizerEvent(synthesizer, SynthesizerEvent.QUEUE_EMPTIED,
+                    0, 0, null, false);
+            if (event.getId() != SynthesizerEvent.QUEUE_EMPTIED) {
+                received++;
+            }
+        });
+    }
+
+    /**
+     * Events filtered by the mask allocate no more than the event, which
+     * may even be eliminated by the JIT.
+     */
+    @Test
+    void testFiltered() {
+        SpeakableEvent speakableEvent = new SpeakableEvent(this, SpeakableEvent.WORD_STARTED, 1,
+                "word", 0, 4);
+
+        synthesizer.setEngineMask(0);
+        synthesizer.setSpeakableMask(0);
+        synthesizer.addSynthesizerListener(e -> received++);
+        synthesizer.addSpeakableListener(e -> received++);
+        measureEvent();
+        double masked = measure("masked synthesizer event", this::postSynthesizerEvent);
+        double maskedSpeakable = measure("masked speakable event",
+                () -> synthesizer.postSpeakableEvent(speakableEvent, null));
+        assertEquals(0, received);
+        // an event at most, far less than any listener array or trace message
+        assertTrue(masked < 128, "masked: " + masked);
+        assertTrue(maskedSpeakable < 128, "masked speakable: " + maskedSpeakable);
+    }
+
+    /**
+     * Delivered events allocate the runnable for the executor only, no
+     * matter how many listeners there are.
+     */
+    @Test
+    void testDelivered() {
+        SpeakableEvent speakableEvent = new SpeakableEvent(this, SpeakableEvent.WORD_STARTED, 1,
+                "word", 0, 4);
+        synthesizer.setEngineMask(SynthesizerEvent.DEFAULT_MASK);
+        synthesizer.setSpeakableMask(SpeakableEvent.DEFAULT_MASK | SpeakableEvent.WORD_STARTED);
+        for (int i = 0; i < 4; i++) {
+            synthesizer.addSynthesizerListener(e -> received++);
+            synthesizer.addSpeakableListener(e -> received++);
+        }
+        double event = measureEvent();
+        double delivered = measure("synthesizer event", this::postSynthesizerEvent) - event;
+        double deliveredSpeakable = measure("speakable event",
+                () -> synthesizer.postSpeakableEvent(speakableEvent, null));
+        // two kinds of events, warm up and measurement, four listeners each
+        assertEquals(2 * 2 * 4 * EVENTS, received);
+        // a runnable capturing a few references, not one per listener
+        assertTrue(delivered < 128, "delivered: " + delivered);
+        assertTrue(deliveredSpeakable < 128, "delivered speakable: " + deliveredSpeakable);
+    }
+}
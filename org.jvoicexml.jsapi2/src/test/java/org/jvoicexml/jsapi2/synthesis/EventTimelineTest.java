@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.speech.synthesis.PhoneInfo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link EventTimeline}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class EventTimelineTest {
+
+    /** Records the marks as strings. */
+    private static class Recorder implements EventTimeline.Listener {
+        final List<String> marks = new ArrayList<>();
+
+        @Override
+        public void wordStarted(String word, int start) {
+            marks.add(word + "@" + start);
+        }
+
+        @Override
+        public void phonemeStarted(PhoneInfo[] phones, int index, String word) {
+            marks.add(phones[index].getPhoneme() + "/" + word);
+        }
+    }
+
+    /**
+     * Test that marks are reported by frame position.
+     */
+    @Test
+    void testAdvance() {
+        // 1000 frames per second, so one frame per millisecond
+        EventTimeline timeline = new EventTimeline(new String[] {"hello", "world"},
+                new float[] {0.0f, 0.5f},
+                new PhoneInfo[] {new PhoneInfo("h", 100), new PhoneInfo("o", 400), new PhoneInfo("w", 300)},
+                1000f);
+        Recorder recorder = new Recorder();
+
+        timeline.advance(0, recorder);
+        assertEquals(List.of("hello@0", "h/hello"), recorder.marks);
+        assertEquals(100, timeline.getNextFrame());
+
+        timeline.advance(99, recorder);
+        assertEquals(2, recorder.marks.size());
+
+        timeline.advance(510, recorder);
+        assertEquals(List.of("hello@0", "h/hello", "o/hello", "world@6", "w/world"), recorder.marks);
+        assertFalse(timeline.hasPending());
+        assertEquals(5, timeline.getReportedCount());
+        assertEquals(410f, timeline.getMaxError(), 0.001f);
+        assertEquals((0 + 0 + 410 + 10 + 10) / 5f, timeline.getMeanError(), 0.001f);
+    }
+
+    /**
+     * Test that phonemes wait for the first word.
+     */
+    @Test
+    void testPhonemesWithoutWords() {
+        EventTimeline timeline = new EventTimeline(new String[] {"late"}, new float[] {0.2f},
+                new PhoneInfo[] {new PhoneInfo("l", 100)}, 8000f);
+        Recorder recorder = new Recorder();
+        assertTrue(timeline.hasPending());
+        assertEquals(1600, timeline.getNextFrame());
+        timeline.advance(1599, recorder);
+        assertTrue(recorder.marks.isEmpty());
+        timeline.advance(1600, recorder);
+        assertEquals(List.of("late@0", "l/late"), recorder.marks);
+
+        timeline = new EventTimeline(new String[0], new float[0],
+                new PhoneInfo[] {new PhoneInfo("l", 100)}, 8000f);
+        assertFalse(timeline.hasPending());
+        assertEquals(Long.MAX_VALUE, timeline.getNextFrame());
+    }
+}
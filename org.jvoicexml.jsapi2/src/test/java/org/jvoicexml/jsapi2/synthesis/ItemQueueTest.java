@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.speech.AudioSegment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link ItemQueue}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class ItemQueueTest {
+
+    private static QueueItem item(int id) {
+        return new QueueItem(id, new AudioSegment("http://localhost", "test" + id), null);
+    }
+
+    /**
+     * Test that items can be removed from the middle keeping the order.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testRemoveFromMiddle() throws Exception {
+        ItemQueue queue = new ItemQueue();
+        QueueItem item1 = item(1);
+        QueueItem item2 = item(2);
+        QueueItem item3 = item(3);
+        assertTrue(queue.offer(item1));
+        assertTrue(queue.offer(item2));
+        assertTrue(queue.offer(item3));
+        assertFalse(queue.offer(item(2)), "duplicate id");
+
+        assertSame(item2, queue.get(2));
+        assertSame(item2, queue.remove(2));
+        assertNull(queue.get(2));
+        assertNull(queue.remove(2));
+        assertFalse(queue.remove(item(3)), "other item with the same id");
+        assertEquals(List.of(item1, item3), queue.toList());
+        assertEquals(2, queue.size());
+
+        assertSame(item1, queue.take());
+        assertTrue(queue.remove(item3));
+        assertTrue(queue.isEmpty());
+        assertNull(queue.get(1));
+    }
+
+    /**
+     * Test that taking waits for an item.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testTake() throws Exception {
+        ItemQueue queue = new ItemQueue();
+        CompletableFuture<QueueItem> taken = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        assertFalse(taken.isDone());
+        QueueItem item = item(1);
+        queue.offer(item);
+        assertSame(item, taken.get(5, TimeUnit.SECONDS));
+        assertTrue(queue.isEmpty());
+    }
+}
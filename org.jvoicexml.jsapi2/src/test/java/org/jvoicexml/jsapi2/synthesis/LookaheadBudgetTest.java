@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.speech.AudioSegment;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link LookaheadBudget}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class LookaheadBudgetTest {
+
+    private static QueueItem createItem(int id) {
+        return new QueueItem(id, new AudioSegment("http://localhost", "test" + id), null);
+    }
+
+    /**
+     * Starts a thread that acquires the budget for the given item.
+     *
+     * @param budget the budget
+     * @param item   the item
+     * @return counted down once the budget has been acquired
+     */
+    private static CountDownLatch acquire(LookaheadBudget budget, QueueItem item) {
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                budget.acquire(item);
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return acquired;
+    }
+
+    /**
+     * Test that the number of items ahead is limited.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testItems() throws Exception {
+        LookaheadBudget budget = new LookaheadBudget(2, 0);
+        QueueItem item1 = createItem(1);
+        QueueItem item2 = createItem(2);
+        QueueItem item3 = createItem(3);
+        budget.acquire(item1);
+        budget.acquire(item2);
+        CountDownLatch acquired = acquire(budget, item3);
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+
+        // a canceled item frees its place
+        budget.cancel(item2);
+        assertTrue(acquired.await(1, TimeUnit.SECONDS));
+        assertEquals(2, budget.getAheadCount());
+
+        // a handed over item keeps it until it is played back
+        budget.handedOver(item1, 0);
+        budget.cancel(item1);
+        assertEquals(2, budget.getAheadCount());
+        budget.started(item1);
+        assertEquals(1, budget.getAheadCount());
+    }
+
+    /**
+     * Test that the backlog of audio is limited.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testBytes() throws Exception {
+        LookaheadBudget budget = new LookaheadBudget(0, 1000);
+        QueueItem item1 = createItem(1);
+        QueueItem item2 = createItem(2);
+        // a single item may exceed the budget
+        budget.acquire(item1);
+        budget.handedOver(item1, 1500);
+        assertEquals(1500, budget.getBacklogBytes());
+        CountDownLatch acquired = acquire(budget, item2);
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+
+        budget.started(item1);
+        InputStream in = budget.track(item1, new ByteArrayInputStream(new byte[1500]));
+        assertEquals(400, in.read(new byte[400]));
+        assertEquals(1100, budget.getBacklogBytes());
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(200, in.skip(200));
+        assertTrue(acquired.await(1, TimeUnit.SECONDS));
+        assertEquals(900, budget.getBacklogBytes());
+
+        budget.release(item1);
+        assertEquals(0, budget.getBacklogBytes());
+        // bytes of released items are not counted any more
+        in.readAllBytes();
+        assertEquals(0, budget.getBacklogBytes());
+    }
+
+    /**
+     * Test that closing releases waiting workers.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testClose() throws Exception {
+        LookaheadBudget budget = new LookaheadBudget(1, 0);
+        budget.acquire(createItem(1));
+        CountDownLatch acquired = acquire(budget, createItem(2));
+        assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+        budget.close();
+        assertTrue(acquired.await(1, TimeUnit.SECONDS));
+    }
+}
@@ -4,18 +4,31 @@
 
 package org.jvoicexml.jsapi2.synthesis;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sound.sampled.AudioFormat;
 import javax.speech.AudioSegment;
+import javax.speech.EngineProperties;
+import javax.speech.synthesis.PhoneInfo;
 import javax.speech.synthesis.SpeakableEvent;
+import javax.speech.synthesis.SynthesizerEvent;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.BaseAudioManager;
+import org.jvoicexml.jsapi2.StreamingAudioSegment;
 import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
 import vavi.util.Debug;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -145,14 +158,15 @@ Debug.println("eventId: " + Integer.toHexString(e.getId()));
         assertNull(queue.getQueueItem(item1.getId()), "already out of queue, now playing");
         assertEquals(item2, queue.getQueueItem(item2.getId()), "1st is playing, so in queue");
         queue.cancelItem(item2.getId());
-        cdl.countDown();
         if (cdl2.getCount() != 0) {
 Debug.println("testCancelItem::cdl2 start waiting");
             cdl2.await();
         } else {
 Debug.println("testCancelItem::cdl2 countdown is faster");
         }
+        // the 1st is still playing, it ends without an event once released
         queue.cancelItemAtTopOfQueue();
+        cdl.countDown();
         if (cdl1.getCount() != 0) {
 Debug.println("testCancelItem::cdl1 start waiting");
             cdl1.await();
@@ -162,4 +176,234 @@ Debug.println("testCancelItem::cdl1 countdown is faster");
         assertTrue(queue.isQueueEmpty(), "cancelled all");
 Debug.println("testCancelItem::done");
     }
+
+    /**
+     * Test that an item of higher priority interrupts the current item.
+     */
+    @Test
+    void testBargeInInterrupt() throws Exception {
+        synthesizer.setBargeInPolicy(BargeInPolicy.INTERRUPT);
+        synthesizer.setEngineMask(synthesizer.getEngineMask() | SynthesizerEvent.QUEUE_UPDATED);
+        CountDownLatch updated = new CountDownLatch(1);
+        synthesizer.addSynthesizerListener(e -> {
+            if (e.getId() == SynthesizerEvent.QUEUE_UPDATED) {
+                updated.countDown();
+            }
+        });
+        CountDownLatch cdl0 = new CountDownLatch(1);
+        CountDownLatch cdl = new CountDownLatch(1);
+        AudioSegment segment1 = new AudioSegment("http://localhost", "test") {
+            @Override
+            public InputStream openInputStream() throws IOException, SecurityException {
+                cdl0.countDown();
+                try { cdl.await(); } catch (InterruptedException ignore) {}
+                return super.openInputStream();
+            }
+        };
+        QueueItem item1 = new QueueItem(1, segment1, null);
+        item1.setPriority(EngineProperties.MIN_PRIORITY);
+        QueueItem item2 = new QueueItem(2, new AudioSegment("http://foreignhost", "test2"), null);
+        item2.setPriority(EngineProperties.MAX_PRIORITY);
+        CountDownLatch cdl1 = new CountDownLatch(1);
+        CountDownLatch cdl2 = new CountDownLatch(1);
+        AtomicInteger cancelled = new AtomicInteger();
+        synthesizer.addSpeakableListener(e -> {
+            if (e.getId() == SpeakableEvent.SPEAKABLE_CANCELLED) {
+                cancelled.incrementAndGet();
+            }
+            if (e.getRequestId() == item1.getId() && e.getId() == SpeakableEvent.SPEAKABLE_CANCELLED) {
+                cdl1.countDown();
+            } else if (e.getRequestId() == item2.getId() && e.getId() == SpeakableEvent.SPEAKABLE_STARTED) {
+                cdl2.countDown();
+            }
+        });
+        item1.setSynthesized(true);
+        queue.addQueueItem(item1);
+        cdl0.await();
+        item2.setSynthesized(true);
+        queue.addQueueItem(item2);
+        cdl1.await();
+        assertEquals(1, synthesizer.getCancelCount());
+        cdl.countDown();
+        cdl2.await();
+        // the queue events are posted for the interrupted item as well
+        assertTrue(updated.await(1, TimeUnit.SECONDS));
+        // the cancellation is reported once and does not hit the urgent item
+        assertEquals(1, cancelled.get());
+    }
+
+    /**
+     * Test method for {@link PlayQueue#attenuate(byte[], int, AudioFormat)}.
+     */
+    @Test
+    void testAttenuate() {
+        byte[] buffer = {0x40, 0x00, (byte) 0xc0, 0x00, 0x7f};
+        PlayQueue.attenuate(buffer, 4, new AudioFormat(8000f, 16, 1, true, true));
+        assertArrayEquals(new byte[] {0x10, 0x00, (byte) 0xf0, 0x00, 0x7f}, buffer);
+        buffer = new byte[] {0x00, 0x40};
+        PlayQueue.attenuate(buffer, 2, new AudioFormat(8000f, 16, 1, true, false));
+        assertArrayEquals(new byte[] {0x00, 0x10}, buffer);
+        buffer = new byte[] {0x40};
+        PlayQueue.attenuate(buffer, 1, new AudioFormat(AudioFormat.Encoding.ULAW, 8000f, 8, 1, 1, 8000f, false));
+        assertArrayEquals(new byte[] {0x40}, buffer, "not pcm");
+    }
+
+    /**
+     * Test that the timing is posted at once to a timeline listener.
+     */
+    @Test
+    void testTimeline() throws Exception {
+        CountDownLatch cdl = new CountDownLatch(1);
+        SpeakableTimeline[] received = new SpeakableTimeline[1];
+        SpeakableTimelineListener listener = new SpeakableTimelineListener() {
+            @Override
+            public void timelineUpdate(SpeakableTimeline timeline) {
+                received[0] = timeline;
+                cdl.countDown();
+            }
+
+            @Override
+            public void speakableUpdate(SpeakableEvent e) {
+                assertFalse(e.getId() == SpeakableEvent.WORD_STARTED || e.getId() == SpeakableEvent.PHONEME_STARTED);
+            }
+        };
+        assertFalse(synthesizer.isTimelineWanted(null));
+        assertTrue(synthesizer.isTimelineWanted(listener));
+        synthesizer.setSpeakableMask(SpeakableEvent.DEFAULT_MASK | SpeakableEvent.PHONEME_STARTED);
+        assertFalse(synthesizer.isMarkEventWanted(SpeakableEvent.PHONEME_STARTED, listener));
+        assertTrue(synthesizer.isMarkEventWanted(SpeakableEvent.PHONEME_STARTED, e -> {}));
+
+        QueueItem item = new QueueItem(1, new AudioSegment("http://localhost", "hello world"), listener);
+        item.setWords(new String[] {"hello", "world"});
+        item.setWordsStartTimes(new float[] {0.0f, 0.4f});
+        item.setPhonesInfo(new PhoneInfo[] {new PhoneInfo("h", 80), new PhoneInfo("e", 120)});
+        item.setSynthesized(true);
+        queue.addQueueItem(item);
+        cdl.await();
+
+        SpeakableTimeline timeline = received[0];
+        assertEquals(1, timeline.getRequestId());
+        assertArrayEquals(new String[] {"hello", "world"}, timeline.getWords());
+        assertArrayEquals(new int[] {0, 6}, timeline.getWordOffsets());
+        assertArrayEquals(new int[] {0, 400}, timeline.getWordStartTimes());
+        assertArrayEquals(new String[] {"h", "e"}, timeline.getPhonemes());
+        assertArrayEquals(new int[] {0, 80}, timeline.getPhonemeStartTimes());
+        assertArrayEquals(new int[] {80, 120}, timeline.getPhonemeDurations());
+    }
+
+    /**
+     * Test that all audio of a segment that is still being streamed is
+     * played back.
+     */
+    @Test
+    void testStreamingAudioSegment() throws Exception {
+        BaseAudioManager manager = (BaseAudioManager) synthesizer.getAudioManager();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        manager.setMediaLocator("stream://test", out);
+        StreamingAudioSegment segment = new StreamingAudioSegment("stream://test", "streamed",
+                manager.getTargetAudioFormat());
+        QueueItem item = new QueueItem(1, segment, null);
+        CountDownLatch ended = new CountDownLatch(1);
+        synthesizer.addSpeakableListener(e -> {
+            if (e.getRequestId() == item.getId() && e.getId() == SpeakableEvent.SPEAKABLE_ENDED) {
+                ended.countDown();
+            }
+        });
+        item.setSynthesized(true);
+        queue.addQueueItem(item);
+        byte[] chunk = new byte[1024];
+        for (int i = 0; i < 5; i++) {
+            segment.write(chunk, 0, chunk.length);
+        }
+        segment.close();
+        ended.await();
+        assertEquals(5 * chunk.length, out.size());
+    }
+
+    /**
+     * Test that canceling a queued item whose audio is still being streamed
+     * unblocks the writer of the full segment.
+     */
+    @Test
+    void testCancelQueuedStreamingItem() throws Exception {
+        CountDownLatch opened = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AudioSegment segment1 = new AudioSegment("http://localhost", "test") {
+            @Override
+            public InputStream openInputStream() throws IOException, SecurityException {
+                opened.countDown();
+                try { release.await(); } catch (InterruptedException ignore) {}
+                return super.openInputStream();
+            }
+        };
+        QueueItem item1 = new QueueItem(1, segment1, null);
+        item1.setSynthesized(true);
+        queue.addQueueItem(item1);
+        opened.await();
+
+        StreamingAudioSegment segment2 = new StreamingAudioSegment("stream://test", "streamed", null, 1);
+        QueueItem item2 = new QueueItem(2, segment2, null);
+        queue.addQueueItem(item2);
+        AtomicReference<IOException> error = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            byte[] chunk = new byte[16];
+            try {
+                while (true) {
+                    segment2.write(chunk, 0, chunk.length);
+                }
+            } catch (IOException e) {
+                error.set(e);
+            }
+        });
+        writer.start();
+        while (writer.getState() != Thread.State.WAITING) Thread.yield();
+
+        assertTrue(queue.cancelItem(item2.getId()));
+        writer.join(5000);
+        assertFalse(writer.isAlive(), "writer unblocked");
+        assertTrue(segment2.isCancelled());
+        assertNotNull(error.get());
+
+        queue.cancelItemAtTopOfQueue();
+        release.countDown();
+    }
+
+    /**
+     * Test that the timing of a streamed item that arrives after the item
+     * has been taken for playback is posted.
+     */
+    @Test
+    void testLateTiming() throws Exception {
+        BaseAudioManager manager = (BaseAudioManager) synthesizer.getAudioManager();
+        manager.setMediaLocator("stream://test", new ByteArrayOutputStream());
+        StreamingAudioSegment segment = new StreamingAudioSegment("stream://test", "hello world",
+                manager.getTargetAudioFormat());
+        SpeakableTimeline[] received = new SpeakableTimeline[1];
+        CountDownLatch ended = new CountDownLatch(1);
+        SpeakableTimelineListener listener = new SpeakableTimelineListener() {
+            @Override
+            public void timelineUpdate(SpeakableTimeline timeline) {
+                received[0] = timeline;
+            }
+
+            @Override
+            public void speakableUpdate(SpeakableEvent e) {
+                if (e.getId() == SpeakableEvent.SPEAKABLE_ENDED) {
+                    ended.countDown();
+                }
+            }
+        };
+        QueueItem item = new QueueItem(1, segment, listener);
+        item.setSynthesized(true);
+        queue.addQueueItem(item);
+        while (!queue.isPlaying()) Thread.yield();
+        assertNull(queue.getQueueItem(item.getId()), "already out of queue, now playing");
+        queue.setWords(item.getId(), new String[] {"hello", "world"});
+        queue.setWordsStartTimes(item.getId(), new float[] {0.0f, 0.4f});
+        byte[] chunk = new byte[1024];
+        segment.write(chunk, 0, chunk.length);
+        segment.close();
+        assertTrue(ended.await(5, TimeUnit.SECONDS));
+        assertArrayEquals(new String[] {"hello", "world"}, received[0].getWords());
+    }
 }
@@ -26,19 +26,31 @@
 
 package org.jvoicexml.jsapi2.synthesis;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.speech.AudioSegment;
+import javax.speech.EngineProperties;
 import javax.speech.synthesis.SpeakableEvent;
+import javax.speech.synthesis.SynthesizerEvent;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.EventLane;
+import org.jvoicexml.jsapi2.LaneSpeechEventExecutor;
+import org.jvoicexml.jsapi2.OverflowPolicy;
+import org.jvoicexml.jsapi2.SynchronousSpeechEventExecutor;
 import org.jvoicexml.jsapi2.mock.synthesis.MockSpeakableListener;
 import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
 import vavi.util.Debug;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 /**
@@ -66,7 +78,7 @@ public final class QueueManagerTest {
      */
     @Test
     void testAppendItemSpeakableSpeakableListener() throws Exception {
-        QueueManager manager = synthesizer.getQueueManager();
+        QueueManager manager = new QueueManager(synthesizer);
         AudioSegment segment = new AudioSegment("http://nowhere", "test");
         MockSpeakableListener listener = new MockSpeakableListener();
         CountDownLatch cdl = new CountDownLatch(1);
@@ -92,6 +104,127 @@ Debug.println("item done");
         assertEquals(segment.getMarkupText(), ended.getSource());
     }
 
+    /**
+     * Test method for {@link QueueManager#QueueManager(BaseSynthesizer, int)}.
+     * Items are synthesized in parallel but played back in queue order.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testParallelSynthesis() throws Exception {
+        synthesizer.setSpeechEventExecutor(new SynchronousSpeechEventExecutor());
+        QueueManager manager = new QueueManager(synthesizer, 4);
+        int size = 8;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        // later items are synthesized faster than earlier ones
+        synthesizer.setSpeakHandler(id -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try { Thread.sleep((size - id % size) * 20L); } catch (InterruptedException ignore) {}
+            running.decrementAndGet();
+        });
+        List<Integer> started = new ArrayList<>();
+        CountDownLatch cdl = new CountDownLatch(size);
+        synthesizer.addSpeakableListener(e -> {
+            if (e.getId() == SpeakableEvent.SPEAKABLE_STARTED) {
+                synchronized (started) {
+                    started.add(e.getRequestId());
+                }
+                cdl.countDown();
+            }
+        });
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            ids.add(manager.appendItem(new AudioSegment("http://nowhere", "test" + i), null));
+        }
+        cdl.await();
+Debug.println("max parallel synthesis: " + maxRunning.get());
+        assertTrue(maxRunning.get() > 1, "synthesized in parallel");
+        assertEquals(ids, started, "played back in queue order");
+        manager.terminate();
+    }
+
+    /**
+     * Test that items of higher priority overtake the items queued before.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testPriority() throws Exception {
+        synthesizer.setSpeechEventExecutor(new SynchronousSpeechEventExecutor());
+        QueueManager manager = new QueueManager(synthesizer, 1);
+        CountDownLatch cdl = new CountDownLatch(1);
+        // hold the first item in synthesis
+        synthesizer.setSpeakHandler(id -> {
+            if (id == 1) {
+                try { cdl.await(); } catch (InterruptedException ignore) {}
+            }
+        });
+        List<Integer> started = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(4);
+        synthesizer.addSpeakableListener(e -> {
+            if (e.getId() == SpeakableEvent.SPEAKABLE_STARTED) {
+                synchronized (started) {
+                    started.add(e.getRequestId());
+                }
+                done.countDown();
+            }
+        });
+        int first = manager.appendItem(new AudioSegment("http://nowhere", "first"), null);
+        while (manager.getQueueItem() == null) Thread.yield();
+        int second = manager.appendItem(new AudioSegment("http://nowhere", "second"), null);
+        int third = manager.appendItem(new AudioSegment("http://nowhere", "third"), null);
+        synthesizer.getSynthesizerProperties().setPriority(EngineProperties.MAX_PRIORITY);
+        int urgent = manager.appendItem(new AudioSegment("http://nowhere", "urgent"), null);
+        synthesizer.getSynthesizerProperties().setPriority(EngineProperties.NORM_TRUSTED_PRIORITY);
+        cdl.countDown();
+        done.await();
+        // the first one may still be waiting in the play queue when the urgent one arrives
+        started.remove(Integer.valueOf(first));
+        assertEquals(List.of(urgent, second, third), started);
+        manager.terminate();
+    }
+
+    /**
+     * Test that a storm of {@link SynthesizerEvent#QUEUE_UPDATED} events is
+     * coalesced in a full engine lane, since the latest queue state
+     * supersedes the earlier ones.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testQueueUpdatedCoalesced() throws Exception {
+        LaneSpeechEventExecutor executor = new LaneSpeechEventExecutor(2, OverflowPolicy.COALESCE);
+        synthesizer.setSpeechEventExecutor(executor);
+        synthesizer.setEngineMask(synthesizer.getEngineMask() | SynthesizerEvent.QUEUE_UPDATED);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<SynthesizerEvent> events = new CopyOnWriteArrayList<>();
+        synthesizer.addSynthesizerListener(e -> {
+            blocked.countDown();
+            try { release.await(); } catch (InterruptedException ignore) {}
+            events.add(e);
+        });
+        long state = synthesizer.getEngineState();
+        synthesizer.postSynthesizerEvent(state, state, SynthesizerEvent.QUEUE_UPDATED, true);
+        assertTrue(blocked.await(1, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            synthesizer.postSynthesizerEvent(state, state, SynthesizerEvent.QUEUE_UPDATED, false);
+        }
+        assertEquals(2, executor.getPendingCount(EventLane.ENGINE));
+        assertEquals(98, executor.getDroppedCount(EventLane.ENGINE));
+        // a change of the top of the queue must not get lost
+        synthesizer.postSynthesizerEvent(state, state, SynthesizerEvent.QUEUE_EMPTIED, true);
+        assertEquals(3, executor.getPendingCount(EventLane.ENGINE));
+        release.countDown();
+        while (events.size() < 4) Thread.yield();
+        assertTrue(events.get(0).isTopOfQueueChanged());
+        assertEquals(SynthesizerEvent.QUEUE_UPDATED, events.get(1).getId());
+        assertEquals(SynthesizerEvent.QUEUE_UPDATED, events.get(2).getId());
+        assertEquals(SynthesizerEvent.QUEUE_EMPTIED, events.get(3).getId());
+        executor.terminate();
+    }
+
     @AfterAll
     static void teardown() {
 //        Thread.getAllStackTraces().forEach((k, v) -> {
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.speech.Engine;
+import javax.speech.EngineStateException;
+import javax.speech.synthesis.SpeakableEvent;
+import javax.speech.synthesis.SpeakableException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvoicexml.jsapi2.BaseAudioManager;
+import org.jvoicexml.jsapi2.StreamingAudioSegment;
+import org.jvoicexml.jsapi2.mock.synthesis.MockSynthesizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for the asynchronous methods of {@link BaseSynthesizer}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class SpeakAsyncTest {
+
+    /** Audio of a segment. */
+    private static final byte[] CHUNK = new byte[1024];
+
+    /** The test object. */
+    private MockSynthesizer synthesizer;
+
+    /** Released to let the synthesis go on. */
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        synthesizer = new MockSynthesizer();
+        synthesizer.allocateAsync().get(5, TimeUnit.SECONDS);
+        assertTrue(synthesizer.testEngineState(Engine.ALLOCATED));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        if (!synthesizer.testEngineState(Engine.DEALLOCATED)) {
+            synthesizer.deallocateAsync().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Test that the future is settled by the end of the item and the
+     * listener still gets all events.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testSpeakAsync() throws Exception {
+        ByteArrayOutputStream out = playTo();
+        synthesizer.setAudioSegmentMaker((id, text) -> segment(text, true));
+        List<Integer> ids = new CopyOnWriteArrayList<>();
+        CompletableFuture<SpeakableEvent> future = synthesizer.speakAsync("hello", e -> ids.add(e.getId()));
+        SpeakableEvent event = future.get(5, TimeUnit.SECONDS);
+        assertEquals(SpeakableEvent.SPEAKABLE_ENDED, event.getId());
+        assertTrue(ids.contains(SpeakableEvent.SPEAKABLE_ENDED));
+        assertEquals(CHUNK.length, out.size());
+    }
+
+    /**
+     * Test that canceling the future stops the item that is being played
+     * back.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testCancelPlaying() throws Exception {
+        ByteArrayOutputStream out = playTo();
+        StreamingAudioSegment[] segment = new StreamingAudioSegment[1];
+        synthesizer.setAudioSegmentMaker((id, text) -> segment[0] = segment(text, false));
+        List<Integer> ids = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        CompletableFuture<SpeakableEvent> future = synthesizer.speakAsync("hello", e -> {
+            ids.add(e.getId());
+            if (e.getId() == SpeakableEvent.SPEAKABLE_STARTED) {
+                started.countDown();
+            } else if (e.getId() == SpeakableEvent.SPEAKABLE_CANCELLED) {
+                cancelled.countDown();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(future.cancel(false));
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(1, synthesizer.getCancelCount());
+        assertTrue(segment[0].isCancelled());
+        int written = out.size();
+        Thread.sleep(200);
+        assertEquals(written, out.size());
+        assertFalse(ids.contains(SpeakableEvent.SPEAKABLE_ENDED));
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    /**
+     * Plays back the audio of the synthesizer to a byte array.
+     *
+     * @return the played back audio
+     * @throws Exception error setting the output
+     */
+    private ByteArrayOutputStream playTo() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        synthesizer.getAudioManager().setMediaLocator("stream://test", out);
+        return out;
+    }
+
+    /**
+     * Creates a segment with one chunk of audio.
+     *
+     * @param text  the text of the segment
+     * @param close <code>true</code> to end the audio after the chunk
+     * @return the segment
+     */
+    private StreamingAudioSegment segment(String text, boolean close) {
+        BaseAudioManager manager = (BaseAudioManager) synthesizer.getAudioManager();
+        StreamingAudioSegment segment = new StreamingAudioSegment("stream://test", text,
+                manager.getTargetAudioFormat());
+        try {
+            segment.write(CHUNK, 0, CHUNK.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (close) {
+            segment.close();
+        }
+        return segment;
+    }
+
+    /**
+     * Test that the future fails and the listener gets the failure if the
+     * synthesis fails.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testSynthesisFailed() throws Exception {
+        synthesizer.setSpeakHandler(id -> {
+            throw new IllegalStateException("synthesis failed");
+        });
+        List<Integer> ids = new CopyOnWriteArrayList<>();
+        CompletableFuture<SpeakableEvent> future = synthesizer.speakAsync("hello", e -> ids.add(e.getId()));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SpeakableException.class, e.getCause());
+        assertTrue(future.isCompletedExceptionally());
+        assertTrue(ids.contains(SpeakableEvent.SPEAKABLE_FAILED));
+    }
+
+    /**
+     * Test that the future is settled even if the end of items is masked.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testMasked() throws Exception {
+        synthesizer.setSpeakableMask(0);
+        CompletableFuture<SpeakableEvent> future = synthesizer.speakAsync("hello", null);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            // failed to play
+        }
+        assertTrue(future.isDone());
+    }
+
+    /**
+     * Test that canceling the future cancels the queued item.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testCancel() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        synthesizer.setSpeakHandler(id -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<SpeakableEvent> first = synthesizer.speakAsync("first", null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        List<Integer> ids = new CopyOnWriteArrayList<>();
+        CompletableFuture<SpeakableEvent> second = synthesizer.speakAsync("second", e -> ids.add(e.getId()));
+        assertTrue(second.cancel(false));
+        assertThrows(CancellationException.class, () -> second.get(1, TimeUnit.SECONDS));
+        release.countDown();
+        try {
+            first.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            // failed to play
+        }
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!ids.contains(SpeakableEvent.SPEAKABLE_CANCELLED) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(ids.contains(SpeakableEvent.SPEAKABLE_CANCELLED));
+        assertTrue(!ids.contains(SpeakableEvent.SPEAKABLE_ENDED));
+    }
+
+    /**
+     * Test that pending futures fail when the synthesizer is deallocated
+     * and that nothing can be spoken then.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testDeallocate() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        synthesizer.setSpeakHandler(id -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        synthesizer.speakAsync("first", null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<SpeakableEvent> second = synthesizer.speakAsync("second", null);
+        CompletableFuture<Void> deallocated = synthesizer.deallocateAsync();
+        release.countDown();
+        deallocated.get(5, TimeUnit.SECONDS);
+        assertTrue(synthesizer.testEngineState(Engine.DEALLOCATED));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(EngineStateException.class, e.getCause());
+
+        CompletableFuture<SpeakableEvent> third = synthesizer.speakAsync("third", null);
+        e = assertThrows(ExecutionException.class, () -> third.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(EngineStateException.class, e.getCause());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.speech.SpeechLocale;
+import javax.speech.synthesis.PhoneInfo;
+import javax.speech.synthesis.Voice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link SynthesisCache}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class SynthesisCacheTest {
+
+    private static SynthesisCache.Key key(String text) {
+        return new SynthesisCache.Key("mock", null, text, false, null, 50, 10, 150, 100);
+    }
+
+    private static SynthesisCache.Entry entry(int size) {
+        return new SynthesisCache.Entry(new byte[size], null,
+                new String[0], new float[0], new PhoneInfo[0]);
+    }
+
+    /**
+     * Test that the least recently used entries are evicted.
+     */
+    @Test
+    void testEviction() {
+        SynthesisCache cache = new SynthesisCache(100);
+        cache.put(key("a"), entry(40));
+        cache.put(key("b"), entry(40));
+        // a becomes the most recently used one
+        assertTrue(cache.get(key("a")) != null);
+        cache.put(key("c"), entry(40));
+
+        assertNull(cache.get(key("b")));
+        assertTrue(cache.get(key("a")) != null);
+        assertTrue(cache.get(key("c")) != null);
+        assertEquals(80, cache.getSize());
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(3, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    /**
+     * Test that entries exceeding the budget are not added.
+     */
+    @Test
+    void testTooLarge() {
+        SynthesisCache cache = new SynthesisCache(100);
+        cache.put(key("a"), entry(40));
+        cache.put(key("b"), entry(101));
+
+        assertNull(cache.get(key("b")));
+        assertTrue(cache.get(key("a")) != null);
+        assertEquals(40, cache.getSize());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    /**
+     * Test that replacing an entry keeps the size consistent.
+     */
+    @Test
+    void testReplace() {
+        SynthesisCache cache = new SynthesisCache(100);
+        cache.put(key("a"), entry(40));
+        SynthesisCache.Entry entry = entry(60);
+        cache.put(key("a"), entry);
+
+        assertSame(entry, cache.get(key("a")));
+        assertEquals(60, cache.getSize());
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    /**
+     * Test that engine, audio format, voice and prosody are part of the key
+     * and of its digest.
+     */
+    @Test
+    void testKey() {
+        Voice voice1 = new Voice(SpeechLocale.US, "kevin", Voice.GENDER_MALE, Voice.AGE_DONT_CARE, Voice.VARIANT_DONT_CARE);
+        Voice voice2 = new Voice(SpeechLocale.US, "alan", Voice.GENDER_MALE, Voice.AGE_DONT_CARE, Voice.VARIANT_DONT_CARE);
+        String format = new AudioFormat(8000f, 16, 1, true, false).toString();
+        SynthesisCache.Key key1 = new SynthesisCache.Key("freetts", format, "hello", false, voice1, 50, 10, 150, 100);
+        SynthesisCache.Key key2 = new SynthesisCache.Key("freetts", format, "hello", false, voice1, 50, 10, 150, 100);
+        assertEquals(key1, key2);
+        assertEquals(DiskSynthesisCache.digest(key1), DiskSynthesisCache.digest(key2));
+        SynthesisCache.Key[] others = {
+            new SynthesisCache.Key("sapi", format, "hello", false, voice1, 50, 10, 150, 100),
+            new SynthesisCache.Key("freetts", new AudioFormat(16000f, 16, 1, true, false).toString(),
+                    "hello", false, voice1, 50, 10, 150, 100),
+            new SynthesisCache.Key("freetts", format, "hello", false, voice2, 50, 10, 150, 100),
+            new SynthesisCache.Key("freetts", format, "hello", false, voice1, 50, 10, 200, 100),
+            new SynthesisCache.Key("freetts", format, "hello", true, voice1, 50, 10, 150, 100),
+        };
+        for (SynthesisCache.Key other : others) {
+            assertNotEquals(key1, other);
+            assertNotEquals(DiskSynthesisCache.digest(key1), DiskSynthesisCache.digest(other));
+        }
+    }
+
+    /**
+     * Test that the cached audio can be read repeatedly.
+     *
+     * @throws Exception test failed.
+     */
+    @Test
+    void testOpenInputStream() throws Exception {
+        AudioFormat format = new AudioFormat(8000f, 16, 1, true, true);
+        byte[] audio = {1, 2, 3, 4, 5, 6};
+        String[] words = {"hello"};
+        SynthesisCache.Entry entry = new SynthesisCache.Entry(audio, format,
+                words, new float[] {0f}, new PhoneInfo[0]);
+        for (int i = 0; i < 2; i++) {
+            InputStream in = entry.openInputStream();
+            assertTrue(in instanceof AudioInputStream);
+            assertEquals(3, ((AudioInputStream) in).getFrameLength());
+            assertArrayEquals(audio, in.readAllBytes());
+        }
+        assertSame(words, entry.getWords());
+    }
+
+    /**
+     * Test that the synthesizers of a JVM share one cache per directory.
+     *
+     * @param dir the cache directory
+     */
+    @Test
+    void testShared(@TempDir Path dir) {
+        SynthesisCache cache = SynthesisCache.getShared(100, dir);
+        assertNotNull(cache.getDiskCache());
+        assertSame(cache, SynthesisCache.getShared(200, dir.resolve(".")));
+        assertEquals(100, cache.getCapacity());
+
+        SynthesisCache memory = SynthesisCache.getShared(100, null);
+        assertNotSame(cache, memory);
+        assertNull(memory.getDiskCache());
+        assertSame(memory, SynthesisCache.getShared(100, null));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.jvoicexml.jsapi2.synthesis;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.speech.AudioSegment;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Test cases for {@link SynthesisLatency} and {@link LatencyHistogram}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-17 nsano initial version <br>
+ */
+class SynthesisLatencyTest {
+
+    /**
+     * Test the buckets of the histogram.
+     */
+    @Test
+    void testBuckets() {
+        int last = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        for (long value : new long[] {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue(LatencyHistogram.lowerBoundOf(index) <= value, "value " + value);
+            if (index < last) {
+                assertTrue(value < LatencyHistogram.lowerBoundOf(index + 1), "value " + value);
+            }
+        }
+        assertEquals(8, LatencyHistogram.indexOf(8));
+        assertEquals(16, LatencyHistogram.indexOf(16));
+    }
+
+    /**
+     * Test the percentiles of the histogram.
+     */
+    @Test
+    void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean(), 0.001);
+        long p50 = histogram.getValueAtPercentile(50);
+        assertTrue(p50 >= 500 && p50 <= 500 * 1.125, "p50 " + p50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 " + p99);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+
+    /**
+     * Test that a played back item is recorded and reported to the flight
+     * recorder.
+     *
+     * @throws Exception test failed
+     */
+    @Test
+    void testRecord() throws Exception {
+        SynthesisLatency latency = new SynthesisLatency("test");
+        QueueItem item = new QueueItem(42, new BaseSpeakable("hello"), null, "hello");
+        Thread.sleep(2);
+        item.markSynthesisStarted();
+        Thread.sleep(2);
+        item.markSynthesisEnded();
+        item.markHandedOver();
+        item.markFirstByte();
+        item.markFlushed(TimeUnit.MILLISECONDS.toNanos(100));
+
+        Path file = Files.createTempFile("latency", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SpeakableLatencyEvent.class);
+            recording.start();
+            latency.record(item);
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent event = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("org.jvoicexml.jsapi2.SpeakableLatency"))
+                    .findFirst().orElseThrow();
+            assertEquals("test", event.getString("engine"));
+            assertEquals(42, event.getInt("itemId"));
+            assertTrue(event.getDuration("queueWait").toNanos() > 0);
+            assertTrue(event.getDouble("realTimeFactor") > 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertEquals(1, latency.getQueueWait().getCount());
+        assertEquals(1, latency.getTimeToFirstAudio().getCount());
+        assertEquals(1, latency.getRealTimeFactor().getCount());
+
+        // queued audio is not synthesized
+        QueueItem audio = new QueueItem(43, new AudioSegment("http://nowhere", "audio"), null);
+        audio.markFirstByte();
+        audio.markFlushed(0);
+        latency.record(audio);
+        assertEquals(1, latency.getQueueWait().getCount());
+        assertEquals(2, latency.getTimeToFirstAudio().getCount());
+    }
+}
@@ -28,7 +28,6 @@ package org.jvoicexml.jsapi2.synthesis;
 
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.atomic.AtomicInteger;
 import javax.speech.AudioSegment;
 import javax.speech.synthesis.SpeakableEvent;
 
@@ -77,14 +76,15 @@ class SynthesisQueueTest {
         AudioSegment segment1 = new AudioSegment("http://localhost", "test");
         AudioSegment segment2 = new AudioSegment("http://foreignhost", "test2");
         CountDownLatch cdl = new CountDownLatch(2);
-        AtomicInteger firstId = new AtomicInteger();
-        AtomicInteger secondId = new AtomicInteger();
+        // ids are issued from 1, known before the listener can be called
+        int firstId = 1;
+        int secondId = 2;
         synthesizer.addSpeakableListener(e -> {
-            if (e.getRequestId() == firstId.get()) {
+            if (e.getRequestId() == firstId) {
                 assertEquals(segment1.getMarkupText(), e.getSource().toString());
 Debug.println("1st in playing queue...");
                 cdl.countDown();
-            } else if (e.getRequestId() == secondId.get()) {
+            } else if (e.getRequestId() == secondId) {
                 assertEquals(segment2.getMarkupText(), e.getSource().toString());
 Debug.println("2nd in playing queue...");
                 cdl.countDown();
@@ -92,8 +92,8 @@ Debug.println("2nd in playing queue...");
                 assert false;
             }
         });
-        firstId.set(queue.appendItem(segment1, null));
-        secondId.set(queue.appendItem(segment2, null));
+        assertEquals(firstId, queue.appendItem(segment1, null));
+        assertEquals(secondId, queue.appendItem(segment2, null));
         cdl.await();
 Debug.println("done");
     }
@@ -102,22 +102,27 @@ Debug.println("done");
      * Test method for {@link SynthesisQueue#getQueueItem(int)}.
      */
     @Test
-    void testGetQueueItem() {
+    void testGetQueueItem() throws InterruptedException {
         AudioSegment segment1 = new AudioSegment("http://localhost", "test");
         AudioSegment segment2 = new AudioSegment("http://foreignhost", "test2");
-        AtomicInteger firstId = new AtomicInteger();
+        // ids are issued from 1, known before the handler can be called
+        int firstId = 1;
+        int secondId = 2;
+        CountDownLatch taken = new CountDownLatch(1);
         CountDownLatch cdl = new CountDownLatch(1);
         // hack, stopping at 1st synthesis
         synthesizer.setSpeakHandler(id -> {
-            if (id == firstId.get()) {
+            if (id == firstId) {
 Debug.println("pretend 1st taking long time...");
+                taken.countDown();
                 try { cdl.await(); } catch (InterruptedException ignore) {}
 Debug.println("1st done");
             }
         });
-        firstId.set(queue.appendItem(segment1, null));
-        int secondId = queue.appendItem(segment2, null);
-        QueueItem item1 = queue.getQueueItem(firstId.get());
+        assertEquals(firstId, queue.appendItem(segment1, null));
+        assertEquals(secondId, queue.appendItem(segment2, null));
+        taken.await();
+        QueueItem item1 = queue.getQueueItem(firstId);
         assertNull(item1, "already consumed");
         QueueItem item2 = queue.getQueueItem(secondId);
         assertNotNull(item2, "still in queue");
@@ -135,14 +140,15 @@ Debug.println("1st done");
         assertTrue(queue.isQueueEmpty());
         AudioSegment segment1 = new AudioSegment("http://localhost", "test");
         CountDownLatch cdl = new CountDownLatch(1);
-        AtomicInteger id = new AtomicInteger();
+        // ids are issued from 1, known before the listener can be called
+        int id = 1;
         synthesizer.addSpeakableListener(e -> {
-            if (e.getRequestId() == id.get()) {
+            if (e.getRequestId() == id) {
 Debug.println("1st in playing queue...");
                 cdl.countDown();
             }
         });
-        id.set(queue.appendItem(segment1, null));
+        assertEquals(id, queue.appendItem(segment1, null));
         cdl.await();
         assertTrue(queue.isQueueEmpty(), "1st is in queue, so empty");
     }
@@ -158,11 +164,12 @@ Debug.println("1st in playing queue...");
         CountDownLatch cdl1 = new CountDownLatch(1);
         CountDownLatch cdl2 = new CountDownLatch(1);
         CountDownLatch cdl3 = new CountDownLatch(1);
-        AtomicInteger firstId = new AtomicInteger();
-        AtomicInteger secondId = new AtomicInteger();
+        // ids are issued from 1, known before the handler can be called
+        int firstId = 1;
+        int secondId = 2;
         // hack, stopping at 1st synthesis
         synthesizer.setSpeakHandler(id -> {
-            if (id == firstId.get()) {
+            if (id == firstId) {
 Debug.println("pretend 1st taking long time...");
                 cdl1.countDown();
                 try { cdl2.await(); } catch (InterruptedException ignore) {}
@@ -173,18 +180,18 @@ Debug.println("speak: " + id);
         });
         synthesizer.addSpeakableListener(e -> {
             if (e.getId() == SpeakableEvent.SPEAKABLE_CANCELLED) {
-                assertEquals(firstId.get(), e.getRequestId());
+                assertEquals(firstId, e.getRequestId());
 Debug.println("1st canceled");
                 cdl2.countDown();
-            } else if (e.getRequestId() == secondId.get()) {
+            } else if (e.getRequestId() == secondId) {
 Debug.println("2nd in playing queue, means processing done");
                 cdl3.countDown();
             } else {
 Debug.println("eventId: " + Integer.toHexString(e.getId()));
             }
         });
-        firstId.set(queue.appendItem(segment1, null)); // takes long time
-        secondId.set(queue.appendItem(segment2, null));
+        assertEquals(firstId, queue.appendItem(segment1, null)); // takes long time
+        assertEquals(secondId, queue.appendItem(segment2, null));
         cdl1.await();
         assertTrue(queue.cancelFirstItem(), "1st is processing and not in queue, so 1st is cancelable as 1st");
         cdl3.await();
@@ -202,15 +209,16 @@ Debug.println("done");
         AudioSegment segment0 = new AudioSegment("http://localhost", "test0");
         AudioSegment segment1 = new AudioSegment("http://localhost", "test");
         AudioSegment segment2 = new AudioSegment("http://foreignhost", "test2");
-        AtomicInteger zerothId = new AtomicInteger();
-        AtomicInteger firstId = new AtomicInteger();
-        AtomicInteger secondId = new AtomicInteger();
+        // ids are issued from 1, known before the handler can be called
+        int zerothId = 1;
+        int firstId = 2;
+        int secondId = 3;
         CountDownLatch cdl0 = new CountDownLatch(1);
         CountDownLatch cdl1 = new CountDownLatch(1);
         CountDownLatch cdl2 = new CountDownLatch(2);
         // hack, stopping at 1st synthesis
         synthesizer.setSpeakHandler(id -> {
-            if (id == zerothId.get()) {
+            if (id == zerothId) {
 Debug.println("pretend 0th taking long time...");
                 cdl1.countDown();
                 try { cdl0.await(); } catch (InterruptedException ignore) {}
@@ -219,23 +227,53 @@ Debug.println("0th done");
         });
         synthesizer.addSpeakableListener(e -> {
             if (e.getId() == SpeakableEvent.SPEAKABLE_CANCELLED) {
-                assertTrue(List.of(firstId.get(), secondId.get()).contains(e.getRequestId()));
+                assertTrue(List.of(firstId, secondId).contains(e.getRequestId()));
 Debug.println("id " + e.getRequestId() + " is canceled");
                 cdl2.countDown();
             } else {
 Debug.println("eventId: " + Integer.toHexString(e.getId()));
             }
         });
-        zerothId.set(queue.appendItem(segment0, null)); // takes long time
+        assertEquals(zerothId, queue.appendItem(segment0, null)); // takes long time
         cdl1.await();
-        firstId.set(queue.appendItem(segment1, null));
-        secondId.set(queue.appendItem(segment2, null));
+        assertEquals(firstId, queue.appendItem(segment1, null));
+        assertEquals(secondId, queue.appendItem(segment2, null));
         assertFalse(queue.isQueueEmpty(), "because of 0th takes long time"); // TODO ci error
-        assertTrue(queue.cancelItem(firstId.get()), "1st is in queue because 0th takes long time");
-        assertTrue(queue.cancelItem(secondId.get()), "2nd is in queue because 0th takes long time");
+        assertTrue(queue.cancelItem(firstId), "1st is in queue because 0th takes long time");
+        assertTrue(queue.cancelItem(secondId), "2nd is in queue because 0th takes long time");
         cdl2.await();
         cdl0.countDown();
         assertTrue(queue.isQueueEmpty(), "queue is empty because all are canceled");
         assertFalse(queue.cancelItem(-1), "no such id");
     }
+
+    /**
+     * Test that an unchecked exception of the synthesis fails the item
+     * without blocking the items queued after it.
+     */
+    @Test
+    void testRuntimeException() throws Exception {
+        AudioSegment segment1 = new AudioSegment("http://localhost", "test");
+        AudioSegment segment2 = new AudioSegment("http://foreignhost", "test2");
+        CountDownLatch failed = new CountDownLatch(1);
+        CountDownLatch second = new CountDownLatch(1);
+        // ids are issued from 1
+        synthesizer.setSpeakHandler(id -> {
+            if (id == 1) {
+                throw new IllegalStateException("synthesis broken");
+            }
+        });
+        synthesizer.addSpeakableListener(e -> {
+            if (e.getRequestId() == 1 && e.getId() == SpeakableEvent.SPEAKABLE_FAILED) {
+                failed.countDown();
+            } else if (e.getRequestId() == 2) {
+                second.countDown();
+            }
+        });
+        assertEquals(1, queue.appendItem(segment1, null));
+        assertEquals(2, queue.appendItem(segment2, null));
+        failed.await();
+        second.await();
+        assertNull(queue.getCurrentQueueItem());
+    }
 }